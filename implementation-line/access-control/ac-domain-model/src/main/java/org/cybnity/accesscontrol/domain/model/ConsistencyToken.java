@@ -0,0 +1,146 @@
+package org.cybnity.accesscontrol.domain.model;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable token returned by a write model after a change, which identifies the versions of the changed aggregates that shall be reached by the read-model projections to include the change.
+ * Allow a read-model query to wait for the projection of previous writes (read-your-writes consistency) when the projections are updated asynchronously, whatever the system instance which projects them.
+ */
+public final class ConsistencyToken implements Serializable {
+
+    private static final long serialVersionUID = 2L;
+
+    /**
+     * Token without version, which does not require any wait.
+     */
+    public static final ConsistencyToken NONE = new ConsistencyToken(Collections.emptyMap());
+
+    /**
+     * Version to reach per aggregate identifier.
+     */
+    private final Map<String, AggregateVersion> versions;
+
+    /**
+     * Default constructor.
+     *
+     * @param versions Mandatory versions per aggregate identifier.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    public ConsistencyToken(Map<String, AggregateVersion> versions) throws IllegalArgumentException {
+        if (versions == null) throw new IllegalArgumentException("versions parameter is required!");
+        this.versions = Collections.unmodifiableMap(new HashMap<>(versions));
+    }
+
+    /**
+     * Get a token relative to the version of one written aggregate.
+     *
+     * @param aggregateId   Mandatory identifier of the aggregate.
+     * @param commitVersion Optional commit version of the written aggregate.
+     * @param versionedAt   Date of the written aggregate version (epoch milliseconds).
+     * @return A token.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    public static ConsistencyToken of(String aggregateId, String commitVersion, long versionedAt) throws IllegalArgumentException {
+        if (aggregateId == null || aggregateId.isEmpty())
+            throw new IllegalArgumentException("aggregateId parameter is required!");
+        return new ConsistencyToken(Collections.singletonMap(aggregateId, new AggregateVersion(commitVersion, versionedAt)));
+    }
+
+    /**
+     * Get the versions to reach.
+     *
+     * @return Unmodifiable versions per aggregate identifier.
+     */
+    public Map<String, AggregateVersion> versions() {
+        return versions;
+    }
+
+    /**
+     * Get the version to reach regarding an aggregate.
+     *
+     * @param aggregateId Identifier of the aggregate.
+     * @return A version, or null when none version is required regarding the aggregate.
+     */
+    public AggregateVersion version(String aggregateId) {
+        return versions.get(aggregateId);
+    }
+
+    /**
+     * Get a token which requires the versions of this token and of another one (most recent version per aggregate).
+     *
+     * @param other Optional other token.
+     * @return A merged token.
+     */
+    public ConsistencyToken merge(ConsistencyToken other) {
+        if (other == null || other.versions.isEmpty()) return this;
+        if (this.versions.isEmpty()) return other;
+        Map<String, AggregateVersion> merged = new HashMap<>(this.versions);
+        other.versions.forEach((id, version) -> merged.merge(id, version, (a, b) -> (b.versionedAt() >= a.versionedAt()) ? b : a));
+        return new ConsistencyToken(merged);
+    }
+
+    /**
+     * Is this token requiring any wait?
+     *
+     * @return True when none version is required.
+     */
+    public boolean isEmpty() {
+        return versions.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return versions.toString();
+    }
+
+    /**
+     * Version of a written aggregate.
+     */
+    public static final class AggregateVersion implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String commitVersion;
+        private final long versionedAt;
+
+        /**
+         * Default constructor.
+         *
+         * @param commitVersion Optional commit version of the aggregate.
+         * @param versionedAt   Date of the aggregate version (epoch milliseconds).
+         */
+        public AggregateVersion(String commitVersion, long versionedAt) {
+            this.commitVersion = commitVersion;
+            this.versionedAt = versionedAt;
+        }
+
+        public String commitVersion() {
+            return commitVersion;
+        }
+
+        public long versionedAt() {
+            return versionedAt;
+        }
+
+        /**
+         * Is this version included into a projected version of the aggregate?
+         *
+         * @param projectedCommitVersion Optional commit version of the projected aggregate.
+         * @param projectedVersionedAt   Optional date of the projected aggregate version.
+         * @return True when the projected version is this version or a more recent one.
+         */
+        public boolean isReachedBy(String projectedCommitVersion, Date projectedVersionedAt) {
+            if (commitVersion != null && commitVersion.equals(projectedCommitVersion)) return true;
+            return projectedVersionedAt != null && projectedVersionedAt.getTime() >= versionedAt;
+        }
+
+        @Override
+        public String toString() {
+            return commitVersion + "@" + versionedAt;
+        }
+    }
+}
@@ -5,6 +5,8 @@ import org.cybnity.framework.domain.IWriteModel;
 import org.cybnity.framework.domain.model.Tenant;
 import org.cybnity.framework.immutable.ImmutabilityException;
 
+import java.util.Collection;
+
 /**
  * Represents a persistence-oriented and query optimized repository (also sometimes called Aggregate
  * store, or Aggregate-Oriented database) contract for the Tenant bounded context.
@@ -20,9 +22,22 @@ public interface ITenantsWriteModel extends IWriteModel {
      * When none is existing, a new tenant is created.
      *
      * @param fact Mandatory fact to append.
+     * @return Token allowing a read-model query to wait for the projection of the change.
      * @throws IllegalArgumentException    When mandatory parameter is missing.
      * @throws ImmutabilityException       When problem of immutable version of stored event is occurred.
      * @throws UnoperationalStateException When technical problem is occurred regarding this model usage.
      */
-    void add(Tenant fact) throws IllegalArgumentException, ImmutabilityException, UnoperationalStateException;
+    ConsistencyToken add(Tenant fact) throws IllegalArgumentException, ImmutabilityException, UnoperationalStateException;
+
+    /**
+     * Add change events of several tenants into the tenants model (e.g bulk import of organizations).
+     * The changes relative to a same tenant are saved according to their order into the collection.
+     *
+     * @param facts Mandatory facts to append.
+     * @return Token allowing a read-model query to wait for the projection of the changes.
+     * @throws IllegalArgumentException    When mandatory parameter is missing.
+     * @throws ImmutabilityException       When problem of immutable version of stored event is occurred.
+     * @throws UnoperationalStateException When technical problem is occurred regarding this model usage (e.g some tenants not saved).
+     */
+    ConsistencyToken addAll(Collection<Tenant> facts) throws IllegalArgumentException, ImmutabilityException, UnoperationalStateException;
 }
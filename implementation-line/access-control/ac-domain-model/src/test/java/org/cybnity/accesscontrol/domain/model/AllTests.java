@@ -11,6 +11,6 @@ import org.junit.platform.suite.api.Suite;
  *
  */
 @Suite
-@SelectClasses({ ActivityStateUseCaseTest.class, AccountUseCaseTest.class })
+@SelectClasses({ ActivityStateUseCaseTest.class, AccountUseCaseTest.class, ConsistencyTokenUseCaseTest.class })
 public class AllTests {
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package org.cybnity.accesscontrol.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Behaviors unit test regarding the ConsistencyToken class.
+ */
+public class ConsistencyTokenUseCaseTest {
+
+	/**
+	 * Test that a merged token retains the most recent written version per aggregate.
+	 */
+	@Test
+	public void givenTokensOfSeveralAggregates_whenMerged_thenMostRecentVersionPerAggregate() {
+		ConsistencyToken merged = ConsistencyToken.of("tenantA", "v1", 1000)
+				.merge(ConsistencyToken.of("tenantB", "v1", 1500))
+				.merge(ConsistencyToken.of("tenantA", "v2", 2000))
+				.merge(ConsistencyToken.of("tenantA", "v0", 500));
+		assertEquals(2, merged.versions().size());
+		assertEquals("v2", merged.version("tenantA").commitVersion());
+		assertEquals("v1", merged.version("tenantB").commitVersion());
+		assertNull(merged.version("tenantC"));
+		assertTrue(ConsistencyToken.NONE.merge(null).isEmpty());
+	}
+
+	/**
+	 * Test that a written version is reached by the same projected commit version, or by a more recent projected version.
+	 */
+	@Test
+	public void givenWrittenVersion_whenCompared_thenReachedBySameOrMoreRecentVersion() {
+		ConsistencyToken.AggregateVersion written = ConsistencyToken.of("tenantA", "v2", 2000).version("tenantA");
+		assertTrue(written.isReachedBy("v2", new Date(1000)));
+		assertTrue(written.isReachedBy("v3", new Date(2500)));
+		assertFalse(written.isReachedBy("v1", new Date(1000)));
+		assertFalse(written.isReachedBy(null, null));
+		assertThrows(IllegalArgumentException.class, () -> ConsistencyToken.of(null, "v1", 0));
+	}
+}
@@ -7,7 +7,11 @@ import org.cybnity.framework.IReadableConfiguration;
  */
 public enum TenantRegistrationServiceConfigurationVariable implements IReadableConfiguration {
 
-    ;
+    /**
+     * Encoding of the tenant changes notified over the UICapabilityChannel.access_control_tenants_changes channel (FactEncoding name). JSON by default.
+     * COMPACT shall only be defined when all the observers of the channel are reading the facts with ACDomainMessageMapperFactory (e.g backend server's results observer).
+     */
+    TENANTS_CHANGES_FACT_ENCODING("TENANTS_CHANGES_FACT_ENCODING");
 
     private final String name;
 
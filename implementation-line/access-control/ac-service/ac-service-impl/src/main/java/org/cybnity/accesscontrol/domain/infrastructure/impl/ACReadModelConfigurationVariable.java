@@ -0,0 +1,88 @@
+package org.cybnity.accesscontrol.domain.infrastructure.impl;
+
+import org.cybnity.framework.IReadableConfiguration;
+
+/**
+ * Enumeration defining a set of variables regarding a ReadModel of the Access Control (AC) domain object types (e.g Tenant data views projections).
+ * <p>
+ * The configuration of each value regarding each environment variable enum, is
+ * managed into the Helm values.yaml file regarding the executable system which
+ * need to declare the environment variables as available for usage via this set
+ * of enum.
+ */
+public enum ACReadModelConfigurationVariable implements IReadableConfiguration {
+    /**
+     * Update the read-model projections asynchronously (true) via a projection worker, or synchronously (false by default) during the write-model change notification.
+     */
+    AC_READMODEL_PROJECTION_ASYNC("AC_READMODEL_PROJECTION_ASYNC"),
+
+    /**
+     * Quantity of projection partitions (each one ordered and applied by a dedicated thread) used by the asynchronous projection worker.
+     */
+    AC_READMODEL_PROJECTION_PARTITIONS("AC_READMODEL_PROJECTION_PARTITIONS"),
+
+    /**
+     * Maximum quantity of change events waiting for projection per partition. When reached, the write-model change notification is blocked until space is available (backpressure).
+     */
+    AC_READMODEL_PROJECTION_QUEUE_CAPACITY("AC_READMODEL_PROJECTION_QUEUE_CAPACITY"),
+
+    /**
+     * Maximum quantity of change events applied into one graph transaction by the asynchronous projection worker.
+     */
+    AC_READMODEL_PROJECTION_BATCH_SIZE("AC_READMODEL_PROJECTION_BATCH_SIZE"),
+
+    /**
+     * Owner of the checkpoint of the asynchronous projection worker, stable over the restarts of the system instance and unique per instance sharing the read-model graph (e.g stateful pod name). Optional (host name by default).
+     */
+    AC_READMODEL_PROJECTION_OWNER("AC_READMODEL_PROJECTION_OWNER"),
+
+    /**
+     * Quantity of threads executing the read-model queries.
+     */
+    AC_READMODEL_QUERY_THREADS("AC_READMODEL_QUERY_THREADS"),
+
+    /**
+     * Maximum quantity of read-model queries waiting for a thread. When reached, the new queries are rejected.
+     */
+    AC_READMODEL_QUERY_QUEUE_CAPACITY("AC_READMODEL_QUERY_QUEUE_CAPACITY"),
+
+    /**
+     * Maximum duration in milliseconds of a read-model query.
+     */
+    AC_READMODEL_QUERY_TIMEOUT_IN_MILLIS("AC_READMODEL_QUERY_TIMEOUT_IN_MILLIS"),
+
+    /**
+     * Maximum quantity of labels (found or not existing tenant data views) retained by the cache of the search by label. When 0, the cache is disabled.
+     */
+    AC_READMODEL_LABEL_CACHE_CAPACITY("AC_READMODEL_LABEL_CACHE_CAPACITY"),
+
+    /**
+     * Time-to-live in seconds of a label retained by the cache of the search by label (bounding the staleness relative to the changes performed by other processes).
+     */
+    AC_READMODEL_LABEL_CACHE_TTL_IN_SECONDS("AC_READMODEL_LABEL_CACHE_TTL_IN_SECONDS");
+
+    /**
+     * Name of this environment variable currently hosted by the system environment.
+     */
+    private final String name;
+
+    /**
+     * Default constructor of a configuration variable that is readable from the
+     * system environment variables set.
+     *
+     * @param aName Mandatory name of the environment variable that is readable from
+     *              the current system environment (e.g defined by the runtime
+     *              container or operating system).
+     * @throws IllegalArgumentException When mandatory parameter is not defined.
+     */
+    private ACReadModelConfigurationVariable(String aName) throws IllegalArgumentException {
+        if (aName == null || "".equalsIgnoreCase(aName))
+            throw new IllegalArgumentException("The name of this variable shall be defined!");
+        this.name = aName;
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+}
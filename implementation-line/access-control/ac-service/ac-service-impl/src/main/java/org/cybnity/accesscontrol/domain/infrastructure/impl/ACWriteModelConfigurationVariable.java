@@ -16,7 +16,47 @@ public enum ACWriteModelConfigurationVariable implements IReadableConfiguration
     /**
      * Default duration in seconds relative to each snapshot resource of AC perimeter that are saved into a snapshot repository.
      */
-    AC_WRITEMODEL_SNAPSHOT_ITEM_DEFAULT_EXPIRATION_DURATION_IN_SECONDS("AC_WRITEMODEL_SNAPSHOT_ITEM_DEFAULT_EXPIRATION_DURATION_IN_SECONDS");
+    AC_WRITEMODEL_SNAPSHOT_ITEM_DEFAULT_EXPIRATION_DURATION_IN_SECONDS("AC_WRITEMODEL_SNAPSHOT_ITEM_DEFAULT_EXPIRATION_DURATION_IN_SECONDS"),
+
+    /**
+     * Type of policy deciding when a snapshot is generated after append of change events (EVENTS_QUANTITY or AGE_THRESHOLD). EVENTS_QUANTITY by default.
+     */
+    AC_WRITEMODEL_SNAPSHOT_POLICY("AC_WRITEMODEL_SNAPSHOT_POLICY"),
+
+    /**
+     * Quantity of change events appended since the last snapshot, which trigger a new snapshot (EVENTS_QUANTITY policy). 1 by default (snapshot after each append).
+     */
+    AC_WRITEMODEL_SNAPSHOT_EVENTS_THRESHOLD("AC_WRITEMODEL_SNAPSHOT_EVENTS_THRESHOLD"),
+
+    /**
+     * Maximum age in seconds of a change event not covered by a snapshot, which trigger a new snapshot (AGE_THRESHOLD policy).
+     */
+    AC_WRITEMODEL_SNAPSHOT_AGE_THRESHOLD_IN_SECONDS("AC_WRITEMODEL_SNAPSHOT_AGE_THRESHOLD_IN_SECONDS"),
+
+    /**
+     * Quantity of threads generating the snapshots asynchronously (out of the append call). When not defined or equals to 0, snapshots are generated synchronously, and only by the appends (never during a read).
+     */
+    AC_WRITEMODEL_SNAPSHOT_ASYNC_THREADS("AC_WRITEMODEL_SNAPSHOT_ASYNC_THREADS"),
+
+    /**
+     * Maximum quantity of rehydrated tenants retained in memory by the store. 0 disables the cache.
+     */
+    AC_WRITEMODEL_AGGREGATE_CACHE_CAPACITY("AC_WRITEMODEL_AGGREGATE_CACHE_CAPACITY"),
+
+    /**
+     * Time-to-live in seconds of a rehydrated tenant retained in memory by the store.
+     */
+    AC_WRITEMODEL_AGGREGATE_CACHE_TTL_IN_SECONDS("AC_WRITEMODEL_AGGREGATE_CACHE_TTL_IN_SECONDS"),
+
+    /**
+     * Maximum quantity of tenant streams concurrently appended by a batch append (e.g bulk import of tenants). 4 by default. When 1, the streams are appended sequentially by the calling thread.
+     */
+    AC_WRITEMODEL_BATCH_APPEND_PARALLELISM("AC_WRITEMODEL_BATCH_APPEND_PARALLELISM"),
+
+    /**
+     * Carry the tenant state after change next to the appended change events notified to the projections (true by default), allowing the projections to be updated without rehydration of the tenant.
+     */
+    AC_WRITEMODEL_EVENT_CARRIED_STATE("AC_WRITEMODEL_EVENT_CARRIED_STATE");
 
     /**
      * Name of this environment variable currently hosted by the system environment.
@@ -0,0 +1,73 @@
+package org.cybnity.accesscontrol.domain.infrastructure.impl;
+
+import org.cybnity.framework.domain.model.ActivityState;
+import org.cybnity.framework.domain.model.Tenant;
+import org.cybnity.framework.domain.model.TenantDescriptor;
+
+import java.util.Date;
+
+/**
+ * State of a Tenant after its changes, carried next to the change events notified by the tenants store to the read-model projections (event-carried state).
+ * It describes the full tenant state after the change, and allows the read-model projections to be updated without rehydration of the tenant from the store.
+ * It is never attached to the events, nor persisted into the tenants stream.
+ */
+public final class CarriedTenantState {
+
+    private final String label;
+    private final Boolean active;
+    private final String commitVersion;
+    private final Date occurredAt;
+
+    /**
+     * Default constructor.
+     *
+     * @param state Mandatory tenant after its changes.
+     * @throws IllegalArgumentException When mandatory parameter is missing, or when the tenant has none occurrence date.
+     */
+    public CarriedTenantState(Tenant state) throws IllegalArgumentException {
+        if (state == null) throw new IllegalArgumentException("state parameter is required!");
+        if (state.occurredAt() == null) throw new IllegalArgumentException("state occurrence date is required!");
+        TenantDescriptor descriptor = state.label();
+        ActivityState status = state.status();
+        this.label = (descriptor != null) ? descriptor.getLabel() : null;
+        this.active = (status != null) ? status.isActive() : null;
+        this.commitVersion = state.getCommitVersion();
+        this.occurredAt = Date.from(state.occurredAt().toInstant());
+    }
+
+    /**
+     * Get the label of the tenant after change.
+     *
+     * @return A label or null.
+     */
+    public String label() {
+        return label;
+    }
+
+    /**
+     * Get the activity status of the tenant after change.
+     *
+     * @return True when active, or null when unknown.
+     */
+    public Boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Get the commit version of the tenant after change.
+     *
+     * @return A version or null.
+     */
+    public String commitVersion() {
+        return commitVersion;
+    }
+
+    /**
+     * Get the occurrence date of the tenant version.
+     *
+     * @return A copy of the date.
+     */
+    public Date occurredAt() {
+        return new Date(occurredAt.getTime());
+    }
+}
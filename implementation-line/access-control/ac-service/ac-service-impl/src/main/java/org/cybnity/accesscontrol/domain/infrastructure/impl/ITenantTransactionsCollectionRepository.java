@@ -1,9 +1,15 @@
 package org.cybnity.accesscontrol.domain.infrastructure.impl;
 
+import org.cybnity.accesscontrol.domain.model.ConsistencyToken;
 import org.cybnity.accesscontrol.domain.service.api.model.TenantTransactionsCollection;
+import org.cybnity.framework.IContext;
 import org.cybnity.framework.UnoperationalStateException;
 import org.cybnity.framework.domain.infrastructure.IDomainRepository;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
 /**
  * Repository read-model perimeter providing TenantTransaction collections.
  */
@@ -15,4 +21,29 @@ public interface ITenantTransactionsCollectionRepository extends IDomainReposito
      * @throws UnoperationalStateException Problem occurred during the attempt to close the graph or to perform the schema/data deletion.
      */
     public void drop() throws UnoperationalStateException;
+
+    /**
+     * Execute a query after that the read-model projections have included the changes identified by a consistency token (read-your-writes).
+     *
+     * @param searchCriteria    Mandatory query parameters.
+     * @param ctx               Optional context.
+     * @param minVersion        Optional token returned by the write model, identifying the written aggregate versions which shall be reached by the queried projection. When null or empty, the query is executed without wait.
+     * @param timeoutInMillis   Maximum duration of wait for the projection catch-up.
+     * @return Results of the query, or null when none.
+     * @throws IllegalArgumentException      When invalid search criteria.
+     * @throws UnsupportedOperationException When query not supported.
+     * @throws UnoperationalStateException   When the projection has not reached the token before the timeout, or query execution problem.
+     */
+    public List<TenantTransactionsCollection> queryWhere(Map<String, String> searchCriteria, IContext ctx, ConsistencyToken minVersion, long timeoutInMillis) throws IllegalArgumentException, UnsupportedOperationException, UnoperationalStateException;
+
+    /**
+     * Execute a query asynchronously, on an executor dedicated to the queries of this repository.
+     *
+     * @param searchCriteria Mandatory query parameters.
+     * @param ctx            Optional context.
+     * @return A stage completed with the results of the query (null when none), or exceptionally (e.g query failure, saturated executor, timeout).
+     * @throws IllegalArgumentException      When invalid search criteria.
+     * @throws UnsupportedOperationException When query not supported.
+     */
+    public CompletionStage<List<TenantTransactionsCollection>> queryWhereAsync(Map<String, String> searchCriteria, IContext ctx) throws IllegalArgumentException, UnsupportedOperationException;
 }
@@ -0,0 +1,195 @@
+package org.cybnity.accesscontrol.domain.infrastructure.impl;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Bounded executor of the blocking read-model queries (e.g graph traversals), isolated from the common ForkJoinPool.
+ * The queries are executed by a fixed pool of threads with a bounded waiting queue (a query submitted when the queue is full is rejected).
+ * Each query is completed exceptionally with a TimeoutException when its duration exceeds the timeout, and is cancelled: removed from the queue when waiting, or interrupted when running (e.g stopped graph traversal).
+ */
+public class QueryExecutor {
+
+    /**
+     * Default quantity of query threads.
+     */
+    public static final int DEFAULT_THREADS = 8;
+
+    /**
+     * Default maximum quantity of queries waiting for a thread.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 200;
+
+    /**
+     * Default timeout of a query.
+     */
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final Logger logger = Logger.getLogger(QueryExecutor.class.getName());
+
+    private final ThreadPoolExecutor executor;
+
+    private final long timeoutInMillis;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    /**
+     * Default constructor.
+     *
+     * @param name          Mandatory name of the executor (used for threads naming).
+     * @param threads       Quantity of threads. When lower than 1, DEFAULT_THREADS is applied.
+     * @param queueCapacity Maximum quantity of queries waiting for a thread. When lower than 1, DEFAULT_QUEUE_CAPACITY is applied.
+     * @param timeout       Optional timeout of a query. When null, DEFAULT_TIMEOUT is applied.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    public QueryExecutor(String name, int threads, int queueCapacity, Duration timeout) throws IllegalArgumentException {
+        if (name == null || name.isEmpty()) throw new IllegalArgumentException("name parameter is required!");
+        int poolSize = (threads > 0) ? threads : DEFAULT_THREADS;
+        int capacity = (queueCapacity > 0) ? queueCapacity : DEFAULT_QUEUE_CAPACITY;
+        this.timeoutInMillis = (timeout != null && !timeout.isNegative() && !timeout.isZero()) ? timeout.toMillis() : DEFAULT_TIMEOUT.toMillis();
+        final AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(capacity), r -> {
+            Thread t = new Thread(r, name + "-query-" + threadIndex.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Execute a query asynchronously.
+     *
+     * @param query Mandatory query. When interrupted (timeout reached), the query should stop its execution.
+     * @param <T>   Type of query result.
+     * @return A stage completed with the query result, or exceptionally (RejectedExecutionException when executor saturated, TimeoutException when timeout reached, or query failure cause).
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> query) throws IllegalArgumentException {
+        if (query == null) throw new IllegalArgumentException("query parameter is required!");
+        final long submittedAt = System.nanoTime();
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        // Started by a thread, or abandoned after timeout before its start
+        final AtomicBoolean taken = new AtomicBoolean();
+        final Future<?> task;
+        queued.incrementAndGet();
+        try {
+            task = executor.submit(() -> {
+                if (!taken.compareAndSet(false, true)) return; // Abandoned query
+                queued.decrementAndGet();
+                running.incrementAndGet();
+                T value = null;
+                Throwable failure = null;
+                try {
+                    value = query.get();
+                } catch (Throwable t) {
+                    failure = t;
+                } finally {
+                    running.decrementAndGet();
+                }
+                // Completed after the end of the execution
+                if (failure != null) {
+                    result.completeExceptionally(failure);
+                } else {
+                    result.complete(value);
+                }
+            });
+        } catch (RejectedExecutionException ree) {
+            queued.decrementAndGet();
+            rejected.increment();
+            return CompletableFuture.failedFuture(ree);
+        }
+        return result.orTimeout(timeoutInMillis, TimeUnit.MILLISECONDS).whenComplete((value, error) -> {
+            long latency = System.nanoTime() - submittedAt;
+            totalLatencyNanos.add(latency);
+            maxLatencyNanos.accumulateAndGet(latency, Math::max);
+            if (error == null) {
+                completed.increment();
+            } else if (error instanceof TimeoutException || error.getCause() instanceof TimeoutException) {
+                timedOut.increment();
+                // Stop the query: release its place into the queue, or interrupt its thread
+                if (taken.compareAndSet(false, true)) {
+                    queued.decrementAndGet();
+                    executor.remove((Runnable) task);
+                }
+                task.cancel(true);
+            } else {
+                failed.increment();
+            }
+        });
+    }
+
+    /**
+     * @return Quantity of queries waiting for a thread.
+     */
+    public int queueDepth() {
+        return queued.get();
+    }
+
+    /**
+     * @return Quantity of queries in execution.
+     */
+    public int runningQueries() {
+        return running.get();
+    }
+
+    public long completedQueries() {
+        return completed.sum();
+    }
+
+    public long failedQueries() {
+        return failed.sum();
+    }
+
+    public long rejectedQueries() {
+        return rejected.sum();
+    }
+
+    public long timedOutQueries() {
+        return timedOut.sum();
+    }
+
+    /**
+     * @return Average latency (wait and execution) of the finished queries.
+     */
+    public Duration averageLatency() {
+        long count = completed.sum() + failed.sum() + timedOut.sum();
+        return (count > 0) ? Duration.ofNanos(totalLatencyNanos.sum() / count) : Duration.ZERO;
+    }
+
+    public Duration maxLatency() {
+        return Duration.ofNanos(maxLatencyNanos.get());
+    }
+
+    @Override
+    public String toString() {
+        return "queued=" + queueDepth() + ", running=" + runningQueries() + ", completed=" + completedQueries() + ", failed=" + failedQueries()
+                + ", rejected=" + rejectedQueries() + ", timedOut=" + timedOutQueries() + ", avgLatencyMs=" + averageLatency().toMillis()
+                + ", maxLatencyMs=" + maxLatency().toMillis();
+    }
+
+    /**
+     * Stop the executor (running queries are interrupted after a grace delay).
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(2, TimeUnit.SECONDS)) executor.shutdownNow();
+        } catch (InterruptedException ie) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        logger.fine("Query executor: " + this);
+    }
+}
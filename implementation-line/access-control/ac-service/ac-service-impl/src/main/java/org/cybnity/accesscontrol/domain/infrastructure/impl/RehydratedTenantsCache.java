@@ -0,0 +1,212 @@
+package org.cybnity.accesscontrol.domain.infrastructure.impl;
+
+import org.cybnity.framework.domain.model.Tenant;
+import org.cybnity.framework.immutable.ImmutabilityException;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process cache of rehydrated Tenant aggregates, bounded in size (least recently used are evicted) and in time (entries expired after a time-to-live).
+ * Each entry retains the state of the tenant rehydrated until a position of its stream, allowing its store to read and apply only the change events appended after it (stream tail).
+ * The cached state is never shared: each reader gets its own copy of it.
+ */
+public class RehydratedTenantsCache {
+
+    /**
+     * Default maximum quantity of cached tenants.
+     */
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    /**
+     * Default time-to-live of a cached tenant.
+     */
+    public static final long DEFAULT_TTL_IN_MILLIS = 30000;
+
+    private final int capacity;
+    private final long ttlInMillis;
+    private final Map<String, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder tailRefreshes = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Default constructor.
+     *
+     * @param capacity    Maximum quantity of cached tenants. When lower than 1, the cache is disabled.
+     * @param ttlInMillis Time-to-live of a cached tenant. When lower than 1, DEFAULT_TTL_IN_MILLIS is applied.
+     */
+    public RehydratedTenantsCache(int capacity, long ttlInMillis) {
+        this.capacity = capacity;
+        this.ttlInMillis = (ttlInMillis > 0) ? ttlInMillis : DEFAULT_TTL_IN_MILLIS;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                boolean evict = size() > RehydratedTenantsCache.this.capacity;
+                if (evict) evictions.increment();
+                return evict;
+            }
+        });
+    }
+
+    /**
+     * Is this cache enabled?
+     *
+     * @return True when capacity allow to retain tenants.
+     */
+    public boolean isEnabled() {
+        return capacity > 0;
+    }
+
+    /**
+     * Get a not expired cached entry.
+     *
+     * @param tenantId Mandatory identifier of the tenant.
+     * @return An entry, or null when none or expired (miss is counted).
+     */
+    public Entry get(String tenantId) {
+        if (!isEnabled() || tenantId == null) return null;
+        Entry entry = entries.get(tenantId);
+        if (entry != null && (System.currentTimeMillis() - entry.cachedAt) > ttlInMillis) {
+            entries.remove(tenantId, entry);
+            entry = null;
+        }
+        if (entry == null) misses.increment();
+        return entry;
+    }
+
+    /**
+     * Retain the state of a rehydrated tenant.
+     *
+     * @param tenantId Mandatory identifier of the tenant.
+     * @param state    Rehydrated tenant, which is retained by this cache and shall not be used by the caller after this call. Ignored when null.
+     * @param position Quantity of change events of the tenant stream which are included into the state. Ignored when negative (unknown position).
+     * @return The retained entry, or null when not retained (e.g disabled cache).
+     */
+    public Entry put(String tenantId, Tenant state, int position) {
+        if (!isEnabled() || tenantId == null || state == null || position < 0) return null;
+        Entry entry = new Entry(state, position);
+        entries.put(tenantId, entry);
+        return entry;
+    }
+
+    /**
+     * Replace a cached entry by the state including the change events appended into the tenant stream after its position.
+     * The extended entry is retained only when the cached entry is still the base one (e.g not invalidated by an append during the tail read).
+     *
+     * @param tenantId  Mandatory identifier of the tenant.
+     * @param base      Mandatory entry read from this cache.
+     * @param head      Mandatory copy of the base state (see Entry.tenant()) where the tail events have been applied, which is retained by this cache and shall not be used by the caller after this call.
+     * @param tailCount Quantity of change events applied from the tenant stream after the base position.
+     * @return The entry including the tail events, or the base entry when none tail event.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    public Entry extend(String tenantId, Entry base, Tenant head, int tailCount) throws IllegalArgumentException {
+        if (tenantId == null) throw new IllegalArgumentException("tenantId parameter is required!");
+        if (base == null) throw new IllegalArgumentException("base parameter is required!");
+        if (head == null) throw new IllegalArgumentException("head parameter is required!");
+        if (tailCount <= 0) return base;
+        Entry extended = new Entry(head, base.position() + tailCount);
+        if (isEnabled()) entries.replace(tenantId, base, extended);
+        return extended;
+    }
+
+    /**
+     * Remove a tenant from the cache.
+     *
+     * @param tenantId Identifier of the tenant.
+     */
+    public void invalidate(String tenantId) {
+        if (tenantId != null) entries.remove(tenantId);
+    }
+
+    /**
+     * Remove all the tenants from the cache.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Count a tenant served from the cache.
+     *
+     * @param withTail True when change events committed after the cached version have been applied.
+     */
+    void recordHit(boolean withTail) {
+        hits.increment();
+        if (withTail) tailRefreshes.increment();
+    }
+
+    /**
+     * Count a cached entry which could not be served (e.g not verifiable version).
+     */
+    void recordMiss() {
+        misses.increment();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return Quantity of hits which required application of tail events.
+     */
+    public long tailRefreshes() {
+        return tailRefreshes.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public String toString() {
+        return "size=" + size() + ", hits=" + hits() + ", misses=" + misses() + ", tailRefreshes=" + tailRefreshes() + ", evictions=" + evictions();
+    }
+
+    /**
+     * Cached tenant state with the position of its tenant stream.
+     * The state is only read to build the copies delivered to the readers (none stream read, none replay of the stream events).
+     */
+    public static final class Entry {
+        private final Tenant state;
+        private final int position;
+        private final long cachedAt;
+
+        private Entry(Tenant state, int position) {
+            this.state = state;
+            this.position = position;
+            this.cachedAt = System.currentTimeMillis();
+        }
+
+        /**
+         * Get the quantity of change events of the tenant stream which are included into this entry.
+         * The events appended into the stream after this position are the tail to apply.
+         *
+         * @return A position into the tenant stream.
+         */
+        public int position() {
+            return position;
+        }
+
+        /**
+         * Get a new instance of the cached tenant, copied from the retained state.
+         *
+         * @return A tenant instance never shared with other readers.
+         * @throws ImmutabilityException When the state can't be copied.
+         */
+        public Tenant tenant() throws ImmutabilityException {
+            return (Tenant) state.immutable();
+        }
+    }
+}
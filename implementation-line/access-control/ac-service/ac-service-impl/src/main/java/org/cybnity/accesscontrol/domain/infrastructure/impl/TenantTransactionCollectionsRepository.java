@@ -2,6 +2,8 @@ package org.cybnity.accesscontrol.domain.infrastructure.impl;
 
 import org.cybnity.accesscontrol.domain.infrastructure.impl.projections.AccessControlDomainGraphImpl;
 import org.cybnity.accesscontrol.domain.infrastructure.impl.projections.AccessControlDomainReadModelImpl;
+import org.cybnity.accesscontrol.domain.infrastructure.impl.projections.TenantDataViewStateTransactionImpl;
+import org.cybnity.accesscontrol.domain.model.ConsistencyToken;
 import org.cybnity.accesscontrol.domain.service.api.event.ACApplicationQueryName;
 import org.cybnity.accesscontrol.domain.service.api.model.TenantDataView;
 import org.cybnity.accesscontrol.domain.service.api.model.TenantTransactionsCollection;
@@ -18,8 +20,11 @@ import org.cybnity.framework.domain.model.Tenant;
 import org.cybnity.framework.immutable.Identifier;
 import org.cybnity.infrastructure.technical.registry.repository.impl.janusgraph.AbstractReadModelRepository;
 
+import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
 import java.util.logging.Logger;
 
 /**
@@ -40,6 +45,16 @@ public class TenantTransactionCollectionsRepository extends AbstractReadModelRep
      */
     private final Logger logger = Logger.getLogger(TenantTransactionCollectionsRepository.class.getName());
 
+    /**
+     * Executor of the queries, isolated from the common pool.
+     */
+    private final QueryExecutor queryExecutor;
+
+    /**
+     * Set of projections managed by this repository.
+     */
+    private final AccessControlDomainReadModelImpl readModel;
+
     /**
      * Reserved constructor that initialize the graph instance under responsibility of this repository, with preparation of its read-model scope (set of projections supported).
      *
@@ -51,7 +66,30 @@ public class TenantTransactionCollectionsRepository extends AbstractReadModelRep
     private TenantTransactionCollectionsRepository(IContext ctx, IDomainStore<Tenant> tenantsWriteModelStore) throws UnoperationalStateException, IllegalArgumentException {
         super(new AccessControlDomainGraphImpl(ctx));
         // Define set of projections identifying the read-model scope that can manipulate the graph
-        this.setManagedProjections(new AccessControlDomainReadModelImpl(ctx, new AccessControlDomainGraphImpl(ctx), READ_MODEL_OWNERSHIP, this, tenantsWriteModelStore));
+        this.readModel = new AccessControlDomainReadModelImpl(ctx, new AccessControlDomainGraphImpl(ctx), READ_MODEL_OWNERSHIP, this, tenantsWriteModelStore);
+        this.setManagedProjections(this.readModel);
+        this.queryExecutor = createQueryExecutor(ctx);
+    }
+
+    /**
+     * Create the executor of the queries according to the context configuration (see ACReadModelConfigurationVariable).
+     *
+     * @param ctx Mandatory context.
+     * @return An executor.
+     * @throws IllegalArgumentException When invalid configuration value.
+     */
+    private static QueryExecutor createQueryExecutor(IContext ctx) throws IllegalArgumentException {
+        try {
+            String threads = ctx.get(ACReadModelConfigurationVariable.AC_READMODEL_QUERY_THREADS);
+            String queueCapacity = ctx.get(ACReadModelConfigurationVariable.AC_READMODEL_QUERY_QUEUE_CAPACITY);
+            String timeout = ctx.get(ACReadModelConfigurationVariable.AC_READMODEL_QUERY_TIMEOUT_IN_MILLIS);
+            return new QueryExecutor(TenantTransactionCollectionsRepository.class.getSimpleName(),
+                    (threads != null && !threads.isEmpty()) ? Integer.parseInt(threads.trim()) : QueryExecutor.DEFAULT_THREADS,
+                    (queueCapacity != null && !queueCapacity.isEmpty()) ? Integer.parseInt(queueCapacity.trim()) : QueryExecutor.DEFAULT_QUEUE_CAPACITY,
+                    (timeout != null && !timeout.isEmpty()) ? Duration.ofMillis(Long.parseLong(timeout.trim())) : QueryExecutor.DEFAULT_TIMEOUT);
+        } catch (NumberFormatException nfe) {
+            throw new IllegalArgumentException("Invalid query executor configuration!", nfe);
+        }
     }
 
     /**
@@ -71,20 +109,76 @@ public class TenantTransactionCollectionsRepository extends AbstractReadModelRep
     }
 
     /**
-     * Close the graph model.
+     * Stop the asynchronous projections, then close the graph model.
      */
     @Override
     public void freeUpResources() {
+        this.readModel.stop(TenantDataViewStateTransactionImpl.DEFAULT_STOP_TIMEOUT_IN_MILLIS);
+        this.queryExecutor.shutdown();
         this.graphModel().freeUpResources();
     }
 
+    /**
+     * Is the read-model updated asynchronously regarding the write-model changes?
+     * When true, a query shall be given the consistency token of the previous writes to include them (see queryWhere(Map, IContext, ConsistencyToken, long)).
+     *
+     * @return True when the projections are updated asynchronously.
+     */
+    public boolean isProjectedAsynchronously() {
+        return this.readModel.isAsynchronous();
+    }
+
     @Override
     public String queryNameBasedOn() {
         return Command.TYPE;
     }
 
+    @Override
+    public List<TenantTransactionsCollection> queryWhere(Map<String, String> searchCriteria, IContext ctx, ConsistencyToken minVersion, long timeoutInMillis) throws IllegalArgumentException, UnsupportedOperationException, UnoperationalStateException {
+        if (minVersion != null && !minVersion.isEmpty() && searchCriteria != null) {
+            String queryName = searchCriteria.get(queryNameBasedOn());
+            if (queryName != null && !queryName.isEmpty()) {
+                // Wait for the catch-up of the projection supporting the query
+                IReadModelProjection managedProjection = this.findBySupportedQuery(Enum.valueOf(ACApplicationQueryName.class, queryName));
+                if (managedProjection instanceof TenantDataViewStateTransactionImpl) {
+                    TenantDataViewStateTransactionImpl projection = (TenantDataViewStateTransactionImpl) managedProjection;
+                    long deadline = System.currentTimeMillis() + timeoutInMillis;
+                    try {
+                        // Wait only for the written tenant versions
+                        for (Map.Entry<String, ConsistencyToken.AggregateVersion> written : minVersion.versions().entrySet()) {
+                            if (!projection.awaitProjectedVersion(written.getKey(), written.getValue(), Math.max(0, deadline - System.currentTimeMillis())))
+                                throw new UnoperationalStateException("Read-model projection of tenant " + written.getKey() + " not caught up to version " + written.getValue() + " after " + timeoutInMillis + "ms!");
+                        }
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        throw new UnoperationalStateException("Interrupted wait of read-model projection catch-up!", ie);
+                    }
+                }
+            }
+        }
+        return queryWhere(searchCriteria, ctx);
+    }
+
+    /**
+     * Execute a query and wait for its results.
+     * Thin wrapper of queryWhereAsync(...) which is blocking the caller until the query end or timeout.
+     */
     @Override
     public List<TenantTransactionsCollection> queryWhere(Map<String, String> searchCriteria, IContext ctx) throws IllegalArgumentException, UnsupportedOperationException, UnoperationalStateException {
+        try {
+            return queryWhereAsync(searchCriteria, ctx).toCompletableFuture().get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new UnoperationalStateException(ie);
+        } catch (ExecutionException ee) {
+            Throwable cause = (ee.getCause() instanceof CompletionException && ee.getCause().getCause() != null) ? ee.getCause().getCause() : ee.getCause();
+            if (cause instanceof UnoperationalStateException) throw (UnoperationalStateException) cause;
+            throw new UnoperationalStateException(cause);
+        }
+    }
+
+    @Override
+    public CompletionStage<List<TenantTransactionsCollection>> queryWhereAsync(Map<String, String> searchCriteria, IContext ctx) throws IllegalArgumentException, UnsupportedOperationException {
         if (searchCriteria != null) {
             // Identify the query name based on query type (projection that support the query parameters and specific data path/structure)
             String queryName = searchCriteria.get(queryNameBasedOn());
@@ -102,45 +196,15 @@ public class TenantTransactionCollectionsRepository extends AbstractReadModelRep
                             /* None prior command managed during this explicit query call */ null);
 
                     // Execute the query via delegation to the found projection (owner of data structure and supported parameter types)
-                    // See https://www.callicoder.com/java-8-completablefuture-tutorial/ for help and possible implementation approaches for sync/async execution of query
-                    CompletableFuture<Optional<DataTransferObject>> executionResulting = CompletableFuture.supplyAsync(() -> {
+                    // on the executor dedicated to the blocking queries of this repository
+                    return queryExecutor.submit(() -> {
                         // Execute the query onto the projection and deliver the optional results
                         try {
                             return managedProjection.when(queryToPerform);
                         } catch (UnoperationalStateException e) {
-                            throw new RuntimeException(e);
-                        }
-                    }).thenApply(IQueryResponse::value);
-
-                    try {
-                        // Read results when available via CompletableFuture.get() blocking method invoked on IQueryResponse,
-                        // that waits until the Future is completed (return result after its completion)
-                        Optional<DataTransferObject> dto = executionResulting.get();
-                        if (dto.isPresent()) {
-                            // Build domain data view results to return
-                            List<TenantTransactionsCollection> results;
-                            DataTransferObject resultProvider = dto.get();
-                            if (TenantDataView.class.isAssignableFrom(resultProvider.getClass())) {
-                                // Valid type of collected data view object managed by this repository
-                                // that can be returned as unique result
-                                results = new LinkedList<>();
-                                TenantDataView record = (TenantDataView) resultProvider;
-                                TenantTransactionsCollection col = new TenantTransactionsCollection(record.valueOfProperty(TenantDataView.PropertyAttributeKey.IDENTIFIED_BY));
-                                col.add(record);
-                                results.add(col);
-                                return results;
-                            } else if (TenantTransactionsCollection.class.isAssignableFrom(resultProvider.getClass())) {
-                                // Valid type of collected data view object managed by this repository
-                                // that can be returned as unique result
-                                results = new LinkedList<>();
-                                results.add((TenantTransactionsCollection) resultProvider);
-                                return results;
-                            }
+                            throw new CompletionException(e);
                         }
-                        return null; // Confirm that none results are provided from the executed query
-                    } catch (Exception e) {
-                        throw new UnoperationalStateException(e);
-                    }
+                    }).thenApply(IQueryResponse::value).thenApply(this::toResults);
                 } else {
                     // else unknown query name or not supported by the read-model under responsibility of this repository,
                     // which make impossible to perform the query with potential result finding
@@ -154,6 +218,46 @@ public class TenantTransactionCollectionsRepository extends AbstractReadModelRep
         throw new IllegalArgumentException("Search criteria parameter is required!");
     }
 
+    /**
+     * Build the domain data view results from a query result.
+     *
+     * @param dto Optional query result.
+     * @return Results, or null when none results are provided from the executed query.
+     */
+    private List<TenantTransactionsCollection> toResults(Optional<DataTransferObject> dto) {
+        if (dto.isPresent()) {
+            // Build domain data view results to return
+            List<TenantTransactionsCollection> results;
+            DataTransferObject resultProvider = dto.get();
+            if (TenantDataView.class.isAssignableFrom(resultProvider.getClass())) {
+                // Valid type of collected data view object managed by this repository
+                // that can be returned as unique result
+                results = new LinkedList<>();
+                TenantDataView record = (TenantDataView) resultProvider;
+                TenantTransactionsCollection col = new TenantTransactionsCollection(record.valueOfProperty(TenantDataView.PropertyAttributeKey.IDENTIFIED_BY));
+                col.add(record);
+                results.add(col);
+                return results;
+            } else if (TenantTransactionsCollection.class.isAssignableFrom(resultProvider.getClass())) {
+                // Valid type of collected data view object managed by this repository
+                // that can be returned as unique result
+                results = new LinkedList<>();
+                results.add((TenantTransactionsCollection) resultProvider);
+                return results;
+            }
+        }
+        return null; // Confirm that none results are provided from the executed query
+    }
+
+    /**
+     * Get the executor of the queries (e.g for queue depth and latency metrics read).
+     *
+     * @return An executor.
+     */
+    public QueryExecutor queryExecutor() {
+        return this.queryExecutor;
+    }
+
     @Override
     public TenantTransactionsCollection nextIdentity(IContext ctx) {
         if (ctx == null) throw new IllegalArgumentException("ctx parameter is required!");
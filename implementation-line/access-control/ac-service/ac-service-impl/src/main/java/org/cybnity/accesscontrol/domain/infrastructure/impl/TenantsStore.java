@@ -1,8 +1,13 @@
 package org.cybnity.accesscontrol.domain.infrastructure.impl;
 
+import org.cybnity.accesscontrol.domain.infrastructure.impl.snapshot.ISnapshotPolicy;
+import org.cybnity.accesscontrol.domain.infrastructure.impl.snapshot.SnapshotMetrics;
+import org.cybnity.accesscontrol.domain.infrastructure.impl.snapshot.SnapshotPolicyFactory;
 import org.cybnity.framework.IContext;
 import org.cybnity.framework.IReadableConfiguration;
 import org.cybnity.framework.UnoperationalStateException;
+import org.cybnity.framework.domain.DomainEvent;
+import org.cybnity.framework.domain.event.ConcreteDomainChangeEvent;
 import org.cybnity.framework.domain.infrastructure.IDomainStore;
 import org.cybnity.framework.domain.infrastructure.ISnapshotRepository;
 import org.cybnity.framework.domain.infrastructure.SnapshotProcessEventStreamPersistenceBased;
@@ -14,6 +19,10 @@ import org.cybnity.infastructure.technical.persistence.store.impl.redis.DomainRe
 import org.cybnity.infastructure.technical.persistence.store.impl.redis.PersistentObjectNamingConvention;
 
 import java.io.Serializable;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -31,6 +40,64 @@ public class TenantsStore extends DomainResourceStoreRedisImpl implements IDomai
      */
     private static final IReadableConfiguration SNAPSHOT_ITEM_EXPIRATION_CONFIG_VARIABLE = ACWriteModelConfigurationVariable.AC_WRITEMODEL_SNAPSHOT_ITEM_DEFAULT_EXPIRATION_DURATION_IN_SECONDS;
 
+    /**
+     * Maximum quantity of asynchronous snapshot generations waiting for execution.
+     * When reached, the required snapshots are skipped and will be required again by the policy at the next append.
+     */
+    private static final int ASYNC_SNAPSHOT_QUEUE_CAPACITY = 1000;
+
+    /**
+     * Policy deciding when a snapshot is generated after an append.
+     */
+    private final ISnapshotPolicy snapshotPolicy;
+
+    /**
+     * Metrics relative to the snapshots generated by this store.
+     */
+    private final SnapshotMetrics snapshotMetrics;
+
+    /**
+     * Optional executor of asynchronous snapshot generations.
+     * When null, the snapshots are generated during the append call.
+     */
+    private final ExecutorService snapshotExecutor;
+
+    /**
+     * Identifiers of the tenants which have a snapshot generation pending into the executor.
+     */
+    private final Set<String> pendingSnapshots = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Default maximum quantity of tenant streams concurrently appended by a batch append.
+     */
+    private static final int DEFAULT_BATCH_APPEND_PARALLELISM = 4;
+
+    /**
+     * Maximum quantity of tenant streams concurrently appended by a batch append.
+     */
+    private final int batchAppendParallelism;
+
+    /**
+     * Executor of the concurrent stream appends performed by a batch append, created at the first batch append of several aggregates.
+     */
+    private ExecutorService batchAppendExecutor;
+
+    /**
+     * Is the tenant state carried next to the appended change events (event-carried state)?
+     */
+    private final boolean eventCarriedState;
+
+    /**
+     * Tenant states carried next to the change events during their append, per event identifier.
+     * The states are only delivered to the projections (see carriedState(...)), and are never attached to the events nor persisted into the stream.
+     */
+    private final Map<String, CarriedTenantState> notifiedStates = new ConcurrentHashMap<>();
+
+    /**
+     * In-process cache of the rehydrated tenants.
+     */
+    private final RehydratedTenantsCache tenantsCache;
+
     /**
      * Default constructor.
      *
@@ -43,6 +110,90 @@ public class TenantsStore extends DomainResourceStoreRedisImpl implements IDomai
      */
     public TenantsStore(IContext ctx, IDomainModel dataOwner, PersistentObjectNamingConvention.NamingConventionApplicability managedObjectCategory, ISnapshotRepository snapshotsCapability) throws UnoperationalStateException, IllegalArgumentException {
         super(ctx, dataOwner, managedObjectCategory, snapshotsCapability);
+        this.snapshotPolicy = SnapshotPolicyFactory.create(ctx.get(ACWriteModelConfigurationVariable.AC_WRITEMODEL_SNAPSHOT_POLICY), ctx.get(ACWriteModelConfigurationVariable.AC_WRITEMODEL_SNAPSHOT_EVENTS_THRESHOLD), ctx.get(ACWriteModelConfigurationVariable.AC_WRITEMODEL_SNAPSHOT_AGE_THRESHOLD_IN_SECONDS));
+        this.snapshotMetrics = new SnapshotMetrics(this.snapshotPolicy);
+        this.snapshotExecutor = createSnapshotExecutor(ctx.get(ACWriteModelConfigurationVariable.AC_WRITEMODEL_SNAPSHOT_ASYNC_THREADS));
+        this.batchAppendParallelism = batchAppendParallelism(ctx.get(ACWriteModelConfigurationVariable.AC_WRITEMODEL_BATCH_APPEND_PARALLELISM));
+        String carriedState = ctx.get(ACWriteModelConfigurationVariable.AC_WRITEMODEL_EVENT_CARRIED_STATE);
+        this.eventCarriedState = carriedState == null || carriedState.isEmpty() || Boolean.parseBoolean(carriedState.trim());
+        this.tenantsCache = createTenantsCache(ctx.get(ACWriteModelConfigurationVariable.AC_WRITEMODEL_AGGREGATE_CACHE_CAPACITY), ctx.get(ACWriteModelConfigurationVariable.AC_WRITEMODEL_AGGREGATE_CACHE_TTL_IN_SECONDS));
+    }
+
+    /**
+     * Read the maximum quantity of tenant streams concurrently appended by a batch append.
+     *
+     * @param parallelism Optional quantity of concurrent appends.
+     * @return A quantity upper than 0.
+     * @throws IllegalArgumentException When invalid parallelism.
+     */
+    private static int batchAppendParallelism(String parallelism) throws IllegalArgumentException {
+        if (parallelism == null || parallelism.isEmpty()) return DEFAULT_BATCH_APPEND_PARALLELISM;
+        try {
+            return Math.max(1, Integer.parseInt(parallelism.trim()));
+        } catch (NumberFormatException nfe) {
+            throw new IllegalArgumentException("Invalid batch append parallelism!", nfe);
+        }
+    }
+
+    /**
+     * Get the executor of the stream appends performed by a batch append, created at the first call.
+     *
+     * @return An executor.
+     */
+    private synchronized ExecutorService batchAppendExecutor() {
+        if (batchAppendExecutor == null) {
+            final AtomicInteger threadIndex = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(batchAppendParallelism, batchAppendParallelism, 30L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                Thread t = new Thread(r, "tenants-batch-append-" + threadIndex.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+            executor.allowCoreThreadTimeOut(true);
+            batchAppendExecutor = executor;
+        }
+        return batchAppendExecutor;
+    }
+
+    /**
+     * Create the cache of rehydrated tenants.
+     *
+     * @param capacity     Optional maximum quantity of cached tenants.
+     * @param ttlInSeconds Optional time-to-live of a cached tenant.
+     * @return A cache.
+     * @throws IllegalArgumentException When invalid configuration value.
+     */
+    private static RehydratedTenantsCache createTenantsCache(String capacity, String ttlInSeconds) throws IllegalArgumentException {
+        try {
+            int size = (capacity != null && !capacity.isEmpty()) ? Integer.parseInt(capacity.trim()) : RehydratedTenantsCache.DEFAULT_CAPACITY;
+            long ttl = (ttlInSeconds != null && !ttlInSeconds.isEmpty()) ? Long.parseLong(ttlInSeconds.trim()) * 1000 : RehydratedTenantsCache.DEFAULT_TTL_IN_MILLIS;
+            return new RehydratedTenantsCache(size, ttl);
+        } catch (NumberFormatException nfe) {
+            throw new IllegalArgumentException("Invalid tenants cache configuration!", nfe);
+        }
+    }
+
+    /**
+     * Create the executor of asynchronous snapshot generations.
+     *
+     * @param threads Optional quantity of threads.
+     * @return An executor based on bounded queue, or null when none (or 0) threads defined.
+     * @throws IllegalArgumentException When invalid quantity of threads.
+     */
+    private static ExecutorService createSnapshotExecutor(String threads) throws IllegalArgumentException {
+        if (threads == null || threads.isEmpty()) return null;
+        int poolSize;
+        try {
+            poolSize = Integer.parseInt(threads.trim());
+        } catch (NumberFormatException nfe) {
+            throw new IllegalArgumentException("Invalid quantity of snapshot threads!", nfe);
+        }
+        if (poolSize <= 0) return null;
+        final AtomicInteger threadIndex = new AtomicInteger();
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(ASYNC_SNAPSHOT_QUEUE_CAPACITY), r -> {
+            Thread t = new Thread(r, "tenants-snapshot-" + threadIndex.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
     }
 
     /**
@@ -74,38 +225,304 @@ public class TenantsStore extends DomainResourceStoreRedisImpl implements IDomai
     @Override
     public void append(Tenant tenant) throws IllegalArgumentException, ImmutabilityException, UnoperationalStateException {
         if (tenant != null) {
-            // Execute the storage action to the store's stream
-            appendToStream(tenant.identified(), tenant.changeEvents());
-
-            // --- SNAPSHOT ACTIVATION ---
-            ISnapshotRepository snapRepo = this.snapshotsRepository();
-            if (snapRepo != null) {
-                final Identifier id = tenant.identified();
-
-                // Aligned with the expiration duration per saved item relative to the managed object type (tenant)
-                String snapshotItemExpirationIn = context().get(SNAPSHOT_ITEM_EXPIRATION_CONFIG_VARIABLE);
-                Long snapshotShallExpireIn = (snapshotItemExpirationIn != null && !snapshotItemExpirationIn.isEmpty()) ? Long.valueOf(snapshotItemExpirationIn) : null;
-
-                // Create and save a snapshot version into snapshots repository
-                SnapshotProcessEventStreamPersistenceBased snapshotProcess = new SnapshotProcessEventStreamPersistenceBased(/* streamedEventsProvider*/ this, /* snapshotsPersistenceSystem */ snapRepo, new Tenant.MutedTenantFactory(), snapshotShallExpireIn) {
-                    @Override
-                    protected HydrationCapability getRehydratedInstanceFrom(EventStream eventStream, MutedAggregateFactory mutedInstanceFactory) throws IllegalArgumentException {
-                        // Re-hydrate events from stream
-                        return mutedInstanceFactory.instanceOf(id, eventStream.getEvents());
-                    }
+            appendChanges(tenant.identified(), tenant.changeEvents(), tenant);
+        }
+    }
 
-                    @Override
-                    protected String snapshotsNamespace() {
-                        return snapshotsStorageNameSpace;
-                    }
-                };
+    /**
+     * Append a set of tenants into the store (e.g bulk import of organizations).
+     * The change events of the tenants relative to a same aggregate are appended into its stream in one call, according to their order into the collection.
+     * The streams of different aggregates are appended concurrently (bounded by the AC_WRITEMODEL_BATCH_APPEND_PARALLELISM configuration, sequentially by the calling thread when 1), and the snapshot policy is evaluated once per aggregate.
+     * All the aggregates are processed even when the append of some of them fails.
+     *
+     * @param tenants Mandatory tenants to append. Null items are ignored.
+     * @throws IllegalArgumentException    When mandatory parameter is missing.
+     * @throws UnoperationalStateException When the append of at least one aggregate failed (the other aggregates are appended).
+     */
+    public void appendAll(Collection<Tenant> tenants) throws IllegalArgumentException, UnoperationalStateException {
+        if (tenants == null) throw new IllegalArgumentException("tenants parameter is required!");
+        // Group the change events per aggregate, retaining their order of appearance
+        Map<String, Tenant> lastStates = new LinkedHashMap<>();
+        Map<String, List<DomainEvent>> changesPerAggregate = new LinkedHashMap<>();
+        for (Tenant tenant : tenants) {
+            if (tenant == null) continue;
+            String tenantId = tenant.identified().value().toString();
+            lastStates.put(tenantId, tenant); // Last instance is the post-change state of the aggregate
+            List<DomainEvent> changes = tenant.changeEvents();
+            List<DomainEvent> aggregateChanges = changesPerAggregate.computeIfAbsent(tenantId, k -> new ArrayList<>());
+            if (changes != null) aggregateChanges.addAll(changes);
+        }
+        if (changesPerAggregate.isEmpty()) return;
+
+        List<String> failed = new ArrayList<>();
+        Exception cause = null;
+        if (changesPerAggregate.size() == 1 || batchAppendParallelism == 1) {
+            // None concurrency benefit, or sequential appends by the calling thread
+            for (Map.Entry<String, List<DomainEvent>> aggregate : changesPerAggregate.entrySet()) {
+                Tenant state = lastStates.get(aggregate.getKey());
+                try {
+                    appendChanges(state.identified(), aggregate.getValue(), state);
+                } catch (Exception e) {
+                    failed.add(aggregate.getKey());
+                    if (cause == null) cause = e;
+                }
+            }
+        } else {
+            Map<String, Future<?>> appends = new LinkedHashMap<>();
+            ExecutorService executor = batchAppendExecutor();
+            for (Map.Entry<String, List<DomainEvent>> aggregate : changesPerAggregate.entrySet()) {
+                final Tenant state = lastStates.get(aggregate.getKey());
+                final List<DomainEvent> changes = aggregate.getValue();
+                appends.put(aggregate.getKey(), executor.submit(() -> {
+                    appendChanges(state.identified(), changes, state);
+                    return null;
+                }));
+            }
+            // Wait for all the appends and collect the failed aggregates
+            for (Map.Entry<String, Future<?>> append : appends.entrySet()) {
+                try {
+                    append.getValue().get();
+                } catch (ExecutionException ee) {
+                    failed.add(append.getKey());
+                    if (cause == null) cause = (ee.getCause() instanceof Exception) ? (Exception) ee.getCause() : ee;
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new UnoperationalStateException("Interrupted batch append!", ie);
+                }
+            }
+        }
+        if (!failed.isEmpty()) {
+            throw new UnoperationalStateException("Batch append failed regarding " + failed.size() + " of " + changesPerAggregate.size() + " tenants " + failed + "!", cause);
+        }
+    }
+
+    /**
+     * Append the change events of a tenant into its stream, and generate its snapshot when required by the snapshot policy.
+     *
+     * @param id      Mandatory identifier of the tenant.
+     * @param changes Change events to append.
+     * @param state   Optional state of the tenant after the changes, carried next to the change events notified to the projections when event-carried state is enabled.
+     * @throws ImmutabilityException       When problem of immutable version of stored event is occurred.
+     * @throws UnoperationalStateException When technical problem of storage.
+     */
+    void appendChanges(Identifier id, List<DomainEvent> changes, Tenant state) throws ImmutabilityException, UnoperationalStateException {
+        List<String> carriedBy = (eventCarriedState && state != null) ? registerState(changes, state) : Collections.emptyList();
+        try {
+            // Execute the storage action to the store's stream (with notification of the projections)
+            appendToStream(id, changes);
+        } finally {
+            for (String eventId : carriedBy) notifiedStates.remove(eventId);
+        }
+        String tenantId = id.value().toString();
+        // Cached version is no more the stream head
+        tenantsCache.invalidate(tenantId);
+
+        // --- SNAPSHOT ACTIVATION ---
+        if (this.snapshotsRepository() != null) {
+            snapshotPolicy.onAppended(tenantId, (changes != null) ? changes.size() : 0);
+            if (snapshotPolicy.isSnapshotRequired(tenantId)) {
+                scheduleSnapshot(id);
+            }
+        }
+    }
+
+    /**
+     * Evaluate the snapshot policy regarding a rehydrated tenant, so that the events of a tenant which is no more changed are covered by a snapshot when required (e.g age threshold reached since its last append).
+     * Only applied when the snapshots are generated by the asynchronous executor, so that a read never generates a snapshot; else the snapshots are only generated by the appends.
+     * A scheduling failure is logged without failure of the rehydration.
+     *
+     * @param id Mandatory identifier of the tenant.
+     */
+    private void onRehydrated(Identifier id) {
+        if (this.snapshotsRepository() == null || this.snapshotExecutor == null) return;
+        String tenantId = id.value().toString();
+        if (snapshotPolicy.isSnapshotRequired(tenantId)) {
+            try {
+                scheduleSnapshot(id);
+            } catch (UnoperationalStateException use) {
+                logger.log(Level.WARNING, "Snapshot generation failure after rehydration of tenant " + tenantId, use);
+            }
+        }
+    }
+
+    /**
+     * Register the state of a tenant as carried by its change events during their append, allowing the projections notified about these events to be updated without tenant rehydration.
+     *
+     * @param changes Change events.
+     * @param state   Mandatory state of the tenant after the changes.
+     * @return Identifiers of the events carrying the state.
+     */
+    private List<String> registerState(List<DomainEvent> changes, Tenant state) {
+        if (changes == null || changes.isEmpty() || state.occurredAt() == null) return Collections.emptyList();
+        CarriedTenantState carried = new CarriedTenantState(state);
+        List<String> carriedBy = new ArrayList<>(changes.size());
+        for (DomainEvent change : changes) {
+            if (change != null && ConcreteDomainChangeEvent.class.isAssignableFrom(change.getClass()) && change.identified() != null) {
+                String eventId = change.identified().value().toString();
+                notifiedStates.put(eventId, carried);
+                carriedBy.add(eventId);
+            }
+        }
+        return carriedBy;
+    }
+
+    /**
+     * Get the tenant state carried next to a change event which is delivered to a projection during its append (event-carried state).
+     *
+     * @param change Change event notified by this store.
+     * @return The state of the tenant after the change, or null when none state is carried (e.g event notified out of its append, event-carried state disabled).
+     */
+    public CarriedTenantState carriedState(DomainEvent change) {
+        if (change == null || change.identified() == null) return null;
+        return notifiedStates.get(change.identified().value().toString());
+    }
+
+    /**
+     * Read the change events appended into the stream of a tenant after an event (e.g replay of the events not projected by an asynchronous projection).
+     *
+     * @param tenantId Mandatory identifier of the tenant.
+     * @param eventId  Identifier of the last known event. When null or not found into the stream, all the events of the stream are returned.
+     * @return Ordered events, or empty list when unknown tenant.
+     * @throws IllegalArgumentException    When mandatory parameter is missing.
+     * @throws UnoperationalStateException When problem of stream read.
+     */
+    public List<DomainEvent> changesAfter(String tenantId, String eventId) throws IllegalArgumentException, UnoperationalStateException {
+        if (tenantId == null || tenantId.isEmpty()) throw new IllegalArgumentException("tenantId parameter is required!");
+        EventStream stream = loadEventStream(tenantId);
+        if (stream == null || stream.getEvents() == null) return Collections.emptyList();
+        List<DomainEvent> events = stream.getEvents();
+        if (eventId != null) {
+            for (int i = events.size() - 1; i >= 0; i--) {
+                DomainEvent evt = events.get(i);
+                if (evt != null && evt.identified() != null && eventId.equals(evt.identified().value().toString()))
+                    return new ArrayList<>(events.subList(i + 1, events.size()));
+            }
+        }
+        return new ArrayList<>(events);
+    }
+
+    /**
+     * Generate a snapshot of a tenant, synchronously or via the asynchronous executor when defined.
+     * When an asynchronous generation is already pending for the same tenant, none additional generation is scheduled.
+     *
+     * @param id Mandatory identifier of the tenant.
+     * @throws UnoperationalStateException When synchronous generation problem.
+     */
+    private void scheduleSnapshot(final Identifier id) throws UnoperationalStateException {
+        if (snapshotExecutor == null) {
+            generateSnapshot(id);
+            return;
+        }
+        final String tenantId = id.value().toString();
+        if (!pendingSnapshots.add(tenantId)) {
+            // Coalesced with the pending generation which will include the last appended events
+            return;
+        }
+        try {
+            snapshotMetrics.scheduled();
+            snapshotExecutor.execute(() -> {
+                // Released before generation, so that an append during generation can schedule a next one
+                pendingSnapshots.remove(tenantId);
+                try {
+                    generateSnapshot(id);
+                } catch (Exception e) {
+                    logger.log(Level.WARNING, "Asynchronous snapshot generation failure regarding tenant " + tenantId, e);
+                } finally {
+                    snapshotMetrics.unscheduled();
+                }
+            });
+        } catch (RejectedExecutionException ree) {
+            // Queue full: snapshot stay required by the policy and will be retried at the next append
+            pendingSnapshots.remove(tenantId);
+            snapshotMetrics.unscheduled();
+            snapshotMetrics.recordSkipped();
+        }
+    }
 
-                // Generate snapshot and save it into snapshots repository
-                snapshotProcess.generateSnapshot(tenant.identified().value().toString());
+    /**
+     * Create and save a snapshot version of a tenant into snapshots repository.
+     *
+     * @param id Mandatory identifier of the tenant.
+     * @throws UnoperationalStateException When generation problem.
+     */
+    private void generateSnapshot(final Identifier id) throws UnoperationalStateException {
+        ISnapshotRepository snapRepo = this.snapshotsRepository();
+        if (snapRepo == null) return;
+        String tenantId = id.value().toString();
+
+        // Aligned with the expiration duration per saved item relative to the managed object type (tenant)
+        String snapshotItemExpirationIn = context().get(SNAPSHOT_ITEM_EXPIRATION_CONFIG_VARIABLE);
+        Long snapshotShallExpireIn = (snapshotItemExpirationIn != null && !snapshotItemExpirationIn.isEmpty()) ? Long.valueOf(snapshotItemExpirationIn) : null;
+
+        SnapshotProcessEventStreamPersistenceBased snapshotProcess = new SnapshotProcessEventStreamPersistenceBased(/* streamedEventsProvider*/ this, /* snapshotsPersistenceSystem */ snapRepo, new Tenant.MutedTenantFactory(), snapshotShallExpireIn) {
+            @Override
+            protected HydrationCapability getRehydratedInstanceFrom(EventStream eventStream, MutedAggregateFactory mutedInstanceFactory) throws IllegalArgumentException {
+                // Re-hydrate events from stream
+                return mutedInstanceFactory.instanceOf(id, eventStream.getEvents());
             }
+
+            @Override
+            protected String snapshotsNamespace() {
+                return snapshotsStorageNameSpace;
+            }
+        };
+
+        // Reset the lag before the generation, which includes all the events appended until now
+        snapshotPolicy.onSnapshotted(tenantId);
+        long startedAt = System.nanoTime();
+        try {
+            // Generate snapshot and save it into snapshots repository
+            snapshotProcess.generateSnapshot(tenantId);
+            snapshotMetrics.recordGenerated(System.nanoTime() - startedAt);
+        } catch (RuntimeException e) {
+            snapshotMetrics.recordFailed();
+            // Keep the snapshot required at the next append
+            snapshotPolicy.onAppended(tenantId, 1);
+            throw new UnoperationalStateException(e);
         }
     }
 
+    /**
+     * Get the metrics relative to the snapshots generated by this store.
+     *
+     * @return Snapshot metrics.
+     */
+    public SnapshotMetrics snapshotMetrics() {
+        return this.snapshotMetrics;
+    }
+
+    /**
+     * Get the cache of rehydrated tenants (e.g for hit/miss counters read).
+     *
+     * @return A cache.
+     */
+    public RehydratedTenantsCache tenantsCache() {
+        return this.tenantsCache;
+    }
+
+    @Override
+    public void freeUpResources() {
+        synchronized (this) {
+            if (batchAppendExecutor != null) {
+                batchAppendExecutor.shutdown();
+                batchAppendExecutor = null;
+            }
+        }
+        if (snapshotExecutor != null) {
+            snapshotExecutor.shutdown();
+            try {
+                if (!snapshotExecutor.awaitTermination(5, TimeUnit.SECONDS)) snapshotExecutor.shutdownNow();
+            } catch (InterruptedException ie) {
+                snapshotExecutor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+            logger.fine("Snapshot metrics: " + snapshotMetrics);
+        }
+        logger.fine("Tenants cache: " + tenantsCache);
+        tenantsCache.clear();
+        super.freeUpResources();
+    }
+
     @Override
     public Tenant findEventFrom(Identifier identifier, IContext ctx) throws IllegalArgumentException, UnoperationalStateException {
         if (ctx == null) throw new IllegalArgumentException("ctx parameter is required!");
@@ -114,8 +531,11 @@ public class TenantsStore extends DomainResourceStoreRedisImpl implements IDomai
 
     /**
      * Get the last version of Tenant full state from its write-model, as last version known when the change identifier was applied.
-     * When snapshot repository is existing, this service attempt to find latest snapshot version for re-hydration performance optimization;
+     * When the tenant is retained by the in-process cache, only the change events appended after the cached stream position are read and applied.
+     * Else when snapshot repository is existing, this service attempt to find latest snapshot version for re-hydration performance optimization;
      * else read origin event stream for re-hydration of the tenant to search and return.
+     * When the cache is enabled, the rehydrated state is retained by the cache with its stream position.
+     * The snapshot policy is evaluated after each rehydration not served by the cache, when the snapshots are generated asynchronously (e.g age threshold reached without new append).
      *
      * @param identifier Mandatory identifier of the Tenant to load.
      * @return A tenant full state valued.
@@ -123,37 +543,113 @@ public class TenantsStore extends DomainResourceStoreRedisImpl implements IDomai
     @Override
     public Tenant findEventFrom(Identifier identifier) throws IllegalArgumentException, UnoperationalStateException {
         if (identifier != null) {
-            // Read potential existing snapshot when available repository
-            String snapshotVersion = String.valueOf(Tenant.serialVersionUID());
-            ISnapshotRepository snapRepo = snapshotsRepository();
-            if (snapRepo != null) {
-                ISnapshot rehydratedVersionContainer = snapRepo.getLatestSnapshotById(identifier.value().toString(), snapshotsStorageNameSpace);
-                if (rehydratedVersionContainer != null && FactRecord.class.isAssignableFrom(rehydratedVersionContainer.getClass())) {
-                    FactRecord fact = (FactRecord) rehydratedVersionContainer;
-                    Serializable rehydratableObject = fact.body();
-                    if (rehydratableObject != null && HydrationCapability.class.isAssignableFrom(rehydratableObject.getClass())) {
-                        // Load any events since snapshot was taken
-                        EventStream stream = loadEventStreamAfterVersion(identifier.value().toString(), snapshotVersion);
-                        if (stream != null) {
-                            // Replay these events to update snapshot
-                            Tenant tenantObj = (Tenant) rehydratableObject;
-                            tenantObj.replayEvents(stream);
-                            return tenantObj;// Return rehydrated snapshot based instance
-                        }
-                    }
-
-                } // else  None available persisted snapshot
+            Tenant found = findCachedVersion(identifier);
+            if (found == null) {
+                found = rehydrate(identifier);
+                if (found != null) onRehydrated(identifier);
             }
+            return found;
+        }
+        return null;
+    }
 
-            // --- None active snapshot supporting this store, or none rehydrated version retrieved from snapshots repository ---
-            // Load events and aggregate from store
-            EventStream stream = loadEventStream(identifier.value().toString());
-            if (stream != null) {
-                // Re-hydrate event from origin stream and return instance
-                return Tenant.instanceOf(identifier, stream.getEvents());
+    /**
+     * Get a tenant from the cache, updated with the change events appended after the cached stream position (stream head).
+     *
+     * @param identifier Mandatory identifier of the tenant.
+     * @return A tenant aligned with the stream head, or null when not cached or not readable stream tail.
+     * @throws UnoperationalStateException When problem of stream read.
+     */
+    private Tenant findCachedVersion(Identifier identifier) throws UnoperationalStateException {
+        String tenantId = identifier.value().toString();
+        RehydratedTenantsCache.Entry cached = tenantsCache.get(tenantId);
+        if (cached == null) return null;
+        try {
+            // Read only the events appended after the cached position
+            EventStream tail = loadEventStream(tenantId, cached.position(), Integer.MAX_VALUE);
+            if (tail != null) {
+                int tailCount = (tail.getEvents() != null) ? tail.getEvents().size() : 0;
+                Tenant head = cached.tenant();
+                if (tailCount > 0) {
+                    head.replayEvents(tail);
+                    // Retained head is a copy never delivered to the reader
+                    head = tenantsCache.extend(tenantId, cached, head, tailCount).tenant();
+                }
+                tenantsCache.recordHit(tailCount > 0);
+                return head;
             }
+        } catch (ImmutabilityException ie) {
+            logger.log(Level.FINE, "Not copyable cached tenant " + tenantId, ie);
+        }
+        // Not verifiable stream head
+        tenantsCache.invalidate(tenantId);
+        tenantsCache.recordMiss();
+        return null;
+    }
+
+    /**
+     * Rehydrate a tenant from its latest snapshot (when existing) or from its origin event stream.
+     * When the cache is enabled and the stream position of the rehydrated state is known, the state is retained by the cache and a copy is returned.
+     *
+     * @param identifier Mandatory identifier of the Tenant to load.
+     * @return A tenant full state valued, or null when unknown.
+     * @throws UnoperationalStateException When problem of stream or snapshot read.
+     */
+    private Tenant rehydrate(Identifier identifier) throws UnoperationalStateException {
+        // Read potential existing snapshot when available repository
+        String snapshotVersion = String.valueOf(Tenant.serialVersionUID());
+        ISnapshotRepository snapRepo = snapshotsRepository();
+        if (snapRepo != null) {
+            ISnapshot rehydratedVersionContainer = snapRepo.getLatestSnapshotById(identifier.value().toString(), snapshotsStorageNameSpace);
+            if (rehydratedVersionContainer != null && FactRecord.class.isAssignableFrom(rehydratedVersionContainer.getClass())) {
+                FactRecord fact = (FactRecord) rehydratedVersionContainer;
+                Serializable rehydratableObject = fact.body();
+                if (rehydratableObject != null && HydrationCapability.class.isAssignableFrom(rehydratableObject.getClass())) {
+                    // Load any events since snapshot was taken
+                    EventStream stream = loadEventStreamAfterVersion(identifier.value().toString(), snapshotVersion);
+                    if (stream != null) {
+                        // Replay these events to update snapshot
+                        Tenant tenantObj = (Tenant) rehydratableObject;
+                        tenantObj.replayEvents(stream);
+                        // Stream version is the position of the last event read after the snapshot
+                        return cached(identifier, tenantObj, stream.getVersion());// Return rehydrated snapshot based instance
+                    }
+                }
+
+            } // else  None available persisted snapshot
+        }
+
+        // --- None active snapshot supporting this store, or none rehydrated version retrieved from snapshots repository ---
+        // Load events and aggregate from store
+        EventStream stream = loadEventStream(identifier.value().toString());
+        if (stream != null) {
+            // Re-hydrate event from origin stream and return instance
+            Tenant tenantObj = Tenant.instanceOf(identifier, stream.getEvents());
+            // Unknown tenant is not retained
+            return (stream.getEvents() != null && !stream.getEvents().isEmpty()) ? cached(identifier, tenantObj, stream.getEvents().size()) : tenantObj;
         }
         return null;
     }
 
+    /**
+     * Retain a rehydrated tenant into the cache when enabled.
+     *
+     * @param identifier Mandatory identifier of the tenant.
+     * @param tenant     Rehydrated tenant.
+     * @param position   Quantity of change events of the tenant stream included into the tenant state.
+     * @return A copy of the retained tenant, or the tenant itself when not retained.
+     */
+    private Tenant cached(Identifier identifier, Tenant tenant, int position) {
+        if (tenant == null || !tenantsCache.isEnabled()) return tenant;
+        RehydratedTenantsCache.Entry entry = tenantsCache.put(identifier.value().toString(), tenant, position);
+        if (entry == null) return tenant;
+        try {
+            return entry.tenant();
+        } catch (ImmutabilityException ie) {
+            // Retained state shall not be shared with the caller
+            tenantsCache.invalidate(identifier.value().toString());
+            return tenant;
+        }
+    }
+
 }
@@ -1,5 +1,6 @@
 package org.cybnity.accesscontrol.domain.infrastructure.impl;
 
+import org.cybnity.accesscontrol.domain.model.ConsistencyToken;
 import org.cybnity.accesscontrol.domain.model.ITenantsWriteModel;
 import org.cybnity.framework.UnoperationalStateException;
 import org.cybnity.framework.domain.Command;
@@ -7,6 +8,7 @@ import org.cybnity.framework.domain.infrastructure.IDomainStore;
 import org.cybnity.framework.domain.model.Tenant;
 import org.cybnity.framework.immutable.ImmutabilityException;
 
+import java.util.Collection;
 import java.util.logging.Logger;
 
 /**
@@ -55,9 +57,39 @@ public class TenantsWriteModelImpl implements ITenantsWriteModel {
     }
 
     @Override
-    public void add(Tenant tenant) throws IllegalArgumentException, ImmutabilityException, UnoperationalStateException {
+    public ConsistencyToken add(Tenant tenant) throws IllegalArgumentException, ImmutabilityException, UnoperationalStateException {
         if (tenant == null) throw new IllegalArgumentException("tenant parameter is required!");
         // Add new version  of object into persistence system
         this.persistenceLayer.append(tenant);
+        return writtenVersion(tenant);
+    }
+
+    @Override
+    public ConsistencyToken addAll(Collection<Tenant> tenants) throws IllegalArgumentException, ImmutabilityException, UnoperationalStateException {
+        if (tenants == null) throw new IllegalArgumentException("tenants parameter is required!");
+        if (TenantsStore.class.isAssignableFrom(this.persistenceLayer.getClass())) {
+            // Batch append supported by the store
+            ((TenantsStore) this.persistenceLayer).appendAll(tenants);
+        } else {
+            for (Tenant tenant : tenants) {
+                if (tenant != null) this.persistenceLayer.append(tenant);
+            }
+        }
+        ConsistencyToken written = ConsistencyToken.NONE;
+        for (Tenant tenant : tenants) {
+            if (tenant != null) written = written.merge(writtenVersion(tenant));
+        }
+        return written;
+    }
+
+    /**
+     * Get the token identifying the version of an appended tenant, which shall be reached by the read-model projections (whatever the system instance projecting it).
+     *
+     * @param tenant Mandatory appended tenant.
+     * @return A token.
+     */
+    private static ConsistencyToken writtenVersion(Tenant tenant) {
+        return ConsistencyToken.of(tenant.identified().value().toString(), tenant.getCommitVersion(),
+                (tenant.occurredAt() != null) ? tenant.occurredAt().toInstant().toEpochMilli() : System.currentTimeMillis());
     }
 }
@@ -1,11 +1,21 @@
 package org.cybnity.accesscontrol.domain.infrastructure.impl.projections;
 
+import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.cybnity.accesscontrol.domain.service.api.model.TenantDataView;
 import org.cybnity.framework.IContext;
 import org.cybnity.framework.UnoperationalStateException;
 import org.cybnity.infrastructure.technical.registry.repository.impl.janusgraph.AbstractDomainGraphImpl;
+import org.janusgraph.core.Cardinality;
+import org.janusgraph.core.PropertyKey;
+import org.janusgraph.core.VertexLabel;
+import org.janusgraph.core.schema.ConsistencyModifier;
+import org.janusgraph.core.schema.JanusGraphIndex;
 import org.janusgraph.core.schema.JanusGraphManagement;
 
+import java.util.Date;
+import java.util.LinkedList;
+import java.util.List;
+
 /**
  * Graph covering the Access Control domain and scope of Vertex types managed in this area (e.g Tenants, in relation with other subdomains).
  * Maintain here the definition of the AC subdomain's graph elements (data view as vertice with unique name) that can be navigated over transversal according to their relations (edges), their properties (vertice property like view type's label).
@@ -17,6 +27,31 @@ public class AccessControlDomainGraphImpl extends AbstractDomainGraphImpl {
      */
     private static final String GRAPH_NAME = "Access Control subdomain";
 
+    /**
+     * Name of the vertex property supporting the logical name of a data view (e.g tenant label).
+     */
+    public static final String VERTEX_NAME_PROPERTY = "name";
+
+    /**
+     * Name of the unique composite index supporting the search of a TenantDataView vertex from its origin domain object identifier.
+     */
+    public static final String TENANT_DATAVIEW_BY_IDENTIFIER_INDEX = "tenantDataViewByIdentifier";
+
+    /**
+     * Name of the composite index supporting the search of a TenantDataView vertex from its name, which is unique per vertex label.
+     */
+    public static final String TENANT_DATAVIEW_BY_NAME_INDEX = "tenantDataViewByName";
+
+    /**
+     * Name of the unique composite index supporting the search of a projection checkpoint from its projection, owner and key.
+     */
+    public static final String CHECKPOINT_BY_KEY_INDEX = "projectionCheckpointByKey";
+
+    /**
+     * Name of the composite index supporting the search of the checkpoints of a projection owner.
+     */
+    public static final String CHECKPOINT_BY_OWNER_INDEX = "projectionCheckpointByOwner";
+
     /**
      * Default constructor.
      *
@@ -32,13 +67,35 @@ public class AccessControlDomainGraphImpl extends AbstractDomainGraphImpl {
         this.supportsGeoshape = true;
     }
 
+    /**
+     * Definition of the typed property keys supported by the data views managed by this graph.
+     * Explicit data types avoid the automatic (and untyped) schema creation during the first write, and are required by the composite indexes.
+     *
+     * @param management Mandatory management instance to update with property keys definition.
+     * @throws IllegalArgumentException When management parameter is not defined.
+     */
     @Override
     protected void createProperties(JanusGraphManagement management) throws IllegalArgumentException {
         if (management == null) throw new IllegalArgumentException("management parameter is required!");
+        // Define each property of TenantDataView vertex type with its value type
+        propertyKey(management, VERTEX_NAME_PROPERTY, String.class);
+        propertyKey(management, TenantDataView.PropertyAttributeKey.IDENTIFIED_BY.name(), String.class);
+        propertyKey(management, TenantDataView.PropertyAttributeKey.COMMIT_VERSION.name(), String.class);
+        // Boolean type is not supported natively by all index backends, so status is stored as String
+        propertyKey(management, TenantDataView.PropertyAttributeKey.ACTIVITY_STATUS.name(), String.class);
+        propertyKey(management, TenantDataView.PropertyAttributeKey.CREATED.name(), Date.class);
+        propertyKey(management, TenantDataView.PropertyAttributeKey.LAST_UPDATED_AT.name(), Date.class);
+        // Define each property of the projection checkpoint vertex type
+        propertyKey(management, GraphProjectionCheckpointStore.PropertyAttributeKey.PROJECTION.name(), String.class);
+        propertyKey(management, GraphProjectionCheckpointStore.PropertyAttributeKey.OWNER.name(), String.class);
+        propertyKey(management, GraphProjectionCheckpointStore.PropertyAttributeKey.PARTITION_KEY.name(), String.class);
+        propertyKey(management, GraphProjectionCheckpointStore.PropertyAttributeKey.LAST_EVENT_ID.name(), String.class);
+        propertyKey(management, GraphProjectionCheckpointStore.PropertyAttributeKey.UPDATED_AT.name(), Date.class);
     }
 
     /**
      * Definition of each type of data view managed by this graph.
+     *
      * @param management Mandatory management instance to update with vertex labels definition.
      * @throws IllegalArgumentException When management parameter is not defined.
      */
@@ -47,7 +104,9 @@ public class AccessControlDomainGraphImpl extends AbstractDomainGraphImpl {
         if (management == null) throw new IllegalArgumentException("management parameter is required!");
         // Define specification of each data-view (e.g vertex) that is manipulable into this graph (e.g relative to domain perimeter)
         // Each domain object data-view type (type of vertex) is defined by unique label
-        management.makeVertexLabel(TenantDataView.class.getSimpleName()).make();
+        vertexLabel(management, TenantDataView.class.getSimpleName());
+        // Stream positions retained by the checkpoint of the asynchronous projections
+        vertexLabel(management, GraphProjectionCheckpointStore.VERTEX_LABEL);
     }
 
     @Override
@@ -55,9 +114,18 @@ public class AccessControlDomainGraphImpl extends AbstractDomainGraphImpl {
         if (management == null) throw new IllegalArgumentException("management parameter is required!");
     }
 
+    /**
+     * Definition of the composite indexes supporting the equality lookups executed by the projections (e.g search of a tenant data view by identifier or by name).
+     * Without these indexes, each lookup is a full scan of the graph vertices.
+     *
+     * @param management Mandatory management instance to update with indexes definition.
+     * @throws IllegalArgumentException When management parameter is not defined.
+     */
     @Override
     protected void createCompositeIndexes(JanusGraphManagement management) throws IllegalArgumentException {
         if (management == null) throw new IllegalArgumentException("management parameter is required!");
+        buildTenantDataViewIndexes(management);
+        buildProjectionCheckpointIndexes(management);
     }
 
     @Override
@@ -70,4 +138,103 @@ public class AccessControlDomainGraphImpl extends AbstractDomainGraphImpl {
         return GRAPH_NAME;
     }
 
+    /**
+     * Build the composite indexes relative to the TenantDataView vertex type, when not already existing into the graph schema.
+     * - unique index on the origin domain object identifier (IDENTIFIED_BY property);
+     * - unique index on the name property, restricted to the TenantDataView label (unique name per vertex label).
+     * Unique indexes are protected by lock consistency to avoid duplicated vertex under concurrent transactions.
+     *
+     * @param management Mandatory management instance to update.
+     * @return Names of the indexes created by this call. Empty list when all indexes were already existing.
+     * @throws IllegalArgumentException When management parameter is not defined.
+     */
+    static List<String> buildTenantDataViewIndexes(JanusGraphManagement management) throws IllegalArgumentException {
+        if (management == null) throw new IllegalArgumentException("management parameter is required!");
+        List<String> createdIndexes = new LinkedList<>();
+        VertexLabel tenantLabel = vertexLabel(management, TenantDataView.class.getSimpleName());
+
+        if (!management.containsGraphIndex(TENANT_DATAVIEW_BY_IDENTIFIER_INDEX)) {
+            JanusGraphIndex byIdentifier = management.buildIndex(TENANT_DATAVIEW_BY_IDENTIFIER_INDEX, Vertex.class)
+                    .addKey(propertyKey(management, TenantDataView.PropertyAttributeKey.IDENTIFIED_BY.name(), String.class))
+                    .indexOnly(tenantLabel)
+                    .unique()
+                    .buildCompositeIndex();
+            management.setConsistency(byIdentifier, ConsistencyModifier.LOCK);
+            createdIndexes.add(TENANT_DATAVIEW_BY_IDENTIFIER_INDEX);
+        }
+
+        if (!management.containsGraphIndex(TENANT_DATAVIEW_BY_NAME_INDEX)) {
+            JanusGraphIndex byName = management.buildIndex(TENANT_DATAVIEW_BY_NAME_INDEX, Vertex.class)
+                    .addKey(propertyKey(management, VERTEX_NAME_PROPERTY, String.class))
+                    .indexOnly(tenantLabel)
+                    .unique()
+                    .buildCompositeIndex();
+            management.setConsistency(byName, ConsistencyModifier.LOCK);
+            createdIndexes.add(TENANT_DATAVIEW_BY_NAME_INDEX);
+        }
+        return createdIndexes;
+    }
+
+    /**
+     * Build the composite indexes relative to the ProjectionCheckpoint vertex type, when not already existing into the graph schema.
+     * - unique index on the projection, owner and key (update of the position of a key after a projected batch);
+     * - index on the projection and owner (read of the positions of an owner at its start).
+     *
+     * @param management Mandatory management instance to update.
+     * @return Names of the indexes created by this call. Empty list when all indexes were already existing.
+     * @throws IllegalArgumentException When management parameter is not defined.
+     */
+    static List<String> buildProjectionCheckpointIndexes(JanusGraphManagement management) throws IllegalArgumentException {
+        if (management == null) throw new IllegalArgumentException("management parameter is required!");
+        List<String> createdIndexes = new LinkedList<>();
+        VertexLabel checkpointLabel = vertexLabel(management, GraphProjectionCheckpointStore.VERTEX_LABEL);
+
+        if (!management.containsGraphIndex(CHECKPOINT_BY_KEY_INDEX)) {
+            JanusGraphIndex byKey = management.buildIndex(CHECKPOINT_BY_KEY_INDEX, Vertex.class)
+                    .addKey(propertyKey(management, GraphProjectionCheckpointStore.PropertyAttributeKey.PROJECTION.name(), String.class))
+                    .addKey(propertyKey(management, GraphProjectionCheckpointStore.PropertyAttributeKey.OWNER.name(), String.class))
+                    .addKey(propertyKey(management, GraphProjectionCheckpointStore.PropertyAttributeKey.PARTITION_KEY.name(), String.class))
+                    .indexOnly(checkpointLabel)
+                    .unique()
+                    .buildCompositeIndex();
+            management.setConsistency(byKey, ConsistencyModifier.LOCK);
+            createdIndexes.add(CHECKPOINT_BY_KEY_INDEX);
+        }
+
+        if (!management.containsGraphIndex(CHECKPOINT_BY_OWNER_INDEX)) {
+            management.buildIndex(CHECKPOINT_BY_OWNER_INDEX, Vertex.class)
+                    .addKey(propertyKey(management, GraphProjectionCheckpointStore.PropertyAttributeKey.PROJECTION.name(), String.class))
+                    .addKey(propertyKey(management, GraphProjectionCheckpointStore.PropertyAttributeKey.OWNER.name(), String.class))
+                    .indexOnly(checkpointLabel)
+                    .buildCompositeIndex();
+            createdIndexes.add(CHECKPOINT_BY_OWNER_INDEX);
+        }
+        return createdIndexes;
+    }
+
+    /**
+     * Get an existing property key from the schema, or create it with single cardinality.
+     *
+     * @param management Mandatory management instance.
+     * @param name       Mandatory name of the property.
+     * @param dataType   Mandatory type of value supported by the property.
+     * @return A property key.
+     */
+    private static PropertyKey propertyKey(JanusGraphManagement management, String name, Class<?> dataType) {
+        if (management.containsPropertyKey(name)) return management.getPropertyKey(name);
+        return management.makePropertyKey(name).dataType(dataType).cardinality(Cardinality.SINGLE).make();
+    }
+
+    /**
+     * Get an existing vertex label from the schema, or create it.
+     *
+     * @param management Mandatory management instance.
+     * @param name       Mandatory name of the vertex label.
+     * @return A vertex label.
+     */
+    private static VertexLabel vertexLabel(JanusGraphManagement management, String name) {
+        if (management.containsVertexLabel(name)) return management.getVertexLabel(name);
+        return management.makeVertexLabel(name).make();
+    }
+
 }
@@ -0,0 +1,131 @@
+package org.cybnity.accesscontrol.domain.infrastructure.impl.projections;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.cybnity.framework.UnoperationalStateException;
+import org.cybnity.infrastructure.technical.registry.repository.impl.janusgraph.AbstractDomainGraphImpl;
+import org.janusgraph.core.JanusGraph;
+import org.janusgraph.core.schema.JanusGraphIndex;
+import org.janusgraph.core.schema.JanusGraphManagement;
+import org.janusgraph.core.schema.SchemaAction;
+import org.janusgraph.core.schema.SchemaStatus;
+import org.janusgraph.graphdb.database.management.ManagementSystem;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Schema migration job ensuring that a graph which was created before the declaration of the Access Control composite indexes (see AccessControlDomainGraphImpl.createCompositeIndexes()) is upgraded.
+ * The missing property keys and indexes are added into the schema, and each index not already enabled is reindexed over the existing vertices before its activation.
+ * This job shall be executed once per existing graph (e.g during a maintenance window, from a unique system instance), because a reindex is a full scan of the TenantDataView vertices.
+ * When duplicated tenant data views (same identifier or same name) are already existing into the graph, they shall be cleaned before the execution of this job.
+ */
+public class AccessControlDomainGraphIndexesMigration {
+
+    /**
+     * Technical logger.
+     */
+    private static final Logger logger = Logger.getLogger(AccessControlDomainGraphIndexesMigration.class.getName());
+
+    /**
+     * Indexes managed by this migration.
+     */
+    private static final List<String> MIGRATED_INDEXES = List.of(AccessControlDomainGraphImpl.TENANT_DATAVIEW_BY_IDENTIFIER_INDEX, AccessControlDomainGraphImpl.TENANT_DATAVIEW_BY_NAME_INDEX,
+            AccessControlDomainGraphImpl.CHECKPOINT_BY_KEY_INDEX, AccessControlDomainGraphImpl.CHECKPOINT_BY_OWNER_INDEX);
+
+    /**
+     * Graph to migrate.
+     */
+    private final AbstractDomainGraphImpl graph;
+
+    /**
+     * Maximum duration of wait for each index status change.
+     */
+    private final Duration statusChangeTimeout;
+
+    /**
+     * Default constructor.
+     *
+     * @param graph               Mandatory graph to migrate.
+     * @param statusChangeTimeout Optional maximum duration of wait for each index status change (e.g registration by all the graph instances, end of reindex). When null, 10 minutes is applied.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    public AccessControlDomainGraphIndexesMigration(AbstractDomainGraphImpl graph, Duration statusChangeTimeout) throws IllegalArgumentException {
+        if (graph == null) throw new IllegalArgumentException("graph parameter is required!");
+        this.graph = graph;
+        this.statusChangeTimeout = (statusChangeTimeout != null) ? statusChangeTimeout : Duration.ofMinutes(10);
+    }
+
+    /**
+     * Add the missing schema elements and reindex the existing data views.
+     *
+     * @return Names of the indexes which have been reindexed and enabled by this execution. Empty list when all indexes were already enabled.
+     * @throws UnoperationalStateException When problem during the graph schema update or reindex.
+     */
+    public List<String> execute() throws UnoperationalStateException {
+        List<String> enabledIndexes = new LinkedList<>();
+        try (GraphTraversalSource source = graph.open()) {
+            if (!JanusGraph.class.isAssignableFrom(source.getGraph().getClass()))
+                throw new UnoperationalStateException("Schema migration is only supported on a JanusGraph instance!");
+            JanusGraph janusGraph = (JanusGraph) source.getGraph();
+
+            // --- SCHEMA UPDATE: add missing property keys and indexes ---
+            JanusGraphManagement management = janusGraph.openManagement();
+            try {
+                List<String> created = AccessControlDomainGraphImpl.buildTenantDataViewIndexes(management);
+                created.addAll(AccessControlDomainGraphImpl.buildProjectionCheckpointIndexes(management));
+                management.commit();
+                if (!created.isEmpty()) logger.info("Graph indexes created (to reindex): " + created);
+            } catch (Exception e) {
+                management.rollback();
+                throw e;
+            }
+
+            // --- REINDEX of existing vertices ---
+            for (String indexName : MIGRATED_INDEXES) {
+                if (reindex(janusGraph, indexName)) enabledIndexes.add(indexName);
+            }
+        } catch (UnoperationalStateException use) {
+            throw use;
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Impossible migration of the " + graph.graphName() + " graph indexes!", e);
+            throw new UnoperationalStateException(e);
+        }
+        return enabledIndexes;
+    }
+
+    /**
+     * Reindex the existing vertices relative to an index that is not already enabled, and wait for its activation.
+     *
+     * @param janusGraph Mandatory graph.
+     * @param indexName  Mandatory name of the index to reindex.
+     * @return True when the index has been reindexed. False when the index was already enabled.
+     * @throws Exception When problem during the reindex process or wait of status change.
+     */
+    private boolean reindex(JanusGraph janusGraph, String indexName) throws Exception {
+        JanusGraphManagement management = janusGraph.openManagement();
+        JanusGraphIndex index = management.getGraphIndex(indexName);
+        SchemaStatus status = index.getIndexStatus(index.getFieldKeys()[0]);
+        management.rollback(); // Read only
+        if (status == SchemaStatus.ENABLED) return false; // Already usable by the queries
+
+        if (status == SchemaStatus.INSTALLED) {
+            // Wait until each graph instance has acknowledged the new index
+            ManagementSystem.awaitGraphIndexStatus(janusGraph, indexName).status(SchemaStatus.REGISTERED)
+                    .timeout(statusChangeTimeout.toMillis(), ChronoUnit.MILLIS).call();
+        }
+
+        // Reindex the existing vertices (index is automatically enabled at the end of the job)
+        long startedAt = System.currentTimeMillis();
+        management = janusGraph.openManagement();
+        management.updateIndex(management.getGraphIndex(indexName), SchemaAction.REINDEX).get();
+        management.commit();
+        ManagementSystem.awaitGraphIndexStatus(janusGraph, indexName).status(SchemaStatus.ENABLED)
+                .timeout(statusChangeTimeout.toMillis(), ChronoUnit.MILLIS).call();
+        logger.info("Graph index " + indexName + " reindexed and enabled (duration: " + (System.currentTimeMillis() - startedAt) + " ms)");
+        return true;
+    }
+}
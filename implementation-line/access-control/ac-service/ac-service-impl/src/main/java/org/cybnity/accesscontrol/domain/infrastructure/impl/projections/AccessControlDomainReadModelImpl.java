@@ -13,6 +13,12 @@ import org.cybnity.infrastructure.technical.registry.repository.impl.janusgraph.
  * Projections collection relative to the AC domain perimeter or to a specific domain object type (e.g a domain aggregate).
  */
 public class AccessControlDomainReadModelImpl extends AbstractReadModelProjectionsSet {
+
+    /**
+     * Projection of the tenant data views.
+     */
+    private TenantDataViewStateTransactionImpl tenantDataViewProjection;
+
     /**
      * Default constructor.
      *
@@ -27,13 +33,14 @@ public class AccessControlDomainReadModelImpl extends AbstractReadModelProjectio
     public AccessControlDomainReadModelImpl(IContext ctx, AbstractDomainGraphImpl rootGraph, IDomainModel readModelOwnership, ITransactionStateObserver readModelChangeObserver, IDomainStore<Tenant> tenantsWriteModelStore) throws UnoperationalStateException, IllegalArgumentException {
         super(ctx);
         // Initialize read model scope
-        initDataViewProjections(rootGraph, readModelOwnership, readModelChangeObserver, tenantsWriteModelStore);
+        initDataViewProjections(ctx, rootGraph, readModelOwnership, readModelChangeObserver, tenantsWriteModelStore);
     }
 
 
     /**
      * Initialize the perimeter of data views managed by the Access Control domain implementation model via projections set.
      *
+     * @param ctx                    Mandatory context.
      * @param rootGraph              Mandatory origin graph.
      * @param ownership              Mandatory owner of the data-view projections perimeter.
      * @param observer               Optional observer of the transaction state evolution (e.g to be notified about progress or end of performed transaction).
@@ -41,13 +48,32 @@ public class AccessControlDomainReadModelImpl extends AbstractReadModelProjectio
      * @throws IllegalArgumentException    When mandatory parameter is missing.
      * @throws UnoperationalStateException When problem during an attempt of prepared projection activation.
      */
-    private void initDataViewProjections(AbstractDomainGraphImpl rootGraph, IDomainModel ownership, ITransactionStateObserver observer, IDomainStore<Tenant> tenantsWriteModelStore) throws IllegalArgumentException, UnoperationalStateException {
+    private void initDataViewProjections(IContext ctx, AbstractDomainGraphImpl rootGraph, IDomainModel ownership, ITransactionStateObserver observer, IDomainStore<Tenant> tenantsWriteModelStore) throws IllegalArgumentException, UnoperationalStateException {
         // Prepare the set of managed projections defining this read model perimeter that is maintained onto the root graph for STATE UPDATE TRANSACTIONS
         if (tenantsWriteModelStore == null)
             throw new IllegalArgumentException("tenantsWriteModelStore parameter is required!"); // Need by TenantDataViewState projections
-        this.addProjection(new TenantDataViewStateTransactionImpl(ownership, rootGraph, observer, tenantsWriteModelStore /* See initSupportedTransactions() method where an observed store is required as defined during instance construction */));
+        this.tenantDataViewProjection = new TenantDataViewStateTransactionImpl(ownership, rootGraph, observer, tenantsWriteModelStore, ctx /* See initSupportedTransactions() method where an observed store is required as defined during instance construction */);
+        this.addProjection(this.tenantDataViewProjection);
 
         // ... other projections relative to other objects type and/or relations managed by this read-model perimeter (Access Control domain)
     }
 
+    /**
+     * Stop the asynchronous processing of the managed projections (e.g projection workers), before the release of the read-model resources.
+     *
+     * @param timeoutInMillis Maximum duration of wait for the projection of the already submitted events, per projection.
+     */
+    public void stop(long timeoutInMillis) {
+        if (this.tenantDataViewProjection != null) this.tenantDataViewProjection.stop(timeoutInMillis);
+    }
+
+    /**
+     * Is any managed projection updated asynchronously (e.g by a projection worker), so that a read can precede the projection of the previous writes?
+     *
+     * @return True when asynchronously updated.
+     */
+    public boolean isAsynchronous() {
+        return this.tenantDataViewProjection != null && this.tenantDataViewProjection.projectionWorker() != null;
+    }
+
 }
@@ -0,0 +1,156 @@
+package org.cybnity.accesscontrol.domain.infrastructure.impl.projections;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Transaction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.cybnity.framework.UnoperationalStateException;
+import org.cybnity.infrastructure.technical.registry.repository.impl.janusgraph.AbstractDomainGraphImpl;
+
+import javax.naming.ConfigurationException;
+import java.util.*;
+
+/**
+ * Checkpoint of a projection worker, persisted into the graph of the read model that it projects.
+ * Each key (e.g tenant) registered by the worker is retained as a ProjectionCheckpoint vertex, with the identifier of its last projected event into its write-model stream.
+ * The vertices are owned by a projection and by an owner (e.g system instance), so that several instances sharing the same graph never read or update the checkpoint of the others.
+ */
+public class GraphProjectionCheckpointStore implements ProjectionWorker.CheckpointStore {
+
+    /**
+     * Label of the vertices supporting the checkpoint positions.
+     */
+    public static final String VERTEX_LABEL = "ProjectionCheckpoint";
+
+    /**
+     * Properties of a checkpoint vertex.
+     */
+    public enum PropertyAttributeKey {
+        /**
+         * Name of the projection owning the checkpoint.
+         */
+        PROJECTION,
+        /**
+         * Owner of the checkpoint (e.g system instance name).
+         */
+        OWNER,
+        /**
+         * Key of the stream (e.g tenant identifier).
+         */
+        PARTITION_KEY,
+        /**
+         * Identifier of the last projected event of the stream.
+         */
+        LAST_EVENT_ID,
+        /**
+         * Date of the last update.
+         */
+        UPDATED_AT;
+    }
+
+    private final AbstractDomainGraphImpl graph;
+    private final String projection;
+    private final String owner;
+
+    /**
+     * Default constructor.
+     *
+     * @param graph      Mandatory graph of the read model (see AccessControlDomainGraphImpl about the checkpoint schema).
+     * @param projection Mandatory name of the projection owning the checkpoint.
+     * @param owner      Mandatory owner of the checkpoint, stable over the restarts of the system instance which projects the events.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    public GraphProjectionCheckpointStore(AbstractDomainGraphImpl graph, String projection, String owner) throws IllegalArgumentException {
+        if (graph == null) throw new IllegalArgumentException("graph parameter is required!");
+        if (projection == null || projection.isEmpty())
+            throw new IllegalArgumentException("projection parameter is required!");
+        if (owner == null || owner.isEmpty()) throw new IllegalArgumentException("owner parameter is required!");
+        this.graph = graph;
+        this.projection = projection;
+        this.owner = owner;
+    }
+
+    @Override
+    public Map<String, String> positions() throws UnoperationalStateException {
+        final Map<String, String> positions = new HashMap<>();
+        execute(gtx -> gtx.V().has(T.label, VERTEX_LABEL).has(PropertyAttributeKey.PROJECTION.name(), projection)
+                .has(PropertyAttributeKey.OWNER.name(), owner)
+                .elementMap().forEachRemaining(element -> {
+                    String key = (String) element.get(PropertyAttributeKey.PARTITION_KEY.name());
+                    String lastEventId = (String) element.get(PropertyAttributeKey.LAST_EVENT_ID.name());
+                    if (key != null && !key.isEmpty())
+                        positions.put(key, (lastEventId != null && !lastEventId.isEmpty()) ? lastEventId : null);
+                }));
+        return positions;
+    }
+
+    @Override
+    public void register(String key) throws UnoperationalStateException {
+        if (key == null || key.isEmpty()) throw new IllegalArgumentException("key parameter is required!");
+        execute(gtx -> checkpointOf(gtx, key));
+    }
+
+    @Override
+    public void advance(Map<String, String> positions) throws UnoperationalStateException {
+        if (positions == null || positions.isEmpty()) return;
+        final Date updatedAt = new Date();
+        execute(gtx -> {
+            for (Map.Entry<String, String> position : positions.entrySet()) {
+                if (position.getKey() == null || position.getValue() == null) continue;
+                Vertex checkpoint = checkpointOf(gtx, position.getKey());
+                checkpoint.property(PropertyAttributeKey.LAST_EVENT_ID.name(), position.getValue());
+                checkpoint.property(PropertyAttributeKey.UPDATED_AT.name(), updatedAt);
+            }
+        });
+    }
+
+    /**
+     * Find the checkpoint vertex of a key, or create it when not existing.
+     *
+     * @param gtx Mandatory opened transaction.
+     * @param key Mandatory key.
+     * @return A vertex.
+     */
+    private Vertex checkpointOf(GraphTraversalSource gtx, String key) {
+        return gtx.V().has(T.label, VERTEX_LABEL).has(PropertyAttributeKey.PROJECTION.name(), projection)
+                .has(PropertyAttributeKey.OWNER.name(), owner)
+                .has(PropertyAttributeKey.PARTITION_KEY.name(), key).tryNext()
+                .orElseGet(() -> gtx.addV(VERTEX_LABEL)
+                        .property(PropertyAttributeKey.PROJECTION.name(), projection)
+                        .property(PropertyAttributeKey.OWNER.name(), owner)
+                        .property(PropertyAttributeKey.PARTITION_KEY.name(), key)
+                        .property(PropertyAttributeKey.UPDATED_AT.name(), new Date()).next());
+    }
+
+    /**
+     * Execute a change or read in one graph transaction.
+     *
+     * @param operation Mandatory operation.
+     * @throws UnoperationalStateException When problem during the graph access.
+     */
+    private void execute(GraphOperation operation) throws UnoperationalStateException {
+        Transaction tx = null;
+        try (GraphTraversalSource source = graph.open()) {
+            tx = source.tx();
+            GraphTraversalSource gtx = tx.begin();
+            operation.execute(gtx);
+            tx.commit();
+        } catch (ConfigurationException ce) {
+            // Potentially thrown by graph.open() method
+            throw new UnoperationalStateException(ce);
+        } catch (Exception e) {
+            if (graph.isSupportsTransactions() && tx != null) {
+                tx.rollback();
+            }
+            throw (e instanceof UnoperationalStateException) ? (UnoperationalStateException) e : new UnoperationalStateException(e);
+        }
+    }
+
+    /**
+     * Operation executed into a graph transaction.
+     */
+    @FunctionalInterface
+    private interface GraphOperation {
+        void execute(GraphTraversalSource gtx) throws Exception;
+    }
+}
@@ -0,0 +1,687 @@
+package org.cybnity.accesscontrol.domain.infrastructure.impl.projections;
+
+import org.cybnity.framework.UnoperationalStateException;
+import org.cybnity.framework.domain.DomainEvent;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Asynchronous worker applying change events onto a read-model projection, out of the thread which has notified them.
+ * The events are distributed into partitions according to their key (e.g tenant identifier): each partition is a bounded queue drained by a dedicated thread, which guarantees the order of application of the events relative to a same key.
+ * Each drained batch of events is grouped per key and applied by the batch handler (e.g in one graph transaction).
+ * The checkpoint store retains, per key, the position of the last projected event into its write-model stream, advanced after each batch commit (no write per submitted event); a key is only registered before the acceptance of its first event.
+ * At start, the events appended after the position of each registered key are read again from its stream and projected (at-least-once), including the events not projected before a process stop.
+ * A failed batch is retried, then its events are applied one by one; a failing event is parked (with the next events of its key) and retried periodically, without advance of its key position until its projection.
+ * Each submitted event is identified by a position (sequence number); the checkpoint is the position under which all the submitted events have been projected, allowing a caller to wait for the projection of its changes.
+ */
+public class ProjectionWorker {
+
+    /**
+     * Handler applying a batch of events onto the projection.
+     */
+    @FunctionalInterface
+    public interface BatchHandler {
+        /**
+         * Apply events.
+         *
+         * @param batch Ordered events to apply.
+         * @throws UnoperationalStateException When the batch can't be applied (none event applied).
+         */
+        void apply(List<DomainEvent> batch) throws UnoperationalStateException;
+    }
+
+    /**
+     * Persistent checkpoint of a worker: position of the last projected event into the write-model stream of each key (e.g tenant stream).
+     * The positions are only advanced after the commit of the projected events, so that the events appended after a position can be projected again from the stream (see StreamReader).
+     */
+    public interface CheckpointStore {
+        /**
+         * Read the positions of the keys registered by the worker.
+         *
+         * @return Identifier of the last projected event per key (null value when none event of the key has been projected).
+         * @throws UnoperationalStateException When the positions can't be read.
+         */
+        Map<String, String> positions() throws UnoperationalStateException;
+
+        /**
+         * Register a key before the acceptance of its first event, so that its stream is read again at the next start.
+         *
+         * @param key Mandatory key.
+         * @throws UnoperationalStateException When the key can't be registered.
+         */
+        void register(String key) throws UnoperationalStateException;
+
+        /**
+         * Advance the positions of keys after the commit of their projected events.
+         *
+         * @param positions Identifier of the last projected event per key.
+         * @throws UnoperationalStateException When the positions can't be updated.
+         */
+        void advance(Map<String, String> positions) throws UnoperationalStateException;
+    }
+
+    /**
+     * Reader of the write-model stream of a key, used at start to project again the events appended after the checkpoint position of the key.
+     */
+    @FunctionalInterface
+    public interface StreamReader {
+        /**
+         * Read the events of a key stream which have been appended after a position.
+         *
+         * @param key      Mandatory key (e.g tenant identifier).
+         * @param position Identifier of the last projected event. When null, all the events of the stream are read.
+         * @return Ordered events, or empty list when none.
+         * @throws UnoperationalStateException When the stream can't be read.
+         */
+        List<DomainEvent> eventsAfter(String key, String position) throws UnoperationalStateException;
+    }
+
+    /**
+     * Quantity of attempts regarding a failed batch, before isolation of its events.
+     */
+    private static final int BATCH_ATTEMPTS = 3;
+
+    /**
+     * Initial pause before retry of a failed batch (doubled at each attempt).
+     */
+    private static final long RETRY_BACKOFF_IN_MILLIS = 50;
+
+    /**
+     * Interval between two retries of the parked events of a partition.
+     */
+    public static final long PARKED_RETRY_INTERVAL_IN_MILLIS = 30000;
+
+    private final Logger logger = Logger.getLogger(ProjectionWorker.class.getName());
+
+    /**
+     * Counter of created workers, used for unique identification.
+     */
+    private static final AtomicLong INSTANCES = new AtomicLong();
+
+    private final String name;
+
+    /**
+     * Unique identifier of this worker into the process.
+     */
+    private final String id;
+    private final BatchHandler handler;
+    private final CheckpointStore checkpointStore;
+    private final StreamReader streamReader;
+
+    /**
+     * Keys registered into the checkpoint store.
+     */
+    private final Set<String> registeredKeys = ConcurrentHashMap.newKeySet();
+    private final int maxBatchSize;
+    private final List<Partition> partitions;
+    private volatile boolean running;
+    private boolean started;
+
+    /**
+     * Positions of the submitted events not already projected, with their submission time (nanoseconds).
+     */
+    private final TreeMap<Long, Long> pending = new TreeMap<>();
+
+    /**
+     * Positions of the submitted events not already projected, per ordering key.
+     */
+    private final Map<String, TreeSet<Long>> pendingPerKey = new HashMap<>();
+
+    /**
+     * Last assigned position.
+     */
+    private long lastPosition = 0;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder projected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder recovered = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final AtomicLong maxBatchDurationNanos = new AtomicLong();
+
+    /**
+     * Default constructor. The worker accepts events after its start.
+     *
+     * @param name            Mandatory name of the worker (used for threads naming).
+     * @param partitions      Quantity of partitions (minimum 1).
+     * @param queueCapacity   Maximum quantity of events waiting into a partition (minimum 1).
+     * @param maxBatchSize    Maximum quantity of events applied in one batch (minimum 1).
+     * @param handler         Mandatory handler of the batches.
+     * @param checkpointStore Optional persistent checkpoint. When null, the events not projected before a process stop are lost.
+     * @param streamReader    Optional reader of the key streams, projecting again at start the events appended after the checkpoint. When null, the checkpoint is not replayed.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    public ProjectionWorker(String name, int partitions, int queueCapacity, int maxBatchSize, BatchHandler handler, CheckpointStore checkpointStore, StreamReader streamReader) throws IllegalArgumentException {
+        if (name == null || name.isEmpty()) throw new IllegalArgumentException("name parameter is required!");
+        if (handler == null) throw new IllegalArgumentException("handler parameter is required!");
+        this.name = name;
+        this.id = name + "-" + INSTANCES.incrementAndGet();
+        this.handler = handler;
+        this.checkpointStore = checkpointStore;
+        this.streamReader = streamReader;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        int partitionsCount = Math.max(1, partitions);
+        this.partitions = new ArrayList<>(partitionsCount);
+        for (int i = 0; i < partitionsCount; i++) {
+            this.partitions.add(new Partition(Math.max(1, queueCapacity)));
+        }
+    }
+
+    /**
+     * Start the partition threads, and submit again the events appended into the stream of each registered key after its checkpoint position (e.g not projected before the previous stop).
+     * Without effect when already started.
+     *
+     * @throws UnoperationalStateException When the checkpoint store or a key stream can't be read.
+     * @throws InterruptedException        When interrupted during the submission of the recovered events.
+     */
+    public synchronized void start() throws UnoperationalStateException, InterruptedException {
+        if (started) return;
+        Map<String, List<DomainEvent>> unprojected = new LinkedHashMap<>();
+        if (checkpointStore != null) {
+            for (Map.Entry<String, String> position : checkpointStore.positions().entrySet()) {
+                registeredKeys.add(position.getKey());
+                if (streamReader == null) continue;
+                List<DomainEvent> events = streamReader.eventsAfter(position.getKey(), position.getValue());
+                if (events != null && !events.isEmpty()) unprojected.put(position.getKey(), events);
+            }
+        }
+        started = true;
+        running = true;
+        for (int i = 0; i < partitions.size(); i++) {
+            final Partition partition = partitions.get(i);
+            Thread t = new Thread(() -> drain(partition), name + "-projection-" + i);
+            t.setDaemon(true);
+            partition.thread = t;
+            t.start();
+        }
+        for (Map.Entry<String, List<DomainEvent>> keyEvents : unprojected.entrySet()) {
+            for (DomainEvent event : keyEvents.getValue()) {
+                enqueue(new Item(nextPosition(keyEvents.getKey()), keyEvents.getKey(), event));
+                recovered.increment();
+            }
+        }
+        if (!unprojected.isEmpty())
+            logger.info(recovered.sum() + " not projected events of " + unprojected.size() + " keys recovered from the streams by " + id);
+    }
+
+    /**
+     * Get the unique identifier of this worker into the process (e.g used in logs and metrics).
+     *
+     * @return An identifier.
+     */
+    public String id() {
+        return this.id;
+    }
+
+    /**
+     * Submit an event to project. Its key is registered into the checkpoint store before the acceptance of its first event.
+     * When the partition of the event is full, the caller is blocked until space is available (backpressure).
+     *
+     * @param key   Optional ordering key of the event (e.g tenant identifier). Events without key are distributed on the first partition, and are not checkpointed.
+     * @param event Mandatory event.
+     * @return The position of the submitted event.
+     * @throws IllegalArgumentException    When mandatory parameter is missing.
+     * @throws IllegalStateException       When the worker is not started or is stopped.
+     * @throws UnoperationalStateException When the key can't be registered into the checkpoint store (event not submitted).
+     * @throws InterruptedException        When interrupted during wait of space into the partition.
+     */
+    public long submit(String key, DomainEvent event) throws IllegalArgumentException, IllegalStateException, UnoperationalStateException, InterruptedException {
+        if (event == null) throw new IllegalArgumentException("event parameter is required!");
+        if (!running) throw new IllegalStateException("Not running projection worker!");
+        if (checkpointStore != null && key != null && !registeredKeys.contains(key)) register(key);
+        long position = nextPosition(key);
+        enqueue(new Item(position, key, event));
+        submitted.increment();
+        return position;
+    }
+
+    /**
+     * Register a key into the checkpoint store, only once per key.
+     *
+     * @param key Mandatory key.
+     * @throws UnoperationalStateException When the key can't be registered.
+     */
+    private void register(String key) throws UnoperationalStateException {
+        synchronized (registeredKeys) {
+            if (registeredKeys.contains(key)) return;
+            checkpointStore.register(key);
+            registeredKeys.add(key);
+        }
+    }
+
+    private long nextPosition(String key) {
+        synchronized (pending) {
+            long position = ++lastPosition;
+            pending.put(position, System.nanoTime());
+            pendingPerKey.computeIfAbsent(orderingKey(key), k -> new TreeSet<>()).add(position);
+            return position;
+        }
+    }
+
+    private static String orderingKey(String key) {
+        return (key != null) ? key : "";
+    }
+
+    private void enqueue(Item item) throws InterruptedException {
+        try {
+            partitionOf(item.key).queue.put(item);
+        } catch (InterruptedException ie) {
+            // Not accepted event (e.g applied by the caller)
+            release(Collections.singletonList(item));
+            throw ie;
+        }
+    }
+
+    private Partition partitionOf(String key) {
+        return partitions.get((key != null) ? Math.floorMod(key.hashCode(), partitions.size()) : 0);
+    }
+
+    /**
+     * Get the position of the last submitted event.
+     *
+     * @return A position, or 0 when none submitted event.
+     */
+    public long position() {
+        synchronized (pending) {
+            return lastPosition;
+        }
+    }
+
+    /**
+     * Get the checkpoint of this worker: all the events submitted with a position lower or equals have been projected.
+     * A parked event holds the checkpoint until its projection.
+     *
+     * @return A position.
+     */
+    public long checkpoint() {
+        synchronized (pending) {
+            return pending.isEmpty() ? lastPosition : pending.firstKey() - 1;
+        }
+    }
+
+    /**
+     * Wait until the checkpoint reaches a position.
+     *
+     * @param position Position to reach.
+     * @param timeout  Maximum duration of wait (in milliseconds).
+     * @return True when the position is reached, false when timeout.
+     * @throws InterruptedException When interrupted during the wait.
+     */
+    public boolean awaitCheckpoint(long position, long timeout) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeout;
+        synchronized (pending) {
+            while (checkpoint() < position) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) return false;
+                pending.wait(remaining);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Wait until the events relative to a key, which have been submitted before this call, are projected.
+     * The wait is independent of the events relative to the other keys (e.g other tenants).
+     *
+     * @param key     Ordering key of the events (e.g tenant identifier).
+     * @param timeout Maximum duration of wait (in milliseconds).
+     * @return True when the events are projected, false when timeout.
+     * @throws InterruptedException When interrupted during the wait.
+     */
+    public boolean awaitKey(String key, long timeout) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeout;
+        synchronized (pending) {
+            TreeSet<Long> positions = pendingPerKey.get(orderingKey(key));
+            if (positions == null) return true;
+            long last = positions.last();
+            while (true) {
+                positions = pendingPerKey.get(orderingKey(key));
+                if (positions == null || positions.first() > last) return true;
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) return false;
+                pending.wait(remaining);
+            }
+        }
+    }
+
+    /**
+     * Get the quantity of submitted events not already projected (projection lag), including the parked events.
+     *
+     * @return A quantity of events.
+     */
+    public int lag() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * Get the age of the oldest submitted event not already projected (projection lag duration).
+     *
+     * @return A duration in milliseconds, or 0 when none pending event.
+     */
+    public long lagInMillis() {
+        synchronized (pending) {
+            return pending.isEmpty() ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - pending.firstEntry().getValue());
+        }
+    }
+
+    /**
+     * Request the retry of the parked events at the next drain loop of each partition, without wait of the retry interval.
+     */
+    public void retryParkedEvents() {
+        for (Partition partition : partitions) partition.nextParkedRetry = 0;
+    }
+
+    public long submittedEvents() {
+        return submitted.sum();
+    }
+
+    public long projectedEvents() {
+        return projected.sum();
+    }
+
+    /**
+     * @return Quantity of events which have been parked after retries (an event parked several times is counted each time).
+     */
+    public long failedEvents() {
+        return failed.sum();
+    }
+
+    /**
+     * @return Quantity of events currently parked, waiting for a retry.
+     */
+    public int parkedEvents() {
+        int count = 0;
+        for (Partition partition : partitions) count += partition.parkedCount;
+        return count;
+    }
+
+    /**
+     * @return Quantity of events submitted again from the key streams at start.
+     */
+    public long recoveredEvents() {
+        return recovered.sum();
+    }
+
+    public long appliedBatches() {
+        return batches.sum();
+    }
+
+    public long retriedBatches() {
+        return retries.sum();
+    }
+
+    public long maxBatchDurationInMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxBatchDurationNanos.get());
+    }
+
+    @Override
+    public String toString() {
+        return id + " projection worker: submitted=" + submittedEvents() + ", recovered=" + recoveredEvents() + ", projected=" + projectedEvents() + ", failed=" + failedEvents()
+                + ", parked=" + parkedEvents() + ", batches=" + appliedBatches() + ", retries=" + retriedBatches() + ", lag=" + lag() + ", lagMs=" + lagInMillis()
+                + ", checkpoint=" + checkpoint() + "/" + position();
+    }
+
+    /**
+     * Stop the worker after the processing of the already submitted events.
+     * The events not projected before the timeout, and the parked events, stay after the checkpoint positions of their keys and are projected again from their streams at the next start.
+     *
+     * @param timeout Maximum duration of wait for the already submitted events processing (in milliseconds).
+     */
+    public void stop(long timeout) {
+        synchronized (this) {
+            if (!running) return;
+            running = false;
+        }
+        long deadline = System.currentTimeMillis() + timeout;
+        for (Partition partition : partitions) {
+            Thread t = partition.thread;
+            if (t == null) continue;
+            try {
+                t.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (t.isAlive()) t.interrupt();
+        }
+        logger.fine(toString());
+    }
+
+    /**
+     * Drain loop of a partition.
+     *
+     * @param partition Drained partition.
+     */
+    private void drain(Partition partition) {
+        List<Item> drained = new ArrayList<>(maxBatchSize);
+        while (running || !partition.queue.isEmpty()) {
+            try {
+                if (running && !partition.parked.isEmpty() && System.currentTimeMillis() >= partition.nextParkedRetry) {
+                    // Retry the parked events before the next ones of their keys
+                    List<Item> parked = new ArrayList<>(partition.parked);
+                    partition.clearParked();
+                    process(partition, parked);
+                }
+                Item first = partition.queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                drained.add(first);
+                partition.queue.drainTo(drained, maxBatchSize - 1);
+                process(partition, groupPerKey(drained));
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Not checkpointed events, projected again from their streams at the next start
+                logger.log(Level.SEVERE, "Unexpected projection failure!", e);
+                release(drained);
+            } finally {
+                drained.clear();
+            }
+        }
+    }
+
+    /**
+     * Regroup the items of a batch per key, retaining the order of the items relative to each key.
+     *
+     * @param items Drained items.
+     * @return Ordered items.
+     */
+    private List<Item> groupPerKey(List<Item> items) {
+        Map<String, List<Item>> grouped = new LinkedHashMap<>();
+        for (Item item : items) {
+            grouped.computeIfAbsent(item.orderingKey(), k -> new ArrayList<>()).add(item);
+        }
+        List<Item> ordered = new ArrayList<>(items.size());
+        for (List<Item> keyItems : grouped.values()) ordered.addAll(keyItems);
+        return ordered;
+    }
+
+    /**
+     * Apply a batch with retries, then isolate its failing events which are parked.
+     * The items of a key which has parked events are parked behind them, retaining the order per key.
+     *
+     * @param partition Partition of the items.
+     * @param items     Items to apply.
+     * @throws InterruptedException When interrupted during retry pause.
+     */
+    private void process(Partition partition, List<Item> items) throws InterruptedException {
+        List<Item> batch = new ArrayList<>(items.size());
+        List<Item> blocked = new ArrayList<>();
+        for (Item item : items) {
+            if (partition.parkedKeys.contains(item.orderingKey())) blocked.add(item);
+            else batch.add(item);
+        }
+        if (!blocked.isEmpty()) park(partition, blocked, false);
+        if (batch.isEmpty()) return;
+
+        long backoff = RETRY_BACKOFF_IN_MILLIS;
+        for (int attempt = 1; attempt <= BATCH_ATTEMPTS; attempt++) {
+            long startedAt = System.nanoTime();
+            try {
+                handler.apply(events(batch));
+                maxBatchDurationNanos.accumulateAndGet(System.nanoTime() - startedAt, Math::max);
+                batches.increment();
+                acknowledge(batch);
+                return;
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Projection batch failure (attempt " + attempt + ")", e);
+                if (attempt < BATCH_ATTEMPTS) {
+                    retries.increment();
+                    Thread.sleep(backoff);
+                    backoff *= 2;
+                }
+            }
+        }
+        if (batch.size() == 1) {
+            logger.log(Level.SEVERE, "Not projected event " + batch.get(0).event.identified() + " after " + BATCH_ATTEMPTS + " attempts (parked)!");
+            park(partition, batch, true);
+            return;
+        }
+        // Isolate the failing events
+        for (Item item : batch) {
+            if (partition.parkedKeys.contains(item.orderingKey())) {
+                park(partition, Collections.singletonList(item), false);
+                continue;
+            }
+            try {
+                handler.apply(Collections.singletonList(item.event));
+                acknowledge(Collections.singletonList(item));
+            } catch (Exception e) {
+                logger.log(Level.SEVERE, "Not projected event " + item.event.identified() + " (parked)!", e);
+                park(partition, Collections.singletonList(item), true);
+            }
+        }
+    }
+
+    private static List<DomainEvent> events(List<Item> items) {
+        List<DomainEvent> events = new ArrayList<>(items.size());
+        for (Item item : items) events.add(item.event);
+        return events;
+    }
+
+    /**
+     * Advance the checkpoint positions of the keys of projected items (one checkpoint store update per batch), and release their positions.
+     *
+     * @param items Projected items.
+     */
+    private void acknowledge(List<Item> items) {
+        projected.add(items.size());
+        if (checkpointStore != null) {
+            Map<String, String> positions = streamPositions(items);
+            if (!positions.isEmpty()) {
+                try {
+                    checkpointStore.advance(positions);
+                } catch (Exception e) {
+                    // Projected again at the next start (idempotent projection)
+                    logger.log(Level.WARNING, "Impossible advance of the checkpoint of " + id, e);
+                }
+            }
+        }
+        release(items);
+    }
+
+    /**
+     * Identify the last event of each key into ordered items.
+     *
+     * @param items Ordered items.
+     * @return Identifier of the last event per key, excluding the items without key or without event identifier.
+     */
+    private static Map<String, String> streamPositions(List<Item> items) {
+        Map<String, String> positions = new HashMap<>();
+        for (Item item : items) {
+            if (item.key != null && item.event.identified() != null)
+                positions.put(item.key, item.event.identified().value().toString());
+        }
+        return positions;
+    }
+
+    /**
+     * Park items until the next retry of the partition, without release of their positions.
+     *
+     * @param partition Partition of the items.
+     * @param items     Items to park.
+     * @param failure   True when the items have failed, false when they are parked behind a failed item of their key.
+     */
+    private void park(Partition partition, List<Item> items, boolean failure) {
+        if (failure) failed.add(items.size());
+        for (Item item : items) partition.park(item);
+        if (partition.nextParkedRetry == 0) partition.nextParkedRetry = System.currentTimeMillis() + PARKED_RETRY_INTERVAL_IN_MILLIS;
+    }
+
+    /**
+     * Release processed positions and wake up the checkpoint waiters.
+     *
+     * @param items Processed items.
+     */
+    private void release(List<Item> items) {
+        synchronized (pending) {
+            for (Item item : items) {
+                pending.remove(item.position);
+                TreeSet<Long> positions = pendingPerKey.get(item.orderingKey());
+                if (positions != null && positions.remove(item.position) && positions.isEmpty())
+                    pendingPerKey.remove(item.orderingKey());
+            }
+            pending.notifyAll();
+        }
+    }
+
+    /**
+     * Queue of events drained by a dedicated thread, with its parked events.
+     * The parked events are only accessed by the partition thread.
+     */
+    private static class Partition {
+        private final BlockingQueue<Item> queue;
+        private final List<Item> parked = new ArrayList<>();
+        private final Set<String> parkedKeys = new HashSet<>();
+        private volatile int parkedCount;
+        private volatile long nextParkedRetry;
+        private Thread thread;
+
+        private Partition(int queueCapacity) {
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        private void park(Item item) {
+            parked.add(item);
+            parkedKeys.add(item.orderingKey());
+            parkedCount = parked.size();
+        }
+
+        private void clearParked() {
+            parked.clear();
+            parkedKeys.clear();
+            parkedCount = 0;
+            nextParkedRetry = 0;
+        }
+    }
+
+    /**
+     * Event waiting for projection.
+     */
+    private static class Item {
+        private final long position;
+        private final String key;
+        private final DomainEvent event;
+
+        private Item(long position, String key, DomainEvent event) {
+            this.position = position;
+            this.key = key;
+            this.event = event;
+        }
+
+        private String orderingKey() {
+            return ProjectionWorker.orderingKey(key);
+        }
+    }
+}
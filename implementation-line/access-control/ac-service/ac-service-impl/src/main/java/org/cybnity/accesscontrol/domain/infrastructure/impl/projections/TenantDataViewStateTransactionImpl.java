@@ -1,12 +1,23 @@
 package org.cybnity.accesscontrol.domain.infrastructure.impl.projections;
 
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Transaction;
 import org.cybnity.accesscontrol.domain.infrastructure.impl.projections.change.ChangedTenantDataViewVersion;
 import org.cybnity.accesscontrol.domain.infrastructure.impl.projections.read.FindTenantDataViewVersionByEqualsLabel;
+import org.cybnity.accesscontrol.domain.infrastructure.impl.projections.read.TenantDataViewLabelCache;
+import org.cybnity.accesscontrol.domain.service.api.event.ACApplicationQueryName;
 import org.cybnity.accesscontrol.domain.service.api.model.TenantDataView;
+import org.cybnity.accesscontrol.domain.infrastructure.impl.ACReadModelConfigurationVariable;
+import org.cybnity.accesscontrol.domain.infrastructure.impl.CarriedTenantState;
+import org.cybnity.accesscontrol.domain.infrastructure.impl.TenantsStore;
+import org.cybnity.accesscontrol.domain.model.ConsistencyToken;
+import org.cybnity.framework.IContext;
 import org.cybnity.framework.UnoperationalStateException;
 import org.cybnity.framework.domain.*;
 import org.cybnity.framework.domain.event.ConcreteDomainChangeEvent;
 import org.cybnity.framework.domain.event.EventSpecification;
+import org.cybnity.framework.domain.event.DomainEventType;
 import org.cybnity.framework.domain.event.IEventType;
 import org.cybnity.framework.domain.infrastructure.IDomainRepository;
 import org.cybnity.framework.domain.infrastructure.IDomainStore;
@@ -16,7 +27,13 @@ import org.cybnity.framework.domain.model.Tenant;
 import org.cybnity.infrastructure.technical.registry.repository.impl.janusgraph.AbstractDomainGraphImpl;
 import org.cybnity.infrastructure.technical.registry.repository.impl.janusgraph.projection.AbstractGraphDataViewTransactionImpl;
 
+import javax.naming.ConfigurationException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Map;
 import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Tenant data view (domain object data view projected) supporting a TenantDataView vertex type's lifecycle (e.g creation, upgrade/refresh, enhancement, remove) via transactions onto a graph.
@@ -29,6 +46,40 @@ public class TenantDataViewStateTransactionImpl extends AbstractGraphDataViewTra
      */
     public static final String LABEL = TenantDataView.class.getSimpleName();
 
+    /**
+     * Default quantity of partitions of the asynchronous projection worker.
+     */
+    private static final int DEFAULT_PROJECTION_PARTITIONS = 2;
+
+    /**
+     * Default maximum quantity of events waiting for projection per partition.
+     */
+    private static final int DEFAULT_PROJECTION_QUEUE_CAPACITY = 1000;
+
+    /**
+     * Default maximum quantity of events applied in one graph transaction.
+     */
+    private static final int DEFAULT_PROJECTION_BATCH_SIZE = 50;
+
+    /**
+     * Pauses between two reads of a projected data view, during the wait of a written version.
+     */
+    private static final long VERSION_CHECK_MIN_PAUSE_IN_MILLIS = 10;
+    private static final long VERSION_CHECK_MAX_PAUSE_IN_MILLIS = 200;
+
+    private static final Logger logger = Logger.getLogger(TenantDataViewStateTransactionImpl.class.getName());
+
+    /**
+     * Optional worker applying the change events asynchronously.
+     * When null, the change events are applied synchronously during their notification.
+     */
+    private final ProjectionWorker projectionWorker;
+
+    /**
+     * Cache of the data views found by label, shared by the label query and the change transaction invalidating it.
+     */
+    private final TenantDataViewLabelCache labelCache;
+
     /**
      * Default constructor regarding a graph read model projection.
      *
@@ -39,7 +90,203 @@ public class TenantDataViewStateTransactionImpl extends AbstractGraphDataViewTra
      * @throws IllegalArgumentException When any mandatory parameter is missing.
      */
     public TenantDataViewStateTransactionImpl(IDomainModel ownership, AbstractDomainGraphImpl dataModel, ITransactionStateObserver observer, IDomainStore<Tenant> tenantsWriteModelStore) throws IllegalArgumentException {
+        this(ownership, dataModel, observer, tenantsWriteModelStore, null);
+    }
+
+    /**
+     * Constructor regarding a graph read model projection, which can be updated asynchronously according to the context configuration (see ACReadModelConfigurationVariable).
+     *
+     * @param ownership              Mandatory domain which is owner of the projection (as in its scope of responsibility).
+     * @param dataModel              Mandatory database model that can be manipulated by this transaction about its data view(s).
+     * @param observer               Optional observer of the transaction state evolution (e.g to be notified about progress or end of performed transaction).
+     * @param tenantsWriteModelStore Mandatory rehydration responsible for tenant domain objects.
+     * @param ctx                    Optional context. When null, the projection is updated synchronously.
+     * @throws IllegalArgumentException When any mandatory parameter is missing, or invalid configuration value.
+     */
+    public TenantDataViewStateTransactionImpl(IDomainModel ownership, AbstractDomainGraphImpl dataModel, ITransactionStateObserver observer, IDomainStore<Tenant> tenantsWriteModelStore, IContext ctx) throws IllegalArgumentException {
         super(LABEL, ownership, dataModel, observer, tenantsWriteModelStore); // Define graph manipulable
+        this.labelCache = createLabelCache(ctx);
+        this.projectionWorker = createProjectionWorker(ctx);
+    }
+
+    /**
+     * Default maximum duration of wait for the projection of the already submitted events, during the stop of the asynchronous projection.
+     */
+    public static final long DEFAULT_STOP_TIMEOUT_IN_MILLIS = 5000;
+
+    /**
+     * Create and start the worker of asynchronous projection when enabled by the configuration.
+     * The worker checkpoint (position of the last projected event per tenant stream) is persisted into the projection graph, and the events appended after the checkpoint (e.g not projected before a previous stop) are read again from the tenant streams at its start.
+     *
+     * @param ctx Optional context.
+     * @return A started worker, or null when asynchronous projection is not enabled or can't be started (the projection is updated synchronously).
+     * @throws IllegalArgumentException When invalid configuration value.
+     */
+    private ProjectionWorker createProjectionWorker(IContext ctx) throws IllegalArgumentException {
+        if (ctx == null || !Boolean.parseBoolean(ctx.get(ACReadModelConfigurationVariable.AC_READMODEL_PROJECTION_ASYNC)))
+            return null;
+        IProjectionTransaction tx = supportedTransactions().get(DomainEventType.TENANT_CREATED.name());
+        if (!(tx instanceof ChangedTenantDataViewVersion)) return null;
+        final ChangedTenantDataViewVersion changes = (ChangedTenantDataViewVersion) tx;
+        ProjectionWorker worker = new ProjectionWorker(LABEL,
+                intValue(ctx.get(ACReadModelConfigurationVariable.AC_READMODEL_PROJECTION_PARTITIONS), DEFAULT_PROJECTION_PARTITIONS),
+                intValue(ctx.get(ACReadModelConfigurationVariable.AC_READMODEL_PROJECTION_QUEUE_CAPACITY), DEFAULT_PROJECTION_QUEUE_CAPACITY),
+                intValue(ctx.get(ACReadModelConfigurationVariable.AC_READMODEL_PROJECTION_BATCH_SIZE), DEFAULT_PROJECTION_BATCH_SIZE),
+                changes::whenAll, new GraphProjectionCheckpointStore(graphModel(), LABEL, projectionOwner(ctx)),
+                (getWriteModelStore() instanceof TenantsStore) ? ((TenantsStore) getWriteModelStore())::changesAfter : null);
+        try {
+            worker.start();
+            return worker;
+        } catch (UnoperationalStateException use) {
+            logger.log(Level.SEVERE, "Impossible start of the asynchronous projection (synchronous projection applied)!", use);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            logger.log(Level.WARNING, "Interrupted start of the asynchronous projection (synchronous projection applied)!", ie);
+        }
+        worker.stop(0);
+        return null;
+    }
+
+    /**
+     * Get the owner of the asynchronous projection checkpoint, unique per system instance sharing the projection graph.
+     *
+     * @param ctx Mandatory context.
+     * @return The configured owner, or the host name by default.
+     */
+    private static String projectionOwner(IContext ctx) {
+        String owner = ctx.get(ACReadModelConfigurationVariable.AC_READMODEL_PROJECTION_OWNER);
+        if (owner != null && !owner.trim().isEmpty()) return owner.trim();
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException uhe) {
+            logger.log(Level.WARNING, "Unknown host name (projection checkpoint owned by " + LABEL + ")", uhe);
+            return LABEL;
+        }
+    }
+
+    /**
+     * Stop the asynchronous projection.
+     * The already submitted events are projected until the timeout; the events not projected (e.g parked after failures) stay after the projection checkpoint and are read again from the tenant streams at the next start.
+     * The change events notified after the stop are applied synchronously.
+     *
+     * @param timeoutInMillis Maximum duration of wait for the projection of the already submitted events.
+     */
+    public void stop(long timeoutInMillis) {
+        if (this.projectionWorker != null) {
+            this.projectionWorker.stop(timeoutInMillis);
+            IProjectionTransaction tx = supportedTransactions().get(DomainEventType.TENANT_CREATED.name());
+            if (tx instanceof ChangedTenantDataViewVersion) ((ChangedTenantDataViewVersion) tx).releaseCarriedStates();
+        }
+    }
+
+    /**
+     * Wait until the projected data view of a tenant includes a written version (read-your-writes).
+     * The pending events of the tenant into the local asynchronous worker are awaited first, then the projected data view is read until it reaches the version (e.g version written and projected by another system instance).
+     *
+     * @param tenantId        Mandatory identifier of the tenant.
+     * @param version         Mandatory written version.
+     * @param timeoutInMillis Maximum duration of wait.
+     * @return True when the version is projected, false when timeout.
+     * @throws IllegalArgumentException    When mandatory parameter is missing.
+     * @throws UnoperationalStateException When problem during the data view read.
+     * @throws InterruptedException        When interrupted during the wait.
+     */
+    public boolean awaitProjectedVersion(String tenantId, ConsistencyToken.AggregateVersion version, long timeoutInMillis) throws IllegalArgumentException, UnoperationalStateException, InterruptedException {
+        if (tenantId == null || tenantId.isEmpty()) throw new IllegalArgumentException("tenantId parameter is required!");
+        if (version == null) throw new IllegalArgumentException("version parameter is required!");
+        long deadline = System.currentTimeMillis() + timeoutInMillis;
+        if (projectionWorker != null && !projectionWorker.awaitKey(tenantId, timeoutInMillis)) return false;
+        long pause = VERSION_CHECK_MIN_PAUSE_IN_MILLIS;
+        while (!isProjected(tenantId, version)) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) return false;
+            Thread.sleep(Math.min(pause, remaining));
+            pause = Math.min(pause * 2, VERSION_CHECK_MAX_PAUSE_IN_MILLIS);
+        }
+        return true;
+    }
+
+    /**
+     * Read the projected data view of a tenant, and check if it includes a version.
+     *
+     * @param tenantId Mandatory identifier of the tenant.
+     * @param version  Mandatory version.
+     * @return True when the version is projected.
+     * @throws UnoperationalStateException When problem during the data view read.
+     */
+    private boolean isProjected(String tenantId, ConsistencyToken.AggregateVersion version) throws UnoperationalStateException {
+        Transaction tx = null;
+        try (GraphTraversalSource source = graphModel().open()) {
+            tx = source.tx();
+            GraphTraversalSource gtx = tx.begin();
+            Map<Object, Object> element = TenantDataViewVertexDecoder.elementMap(gtx.V().has(T.label, LABEL)
+                    .has(TenantDataView.PropertyAttributeKey.IDENTIFIED_BY.name(), tenantId)).tryNext().orElse(null);
+            tx.rollback(); // Read only
+            return element != null && version.isReachedBy(
+                    TenantDataViewVertexDecoder.stringProperty(element, TenantDataView.PropertyAttributeKey.COMMIT_VERSION.name()),
+                    TenantDataViewVertexDecoder.dateProperty(element, TenantDataView.PropertyAttributeKey.LAST_UPDATED_AT.name()));
+        } catch (ConfigurationException ce) {
+            // Potentially thrown by graph.open() method
+            throw new UnoperationalStateException(ce);
+        } catch (Exception e) {
+            if (tx != null && tx.isOpen()) tx.rollback();
+            throw new UnoperationalStateException(e);
+        }
+    }
+
+    /**
+     * Create the cache of the data views by label according to the context configuration, and attach it to the query using it and to the transaction invalidating it.
+     *
+     * @param ctx Optional context. When null, the default cache sizing is applied.
+     * @return A cache.
+     * @throws IllegalArgumentException When invalid configuration value.
+     */
+    private TenantDataViewLabelCache createLabelCache(IContext ctx) throws IllegalArgumentException {
+        TenantDataViewLabelCache cache = new TenantDataViewLabelCache(
+                intValue((ctx != null) ? ctx.get(ACReadModelConfigurationVariable.AC_READMODEL_LABEL_CACHE_CAPACITY) : null, TenantDataViewLabelCache.DEFAULT_CAPACITY),
+                intValue((ctx != null) ? ctx.get(ACReadModelConfigurationVariable.AC_READMODEL_LABEL_CACHE_TTL_IN_SECONDS) : null, (int) (TenantDataViewLabelCache.DEFAULT_TTL_IN_MILLIS / 1000)) * 1000L);
+        IProjectionTransaction tx = supportedTransactions().get(DomainEventType.TENANT_CREATED.name());
+        IProjectionRead op = supportedQueries().get(ACApplicationQueryName.TENANT_VIEW_FIND_BY_LABEL.name());
+        if (tx instanceof ChangedTenantDataViewVersion && op instanceof FindTenantDataViewVersionByEqualsLabel) {
+            ((ChangedTenantDataViewVersion) tx).setLabelCache(cache);
+            ((FindTenantDataViewVersionByEqualsLabel) op).setLabelCache(cache);
+        }
+        return cache;
+    }
+
+    /**
+     * Get the cache of the data views by label (e.g for hit ratio read).
+     *
+     * @return A cache.
+     */
+    public TenantDataViewLabelCache labelCache() {
+        return this.labelCache;
+    }
+
+    /**
+     * Read an integer configuration value.
+     *
+     * @param value        Optional value.
+     * @param defaultValue Value returned when undefined value.
+     * @return A value.
+     * @throws IllegalArgumentException When not integer value.
+     */
+    private static int intValue(String value, int defaultValue) throws IllegalArgumentException {
+        if (value == null || value.isEmpty()) return defaultValue;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException nfe) {
+            throw new IllegalArgumentException("Invalid read-model configuration value: " + value, nfe);
+        }
+    }
+
+    /**
+     * Get the worker applying the change events asynchronously (e.g for projection lag metrics read, or wait of a checkpoint).
+     *
+     * @return A worker, or null when the projection is updated synchronously.
+     */
+    public ProjectionWorker projectionWorker() {
+        return this.projectionWorker;
     }
 
     @Override
@@ -127,10 +374,46 @@ public class TenantDataViewStateTransactionImpl extends AbstractGraphDataViewTra
                 // Identify existing transaction to execute about event type
                 tx = supportedTransactions().get(at.value());
                 if (tx != null) {
+                    if (getWriteModelStore() instanceof TenantsStore && ChangedTenantDataViewVersion.class.isAssignableFrom(tx.getClass())) {
+                        // Pass the tenant state carried next to the event (avoiding tenant rehydration)
+                        CarriedTenantState state = ((TenantsStore) getWriteModelStore()).carriedState(evt);
+                        if (state != null) ((ChangedTenantDataViewVersion) tx).carry(evt, state);
+                    }
+                    if (projectionWorker != null && ChangedTenantDataViewVersion.class.isAssignableFrom(tx.getClass())) {
+                        // Delegate the projection to the asynchronous worker, ordered per tenant
+                        try {
+                            projectionWorker.submit(changedTenantId(evt), evt);
+                            return;
+                        } catch (IllegalStateException ise) {
+                            // Stopped worker: apply synchronously
+                        } catch (UnoperationalStateException use) {
+                            logger.log(Level.WARNING, "Impossible registration of the tenant into the projection checkpoint (applied synchronously)!", use);
+                        } catch (InterruptedException ie) {
+                            Thread.currentThread().interrupt();
+                            logger.log(Level.WARNING, "Interrupted asynchronous projection submission (applied synchronously)!", ie);
+                        }
+                    }
                     // Execute the transaction that is interested in the monitored event
                     tx.when(evt);
                 }
             }
         }
     }
+
+    /**
+     * Identify the tenant which is subject of a change event.
+     *
+     * @param evt Mandatory event.
+     * @return A tenant identifier, or null when not identifiable.
+     */
+    private static String changedTenantId(DomainEvent evt) {
+        if (ConcreteDomainChangeEvent.class.isAssignableFrom(evt.getClass())) {
+            ConcreteDomainChangeEvent changeEvt = (ConcreteDomainChangeEvent) evt;
+            if (changeEvt.changedModelElementReference() != null)
+                return changeEvt.changedModelElementReference().getEntity().identified().value().toString();
+            if (changeEvt.changeSourceIdentifier() != null)
+                return changeEvt.changeSourceIdentifier().value().toString();
+        }
+        return null;
+    }
 }
@@ -0,0 +1,96 @@
+package org.cybnity.accesscontrol.domain.infrastructure.impl.projections;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.cybnity.accesscontrol.domain.service.api.model.TenantDataView;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Decoder of the TenantDataView vertices.
+ * The vertex properties are read in the same traversal as the vertex search (element map step), avoiding a backend fetch per property and the exceptions relative to the absent optional properties.
+ */
+public final class TenantDataViewVertexDecoder {
+
+    /**
+     * Keys of the vertex properties supporting a TenantDataView.
+     */
+    private static final String[] PROPERTY_KEYS = {
+            AccessControlDomainGraphImpl.VERTEX_NAME_PROPERTY,
+            TenantDataView.PropertyAttributeKey.IDENTIFIED_BY.name(),
+            TenantDataView.PropertyAttributeKey.CREATED.name(),
+            TenantDataView.PropertyAttributeKey.LAST_UPDATED_AT.name(),
+            TenantDataView.PropertyAttributeKey.COMMIT_VERSION.name(),
+            TenantDataView.PropertyAttributeKey.ACTIVITY_STATUS.name()};
+
+    private TenantDataViewVertexDecoder() {
+    }
+
+    /**
+     * Add to a vertices search the step reading the TenantDataView properties (and the vertex identifier) of each found vertex.
+     *
+     * @param vertices Mandatory search.
+     * @param <S>      Type of search start.
+     * @return The search delivering an element map per vertex, where absent optional properties are not included.
+     */
+    public static <S> GraphTraversal<S, Map<Object, Object>> elementMap(GraphTraversal<S, Vertex> vertices) {
+        return vertices.elementMap(PROPERTY_KEYS);
+    }
+
+    /**
+     * Build a data view from an element map.
+     *
+     * @param element Mandatory element map read from a TenantDataView vertex.
+     * @return A data view.
+     * @throws IllegalArgumentException When mandatory parameter or tenant identifier property is missing.
+     */
+    public static TenantDataView decode(Map<Object, Object> element) throws IllegalArgumentException {
+        if (element == null) throw new IllegalArgumentException("element parameter is required!");
+        String identifiedBy = stringProperty(element, TenantDataView.PropertyAttributeKey.IDENTIFIED_BY.name());
+        if (identifiedBy == null || identifiedBy.isEmpty())
+            throw new IllegalArgumentException("Tenant identifier property is required!");
+        String status = stringProperty(element, TenantDataView.PropertyAttributeKey.ACTIVITY_STATUS.name());
+        return new TenantDataView((status != null && !status.isEmpty()) ? Boolean.valueOf(status) : null,
+                stringProperty(element, AccessControlDomainGraphImpl.VERTEX_NAME_PROPERTY),
+                dateProperty(element, TenantDataView.PropertyAttributeKey.LAST_UPDATED_AT.name()),
+                identifiedBy,
+                dateProperty(element, TenantDataView.PropertyAttributeKey.CREATED.name()),
+                stringProperty(element, TenantDataView.PropertyAttributeKey.COMMIT_VERSION.name()));
+    }
+
+    /**
+     * Get the graph identifier of the vertex.
+     *
+     * @param element Mandatory element map.
+     * @return An identifier.
+     */
+    public static Object vertexId(Map<Object, Object> element) {
+        return element.get(T.id);
+    }
+
+    /**
+     * Read a text property.
+     *
+     * @param element Mandatory element map.
+     * @param key     Mandatory property key.
+     * @return A value, or null when absent.
+     */
+    public static String stringProperty(Map<Object, Object> element, String key) {
+        Object value = element.get(key);
+        return (value != null) ? value.toString() : null;
+    }
+
+    /**
+     * Read a date property.
+     *
+     * @param element Mandatory element map.
+     * @param key     Mandatory property key.
+     * @return A value, or null when absent or not a date.
+     */
+    public static Date dateProperty(Map<Object, Object> element, String key) {
+        Object value = element.get(key);
+        return (value instanceof Date) ? (Date) value : null;
+    }
+}
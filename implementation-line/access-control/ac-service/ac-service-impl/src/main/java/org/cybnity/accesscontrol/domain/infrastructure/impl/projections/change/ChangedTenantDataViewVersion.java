@@ -6,12 +6,17 @@ import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSo
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Transaction;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.cybnity.accesscontrol.domain.infrastructure.impl.CarriedTenantState;
+import org.cybnity.accesscontrol.domain.infrastructure.impl.projections.AccessControlDomainGraphImpl;
+import org.cybnity.accesscontrol.domain.infrastructure.impl.projections.TenantDataViewVertexDecoder;
+import org.cybnity.accesscontrol.domain.infrastructure.impl.projections.read.TenantDataViewLabelCache;
 import org.cybnity.accesscontrol.domain.service.api.model.TenantDataView;
 import org.cybnity.framework.UnoperationalStateException;
 import org.cybnity.framework.domain.*;
 import org.cybnity.framework.domain.event.ConcreteDomainChangeEvent;
 import org.cybnity.framework.domain.event.DomainEventFactory;
 import org.cybnity.framework.domain.event.DomainEventType;
+import org.cybnity.framework.domain.event.EventSpecification;
 import org.cybnity.framework.domain.event.IEventType;
 import org.cybnity.framework.domain.infrastructure.IDomainStore;
 import org.cybnity.framework.domain.infrastructure.util.DateConvention;
@@ -26,6 +31,7 @@ import org.cybnity.infrastructure.technical.registry.repository.impl.janusgraph.
 import javax.naming.ConfigurationException;
 import java.text.DateFormat;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -51,6 +57,16 @@ public class ChangedTenantDataViewVersion extends AbstractDataViewVersionTransac
      */
     private final IDomainStore<Tenant> rehydrationStore;
 
+    /**
+     * Optional cache of the data views by label, invalidated by the changes applied.
+     */
+    private volatile TenantDataViewLabelCache labelCache;
+
+    /**
+     * Tenant states carried next to the change events waiting to be applied, per event identifier.
+     */
+    private final Map<String, CarriedTenantState> carriedStates = new ConcurrentHashMap<>();
+
     /**
      * Default constructor.
      *
@@ -87,25 +103,114 @@ public class ChangedTenantDataViewVersion extends AbstractDataViewVersionTransac
     public void when(DomainEvent event) {
         if (event != null) {
             try {
+                whenAll(Collections.singletonList(event));
+            } catch (UnoperationalStateException e) {
+                logger.log(Level.SEVERE, e.getMessage(), e);
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * Interpretation of a batch of events, applied into the graph model in one transaction.
+     * The events are applied according to their order into the batch, and the data view change notifications are emitted only after the transaction commit.
+     * When an event can't be applied, the whole transaction is rolled back (none event of the batch is projected).
+     *
+     * @param events Committed changes. Null items and unidentified event types are ignored.
+     * @throws UnoperationalStateException When impossible treatment of an event and/or repository refresh.
+     */
+    public void whenAll(List<DomainEvent> events) throws UnoperationalStateException {
+        if (events == null || events.isEmpty()) return;
+        List<DomainEvent> notifications = new ArrayList<>();
+        Transaction tx = null;
+        // Open a traversal allowing graph manipulation
+        try (GraphTraversalSource source = graph.open()) {
+            // Initialize transaction
+            tx = source.tx();
+            GraphTraversalSource gtx = tx.begin();
+            gtx.tx().rollback();// Force refresh of transaction state about potential parallel changes executed on data-view to search
+
+            for (DomainEvent event : events) {
+                if (event == null) continue;
+                // Tenant state carried next to the event (released even when not applied, the tenant being rehydrated by a retry)
+                CarriedTenantState state = (event.identified() != null) ? carriedStates.remove(event.identified().value().toString()) : null;
                 // Identify and check that is a supported event type
                 Attribute type = event.type();
                 // Select the projection specialized method ensuring the update of this read-model projection
                 if (DomainEventType.TENANT_CREATED.name().equals(type.value())) {
-                    whenCreated(event);
-                }
-                if (DomainEventType.TENANT_CHANGED.name().equals(type.value())) {
-                    whenModified(event);
-                }
-                if (DomainEventType.TENANT_DELETED.name().equals(type.value())) {
+                    whenCreated(gtx, event, state, notifications);
+                } else if (DomainEventType.TENANT_CHANGED.name().equals(type.value())) {
+                    whenModified(gtx, event, new TenantDataViewMapper(this.rehydrationStore).convertTo(event, state), notifications);
+                } else if (DomainEventType.TENANT_DELETED.name().equals(type.value())) {
                     whenRemoved(event);
                 }
-            } catch (UnoperationalStateException e) {
-                logger.log(Level.SEVERE, e.getMessage(), e);
-                throw new RuntimeException(e);
             }
+            tx.commit(); // commit execution
+        } catch (ConfigurationException ce) {
+            // Potentially thrown by graph.open() method
+            logger.log(Level.SEVERE, "Impossible graph opening!", ce);
+            throw new UnoperationalStateException(ce);
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Impossible or inconsistent change of TenantDataView in read-model database!", e);
+            if (graph.isSupportsTransactions() && tx != null) {
+                tx.rollback();
+            }
+            throw (e instanceof UnoperationalStateException) ? (UnoperationalStateException) e : new UnoperationalStateException(e);
+        }
+
+        // --- READ-MODEL PROJECTION CHANGE NOTIFICATIONS ---
+        // Notify the changed data view status of this projection relative to the transaction monitored
+        for (DomainEvent dataViewChanged : notifications) {
+            invalidateLabelCache(dataViewChanged);
+            notifyEvent(dataViewChanged);
         }
     }
 
+    /**
+     * Carry the state of a tenant after its change next to the change event, so that the event is applied without tenant rehydration.
+     * The state is released when the event is applied.
+     *
+     * @param event Mandatory change event which will be applied by this transaction.
+     * @param state Mandatory state of the tenant after the change.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    public void carry(DomainEvent event, CarriedTenantState state) throws IllegalArgumentException {
+        if (event == null || event.identified() == null) throw new IllegalArgumentException("event parameter is required!");
+        if (state == null) throw new IllegalArgumentException("state parameter is required!");
+        carriedStates.put(event.identified().value().toString(), state);
+    }
+
+    /**
+     * Release the tenant states carried next to the change events which will not be applied (e.g stopped asynchronous projection).
+     */
+    public void releaseCarriedStates() {
+        carriedStates.clear();
+    }
+
+    /**
+     * Define the cache of the data views by label, which is invalidated by the data view change notifications emitted by this transaction.
+     *
+     * @param cache Cache to invalidate, or null.
+     */
+    public void setLabelCache(TenantDataViewLabelCache cache) {
+        this.labelCache = cache;
+    }
+
+    /**
+     * Remove the cached search results relative to the label and tenant of a data view change notification.
+     *
+     * @param dataViewChanged Mandatory notification (DATAVIEW_ADDED or DATAVIEW_CHANGED).
+     */
+    private void invalidateLabelCache(DomainEvent dataViewChanged) {
+        TenantDataViewLabelCache cache = this.labelCache;
+        if (cache == null) return;
+        Collection<Attribute> spec = dataViewChanged.specification();
+        Attribute nodeType = EventSpecification.findSpecificationByName(DataViewAttributeName.DATAVIEW_NODE_LABEL.name(), spec);
+        Attribute nodeName = EventSpecification.findSpecificationByName(DataViewAttributeName.DATAVIEW_NODE_NAME.name(), spec);
+        Attribute domainObjectId = EventSpecification.findSpecificationByName(DataViewAttributeName.DOMAIN_OBJECT_UID.name(), spec);
+        cache.invalidate((nodeType != null) ? nodeType.value() : null, (nodeName != null) ? nodeName.value() : null, (domainObjectId != null) ? domainObjectId.value() : null);
+    }
+
     /**
      * Identify the node type relative to the domain, from the data view.
      * When not identified from event, this method define the static default node type statically.
@@ -125,97 +230,74 @@ public class ChangedTenantDataViewVersion extends AbstractDataViewVersionTransac
     /**
      * Interpret a Tenant creation and create version of data-view optimized for query into the graph database.
      *
-     * @param event Handled event.
-     * @throws UnoperationalStateException When impossible treatment of event and/or repository refresh.
+     * @param gtx           Mandatory graph source of the current transaction.
+     * @param event         Handled event.
+     * @param state         Optional tenant state carried next to the event.
+     * @param notifications Mandatory container of the data view change notifications to emit after transaction commit.
+     * @throws Exception When impossible treatment of event.
      */
-    private void whenCreated(DomainEvent event) throws UnoperationalStateException {
-        if (event != null) {
-            // A write-model regarding a Tenant domain aggregate is notified as created
-
-            Transaction tx = null;
-            // Open a traversal allowing graph manipulation
-            try (GraphTraversalSource source = graph.open()) {
-                // Map origin domain object attributes from event to targeted (and normally satisfying completeness) data view type
-                TenantDataView expectedView = new TenantDataViewMapper(this.rehydrationStore).convertTo(event);
-                String domainNodeType = identifyNodeType(expectedView);
-
-                // Initialize transaction
-                tx = source.tx();
-                GraphTraversalSource gtx = tx.begin();
-                gtx.tx().rollback();// Force refresh of transaction state about potential parallel changes executed on data-view to search
-
-                // --- EXISTENCE CHECK: Before to create a new data view, verify if data view version is not existing about identifiable domain object
-                // Search from domain object identifier property
-                String originDomainIdentifier = expectedView.valueOfProperty(TenantDataView.PropertyAttributeKey.IDENTIFIED_BY);
-                Vertex existingNode = findByTenantId(gtx, domainNodeType, originDomainIdentifier);
-                String changeRequestLabel = expectedView.valueOfProperty(TenantDataView.PropertyAttributeKey.LABEL);
-                if (existingNode == null) {
-                    // Search from equals label
-                    existingNode = findByTenantLabel(gtx, domainNodeType, changeRequestLabel);
-                }
-                if (existingNode != null) {
-                    // Attempt node update in place of node creation into the repository
-                    whenModified(event);
-                    return; // Stop creation process
-                }
-
-                DateFormat formatter = DateConvention.dateFormatter(); // Convention selection about any date managed into the read-model projected graph
+    private void whenCreated(GraphTraversalSource gtx, DomainEvent event, CarriedTenantState state, List<DomainEvent> notifications) throws Exception {
+        // A write-model regarding a Tenant domain aggregate is notified as created
+        // Map origin domain object attributes from event to targeted (and normally satisfying completeness) data view type
+        TenantDataView expectedView = new TenantDataViewMapper(this.rehydrationStore).convertTo(event, state);
+        String domainNodeType = identifyNodeType(expectedView);
+
+        // --- EXISTENCE CHECK: Before to create a new data view, verify if data view version is not existing about identifiable domain object
+        // Search from domain object identifier property
+        String originDomainIdentifier = expectedView.valueOfProperty(TenantDataView.PropertyAttributeKey.IDENTIFIED_BY);
+        Map<Object, Object> existingNode = findByTenantId(gtx, domainNodeType, originDomainIdentifier);
+        String changeRequestLabel = expectedView.valueOfProperty(TenantDataView.PropertyAttributeKey.LABEL);
+        if (existingNode == null) {
+            // Search from equals label
+            existingNode = findByTenantLabel(gtx, domainNodeType, changeRequestLabel);
+        }
+        if (existingNode != null) {
+            // Attempt node update in place of node creation into the repository
+            whenModified(gtx, event, expectedView, notifications);
+            return; // Stop creation process
+        }
 
-                // --- Define vertex description to create ---
-                // Prepare transaction's subject based on required/existing properties
-                GraphTraversal<Vertex, Vertex> dataViewVersion = gtx.addV(/* Vertex label nature */domainNodeType)
-                        .property(/* Name property */"name", changeRequestLabel)
-                        .property(TenantDataView.PropertyAttributeKey.IDENTIFIED_BY.name(), originDomainIdentifier);
+        DateFormat formatter = DateConvention.dateFormatter(); // Convention selection about any date managed into the read-model projected graph
 
-                // Add optional properties
-                String creationDate = expectedView.valueOfProperty(TenantDataView.PropertyAttributeKey.CREATED);
-                if (creationDate != null && !creationDate.isEmpty())
-                    dataViewVersion.property(TenantDataView.PropertyAttributeKey.CREATED.name(), formatter.parse(creationDate));
+        // --- Define vertex description to create ---
+        // Prepare transaction's subject based on required/existing properties
+        GraphTraversal<Vertex, Vertex> dataViewVersion = gtx.addV(/* Vertex label nature */domainNodeType)
+                .property(/* Name property */AccessControlDomainGraphImpl.VERTEX_NAME_PROPERTY, changeRequestLabel)
+                .property(TenantDataView.PropertyAttributeKey.IDENTIFIED_BY.name(), originDomainIdentifier);
 
-                String commitVersion = expectedView.valueOfProperty(TenantDataView.PropertyAttributeKey.COMMIT_VERSION);
-                if (commitVersion != null && !commitVersion.isEmpty())
-                    dataViewVersion.property(TenantDataView.PropertyAttributeKey.COMMIT_VERSION.name(), commitVersion);
+        // Add optional properties
+        String creationDate = expectedView.valueOfProperty(TenantDataView.PropertyAttributeKey.CREATED);
+        if (creationDate != null && !creationDate.isEmpty())
+            dataViewVersion.property(TenantDataView.PropertyAttributeKey.CREATED.name(), formatter.parse(creationDate));
 
-                String status = expectedView.valueOfProperty(TenantDataView.PropertyAttributeKey.ACTIVITY_STATUS);
-                if (status != null && !status.isEmpty())
-                    dataViewVersion.property(TenantDataView.PropertyAttributeKey.ACTIVITY_STATUS.name(),
-                            /* Boolean type is not supported natively; see https://docs.janusgraph.org/v0.4/index-backend/search-predicates/#data-type-support */
-                            status);
+        String commitVersion = expectedView.valueOfProperty(TenantDataView.PropertyAttributeKey.COMMIT_VERSION);
+        if (commitVersion != null && !commitVersion.isEmpty())
+            dataViewVersion.property(TenantDataView.PropertyAttributeKey.COMMIT_VERSION.name(), commitVersion);
 
-                String updatedAt = expectedView.valueOfProperty(TenantDataView.PropertyAttributeKey.LAST_UPDATED_AT);
-                if (updatedAt != null && !updatedAt.isEmpty()) {
-                    dataViewVersion.property(TenantDataView.PropertyAttributeKey.LAST_UPDATED_AT.name(), formatter.parse(updatedAt));
-                }
+        String status = expectedView.valueOfProperty(TenantDataView.PropertyAttributeKey.ACTIVITY_STATUS);
+        if (status != null && !status.isEmpty())
+            dataViewVersion.property(TenantDataView.PropertyAttributeKey.ACTIVITY_STATUS.name(),
+                    /* Boolean type is not supported natively; see https://docs.janusgraph.org/v0.4/index-backend/search-predicates/#data-type-support */
+                    status);
 
-                final Vertex dataViewVertex = dataViewVersion.next(); // Execute the transaction creating a new graph vertex
-                tx.commit(); // commit execution
-
-                // --- READ-MODEL PROJECTION CHANGE NOTIFICATION ---
-                // Prepare data view change event
-                DomainEvent dataViewChanged = prepareDataViewNotification(DataViewEventType.DATAVIEW_ADDED,
-                        dataViewVertex.id().toString(),
-                        originDomainIdentifier,
-                        domainNodeType,
-                        changeRequestLabel,
-                        updatedAt,
-                        /* Original event reference that was previous source of this event publication */ event.reference(),
-                        /* Identify the element of the domain model which was subject of domain event */
-                        (ConcreteDomainChangeEvent.class.isAssignableFrom(event.getClass())) ? ((ConcreteDomainChangeEvent) event).changedModelElementReference() : null);
-
-                // Notify the changed data view status of this projection relative to the transaction monitored
-                notifyEvent(dataViewChanged);
-            } catch (ConfigurationException ce) {
-                // Potentially thrown by graph.open() method
-                logger.log(Level.SEVERE, "Impossible graph opening!", ce);
-                throw new UnoperationalStateException(ce);
-            } catch (Exception e) {
-                logger.log(Level.SEVERE, "Impossible or inconsistent creation of TenantDataView in read-model database!", e);
-                if (graph.isSupportsTransactions() && tx != null) {
-                    tx.rollback();
-                }
-                throw new UnoperationalStateException(e);
-            }
+        String updatedAt = expectedView.valueOfProperty(TenantDataView.PropertyAttributeKey.LAST_UPDATED_AT);
+        if (updatedAt != null && !updatedAt.isEmpty()) {
+            dataViewVersion.property(TenantDataView.PropertyAttributeKey.LAST_UPDATED_AT.name(), formatter.parse(updatedAt));
         }
+
+        final Vertex dataViewVertex = dataViewVersion.next(); // Execute the step creating a new graph vertex
+
+        // --- READ-MODEL PROJECTION CHANGE NOTIFICATION ---
+        // Prepare data view change event
+        notifications.add(prepareDataViewNotification(DataViewEventType.DATAVIEW_ADDED,
+                dataViewVertex.id().toString(),
+                originDomainIdentifier,
+                domainNodeType,
+                changeRequestLabel,
+                updatedAt,
+                /* Original event reference that was previous source of this event publication */ event.reference(),
+                /* Identify the element of the domain model which was subject of domain event */
+                (ConcreteDomainChangeEvent.class.isAssignableFrom(event.getClass())) ? ((ConcreteDomainChangeEvent) event).changedModelElementReference() : null));
     }
 
     /**
@@ -257,122 +339,94 @@ public class ChangedTenantDataViewVersion extends AbstractDataViewVersionTransac
     /**
      * Interpret a Tenant update and refresh version of data-view optimized for query into the graph database.
      *
-     * @param event Handled event.
-     * @throws UnoperationalStateException When impossible treatment of event and/or repository refresh.
+     * @param gtx           Mandatory graph source of the current transaction.
+     * @param event         Handled event.
+     * @param expectedView  Mandatory data view mapped from the event.
+     * @param notifications Mandatory container of the data view change notifications to emit after transaction commit.
+     * @throws Exception When impossible treatment of event.
      */
-    private void whenModified(DomainEvent event) throws UnoperationalStateException {
-        if (event != null) {
-            // A write-model regarding an existing Tenant domain aggregate is notified as modified
-            // So an existing data view shall be updated as read-model projection (data view) from current Tenant version modified
-            Transaction tx = null;
-            // Open a traversal allowing graph manipulation
-            try (GraphTraversalSource source = graph.open()) {
-                // Map origin domain object attributes from event to targeted (and normally satisfying completeness) data view type
-                TenantDataView expectedView = new TenantDataViewMapper(this.rehydrationStore).convertTo(event);
-                String domainNodeType = identifyNodeType(expectedView);
-
-                // Initialize transaction
-                tx = source.tx();
-                GraphTraversalSource gtx = tx.begin();
-                gtx.tx().rollback();// Force refresh of transaction state about potential parallel changes executed on data-view to search
-
-                // --- EXISTENCE CHECK (based on tenant identifier that is immutable): Before to update a data view, verify if data view version is existing about identifiable domain object
-                // Search existing tenant data view from the origin domain object's identifier property
-                String originDomainIdentifier = expectedView.valueOfProperty(TenantDataView.PropertyAttributeKey.IDENTIFIED_BY);
-                Vertex existingNode = findByTenantId(gtx, domainNodeType, originDomainIdentifier);
-                String changeRequestLabel = expectedView.valueOfProperty(TenantDataView.PropertyAttributeKey.LABEL);
-                if (existingNode != null) {
-                    // Existing data view can be refreshed...
-                    // --- POTENTIAL NODE LABEL CONFLICTS RULE: logical label re-assigned to another Tenant can be in conflict with another vertex that need to be checked before to accept the update requested
-                    // Search if another data view is existing with same label than requested
-                    Vertex potentialOtherExistingNodeWithSameLabel = findByTenantLabel(gtx, domainNodeType, changeRequestLabel);
-                    if (potentialOtherExistingNodeWithSameLabel != null) {
-                        // Check if is equals tenant UID and is not another tenant immutable identifier
-                        if (!potentialOtherExistingNodeWithSameLabel.id().equals(existingNode.id())) {
-                            // Another node is confirmed like already using/named with same label that can't be upgraded on the event's subject
-                            // So ignore the event and stop the upgrade to mitigate the risk of duplicated nodes in the repository
-                            return;
-                        }
-                    }
-
-                    DateFormat formatter = DateConvention.dateFormatter(); // Convention selection about any date managed into the read-model projected graph
-
-                    // --- LAST VERSION CHECK RULE: UPDATE ONLY IF CHANGE DATE IS MORE YOUNG THAN EXISTING NODE VERSION (support potential reception of parallel change event, not ordered and relative to a same domain object that have been upgraded over async method not synchronized)
-                    String updatedAt = expectedView.valueOfProperty(TenantDataView.PropertyAttributeKey.LAST_UPDATED_AT);
-                    if (updatedAt != null && !updatedAt.isEmpty()) {
-                        try {
-                            // Verify that change event notified is more young than existing data view version
-                            Date existingNodeVersionDatedAs = gtx.V(existingNode).next().value(TenantDataView.PropertyAttributeKey.LAST_UPDATED_AT.name());
-                            // Compare existing node version age to the new updated version
-                            if (existingNodeVersionDatedAs.compareTo(formatter.parse(updatedAt)) > 0/* greater than*/) {
-                                // The existing node is more young and up-to-date than the update event notified
-                                // So the current data view version shall not be updated
-                                return; // Stop treatment and ignore event
-                            }
-                        } catch (NoSuchElementException nse) {
-                            // Not found date
-                        }
-                    }
-
-                    // --- UPGRADE TRANSACTION ---
-                    Map<Object, Object> selectFilter = new HashMap<>();
-                    selectFilter.put(TenantDataView.PropertyAttributeKey.IDENTIFIED_BY.name(), originDomainIdentifier);
-                    selectFilter.put(/* vertex nature label*/ T.label, domainNodeType);
-                    // Define properties to be updated in existing data view (vertex)
-                    Map<Object, Object> updatedProperties = new HashMap<>();
-                    // Mandatory properties
-                    updatedProperties.put(/* Name property */"name", changeRequestLabel);
-                    // Optional properties
-                    String creationDate = expectedView.valueOfProperty(TenantDataView.PropertyAttributeKey.CREATED);
-                    if (creationDate != null && !creationDate.isEmpty())
-                        updatedProperties.put(TenantDataView.PropertyAttributeKey.CREATED.name(), formatter.parse(creationDate));
-                    String commitVersion = expectedView.valueOfProperty(TenantDataView.PropertyAttributeKey.COMMIT_VERSION);
-                    if (commitVersion != null && !commitVersion.isEmpty())
-                        updatedProperties.put(TenantDataView.PropertyAttributeKey.COMMIT_VERSION.name(), commitVersion);
-                    String status = expectedView.valueOfProperty(TenantDataView.PropertyAttributeKey.ACTIVITY_STATUS);
-                    if (status != null && !status.isEmpty())
-                        updatedProperties.put(TenantDataView.PropertyAttributeKey.ACTIVITY_STATUS.name(),
-                                /* Boolean type is not supported natively; see https://docs.janusgraph.org/v0.4/index-backend/search-predicates/#data-type-support */
-                                status);
-                    if (updatedAt != null && !updatedAt.isEmpty()) {
-                        updatedProperties.put(TenantDataView.PropertyAttributeKey.LAST_UPDATED_AT.name(), formatter.parse(updatedAt));
-                    }
-
-                    // Update the changed domain object attributes into the data view
-                    // See https://javadoc.io/doc/org.janusgraph/janusgraph-core/latest/index.html for implementation help
-                    final Vertex dataViewVertex = gtx.mergeV(selectFilter).option(Merge.onMatch, updatedProperties).next();
-                    tx.commit(); // commit execution
-
-                    // --- READ-MODEL PROJECTION CHANGE NOTIFICATION ---
-                    // Prepare data view change event
-                    DomainEvent dataViewChanged = prepareDataViewNotification(DataViewEventType.DATAVIEW_CHANGED,
-                            dataViewVertex.id().toString(),
-                            originDomainIdentifier,
-                            domainNodeType,
-                            changeRequestLabel,
-                            updatedAt,
-                            /* Original event reference that was previous source of this event publication */ event.reference(),
-                            /* Identify the element of the domain model which was subject of domain event */
-                            (ConcreteDomainChangeEvent.class.isAssignableFrom(event.getClass())) ? ((ConcreteDomainChangeEvent) event).changedModelElementReference() : null);
-
-                    // Notify the changed data view status of this projection relative to the transaction monitored
-                    notifyEvent(dataViewChanged);
-                } else {
-                    // Impossible to update a tenant data view that is not previously existing (based on creation command) in the repository
-                    // In case of repository dropped, a full rehydration of the repository should be started regarding the tenant
-                    // Ignore event
+    private void whenModified(GraphTraversalSource gtx, DomainEvent event, TenantDataView expectedView, List<DomainEvent> notifications) throws Exception {
+        // A write-model regarding an existing Tenant domain aggregate is notified as modified
+        // So an existing data view shall be updated as read-model projection (data view) from current Tenant version modified
+        String domainNodeType = identifyNodeType(expectedView);
+
+        // --- EXISTENCE CHECK (based on tenant identifier that is immutable): Before to update a data view, verify if data view version is existing about identifiable domain object
+        // Search existing tenant data view from the origin domain object's identifier property
+        String originDomainIdentifier = expectedView.valueOfProperty(TenantDataView.PropertyAttributeKey.IDENTIFIED_BY);
+        Map<Object, Object> existingNode = findByTenantId(gtx, domainNodeType, originDomainIdentifier);
+        String changeRequestLabel = expectedView.valueOfProperty(TenantDataView.PropertyAttributeKey.LABEL);
+        if (existingNode != null) {
+            // Existing data view can be refreshed...
+            // --- POTENTIAL NODE LABEL CONFLICTS RULE: logical label re-assigned to another Tenant can be in conflict with another vertex that need to be checked before to accept the update requested
+            // Search if another data view is existing with same label than requested
+            Map<Object, Object> potentialOtherExistingNodeWithSameLabel = findByTenantLabel(gtx, domainNodeType, changeRequestLabel);
+            if (potentialOtherExistingNodeWithSameLabel != null) {
+                // Check if is equals tenant UID and is not another tenant immutable identifier
+                if (!TenantDataViewVertexDecoder.vertexId(potentialOtherExistingNodeWithSameLabel).equals(TenantDataViewVertexDecoder.vertexId(existingNode))) {
+                    // Another node is confirmed like already using/named with same label that can't be upgraded on the event's subject
+                    // So ignore the event and stop the upgrade to mitigate the risk of duplicated nodes in the repository
+                    return;
                 }
-            } catch (ConfigurationException ce) {
-                // Potentially thrown by graph.open() method
-                logger.log(Level.SEVERE, "Impossible graph opening!", ce);
-                throw new UnoperationalStateException(ce);
-            } catch (Exception e) {
-                logger.log(Level.SEVERE, "Impossible or inconsistent creation of TenantDataView in read-model database!", e);
-                if (graph.isSupportsTransactions() && tx != null) {
-                    tx.rollback();
+            }
+
+            DateFormat formatter = DateConvention.dateFormatter(); // Convention selection about any date managed into the read-model projected graph
+
+            // --- LAST VERSION CHECK RULE: UPDATE ONLY IF CHANGE DATE IS MORE YOUNG THAN EXISTING NODE VERSION (support potential reception of parallel change event, not ordered and relative to a same domain object that have been upgraded over async method not synchronized)
+            String updatedAt = expectedView.valueOfProperty(TenantDataView.PropertyAttributeKey.LAST_UPDATED_AT);
+            if (updatedAt != null && !updatedAt.isEmpty()) {
+                // Verify that change event notified is more young than existing data view version (already read with the existing node)
+                Date existingNodeVersionDatedAs = TenantDataViewVertexDecoder.dateProperty(existingNode, TenantDataView.PropertyAttributeKey.LAST_UPDATED_AT.name());
+                // Compare existing node version age to the new updated version
+                if (existingNodeVersionDatedAs != null && existingNodeVersionDatedAs.compareTo(formatter.parse(updatedAt)) > 0/* greater than*/) {
+                    // The existing node is more young and up-to-date than the update event notified
+                    // So the current data view version shall not be updated
+                    return; // Stop treatment and ignore event
                 }
-                throw new UnoperationalStateException(e);
             }
+
+            // --- UPGRADE TRANSACTION ---
+            Map<Object, Object> selectFilter = new HashMap<>();
+            selectFilter.put(TenantDataView.PropertyAttributeKey.IDENTIFIED_BY.name(), originDomainIdentifier);
+            selectFilter.put(/* vertex nature label*/ T.label, domainNodeType);
+            // Define properties to be updated in existing data view (vertex)
+            Map<Object, Object> updatedProperties = new HashMap<>();
+            // Mandatory properties
+            updatedProperties.put(/* Name property */AccessControlDomainGraphImpl.VERTEX_NAME_PROPERTY, changeRequestLabel);
+            // Optional properties
+            String creationDate = expectedView.valueOfProperty(TenantDataView.PropertyAttributeKey.CREATED);
+            if (creationDate != null && !creationDate.isEmpty())
+                updatedProperties.put(TenantDataView.PropertyAttributeKey.CREATED.name(), formatter.parse(creationDate));
+            String commitVersion = expectedView.valueOfProperty(TenantDataView.PropertyAttributeKey.COMMIT_VERSION);
+            if (commitVersion != null && !commitVersion.isEmpty())
+                updatedProperties.put(TenantDataView.PropertyAttributeKey.COMMIT_VERSION.name(), commitVersion);
+            String status = expectedView.valueOfProperty(TenantDataView.PropertyAttributeKey.ACTIVITY_STATUS);
+            if (status != null && !status.isEmpty())
+                updatedProperties.put(TenantDataView.PropertyAttributeKey.ACTIVITY_STATUS.name(),
+                        /* Boolean type is not supported natively; see https://docs.janusgraph.org/v0.4/index-backend/search-predicates/#data-type-support */
+                        status);
+            if (updatedAt != null && !updatedAt.isEmpty()) {
+                updatedProperties.put(TenantDataView.PropertyAttributeKey.LAST_UPDATED_AT.name(), formatter.parse(updatedAt));
+            }
+
+            // Update the changed domain object attributes into the data view
+            // See https://javadoc.io/doc/org.janusgraph/janusgraph-core/latest/index.html for implementation help
+            final Vertex dataViewVertex = gtx.mergeV(selectFilter).option(Merge.onMatch, updatedProperties).next();
+
+            // --- READ-MODEL PROJECTION CHANGE NOTIFICATION ---
+            // Prepare data view change event
+            notifications.add(prepareDataViewNotification(DataViewEventType.DATAVIEW_CHANGED,
+                    dataViewVertex.id().toString(),
+                    originDomainIdentifier,
+                    domainNodeType,
+                    changeRequestLabel,
+                    updatedAt,
+                    /* Original event reference that was previous source of this event publication */ event.reference(),
+                    /* Identify the element of the domain model which was subject of domain event */
+                    (ConcreteDomainChangeEvent.class.isAssignableFrom(event.getClass())) ? ((ConcreteDomainChangeEvent) event).changedModelElementReference() : null));
+        } else {
+            // Impossible to update a tenant data view that is not previously existing (based on creation command) in the repository
+            // In case of repository dropped, a full rehydration of the repository should be started regarding the tenant
+            // Ignore event
         }
     }
 
@@ -382,16 +436,11 @@ public class ChangedTenantDataViewVersion extends AbstractDataViewVersionTransac
      * @param gtx            Mandatory graph source.
      * @param domainNodeType Mandatory vertex nature label.
      * @param tenantLabel    Mandatory tenant name.
-     * @return A found vertex or null.
+     * @return Element map (identifier and properties) of a found vertex, or null.
      */
-    private Vertex findByTenantLabel(GraphTraversalSource gtx, String domainNodeType, String tenantLabel) {
-        try {
-            // Execute query
-            return gtx.V().has(T.label /* vertex node label only consulted */, domainNodeType).has("name", tenantLabel).next();
-        } catch (NoSuchElementException nse) {
-            // Not found result
-        }
-        return null;
+    private Map<Object, Object> findByTenantLabel(GraphTraversalSource gtx, String domainNodeType, String tenantLabel) {
+        // Execute query
+        return TenantDataViewVertexDecoder.elementMap(gtx.V().has(T.label /* vertex node label only consulted */, domainNodeType).has(AccessControlDomainGraphImpl.VERTEX_NAME_PROPERTY, tenantLabel)).tryNext().orElse(null);
     }
 
     /**
@@ -400,16 +449,11 @@ public class ChangedTenantDataViewVersion extends AbstractDataViewVersionTransac
      * @param gtx              Mandatory graph source.
      * @param domainNodeType   Mandatory vertex nature label.
      * @param tenantIdentifier Mandatory tenant identifier.
-     * @return A found vertex or null.
+     * @return Element map (identifier and properties) of a found vertex, or null.
      */
-    private Vertex findByTenantId(GraphTraversalSource gtx, String domainNodeType, String tenantIdentifier) {
-        try {
-            // Execute query
-            return gtx.V().has(T.label /* vertex node label only consulted */, domainNodeType).has(TenantDataView.PropertyAttributeKey.IDENTIFIED_BY.name(), tenantIdentifier).next();
-        } catch (NoSuchElementException nse) {
-            // Not found result
-        }
-        return null;
+    private Map<Object, Object> findByTenantId(GraphTraversalSource gtx, String domainNodeType, String tenantIdentifier) {
+        // Execute query
+        return TenantDataViewVertexDecoder.elementMap(gtx.V().has(T.label /* vertex node label only consulted */, domainNodeType).has(TenantDataView.PropertyAttributeKey.IDENTIFIED_BY.name(), tenantIdentifier)).tryNext().orElse(null);
     }
 
     /**
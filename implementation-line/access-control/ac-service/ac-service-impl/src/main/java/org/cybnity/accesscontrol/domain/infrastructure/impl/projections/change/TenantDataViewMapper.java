@@ -1,5 +1,6 @@
 package org.cybnity.accesscontrol.domain.infrastructure.impl.projections.change;
 
+import org.cybnity.accesscontrol.domain.infrastructure.impl.CarriedTenantState;
 import org.cybnity.accesscontrol.domain.service.api.model.TenantDataView;
 import org.cybnity.framework.domain.AbstractDTOMapper;
 import org.cybnity.framework.domain.Attribute;
@@ -19,6 +20,7 @@ import java.util.Date;
  * DTO mapping implementation class ensuring the preparation of a data view version relative to a Tenant.
  */
 public class TenantDataViewMapper extends AbstractDTOMapper<TenantDataView> {
+
     /**
      * Store of tenant versions.
      */
@@ -38,6 +40,7 @@ public class TenantDataViewMapper extends AbstractDTOMapper<TenantDataView> {
 
     /**
      * Conversion method that ensure transformation of a collection of attributes relative to a DomainEvent, into a simplified version of data view (queryable and immutable) supported by a read-model projection.
+     * The tenant is rehydrated from the store.
      *
      * @param source Mandatory domain event object type which is provider of attributes to read about a Tenant description.
      * @return An instantiated version of data view including only the data that make sens for a projection.
@@ -46,6 +49,20 @@ public class TenantDataViewMapper extends AbstractDTOMapper<TenantDataView> {
      */
     @Override
     public TenantDataView convertTo(Object source) throws IllegalArgumentException, UnsupportedOperationException {
+        return convertTo(source, null);
+    }
+
+    /**
+     * Conversion method that ensure transformation of a collection of attributes relative to a DomainEvent, into a simplified version of data view (queryable and immutable) supported by a read-model projection.
+     * When the tenant state carried next to the event is defined, the data view is built from it without read of the store; else the tenant is rehydrated from the store.
+     *
+     * @param source Mandatory domain event object type which is provider of attributes to read about a Tenant description.
+     * @param state  Optional state of the tenant after the change, carried next to the event by the tenants store.
+     * @return An instantiated version of data view including only the data that make sens for a projection.
+     * @throws IllegalArgumentException      When mandatory parameter is not defined. When event.typ().value() of source event is not equals to DomainEventType.TENANT_CREATED.name() normally representing a tenant creation confirmed by a write-model change operation.
+     * @throws UnsupportedOperationException When impossible to read attributes that are required for data view instance creation.
+     */
+    public TenantDataView convertTo(Object source, CarriedTenantState state) throws IllegalArgumentException, UnsupportedOperationException {
         if (source == null) throw new IllegalArgumentException("Source parameter is required!");
         // Identify and check that is a supported event type
         try {
@@ -67,63 +84,22 @@ public class TenantDataViewMapper extends AbstractDTOMapper<TenantDataView> {
             if (changedWriteModelObjectRef != null || sourceDomainObjId != null) {
                 Identifier detectedDomainObjectChangedId = (changedWriteModelObjectRef != null) ? changedWriteModelObjectRef.getEntity().identified() : sourceDomainObjId;
 
+                // Build the view from the tenant state carried next to the event when available (without store I/O)
+                if (state != null) {
+                    return toDataView(event, detectedDomainObjectChangedId, state.occurredAt(), state.commitVersion(), state.isActive(), state.label());
+                }
+
                 // Load initial values of the tenant projected version that is KNOWN BY THE WRITE-MODEL
                 Tenant fullRehydratedTenantVersion = this.tenantsWriteModelStore.findEventFrom(detectedDomainObjectChangedId);
                 if (fullRehydratedTenantVersion != null) {
                     // READ CURRENT WRITE-MODEL VERSION AND GENERATE ITS VIEW VERSION
-
-                    // --- MANDATORY INFORMATION RELATIVE TO A READ TENANT ---
-                    // Identify the Tenant's unique identifier
-                    Identifier tenantId = fullRehydratedTenantVersion.identified();
-                    if (event.changeSourceIdentifier() != null && !event.changeSourceIdentifier().equals(tenantId)) {
-                        tenantId = event.changeSourceIdentifier();
-                    } // Origin domain model object created
-                    String tenantIdentifier = tenantId.value().toString(); // Read identifier value
-
-                    // Identify date of creation (equals to source domain object occurrence date)
-                    // Determine the read-model projection data (primarily based on change notification date, else based on last version rehydrated)
-                    Date occurredAt = Date.from(fullRehydratedTenantVersion.occurredAt().toInstant());
-                    // --------------
-
-                    // --- OPTIONAL INFORMATION RELATIVE TO A READ TENANT ---
-                    // Identify creation event's source identifier (generating a data-view creation) or explicit known domain tenant's commit version
-                    String committedVersion = fullRehydratedTenantVersion.getCommitVersion();
-                    Attribute commitVersion = EventSpecification.findSpecificationByName(CommonChildFactImpl.Attribute.COMMIT_VERSION.name(), event.specification());
-                    if (commitVersion != null && commitVersion.value() != null && !commitVersion.value().isEmpty()) {
-                        committedVersion = commitVersion.value();
-                    }
-                    if (committedVersion == null || committedVersion.isEmpty())
-                        committedVersion = event.identified().value().toString(); // defined commit version as equals to the event identifier
-
-                    // Identify the activity status
                     ActivityState currentState = fullRehydratedTenantVersion.status();
-                    Boolean activityStatus = (currentState != null) ? currentState.isActive() : null;
-                    Attribute activityStateAttr = EventSpecification.findSpecificationByName(Tenant.Attribute.ACTIVITY_STATUS.name(), event.specification());
-                    if (activityStateAttr != null && activityStateAttr.value() != null && !activityStateAttr.value().isEmpty()) {
-                        // State have been changed
-                        activityStatus = Boolean.valueOf(activityStateAttr.value());
-                    }
-
-                    // Identify the unique logical label naming the Tenant (or define from tenant identifier as unique view label)
-                    // Tenant label can be optionally defined during the Tenant creation (but is not a mandatory specification)
-                    // As logical label is required for creation of a data view version (equals to vertex name),
-                    // the INITIAL NAME of the data view version to create SHALL BE EQUALS TO:
-                    // - LOGICAL NAME OF TENANT WHEN DEFINED
-                    // - or TECHNICAL IDENTIFIER OF TENANT WHEN LOGICAL NAME OF TENANT UNKNOWN
                     TenantDescriptor labelDescriptor = fullRehydratedTenantVersion.label();
-                    String label = (labelDescriptor != null) ? labelDescriptor.getLabel() : null;
-                    // When initial creation event relative to a tenant, possible not already stored label change that will arrive in a second change event
-                    // Check if possible identification of original known label from the creation event
-                    Attribute labelAttr = EventSpecification.findSpecificationByName(Tenant.Attribute.LABEL.name(), event.specification());
-                    if (labelAttr != null && labelAttr.value() != null && !labelAttr.value().isEmpty())
-                        label = labelAttr.value(); // Identify predictive label (that will be notified to repository over future change event) that allow generation of first data view node
-
-                    if (label == null || label.isEmpty())
-                        label = tenantIdentifier; // defined technical id as default label
-                    // --------------
-
-                    // Try instantiation which is responsible for mandatory information required for creation
-                    return new TenantDataView(activityStatus, label, occurredAt, tenantIdentifier,/* The date of occurrence is considered as the date of Tenant creation */ occurredAt, committedVersion);
+                    return toDataView(event, fullRehydratedTenantVersion.identified(),
+                            Date.from(fullRehydratedTenantVersion.occurredAt().toInstant()),
+                            fullRehydratedTenantVersion.getCommitVersion(),
+                            (currentState != null) ? currentState.isActive() : null,
+                            (labelDescriptor != null) ? labelDescriptor.getLabel() : null);
                 } else {
                     throw new IllegalArgumentException("The rehydrated tenant version of changed origin domain object is not available for transformation into Tenant data view queryable projection!");
                 }
@@ -133,4 +109,61 @@ public class TenantDataViewMapper extends AbstractDTOMapper<TenantDataView> {
             throw new UnsupportedOperationException("Invalid source parameter and read value!", cce);
         }
     }
+
+    /**
+     * Build a data view from a tenant state, completed by the changed values described by the change event.
+     *
+     * @param event          Mandatory change event.
+     * @param tenantId       Mandatory identifier of the tenant.
+     * @param occurredAt     Mandatory occurrence date of the tenant version.
+     * @param commitVersion  Optional commit version of the tenant.
+     * @param activityStatus Optional activity status of the tenant.
+     * @param label          Optional label of the tenant.
+     * @return A data view.
+     */
+    private TenantDataView toDataView(ConcreteDomainChangeEvent event, Identifier tenantId, Date occurredAt, String commitVersion, Boolean activityStatus, String label) {
+        // --- MANDATORY INFORMATION RELATIVE TO A READ TENANT ---
+        // Identify the Tenant's unique identifier
+        if (event.changeSourceIdentifier() != null && !event.changeSourceIdentifier().equals(tenantId)) {
+            tenantId = event.changeSourceIdentifier();
+        } // Origin domain model object created
+        String tenantIdentifier = tenantId.value().toString(); // Read identifier value
+        // --------------
+
+        // --- OPTIONAL INFORMATION RELATIVE TO A READ TENANT ---
+        // Identify creation event's source identifier (generating a data-view creation) or explicit known domain tenant's commit version
+        String committedVersion = commitVersion;
+        Attribute commitVersionAttr = EventSpecification.findSpecificationByName(CommonChildFactImpl.Attribute.COMMIT_VERSION.name(), event.specification());
+        if (commitVersionAttr != null && commitVersionAttr.value() != null && !commitVersionAttr.value().isEmpty()) {
+            committedVersion = commitVersionAttr.value();
+        }
+        if (committedVersion == null || committedVersion.isEmpty())
+            committedVersion = event.identified().value().toString(); // defined commit version as equals to the event identifier
+
+        // Identify the activity status
+        Attribute activityStateAttr = EventSpecification.findSpecificationByName(Tenant.Attribute.ACTIVITY_STATUS.name(), event.specification());
+        if (activityStateAttr != null && activityStateAttr.value() != null && !activityStateAttr.value().isEmpty()) {
+            // State have been changed
+            activityStatus = Boolean.valueOf(activityStateAttr.value());
+        }
+
+        // Identify the unique logical label naming the Tenant (or define from tenant identifier as unique view label)
+        // Tenant label can be optionally defined during the Tenant creation (but is not a mandatory specification)
+        // As logical label is required for creation of a data view version (equals to vertex name),
+        // the INITIAL NAME of the data view version to create SHALL BE EQUALS TO:
+        // - LOGICAL NAME OF TENANT WHEN DEFINED
+        // - or TECHNICAL IDENTIFIER OF TENANT WHEN LOGICAL NAME OF TENANT UNKNOWN
+        // When initial creation event relative to a tenant, possible not already stored label change that will arrive in a second change event
+        // Check if possible identification of original known label from the creation event
+        Attribute labelAttr = EventSpecification.findSpecificationByName(Tenant.Attribute.LABEL.name(), event.specification());
+        if (labelAttr != null && labelAttr.value() != null && !labelAttr.value().isEmpty())
+            label = labelAttr.value(); // Identify predictive label (that will be notified to repository over future change event) that allow generation of first data view node
+
+        if (label == null || label.isEmpty())
+            label = tenantIdentifier; // defined technical id as default label
+        // --------------
+
+        // Try instantiation which is responsible for mandatory information required for creation
+        return new TenantDataView(activityStatus, label, occurredAt, tenantIdentifier,/* The date of occurrence is considered as the date of Tenant creation */ occurredAt, committedVersion);
+    }
 }
@@ -2,7 +2,8 @@ package org.cybnity.accesscontrol.domain.infrastructure.impl.projections.read;
 
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.structure.T;
-import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.cybnity.accesscontrol.domain.infrastructure.impl.projections.AccessControlDomainGraphImpl;
+import org.cybnity.accesscontrol.domain.infrastructure.impl.projections.TenantDataViewVertexDecoder;
 import org.cybnity.accesscontrol.domain.service.api.event.ACApplicationQueryName;
 import org.cybnity.accesscontrol.domain.service.api.model.TenantDataView;
 import org.cybnity.framework.UnoperationalStateException;
@@ -12,8 +13,7 @@ import org.cybnity.framework.domain.event.IEventType;
 import org.cybnity.infrastructure.technical.registry.repository.impl.janusgraph.AbstractDomainGraphImpl;
 import org.cybnity.infrastructure.technical.registry.repository.impl.janusgraph.projection.AbstractGraphDataViewTransactionImpl;
 
-import java.util.Date;
-import java.util.NoSuchElementException;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.logging.Logger;
@@ -35,6 +35,11 @@ public class FindTenantDataViewVersionByEqualsLabel extends AbstractDataViewVers
      */
     private final Logger logger = Logger.getLogger(FindTenantDataViewVersionByEqualsLabel.class.getName());
 
+    /**
+     * Optional cache of the found results by label.
+     */
+    private volatile TenantDataViewLabelCache labelCache;
+
     /**
      * Default constructor.
      *
@@ -48,6 +53,15 @@ public class FindTenantDataViewVersionByEqualsLabel extends AbstractDataViewVers
         this.graph = graph;
     }
 
+    /**
+     * Define the cache of the results by label, which shall be invalidated by the data view changes.
+     *
+     * @param cache Cache to use, or null to always search from the graph.
+     */
+    public void setLabelCache(TenantDataViewLabelCache cache) {
+        this.labelCache = cache;
+    }
+
     /**
      * Read query events that are supported by this read operation, as a directive to execute on data-view model.
      *
@@ -109,6 +123,18 @@ public class FindTenantDataViewVersionByEqualsLabel extends AbstractDataViewVers
         // Type of node can be statically defined by the implementation language (like here) or dynamically known by the requester
         String domainNodeType = (dataViewType.value() != null && !dataViewType.value().isEmpty()) ? dataViewType.value() : TenantDataView.class.getSimpleName();
 
+        // Read the result from the cache when known
+        final TenantDataViewLabelCache cache = (this.labelCache != null && this.labelCache.isEnabled()) ? this.labelCache : null;
+        long cacheGeneration = 0;
+        if (cache != null) {
+            TenantDataViewLabelCache.Entry cached = cache.get(domainNodeType, tenantViewNameFilter);
+            if (cached != null) {
+                final TenantDataView cachedView = cached.view();
+                return () -> Optional.of(cachedView);
+            }
+            cacheGeneration = cache.generation();
+        }
+
         try (GraphTraversalSource traversal = graph.open()) {
             GraphTraversalSource gtx;
             gtx = traversal.tx().begin();
@@ -116,47 +142,17 @@ public class FindTenantDataViewVersionByEqualsLabel extends AbstractDataViewVers
             gtx.tx().rollback();// Force refresh of transaction state about potential parallel changes executed on data-view to search
 
             // Execute query implementation according to the query language supported by JanusGraph library
-            try {
-                // Execute query
-                Vertex foundEqualsLabelNode = gtx.V().has(T.label /* vertex node label only consulted */, domainNodeType).has("name", tenantViewNameFilter).next();
-
-                // Mandatory existing properties
-                String tenantUID = foundEqualsLabelNode.value(TenantDataView.PropertyAttributeKey.IDENTIFIED_BY.name());
-                String label = foundEqualsLabelNode.value("name");
-                // Optional existing properties
-                Date createdAt = null;
-                try {
-                    createdAt = foundEqualsLabelNode.value(TenantDataView.PropertyAttributeKey.CREATED.name());
-                } catch (Exception nse) {
-                    // Unknown optional property
-                }
-                Date updatedAt = null;
-                try {
-                    updatedAt = foundEqualsLabelNode.value(TenantDataView.PropertyAttributeKey.LAST_UPDATED_AT.name());
-                } catch (Exception nse) {
-                    // Unknown optional property
-                }
-                String commitVersion = null;
-                try {
-                    commitVersion = foundEqualsLabelNode.value(TenantDataView.PropertyAttributeKey.COMMIT_VERSION.name());
-                } catch (Exception nse) {
-                    // Unknown optional property
-                }
-                String status = null;
-                try {
-                    status = foundEqualsLabelNode.value((TenantDataView.PropertyAttributeKey.ACTIVITY_STATUS.name()));
-                } catch (Exception nse) {
-                    // Unknown optional property
-                }
-                Boolean isActive = (status != null && !status.isEmpty()) ? Boolean.valueOf(status) : null;
-
-                final TenantDataView result = new TenantDataView(isActive, label, updatedAt, tenantUID, createdAt, commitVersion);
+            // with read of all the data view properties in the same traversal
+            Optional<Map<Object, Object>> foundEqualsLabelNode = TenantDataViewVertexDecoder.elementMap(
+                    gtx.V().has(T.label /* vertex node label only consulted */, domainNodeType).has(AccessControlDomainGraphImpl.VERTEX_NAME_PROPERTY, tenantViewNameFilter)).tryNext();
+            if (foundEqualsLabelNode.isPresent()) {
+                final TenantDataView result = TenantDataViewVertexDecoder.decode(foundEqualsLabelNode.get());
+                if (cache != null) cache.put(domainNodeType, tenantViewNameFilter, result, cacheGeneration);
 
                 // Prepare found data view response
                 return () -> Optional.of(result);
-            } catch (NoSuchElementException nse) {
-                // Not found result
             }
+            // Not found result is not cached (a label registered meanwhile shall be found by the next search)
         } catch (Exception e) {
             throw new UnoperationalStateException(e);
         }
@@ -0,0 +1,278 @@
+package org.cybnity.accesscontrol.domain.infrastructure.impl.projections.read;
+
+import org.cybnity.accesscontrol.domain.service.api.model.TenantDataView;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-through cache of the Tenant data views found by label.
+ * Only the found data views are retained: a not found label is always searched again from the graph, so a label registered by another process is never hidden by a stale miss (e.g uniqueness check of the tenant labels).
+ * The cache is bounded in size (least recently used are evicted) and in time (entries expired after a time-to-live, covering the data view changes performed by other processes).
+ * Entries are invalidated by the data view change notifications (DATAVIEW_ADDED, DATAVIEW_CHANGED) relative to their label or tenant, via an index of the cached labels per tenant.
+ * A result read before an invalidation is never retained after it (generation check), avoiding the retention of a stale data view.
+ */
+public class TenantDataViewLabelCache {
+
+    /**
+     * Default maximum quantity of cached labels.
+     */
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    /**
+     * Default time-to-live of a cached label.
+     */
+    public static final long DEFAULT_TTL_IN_MILLIS = 60000;
+
+    private final int capacity;
+    private final long ttlInMillis;
+    private final Map<String, Entry> entries;
+
+    /**
+     * Key of the cached label per tenant identifier.
+     */
+    private final Map<String, String> keysPerTenant = new HashMap<>();
+
+    /**
+     * Incremented on each invalidation.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Default constructor.
+     *
+     * @param capacity    Maximum quantity of cached labels. When lower than 1, the cache is disabled.
+     * @param ttlInMillis Time-to-live of a cached label. When lower than 1, DEFAULT_TTL_IN_MILLIS is applied.
+     */
+    public TenantDataViewLabelCache(int capacity, long ttlInMillis) {
+        this.capacity = capacity;
+        this.ttlInMillis = (ttlInMillis > 0) ? ttlInMillis : DEFAULT_TTL_IN_MILLIS;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                boolean evict = size() > TenantDataViewLabelCache.this.capacity;
+                if (evict) {
+                    evictions.increment();
+                    unindex(eldest.getKey(), eldest.getValue());
+                }
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * Is this cache enabled?
+     *
+     * @return True when capacity allow to retain labels.
+     */
+    public boolean isEnabled() {
+        return capacity > 0;
+    }
+
+    private static String key(String nodeType, String label) {
+        return nodeType + '/' + label;
+    }
+
+    /**
+     * Get a not expired cached result.
+     *
+     * @param nodeType Mandatory type of data view node.
+     * @param label    Mandatory searched label.
+     * @return An entry, or null when none or expired (miss is counted).
+     */
+    public Entry get(String nodeType, String label) {
+        if (!isEnabled() || nodeType == null || label == null) return null;
+        String key = key(nodeType, label);
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && (System.currentTimeMillis() - entry.cachedAt) > ttlInMillis) {
+                remove(key);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return entry;
+    }
+
+    /**
+     * Get the current generation of this cache, to read before a search which result shall be retained.
+     *
+     * @return A generation number.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Retain a found data view, when none invalidation have been performed since the search start.
+     *
+     * @param nodeType   Mandatory type of data view node.
+     * @param label      Mandatory searched label.
+     * @param view       Found data view. Ignored when null (not existing data views are not retained).
+     * @param generation Generation of this cache read before the search.
+     */
+    public void put(String nodeType, String label, TenantDataView view, long generation) {
+        if (!isEnabled() || nodeType == null || label == null || view == null) return;
+        String key = key(nodeType, label);
+        synchronized (entries) {
+            // Ignore a result that could be older than a change notified during the search
+            if (generation != this.generation.get()) return;
+            remove(key);
+            Entry entry = new Entry(view);
+            String tenantId = entry.tenantId();
+            if (tenantId != null) {
+                // A tenant is cached under one label only
+                String previousKey = keysPerTenant.get(tenantId);
+                if (previousKey != null) remove(previousKey);
+                keysPerTenant.put(tenantId, key);
+            }
+            entries.put(key, entry);
+        }
+    }
+
+    /**
+     * Remove the results relative to a label and/or to a tenant (e.g previous label of a renamed tenant).
+     *
+     * @param nodeType Type of data view node.
+     * @param label    Optional changed label.
+     * @param tenantId Optional changed tenant identifier.
+     */
+    public void invalidate(String nodeType, String label, String tenantId) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            invalidations.increment();
+            if (entries.isEmpty()) return;
+            if (nodeType != null && label != null) remove(key(nodeType, label));
+            if (tenantId != null) {
+                String key = keysPerTenant.get(tenantId);
+                if (key != null) remove(key);
+            }
+        }
+    }
+
+    /**
+     * Remove an entry and its tenant index. Shall be called with the entries lock.
+     *
+     * @param key Key of the entry.
+     */
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) unindex(key, removed);
+    }
+
+    /**
+     * Remove the tenant index of an entry. Shall be called with the entries lock.
+     *
+     * @param key   Key of the entry.
+     * @param entry Removed entry.
+     */
+    private void unindex(String key, Entry entry) {
+        String tenantId = entry.tenantId();
+        if (tenantId != null) keysPerTenant.remove(tenantId, key);
+    }
+
+    /**
+     * Remove all the results from the cache.
+     */
+    public void clear() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+            keysPerTenant.clear();
+        }
+    }
+
+    /**
+     * @return Quantity of cached labels.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * @return Quantity of found data views served from the cache.
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return Quantity of searches not served from the cache.
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return Quantity of labels evicted by capacity.
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return Quantity of invalidations performed from data view change notifications.
+     */
+    public long invalidations() {
+        return invalidations.sum();
+    }
+
+    /**
+     * Get the ratio of searches served from the cache.
+     *
+     * @return A ratio between 0 and 1.
+     */
+    public double hitRatio() {
+        long served = hits.sum();
+        long total = served + misses.sum();
+        return (total > 0) ? (double) served / total : 0d;
+    }
+
+    @Override
+    public String toString() {
+        return "TenantDataViewLabelCache{size=" + size() + ", hits=" + hits()
+                + ", misses=" + misses() + ", hitRatio=" + String.format("%.3f", hitRatio()) + ", evictions=" + evictions()
+                + ", invalidations=" + invalidations() + "}";
+    }
+
+    /**
+     * Cached result of a search by label.
+     */
+    public static final class Entry {
+        private final TenantDataView view;
+        private final long cachedAt;
+
+        private Entry(TenantDataView view) {
+            this.view = view;
+            this.cachedAt = System.currentTimeMillis();
+        }
+
+        /**
+         * Get the found data view, shared between the readers.
+         *
+         * @return A data view.
+         */
+        public TenantDataView view() {
+            return view;
+        }
+
+        private String tenantId() {
+            return view.valueOfProperty(TenantDataView.PropertyAttributeKey.IDENTIFIED_BY);
+        }
+    }
+}
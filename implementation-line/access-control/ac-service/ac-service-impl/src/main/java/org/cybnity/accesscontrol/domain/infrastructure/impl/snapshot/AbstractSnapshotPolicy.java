@@ -0,0 +1,113 @@
+package org.cybnity.accesscontrol.domain.infrastructure.impl.snapshot;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Base implementation of snapshot policy, which follows the snapshot state of the most recently changed aggregates.
+ * The quantity of followed aggregates is bounded (least recently changed are forgotten), and a forgotten aggregate is followed again from its next append.
+ */
+public abstract class AbstractSnapshotPolicy implements ISnapshotPolicy {
+
+    /**
+     * Default maximum quantity of aggregates followed by a policy.
+     */
+    public static final int DEFAULT_FOLLOWED_AGGREGATES_CAPACITY = 10000;
+
+    /**
+     * Snapshot state of each followed aggregate, ordered by access.
+     */
+    private final Map<String, ScheduleState> followedAggregates;
+
+    /**
+     * Default constructor.
+     *
+     * @param followedAggregatesCapacity Maximum quantity of followed aggregates. When lower than 1, DEFAULT_FOLLOWED_AGGREGATES_CAPACITY is applied.
+     */
+    protected AbstractSnapshotPolicy(int followedAggregatesCapacity) {
+        final int capacity = (followedAggregatesCapacity > 0) ? followedAggregatesCapacity : DEFAULT_FOLLOWED_AGGREGATES_CAPACITY;
+        this.followedAggregates = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ScheduleState> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
+    @Override
+    public void onAppended(String aggregateId, int appendedEventsCount) throws IllegalArgumentException {
+        if (aggregateId == null || aggregateId.isEmpty())
+            throw new IllegalArgumentException("aggregateId parameter is required!");
+        if (appendedEventsCount > 0) {
+            long now = System.currentTimeMillis();
+            followedAggregates.compute(aggregateId, (id, state) -> {
+                ScheduleState s = (state != null) ? state : new ScheduleState();
+                if (s.pendingEvents == 0) s.firstPendingEventAt = now;
+                s.pendingEvents += appendedEventsCount;
+                return s;
+            });
+        }
+    }
+
+    @Override
+    public boolean isSnapshotRequired(String aggregateId) throws IllegalArgumentException {
+        if (aggregateId == null || aggregateId.isEmpty())
+            throw new IllegalArgumentException("aggregateId parameter is required!");
+        ScheduleState state = followedAggregates.get(aggregateId);
+        if (state == null) return false;
+        synchronized (followedAggregates) {
+            return state.pendingEvents > 0 && isSnapshotRequired(state.pendingEvents, state.firstPendingEventAt);
+        }
+    }
+
+    /**
+     * Evaluate the specific rule of this policy.
+     *
+     * @param pendingEvents       Quantity (upper than 0) of change events appended since the last snapshot.
+     * @param firstPendingEventAt Time (in milliseconds since epoch) of the first change event appended since the last snapshot.
+     * @return True when a snapshot shall be generated.
+     */
+    protected abstract boolean isSnapshotRequired(long pendingEvents, long firstPendingEventAt);
+
+    @Override
+    public void onSnapshotted(String aggregateId) throws IllegalArgumentException {
+        if (aggregateId == null || aggregateId.isEmpty())
+            throw new IllegalArgumentException("aggregateId parameter is required!");
+        // Snapshot is including all the events appended before its generation
+        followedAggregates.remove(aggregateId);
+    }
+
+    @Override
+    public long eventsSinceLastSnapshot(String aggregateId) throws IllegalArgumentException {
+        if (aggregateId == null || aggregateId.isEmpty())
+            throw new IllegalArgumentException("aggregateId parameter is required!");
+        ScheduleState state = followedAggregates.get(aggregateId);
+        return (state != null) ? state.pendingEvents : 0;
+    }
+
+    @Override
+    public long eventsNotSnapshotted() {
+        synchronized (followedAggregates) {
+            long total = 0;
+            for (ScheduleState state : followedAggregates.values()) {
+                total += state.pendingEvents;
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Snapshot state of an aggregate.
+     */
+    private static class ScheduleState {
+        /**
+         * Quantity of events appended since the last snapshot.
+         */
+        private long pendingEvents;
+        /**
+         * Time of the first event appended since the last snapshot.
+         */
+        private long firstPendingEventAt;
+    }
+}
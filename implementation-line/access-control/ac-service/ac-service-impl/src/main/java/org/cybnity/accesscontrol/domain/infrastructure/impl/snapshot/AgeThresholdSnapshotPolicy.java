@@ -0,0 +1,34 @@
+package org.cybnity.accesscontrol.domain.infrastructure.impl.snapshot;
+
+import java.time.Duration;
+
+/**
+ * Policy requiring a snapshot of an aggregate when its oldest change event not covered by a snapshot is older than a maximum age.
+ * The policy is evaluated at each append, and at each rehydration not served by the cache of the store when the snapshots are generated asynchronously, so the last events of an aggregate which is no more changed are snapshotted at its next read once their age is reached.
+ */
+public class AgeThresholdSnapshotPolicy extends AbstractSnapshotPolicy {
+
+    /**
+     * Maximum age (in milliseconds) of an event not covered by a snapshot.
+     */
+    private final long maxAgeInMillis;
+
+    /**
+     * Default constructor.
+     *
+     * @param maxAge                     Mandatory maximum age of an event not covered by a snapshot.
+     * @param followedAggregatesCapacity Maximum quantity of followed aggregates. When lower than 1, default capacity is applied.
+     * @throws IllegalArgumentException When mandatory parameter is missing or negative.
+     */
+    public AgeThresholdSnapshotPolicy(Duration maxAge, int followedAggregatesCapacity) throws IllegalArgumentException {
+        super(followedAggregatesCapacity);
+        if (maxAge == null || maxAge.isNegative())
+            throw new IllegalArgumentException("maxAge parameter is required and shall be positive!");
+        this.maxAgeInMillis = maxAge.toMillis();
+    }
+
+    @Override
+    protected boolean isSnapshotRequired(long pendingEvents, long firstPendingEventAt) {
+        return (System.currentTimeMillis() - firstPendingEventAt) >= maxAgeInMillis;
+    }
+}
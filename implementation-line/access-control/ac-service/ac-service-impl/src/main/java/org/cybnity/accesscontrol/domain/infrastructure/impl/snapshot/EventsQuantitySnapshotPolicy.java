@@ -0,0 +1,31 @@
+package org.cybnity.accesscontrol.domain.infrastructure.impl.snapshot;
+
+/**
+ * Policy requiring a snapshot of an aggregate each time a quantity of change events have been appended since its last snapshot.
+ * A threshold equals to 1 generates a snapshot after each append.
+ */
+public class EventsQuantitySnapshotPolicy extends AbstractSnapshotPolicy {
+
+    /**
+     * Quantity of appended events triggering a snapshot.
+     */
+    private final int eventsThreshold;
+
+    /**
+     * Default constructor.
+     *
+     * @param eventsThreshold            Quantity of appended events triggering a snapshot. Shall be upper than 0.
+     * @param followedAggregatesCapacity Maximum quantity of followed aggregates. When lower than 1, default capacity is applied.
+     * @throws IllegalArgumentException When invalid threshold.
+     */
+    public EventsQuantitySnapshotPolicy(int eventsThreshold, int followedAggregatesCapacity) throws IllegalArgumentException {
+        super(followedAggregatesCapacity);
+        if (eventsThreshold < 1) throw new IllegalArgumentException("eventsThreshold parameter shall be upper than 0!");
+        this.eventsThreshold = eventsThreshold;
+    }
+
+    @Override
+    protected boolean isSnapshotRequired(long pendingEvents, long firstPendingEventAt) {
+        return pendingEvents >= eventsThreshold;
+    }
+}
@@ -0,0 +1,50 @@
+package org.cybnity.accesscontrol.domain.infrastructure.impl.snapshot;
+
+/**
+ * Policy deciding when a snapshot of an aggregate shall be generated by a store, according to the change events appended into its stream.
+ * Allow to tune the write amplification (snapshot generated after each append) against the rehydration time (quantity of events replayed after the last snapshot).
+ */
+public interface ISnapshotPolicy {
+
+    /**
+     * Register change events appended into the stream of an aggregate.
+     *
+     * @param aggregateId          Mandatory identifier of the aggregate.
+     * @param appendedEventsCount Quantity of change events appended.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    void onAppended(String aggregateId, int appendedEventsCount) throws IllegalArgumentException;
+
+    /**
+     * Evaluate if a new snapshot shall be generated regarding an aggregate.
+     *
+     * @param aggregateId Mandatory identifier of the aggregate.
+     * @return True when a snapshot shall be generated.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    boolean isSnapshotRequired(String aggregateId) throws IllegalArgumentException;
+
+    /**
+     * Register a snapshot generated regarding an aggregate.
+     *
+     * @param aggregateId Mandatory identifier of the aggregate.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    void onSnapshotted(String aggregateId) throws IllegalArgumentException;
+
+    /**
+     * Get the quantity of change events appended since the last snapshot of an aggregate.
+     *
+     * @param aggregateId Mandatory identifier of the aggregate.
+     * @return A quantity of events, or 0 when unknown aggregate.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    long eventsSinceLastSnapshot(String aggregateId) throws IllegalArgumentException;
+
+    /**
+     * Get the quantity of change events not covered by a snapshot, regarding all the aggregates followed by this policy (snapshot lag).
+     *
+     * @return A quantity of events.
+     */
+    long eventsNotSnapshotted();
+}
@@ -0,0 +1,131 @@
+package org.cybnity.accesscontrol.domain.infrastructure.impl.snapshot;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics relative to the snapshots generated by a store (e.g cost of generation, lag of events not covered by snapshot).
+ */
+public class SnapshotMetrics {
+
+    /**
+     * Policy providing the snapshot lag.
+     */
+    private final ISnapshotPolicy policy;
+
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder totalGenerationNanos = new LongAdder();
+    private final AtomicLong maxGenerationNanos = new AtomicLong();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * Default constructor.
+     *
+     * @param policy Mandatory policy applied by the store.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    public SnapshotMetrics(ISnapshotPolicy policy) throws IllegalArgumentException {
+        if (policy == null) throw new IllegalArgumentException("policy parameter is required!");
+        this.policy = policy;
+    }
+
+    /**
+     * Record a snapshot successfully generated.
+     *
+     * @param generationNanos Duration of the generation (in nanoseconds).
+     */
+    public void recordGenerated(long generationNanos) {
+        generated.increment();
+        totalGenerationNanos.add(generationNanos);
+        maxGenerationNanos.accumulateAndGet(generationNanos, Math::max);
+    }
+
+    /**
+     * Record a snapshot generation which failed.
+     */
+    public void recordFailed() {
+        failed.increment();
+    }
+
+    /**
+     * Record a required snapshot which was not generated (e.g asynchronous generation queue full, or generation already pending).
+     */
+    public void recordSkipped() {
+        skipped.increment();
+    }
+
+    /**
+     * Record a snapshot generation scheduled for asynchronous execution.
+     */
+    public void scheduled() {
+        pending.incrementAndGet();
+    }
+
+    /**
+     * Record the end of an asynchronous snapshot generation.
+     */
+    public void unscheduled() {
+        pending.decrementAndGet();
+    }
+
+    /**
+     * @return Quantity of generated snapshots.
+     */
+    public long generatedSnapshots() {
+        return generated.sum();
+    }
+
+    /**
+     * @return Quantity of failed snapshot generations.
+     */
+    public long failedSnapshots() {
+        return failed.sum();
+    }
+
+    /**
+     * @return Quantity of required snapshots which were not generated.
+     */
+    public long skippedSnapshots() {
+        return skipped.sum();
+    }
+
+    /**
+     * @return Quantity of asynchronous snapshot generations waiting or running.
+     */
+    public int pendingSnapshots() {
+        return pending.get();
+    }
+
+    /**
+     * @return Average duration of a snapshot generation, or zero when none generated.
+     */
+    public Duration averageGenerationDuration() {
+        long count = generated.sum();
+        return (count > 0) ? Duration.ofNanos(totalGenerationNanos.sum() / count) : Duration.ZERO;
+    }
+
+    /**
+     * @return Maximum duration of a snapshot generation.
+     */
+    public Duration maxGenerationDuration() {
+        return Duration.ofNanos(maxGenerationNanos.get());
+    }
+
+    /**
+     * @return Quantity of appended events not covered by a snapshot.
+     */
+    public long eventsNotSnapshotted() {
+        return policy.eventsNotSnapshotted();
+    }
+
+    @Override
+    public String toString() {
+        return "generated=" + generatedSnapshots() + ", failed=" + failedSnapshots() + ", skipped=" + skippedSnapshots()
+                + ", pending=" + pendingSnapshots() + ", avgGenerationMs=" + averageGenerationDuration().toMillis()
+                + ", maxGenerationMs=" + maxGenerationDuration().toMillis() + ", eventsNotSnapshotted=" + eventsNotSnapshotted();
+    }
+}
@@ -0,0 +1,57 @@
+package org.cybnity.accesscontrol.domain.infrastructure.impl.snapshot;
+
+import java.time.Duration;
+
+/**
+ * Factory of snapshot policies, based on configuration values (e.g read from environment variables).
+ */
+public class SnapshotPolicyFactory {
+
+    /**
+     * Type of policy.
+     */
+    public enum PolicyType {
+        /**
+         * Snapshot each time a quantity of events have been appended.
+         */
+        EVENTS_QUANTITY,
+        /**
+         * Snapshot when the oldest event not covered by a snapshot is older than a maximum age.
+         */
+        AGE_THRESHOLD
+    }
+
+    /**
+     * Default quantity of events triggering a snapshot (snapshot after each append).
+     */
+    public static final int DEFAULT_EVENTS_THRESHOLD = 1;
+
+    /**
+     * Default maximum age of an event not covered by a snapshot.
+     */
+    public static final Duration DEFAULT_AGE_THRESHOLD = Duration.ofMinutes(5);
+
+    /**
+     * Create a policy.
+     * When none defined type, an EVENTS_QUANTITY policy is returned.
+     *
+     * @param type                    Optional type of policy (name of PolicyType value).
+     * @param eventsThreshold         Optional quantity of events triggering a snapshot (applied by EVENTS_QUANTITY policy).
+     * @param ageThresholdInSeconds   Optional maximum age of an event not covered by a snapshot (applied by AGE_THRESHOLD policy).
+     * @return A policy.
+     * @throws IllegalArgumentException When unknown type or invalid threshold value.
+     */
+    public static ISnapshotPolicy create(String type, String eventsThreshold, String ageThresholdInSeconds) throws IllegalArgumentException {
+        PolicyType policyType = (type != null && !type.isEmpty()) ? PolicyType.valueOf(type.trim().toUpperCase()) : PolicyType.EVENTS_QUANTITY;
+        try {
+            if (policyType == PolicyType.AGE_THRESHOLD) {
+                Duration maxAge = (ageThresholdInSeconds != null && !ageThresholdInSeconds.isEmpty()) ? Duration.ofSeconds(Long.parseLong(ageThresholdInSeconds.trim())) : DEFAULT_AGE_THRESHOLD;
+                return new AgeThresholdSnapshotPolicy(maxAge, AbstractSnapshotPolicy.DEFAULT_FOLLOWED_AGGREGATES_CAPACITY);
+            }
+            int threshold = (eventsThreshold != null && !eventsThreshold.isEmpty()) ? Integer.parseInt(eventsThreshold.trim()) : DEFAULT_EVENTS_THRESHOLD;
+            return new EventsQuantitySnapshotPolicy(threshold, AbstractSnapshotPolicy.DEFAULT_FOLLOWED_AGGREGATES_CAPACITY);
+        } catch (NumberFormatException nfe) {
+            throw new IllegalArgumentException("Invalid snapshot policy threshold!", nfe);
+        }
+    }
+}
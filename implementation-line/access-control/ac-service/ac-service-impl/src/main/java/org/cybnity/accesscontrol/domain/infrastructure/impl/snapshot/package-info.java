@@ -0,0 +1,4 @@
+/**
+ * Scheduling policies of the snapshots generated by the write-model stores (e.g decision of snapshot generation after an append of change events), and metrics relative to the snapshots lag and cost.
+ */
+package org.cybnity.accesscontrol.domain.infrastructure.impl.snapshot;
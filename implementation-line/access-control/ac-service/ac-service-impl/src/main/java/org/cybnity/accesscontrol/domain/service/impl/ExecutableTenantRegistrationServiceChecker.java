@@ -1,6 +1,7 @@
 package org.cybnity.accesscontrol.domain.service.impl;
 
 import org.cybnity.accesscontrol.ciam.domain.infrastructure.impl.CIAMWriteModelConfigurationVariable;
+import org.cybnity.accesscontrol.domain.infrastructure.impl.ACReadModelConfigurationVariable;
 import org.cybnity.accesscontrol.domain.infrastructure.impl.ACWriteModelConfigurationVariable;
 import org.cybnity.accesscontrol.domain.service.api.TenantRegistrationServiceConfigurationVariable;
 import org.cybnity.accesscontrol.iam.domain.infrastructure.impl.IAMWriteModelConfigurationVariable;
@@ -61,8 +62,10 @@ public class ExecutableTenantRegistrationServiceChecker extends ExecutableCompon
         // Define the optional environment variables for service running
         HashSet<IReadableConfiguration> variables = new HashSet<>();
         variables.addAll(EnumSet.allOf(ACWriteModelConfigurationVariable.class));
+        variables.addAll(EnumSet.allOf(ACReadModelConfigurationVariable.class));
         variables.addAll(EnumSet.allOf(CIAMWriteModelConfigurationVariable.class));
         variables.addAll(EnumSet.allOf(IAMWriteModelConfigurationVariable.class));
+        variables.add(TenantRegistrationServiceConfigurationVariable.TENANTS_CHANGES_FACT_ENCODING);
         return variables;
     }
 
@@ -1,13 +1,17 @@
 package org.cybnity.accesscontrol.domain.service.impl;
 
 import org.cybnity.accesscontrol.domain.infrastructure.impl.TenantTransactionCollectionsRepository;
+import org.cybnity.accesscontrol.domain.model.ConsistencyToken;
 import org.cybnity.accesscontrol.domain.model.ITenantsWriteModel;
 import org.cybnity.accesscontrol.domain.service.api.ApplicationServiceOutputCause;
 import org.cybnity.accesscontrol.domain.service.api.ITenantRegistrationService;
+import org.cybnity.accesscontrol.domain.service.api.TenantRegistrationServiceConfigurationVariable;
 import org.cybnity.accesscontrol.domain.service.api.event.ACApplicationQueryName;
 import org.cybnity.accesscontrol.domain.service.api.model.TenantDataView;
 import org.cybnity.accesscontrol.domain.service.api.model.TenantTransactionsCollection;
 import org.cybnity.application.accesscontrol.adapter.api.admin.ISSOAdminAdapter;
+import org.cybnity.application.accesscontrol.translator.ui.api.ACDomainMessageMapperFactory;
+import org.cybnity.application.accesscontrol.translator.ui.api.FactEncoding;
 import org.cybnity.application.accesscontrol.translator.ui.api.event.DomainEventType;
 import org.cybnity.application.accesscontrol.ui.api.event.AttributeName;
 import org.cybnity.application.accesscontrol.ui.api.event.CommandName;
@@ -25,9 +29,9 @@ import org.cybnity.framework.immutable.Identifier;
 import org.cybnity.framework.immutable.ImmutabilityException;
 import org.cybnity.infrastructure.technical.message_bus.adapter.api.Channel;
 import org.cybnity.infrastructure.technical.message_bus.adapter.api.UISAdapter;
-import org.cybnity.infrastructure.technical.message_bus.adapter.impl.redis.MessageMapperFactory;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -51,9 +55,30 @@ public class TenantRegistration extends ApplicationService implements ITenantReg
      */
     private final String serviceName;
     private final TenantTransactionCollectionsRepository tenantsReadModel;
+
+    /**
+     * Maximum duration of wait for the read-model catch-up with the previous tenant writes, before a tenant search.
+     */
+    private static final long READ_MODEL_CATCH_UP_TIMEOUT_IN_MILLIS = 5000;
+
+    /**
+     * Tokens of the tenant writes performed by this service per tenant label, which shall be projected into the read-model before a search of the same label (de-duplication rule).
+     * Only recorded when the read-model is projected asynchronously. A token is removed when its projection has been confirmed by a search, or when it is expired (after READ_MODEL_CATCH_UP_TIMEOUT_IN_MILLIS).
+     */
+    private final Map<String, PendingWrite> pendingWrites = new ConcurrentHashMap<>();
+
+    /**
+     * Date (epoch milliseconds) of the next removal of the expired pending writes.
+     */
+    private volatile long nextPendingWritesPurgeAt;
     private final ITenantsWriteModel tenantsWriteModel;
     private final Channel tenantsChangesNotificationChannel;
 
+    /**
+     * Mapper factory of the tenant changes notified over the tenants changes channel, producing the facts with the encoding defined by the TenantRegistrationServiceConfigurationVariable.TENANTS_CHANGES_FACT_ENCODING environment variable.
+     */
+    private final ACDomainMessageMapperFactory notificationMapperFactory;
+
     /**
      * Connector to collaboration space.
      */
@@ -87,6 +112,7 @@ public class TenantRegistration extends ApplicationService implements ITenantReg
         this.serviceName = serviceName;
         this.uisClient = uisClient;
         this.tenantsChangesNotificationChannel = tenantsChangesNotificationChannel;
+        this.notificationMapperFactory = new ACDomainMessageMapperFactory(FactEncoding.of(context.get(TenantRegistrationServiceConfigurationVariable.TENANTS_CHANGES_FACT_ENCODING)));
         this.ssoClient = ssoClient;
     }
 
@@ -118,7 +144,10 @@ public class TenantRegistration extends ApplicationService implements ITenantReg
                     queryParameters.put(TenantDataView.PropertyAttributeKey.LABEL.name(), tenantName); // Search vertex (data-view) node with equals name
                     queryParameters.put(TenantDataView.PropertyAttributeKey.DATAVIEW_TYPE.name(), TenantDataView.class.getSimpleName()); // type of vertex (node type in graph model)
                     // Search tenant in any in operational status avoiding duplicated tenants with same name
-                    List<TenantTransactionsCollection> tenantsCollection = tenantsReadModel.queryWhere(queryParameters, this.context);
+                    // after projection of the previous tenants registered (when asynchronously projected)
+                    PendingWrite sameLabelWrites = pendingWrite(tenantName);
+                    List<TenantTransactionsCollection> tenantsCollection = tenantsReadModel.queryWhere(queryParameters, this.context, (sameLabelWrites != null) ? sameLabelWrites.token() : null, READ_MODEL_CATCH_UP_TIMEOUT_IN_MILLIS);
+                    if (sameLabelWrites != null) pendingWrites.remove(tenantName, sameLabelWrites); // Projected writes
                     TenantDataView existingOrganizatonTenant = null;
                     if (tenantsCollection != null) {
                         if (tenantsCollection.size() == 1) {
@@ -168,7 +197,7 @@ public class TenantRegistration extends ApplicationService implements ITenantReg
                         if (this.tenantsChangesNotificationChannel != null && this.uisClient != null) {
                             // Notify the general output channel regarding new actioned tenant
                             try {
-                                this.uisClient.publish(commandResponse, tenantsChangesNotificationChannel, new MessageMapperFactory().getMapper(IDescribed.class, String.class));
+                                this.uisClient.publish(commandResponse, tenantsChangesNotificationChannel, notificationMapperFactory.getMapper(IDescribed.class, String.class));
                             } catch (Exception e) {
                                 logger.log(Level.SEVERE, "Impossible notification of organization tenant registration result!", e);
                             }
@@ -226,12 +255,75 @@ public class TenantRegistration extends ApplicationService implements ITenantReg
         Tenant tenant = builder.getResult();
         // - & THEN: update the AC write-model change with automatic update of AC read-model (e.g creation event automatically notified by the store to the read-model projections repository)
         // Append new tenant into write model stream (store as rehydratable aggregate data)
-        this.tenantsWriteModel.add(tenant);// With notification for auto-refresh of read-model repository
+        ConsistencyToken written = this.tenantsWriteModel.add(tenant);// With notification for auto-refresh of read-model repository
+        if (written != null && !written.isEmpty() && tenantsReadModel.isProjectedAsynchronously())
+            recordPendingWrite(tenant.label().getLabel(), written);
 
         // Prepare and return new tenant actioned event
         return prepareCommonResponseEvent(DomainEventType.TENANT_REGISTERED, originEvent, tenant.label().getLabel(), tenant.status().isActive(), tenant.identified().value().toString());
     }
 
+    /**
+     * Get the pending writes of a tenant label.
+     *
+     * @param tenantLabel Mandatory tenant label.
+     * @return The not expired pending writes, or null.
+     */
+    private PendingWrite pendingWrite(String tenantLabel) {
+        PendingWrite pending = pendingWrites.get(tenantLabel);
+        if (pending != null && pending.isExpired(System.currentTimeMillis())) {
+            pendingWrites.remove(tenantLabel, pending);
+            return null;
+        }
+        return pending;
+    }
+
+    /**
+     * Record the token of a write of a tenant label, and remove the expired pending writes (at most once per READ_MODEL_CATCH_UP_TIMEOUT_IN_MILLIS) so that the labels never searched again are not retained.
+     *
+     * @param tenantLabel Mandatory tenant label.
+     * @param written     Mandatory token of the write.
+     */
+    private void recordPendingWrite(String tenantLabel, ConsistencyToken written) {
+        long now = System.currentTimeMillis();
+        if (now >= nextPendingWritesPurgeAt) {
+            nextPendingWritesPurgeAt = now + READ_MODEL_CATCH_UP_TIMEOUT_IN_MILLIS;
+            pendingWrites.values().removeIf(pending -> pending.isExpired(now));
+        }
+        pendingWrites.merge(tenantLabel, new PendingWrite(written, now + READ_MODEL_CATCH_UP_TIMEOUT_IN_MILLIS), PendingWrite::merge);
+    }
+
+    /**
+     * Token of the writes of a tenant label not confirmed as projected, and its expiration date.
+     */
+    private static final class PendingWrite {
+        private final ConsistencyToken token;
+        private final long expiresAt;
+
+        private PendingWrite(ConsistencyToken token, long expiresAt) {
+            this.token = token;
+            this.expiresAt = expiresAt;
+        }
+
+        private ConsistencyToken token() {
+            return token;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+
+        /**
+         * Get the pending writes of this one and of a more recent one, expiring with the more recent one.
+         *
+         * @param recent Mandatory more recent pending writes.
+         * @return A merged pending writes.
+         */
+        private PendingWrite merge(PendingWrite recent) {
+            return new PendingWrite(token.merge(recent.token), Math.max(expiresAt, recent.expiresAt));
+        }
+    }
+
     /**
      * Prepare and build a type of event including all standard attributes promise by this registration service as output event.
      *
@@ -1,6 +1,14 @@
 package org.cybnity.accesscontrol;
 
 import org.cybnity.accesscontrol.domain.infrastructure.impl.ACTransactionsRepositoryUseCaseTest;
+import org.cybnity.accesscontrol.domain.infrastructure.impl.QueryExecutorUseCaseTest;
+import org.cybnity.accesscontrol.domain.infrastructure.impl.RehydratedTenantsCacheUseCaseTest;
+import org.cybnity.accesscontrol.domain.infrastructure.impl.TenantsStoreBatchAppendUseCaseTest;
+import org.cybnity.accesscontrol.domain.infrastructure.impl.projections.ProjectionWorkerUseCaseTest;
+import org.cybnity.accesscontrol.domain.infrastructure.impl.projections.TenantDataViewVertexDecoderUseCaseTest;
+import org.cybnity.accesscontrol.domain.infrastructure.impl.projections.change.TenantDataViewMapperUseCaseTest;
+import org.cybnity.accesscontrol.domain.infrastructure.impl.projections.read.TenantDataViewLabelCacheUseCaseTest;
+import org.cybnity.accesscontrol.domain.infrastructure.impl.snapshot.SnapshotPolicyUseCaseTest;
 import org.cybnity.accesscontrol.domain.service.impl.TenantRegistrationRejectionUseCaseTest;
 import org.cybnity.accesscontrol.domain.service.impl.TenantRegistrationUseCaseTest;
 import org.junit.platform.suite.api.SelectClasses;
@@ -13,7 +21,7 @@ import org.junit.platform.suite.api.Suite;
  * @author olivier
  */
 @Suite
-@SelectClasses({TenantRegistrationUseCaseTest.class, TenantRegistrationRejectionUseCaseTest.class, ACTransactionsRepositoryUseCaseTest.class})
+@SelectClasses({TenantRegistrationUseCaseTest.class, TenantRegistrationRejectionUseCaseTest.class, ACTransactionsRepositoryUseCaseTest.class, ProjectionWorkerUseCaseTest.class, QueryExecutorUseCaseTest.class, RehydratedTenantsCacheUseCaseTest.class, SnapshotPolicyUseCaseTest.class, TenantsStoreBatchAppendUseCaseTest.class, TenantDataViewLabelCacheUseCaseTest.class, TenantDataViewMapperUseCaseTest.class, TenantDataViewVertexDecoderUseCaseTest.class})
 public class AllUseCaseTests {
 
 }
\ No newline at end of file
@@ -14,6 +14,7 @@
 package org.cybnity.accesscontrol.domain.infrastructure.impl;
 
 import org.cybnity.accesscontrol.CustomContextualizedTest;
+import org.cybnity.accesscontrol.domain.model.ConsistencyToken;
 import org.cybnity.accesscontrol.domain.service.api.event.ACApplicationQueryName;
 import org.cybnity.accesscontrol.domain.service.api.model.TenantDataView;
 import org.cybnity.accesscontrol.domain.service.api.model.TenantTransactionsCollection;
@@ -146,6 +147,45 @@ public class ACTransactionsRepositoryUseCaseTest extends CustomContextualizedTes
         Assertions.assertTrue(checker.isAllEventsToCheckHaveBeenFound(), checker.notAlreadyChecked.size() + " data view changes had not been notified to subscriber!");
     }
 
+    /**
+     * Test that a query given the consistency token of a tenant write waits for the projection of the written version (read-your-writes), and returns the projected data view.
+     *
+     * @throws Exception When problem during test execution.
+     */
+    @Test
+    public void givenWrittenTenantToken_whenQueryWhereWithToken_thenWrittenVersionFound() throws Exception {
+        String aggregateLabel = "givenWrittenTenantToken_whenQueryWhereWithToken_thenWrittenVersionFound";
+        Tenant tenant = new Tenant(new DomainEntity(IdentifierStringBased.generate(null)), IdentifierStringBased.generate(null), Boolean.TRUE, aggregateLabel);
+        tenantsStore.append(tenant, context());
+        ConsistencyToken written = ConsistencyToken.of(tenant.identified().value().toString(), tenant.getCommitVersion(), tenant.occurredAt().toInstant().toEpochMilli());
+
+        List<TenantTransactionsCollection> results = repo.queryWhere(prepareQueryBasedOnLabel(aggregateLabel, TenantDataView.class.getSimpleName(), ACApplicationQueryName.TENANT_VIEW_FIND_BY_LABEL), context(), written, 5000);
+        Assertions.assertNotNull(results);
+        Assertions.assertEquals(1, results.size(), "The written tenant shall have been projected before the query!");
+        Assertions.assertEquals(tenant.identified().value().toString(), results.get(0).tenantIdentifier());
+    }
+
+    /**
+     * Test that a query given a consistency token which is never reached by the projection (e.g version not written) is rejected after the timeout, instead of returning a stale result.
+     *
+     * @throws Exception When problem during test execution.
+     */
+    @Test
+    public void givenNotProjectedVersionToken_whenQueryWhereWithToken_thenRejectedAfterTimeout() throws Exception {
+        String aggregateLabel = "givenNotProjectedVersionToken_whenQueryWhereWithToken_thenRejectedAfterTimeout";
+        Tenant tenant = new Tenant(new DomainEntity(IdentifierStringBased.generate(null)), IdentifierStringBased.generate(null), Boolean.TRUE, aggregateLabel);
+        tenantsStore.append(tenant, context());
+        // Version of the same tenant which is not written (unknown commit version, versioned in the future)
+        ConsistencyToken notWritten = ConsistencyToken.of(tenant.identified().value().toString(), "not-written", System.currentTimeMillis() + 60000);
+        Map<String, String> queryParameters = prepareQueryBasedOnLabel(aggregateLabel, TenantDataView.class.getSimpleName(), ACApplicationQueryName.TENANT_VIEW_FIND_BY_LABEL);
+
+        long startedAt = System.currentTimeMillis();
+        Assertions.assertThrows(UnoperationalStateException.class, () -> repo.queryWhere(queryParameters, context(), notWritten, 300));
+        Assertions.assertTrue(System.currentTimeMillis() - startedAt >= 300, "The projection catch-up shall have been awaited until the timeout!");
+        // Without token, the projected version is returned
+        Assertions.assertEquals(1, repo.queryWhere(queryParameters, context(), null, 300).size());
+    }
+
     /**
      * Prepare simple query based on a vertex label and type.
      *
@@ -0,0 +1,127 @@
+package org.cybnity.accesscontrol.domain.infrastructure.impl;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Test of the bounded executor of the read-model queries (results, saturation, timeout and cancellation).
+ */
+public class QueryExecutorUseCaseTest {
+
+    /**
+     * Test that a query result is delivered and measured.
+     *
+     * @throws Exception When unexpected problem.
+     */
+    @Test
+    public void givenQuery_whenSubmitted_thenResultDelivered() throws Exception {
+        QueryExecutor executor = new QueryExecutor("test", 2, 10, Duration.ofSeconds(5));
+        try {
+            Assertions.assertEquals("result", executor.submit(() -> "result").get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(1, executor.completedQueries());
+            Assertions.assertEquals(0, executor.queueDepth());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Test that the queries exceeding the executor capacity are rejected, and that a too long query is stopped by timeout.
+     *
+     * @throws Exception When unexpected problem.
+     */
+    @Test
+    public void givenSaturatedExecutor_whenQuerySubmitted_thenRejectedOrTimedOut() throws Exception {
+        QueryExecutor executor = new QueryExecutor("test", 1, 1, Duration.ofMillis(200));
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            CompletableFuture<String> running = executor.submit(() -> {
+                // Query ignoring the interruption until its release
+                while (release.getCount() > 0) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException ie) {
+                        // Ignored
+                    }
+                }
+                return "late";
+            });
+            CompletableFuture<String> queued = executor.submit(() -> "queued");
+            CompletableFuture<String> rejected = executor.submit(() -> "rejected");
+            ExecutionException ee = Assertions.assertThrows(ExecutionException.class, () -> rejected.get(5, TimeUnit.SECONDS));
+            Assertions.assertInstanceOf(RejectedExecutionException.class, ee.getCause());
+            Assertions.assertEquals(1, executor.rejectedQueries());
+
+            ee = Assertions.assertThrows(ExecutionException.class, () -> running.get(5, TimeUnit.SECONDS));
+            Assertions.assertInstanceOf(TimeoutException.class, ee.getCause());
+            // Waiting query is also measured from its submission
+            ee = Assertions.assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+            Assertions.assertInstanceOf(TimeoutException.class, ee.getCause());
+            Assertions.assertEquals(2, executor.timedOutQueries());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Keep the current thread busy during a delay.
+     *
+     * @param millis Delay.
+     */
+    private static void holdThread(long millis) {
+        long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        while (System.nanoTime() < end) {
+            LockSupport.parkNanos(end - System.nanoTime());
+        }
+    }
+
+    /**
+     * Test that a running query is interrupted when its timeout is reached, and that a waiting query is removed from the queue without execution.
+     *
+     * @throws Exception When unexpected problem.
+     */
+    @Test
+    public void givenTimedOutQueries_whenTimeoutReached_thenRunningInterruptedAndWaitingNeverExecuted() throws Exception {
+        QueryExecutor executor = new QueryExecutor("test", 1, 1, Duration.ofMillis(200));
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final AtomicBoolean waitingExecuted = new AtomicBoolean();
+        try {
+            CompletableFuture<String> running = executor.submit(() -> {
+                try {
+                    Thread.sleep(10000); // Simulate a long graph traversal
+                } catch (InterruptedException ie) {
+                    interrupted.countDown();
+                    // Simulate a traversal stopped after the timeout of the waiting query
+                    holdThread(500);
+                }
+                return "late";
+            });
+            CompletableFuture<String> waiting = executor.submit(() -> {
+                waitingExecuted.set(true);
+                return "waiting";
+            });
+            ExecutionException ee = Assertions.assertThrows(ExecutionException.class, () -> running.get(5, TimeUnit.SECONDS));
+            Assertions.assertInstanceOf(TimeoutException.class, ee.getCause());
+            Assertions.assertThrows(ExecutionException.class, () -> waiting.get(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(interrupted.await(5, TimeUnit.SECONDS), "Running query shall be interrupted!");
+
+            // Released thread executes the next queries
+            long deadline = System.currentTimeMillis() + 5000;
+            while (executor.runningQueries() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            Assertions.assertEquals("next", executor.submit(() -> "next").get(5, TimeUnit.SECONDS));
+            Assertions.assertFalse(waitingExecuted.get(), "Timed out waiting query shall not be executed!");
+            Assertions.assertEquals(0, executor.queueDepth());
+            Assertions.assertEquals(0, executor.runningQueries());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
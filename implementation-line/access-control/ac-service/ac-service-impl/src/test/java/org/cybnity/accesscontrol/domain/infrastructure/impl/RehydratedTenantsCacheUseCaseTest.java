@@ -0,0 +1,135 @@
+package org.cybnity.accesscontrol.domain.infrastructure.impl;
+
+import org.cybnity.framework.domain.DomainEvent;
+import org.cybnity.framework.domain.IdentifierStringBased;
+import org.cybnity.framework.domain.model.DomainEntity;
+import org.cybnity.framework.domain.model.Tenant;
+import org.cybnity.framework.domain.model.TenantDescriptor;
+import org.cybnity.framework.immutable.HistoryState;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Test of the cache of rehydrated tenants (hits delivering distinct copies, misses, extension with the stream tail events, bounded size).
+ */
+public class RehydratedTenantsCacheUseCaseTest {
+
+    private static Tenant tenant(String label) {
+        return new Tenant(new DomainEntity(IdentifierStringBased.generate(null)), IdentifierStringBased.generate(null), Boolean.TRUE, label);
+    }
+
+    /**
+     * Change the label of a tenant.
+     *
+     * @param tenant Tenant to change.
+     * @param label  New label.
+     * @return The change events added by the renaming.
+     */
+    private static List<DomainEvent> rename(Tenant tenant, String label) {
+        int before = tenant.changeEvents().size();
+        HashMap<String, Object> attributes = new HashMap<>();
+        attributes.put(TenantDescriptor.PropertyAttributeKey.LABEL.name(), label);
+        tenant.setLabel(new TenantDescriptor(tenant.parent(), attributes, HistoryState.COMMITTED));
+        List<DomainEvent> changes = tenant.changeEvents();
+        return new ArrayList<>(changes.subList(before, changes.size()));
+    }
+
+    /**
+     * Test that a cached tenant is served as a new copy per read, and that a not cached or expired tenant is a miss.
+     *
+     * @throws Exception When unexpected problem.
+     */
+    @Test
+    public void givenCachedTenant_whenRead_thenDistinctInstancesUntilExpiration() throws Exception {
+        RehydratedTenantsCache cache = new RehydratedTenantsCache(10, 200);
+        Tenant origin = tenant("CYBNITY");
+        String tenantId = origin.identified().value().toString();
+        Assertions.assertNull(cache.get(tenantId), "Not cached tenant shall be a miss!");
+        int position = origin.changeEvents().size();
+        cache.put(tenantId, origin, position);
+
+        // Hit
+        RehydratedTenantsCache.Entry entry = cache.get(tenantId);
+        Assertions.assertNotNull(entry);
+        Assertions.assertEquals(position, entry.position());
+        Tenant first = entry.tenant();
+        Tenant second = entry.tenant();
+        Assertions.assertNotSame(first, second, "Cached tenant shall never be shared!");
+        Assertions.assertNotSame(origin, first, "Cached tenant shall never be shared!");
+        Assertions.assertEquals("CYBNITY", first.label().getLabel());
+
+        // Changes of a read instance are not visible from the cache
+        rename(first, "RENAMED");
+        Assertions.assertEquals("CYBNITY", cache.get(tenantId).tenant().label().getLabel());
+
+        // Unknown position is not retained
+        Assertions.assertNull(cache.put("unknownPosition", tenant("OTHER"), -1));
+
+        // Expired entry
+        Thread.sleep(300);
+        Assertions.assertNull(cache.get(tenantId), "Expired tenant shall be a miss!");
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertEquals(2, cache.misses());
+    }
+
+    /**
+     * Test that the state including the change events appended into the stream after the cached position is retained as new head version.
+     *
+     * @throws Exception When unexpected problem.
+     */
+    @Test
+    public void givenAppendedTailEvents_whenCachedEntryExtended_thenNewHeadRetained() throws Exception {
+        RehydratedTenantsCache cache = new RehydratedTenantsCache(10, 60000);
+        Tenant origin = tenant("CYBNITY");
+        String tenantId = origin.identified().value().toString();
+        cache.put(tenantId, origin, origin.changeEvents().size());
+        RehydratedTenantsCache.Entry base = cache.get(tenantId);
+
+        // None appended event
+        Assertions.assertSame(base, cache.extend(tenantId, base, base.tenant(), 0));
+
+        // Appended events read from the stream tail, applied to a copy of the cached state
+        Tenant head = base.tenant();
+        List<DomainEvent> tail = rename(head, "RENAMED");
+        Assertions.assertFalse(tail.isEmpty());
+        RehydratedTenantsCache.Entry extended = cache.extend(tenantId, base, head, tail.size());
+        Assertions.assertEquals(base.position() + tail.size(), extended.position());
+        Assertions.assertEquals("RENAMED", extended.tenant().label().getLabel());
+        Assertions.assertSame(extended, cache.get(tenantId), "Extended entry shall be retained!");
+
+        // Tail read concurrent with an append (invalidated entry) is not retained
+        Tenant next = extended.tenant();
+        List<DomainEvent> nextTail = rename(next, "RENAMED AGAIN");
+        cache.invalidate(tenantId);
+        RehydratedTenantsCache.Entry notRetained = cache.extend(tenantId, extended, next, nextTail.size());
+        Assertions.assertEquals("RENAMED AGAIN", notRetained.tenant().label().getLabel());
+        Assertions.assertNull(cache.get(tenantId));
+    }
+
+    /**
+     * Test that the least recently used tenants are evicted over the capacity, and that a disabled cache retains none tenant.
+     */
+    @Test
+    public void givenCapacityReached_whenTenantCached_thenLeastRecentlyUsedEvicted() {
+        RehydratedTenantsCache cache = new RehydratedTenantsCache(2, 60000);
+        Tenant a = tenant("A"), b = tenant("B"), c = tenant("C");
+        cache.put("a", a, 1);
+        cache.put("b", b, 1);
+        Assertions.assertNotNull(cache.get("a")); // b is least recently used
+        cache.put("c", c, 1);
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertNull(cache.get("b"));
+        Assertions.assertNotNull(cache.get("a"));
+        Assertions.assertNotNull(cache.get("c"));
+        Assertions.assertEquals(1, cache.evictions());
+
+        RehydratedTenantsCache disabled = new RehydratedTenantsCache(0, 60000);
+        Assertions.assertFalse(disabled.isEnabled());
+        Assertions.assertNull(disabled.put("a", a, 1));
+        Assertions.assertNull(disabled.get("a"));
+    }
+}
@@ -0,0 +1,134 @@
+package org.cybnity.accesscontrol.domain.infrastructure.impl;
+
+import org.cybnity.accesscontrol.CustomContextualizedTest;
+import org.cybnity.application.accesscontrol.translator.ui.api.AccessControlDomainModel;
+import org.cybnity.framework.IContext;
+import org.cybnity.framework.UnoperationalStateException;
+import org.cybnity.framework.domain.DomainEvent;
+import org.cybnity.framework.domain.IdentifierStringBased;
+import org.cybnity.framework.domain.model.DomainEntity;
+import org.cybnity.framework.domain.model.Tenant;
+import org.cybnity.framework.immutable.Identifier;
+import org.cybnity.infastructure.technical.persistence.store.impl.redis.PersistentObjectNamingConvention;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+/**
+ * Test of the batch append of tenants by the store (order of the change events per aggregate, processing of all the aggregates when some appends fail), with sequential and concurrent appends.
+ */
+public class TenantsStoreBatchAppendUseCaseTest extends CustomContextualizedTest {
+
+    private RecordingTenantsStore store;
+
+    /**
+     * Default constructor.
+     */
+    public TenantsStoreBatchAppendUseCaseTest() {
+        super(true, false, false, false, false);
+    }
+
+    @AfterEach
+    public void cleanStore() {
+        if (store != null) store.freeUpResources();
+        store = null;
+    }
+
+    /**
+     * Store recording the appended changes per aggregate instead of their storage, and failing the append of some aggregates.
+     */
+    private static class RecordingTenantsStore extends TenantsStore {
+
+        private final Map<String, List<DomainEvent>> appended = Collections.synchronizedMap(new HashMap<>());
+        private final Map<String, Tenant> states = Collections.synchronizedMap(new HashMap<>());
+        private final Set<String> failing = new HashSet<>();
+
+        private RecordingTenantsStore(IContext ctx) throws UnoperationalStateException {
+            super(ctx, new AccessControlDomainModel(), PersistentObjectNamingConvention.NamingConventionApplicability.TENANT, null);
+        }
+
+        @Override
+        void appendChanges(Identifier id, List<DomainEvent> changes, Tenant state) throws UnoperationalStateException {
+            String tenantId = id.value().toString();
+            if (failing.contains(tenantId)) throw new UnoperationalStateException("Simulated append failure");
+            appended.put(tenantId, new ArrayList<>(changes));
+            states.put(tenantId, state);
+        }
+    }
+
+    private static Tenant tenant(Identifier id, String label) {
+        return new Tenant(new DomainEntity(IdentifierStringBased.generate(null)), id, Boolean.TRUE, label);
+    }
+
+    /**
+     * Append a batch of tenants including two changed versions of a same aggregate, and verify that its change events are appended in one call according to the batch order.
+     *
+     * @param parallelism Configured parallelism of the batch append.
+     * @throws Exception When unexpected problem.
+     */
+    private void assertChangesAppendedInBatchOrder(String parallelism) throws Exception {
+        environmentVariables.set(ACWriteModelConfigurationVariable.AC_WRITEMODEL_BATCH_APPEND_PARALLELISM.getName(), parallelism);
+        store = new RecordingTenantsStore(context());
+        Identifier aId = IdentifierStringBased.generate(null);
+        Tenant first = tenant(aId, "A");
+        Tenant other = tenant(IdentifierStringBased.generate(null), "B");
+        Tenant second = tenant(aId, "A RENAMED");
+        store.appendAll(Arrays.asList(first, other, null, second));
+
+        List<DomainEvent> expected = new ArrayList<>(first.changeEvents());
+        expected.addAll(second.changeEvents());
+        Assertions.assertEquals(2, store.appended.size());
+        Assertions.assertEquals(expected, store.appended.get(aId.value().toString()), "Change events shall be appended according to the batch order!");
+        Assertions.assertSame(second, store.states.get(aId.value().toString()), "Last version shall be the state carried by the changes!");
+        Assertions.assertEquals(other.changeEvents(), store.appended.get(other.identified().value().toString()));
+    }
+
+    /**
+     * Test that the change events of a same aggregate are appended in the batch order, when streams are appended sequentially.
+     *
+     * @throws Exception When unexpected problem.
+     */
+    @Test
+    public void givenSequentialBatchAppend_whenSameAggregateChangedTwice_thenChangesAppendedInOrder() throws Exception {
+        assertChangesAppendedInBatchOrder("1");
+    }
+
+    /**
+     * Test that the change events of a same aggregate are appended in the batch order, when streams are appended concurrently.
+     *
+     * @throws Exception When unexpected problem.
+     */
+    @Test
+    public void givenConcurrentBatchAppend_whenSameAggregateChangedTwice_thenChangesAppendedInOrder() throws Exception {
+        assertChangesAppendedInBatchOrder("4");
+    }
+
+    /**
+     * Test that all the aggregates of a batch are appended when the append of one of them fails, and that the failed aggregate is reported.
+     *
+     * @throws Exception When unexpected problem.
+     */
+    @Test
+    public void givenFailingAggregateAppend_whenBatchAppended_thenOtherAggregatesAppendedAndFailureReported() throws Exception {
+        for (String parallelism : new String[]{"1", "4"}) {
+            environmentVariables.set(ACWriteModelConfigurationVariable.AC_WRITEMODEL_BATCH_APPEND_PARALLELISM.getName(), parallelism);
+            store = new RecordingTenantsStore(context());
+            List<Tenant> batch = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                batch.add(tenant(IdentifierStringBased.generate(null), "T" + i));
+            }
+            String failingId = batch.get(2).identified().value().toString();
+            store.failing.add(failingId);
+
+            UnoperationalStateException failure = Assertions.assertThrows(UnoperationalStateException.class, () -> store.appendAll(batch));
+            Assertions.assertTrue(failure.getMessage().contains("1 of 5") && failure.getMessage().contains(failingId), failure.getMessage());
+            Assertions.assertNotNull(failure.getCause());
+            Assertions.assertEquals(4, store.appended.size(), "Other aggregates shall be appended!");
+            Assertions.assertFalse(store.appended.containsKey(failingId));
+            store.freeUpResources();
+        }
+        store = null;
+    }
+}
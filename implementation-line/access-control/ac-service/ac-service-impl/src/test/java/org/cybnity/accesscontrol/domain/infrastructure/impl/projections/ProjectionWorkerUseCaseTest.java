@@ -0,0 +1,245 @@
+package org.cybnity.accesscontrol.domain.infrastructure.impl.projections;
+
+import org.cybnity.framework.UnoperationalStateException;
+import org.cybnity.framework.domain.Attribute;
+import org.cybnity.framework.domain.DomainEvent;
+import org.cybnity.framework.domain.IdentifierStringBased;
+import org.cybnity.framework.domain.event.DomainEventFactory;
+import org.cybnity.framework.domain.event.DomainEventType;
+import org.cybnity.framework.domain.event.EventSpecification;
+import org.cybnity.framework.domain.model.DomainEntity;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Test of the asynchronous projection worker behaviors (ordering per key, checkpoint, failures parking, recovery from the key streams after the persisted checkpoint).
+ */
+public class ProjectionWorkerUseCaseTest {
+
+    private static final String SEQUENCE = "SEQUENCE";
+
+    /**
+     * Prepare an event identified by a sequence number.
+     *
+     * @param sequence Number.
+     * @return An event.
+     */
+    private static DomainEvent event(int sequence) {
+        Collection<Attribute> spec = new ArrayList<>();
+        spec.add(new Attribute(SEQUENCE, String.valueOf(sequence)));
+        return DomainEventFactory.create(DomainEventType.TENANT_CHANGED.name(), new DomainEntity(IdentifierStringBased.generate(null)), spec, null, null);
+    }
+
+    private static int sequenceOf(DomainEvent evt) {
+        Attribute at = EventSpecification.findSpecificationByName(SEQUENCE, evt.specification());
+        return (at != null) ? Integer.parseInt(at.value()) : -1;
+    }
+
+    /**
+     * Test that the events relative to a same key are applied according to their submission order, and that the checkpoint reaches the last submitted position.
+     *
+     * @throws Exception When unexpected problem.
+     */
+    @Test
+    public void givenEventsOfSeveralKeys_whenSubmitted_thenAppliedInOrderPerKey() throws Exception {
+        final Map<String, List<Integer>> applied = Collections.synchronizedMap(new HashMap<>());
+        ProjectionWorker worker = new ProjectionWorker("test", 3, 10, 7, batch -> {
+            for (DomainEvent evt : batch) {
+                int seq = sequenceOf(evt);
+                applied.computeIfAbsent("key" + (seq % 5), k -> Collections.synchronizedList(new ArrayList<>())).add(seq);
+            }
+        }, null, null);
+        worker.start();
+        long position = 0;
+        for (int i = 0; i < 500; i++) {
+            position = worker.submit("key" + (i % 5), event(i));
+        }
+        Assertions.assertTrue(worker.awaitCheckpoint(position, 10000));
+        Assertions.assertEquals(500, worker.projectedEvents());
+        Assertions.assertEquals(0, worker.lag());
+        for (List<Integer> sequences : applied.values()) {
+            List<Integer> sorted = new ArrayList<>(sequences);
+            Collections.sort(sorted);
+            Assertions.assertEquals(sorted, sequences);
+        }
+        worker.stop(1000);
+    }
+
+    /**
+     * Test that a failing event is parked with the next events of its key, holds the checkpoint, and is projected by a retry after the failure cause disappearance.
+     *
+     * @throws Exception When unexpected problem.
+     */
+    @Test
+    public void givenFailingEvent_whenSubmitted_thenParkedUntilRetrySuccess() throws Exception {
+        final List<Integer> applied = Collections.synchronizedList(new ArrayList<>());
+        final AtomicBoolean poisoned = new AtomicBoolean(true);
+        InMemoryCheckpointStore store = new InMemoryCheckpointStore();
+        ProjectionWorker worker = new ProjectionWorker("test", 1, 100, 10, batch -> {
+            for (DomainEvent evt : batch) {
+                if (poisoned.get() && sequenceOf(evt) == 3) throw new UnoperationalStateException("poison event");
+            }
+            for (DomainEvent evt : batch) applied.add(sequenceOf(evt));
+        }, store, null);
+        worker.start();
+        List<Long> positions = new ArrayList<>();
+        List<DomainEvent> events = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            events.add(event(i));
+            positions.add(worker.submit("sameKey", events.get(i)));
+        }
+        // The failing event and the next ones of its key are parked, and the checkpoint stops before the failing event
+        Assertions.assertTrue(worker.awaitCheckpoint(positions.get(2), 10000));
+        long deadline = System.currentTimeMillis() + 10000;
+        while (worker.parkedEvents() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        Assertions.assertEquals(3, worker.parkedEvents());
+        Assertions.assertFalse(worker.awaitCheckpoint(positions.get(3), 100));
+        Assertions.assertEquals(1, worker.failedEvents());
+        Assertions.assertEquals(List.of(0, 1, 2), applied);
+        // The key position is not advanced beyond the last projected event
+        Assertions.assertEquals(eventId(events.get(2)), store.positions.get("sameKey"));
+
+        // Retry after the failure cause disappearance
+        poisoned.set(false);
+        worker.retryParkedEvents();
+        Assertions.assertTrue(worker.awaitCheckpoint(positions.get(5), 10000));
+        Assertions.assertEquals(List.of(0, 1, 2, 3, 4, 5), applied);
+        Assertions.assertEquals(0, worker.parkedEvents());
+        Assertions.assertEquals(eventId(events.get(5)), store.positions.get("sameKey"));
+        worker.stop(1000);
+    }
+
+    /**
+     * Test that the events not projected before a worker stop are read again from the streams of their keys, and projected by a new worker started with the same checkpoint store.
+     *
+     * @throws Exception When unexpected problem.
+     */
+    @Test
+    public void givenNotProjectedEventsAtStop_whenNewWorkerStarted_thenRecoveredFromStreamsAndProjected() throws Exception {
+        InMemoryCheckpointStore store = new InMemoryCheckpointStore();
+        final Map<String, List<DomainEvent>> streams = new HashMap<>();
+        ProjectionWorker stopped = new ProjectionWorker("test", 1, 100, 10, batch -> {
+            throw new UnoperationalStateException("unavailable read model");
+        }, store, null);
+        stopped.start();
+        for (int i = 0; i < 4; i++) {
+            DomainEvent evt = event(i);
+            // Appended into the stream of its key before its notification
+            streams.computeIfAbsent("key" + (i % 2), k -> new ArrayList<>()).add(evt);
+            stopped.submit("key" + (i % 2), evt);
+        }
+        Assertions.assertFalse(stopped.awaitCheckpoint(stopped.position(), 300));
+        stopped.stop(1000);
+        // Only the keys are registered, without any projected position
+        Assertions.assertEquals(2, store.positions.size());
+        Assertions.assertNull(store.positions.get("key0"));
+
+        // Event appended after the stop, and never notified
+        DomainEvent notNotified = event(4);
+        streams.get("key0").add(notNotified);
+
+        final List<Integer> applied = Collections.synchronizedList(new ArrayList<>());
+        ProjectionWorker restarted = new ProjectionWorker("test", 1, 100, 10, batch -> {
+            for (DomainEvent evt : batch) applied.add(sequenceOf(evt));
+        }, store, (key, position) -> eventsAfter(streams.get(key), position));
+        restarted.start();
+        Assertions.assertEquals(5, restarted.recoveredEvents());
+        Assertions.assertTrue(restarted.awaitCheckpoint(restarted.position(), 10000));
+        Assertions.assertEquals(5, applied.size());
+        Assertions.assertEquals(eventId(notNotified), store.positions.get("key0"));
+        Assertions.assertEquals(eventId(streams.get("key1").get(1)), store.positions.get("key1"));
+        restarted.stop(1000);
+
+        // None event to project again after the checkpoint
+        ProjectionWorker upToDate = new ProjectionWorker("test", 1, 100, 10, batch -> {
+        }, store, (key, position) -> eventsAfter(streams.get(key), position));
+        upToDate.start();
+        Assertions.assertEquals(0, upToDate.recoveredEvents());
+        upToDate.stop(1000);
+    }
+
+    /**
+     * Test that the wait of the events relative to a key is not blocked by the pending events of the other keys.
+     *
+     * @throws Exception When unexpected problem.
+     */
+    @Test
+    public void givenPendingEventsOfOtherKey_whenAwaitKey_thenOnlyKeyEventsAwaited() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        ProjectionWorker worker = new ProjectionWorker("test", 2, 100, 1, batch -> {
+            for (DomainEvent evt : batch) {
+                if (sequenceOf(evt) == 0) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        }, null, null);
+        worker.start();
+        // Select two keys distributed on different partitions
+        String blockedKey = "key0";
+        String otherKey = null;
+        for (int i = 1; otherKey == null; i++) {
+            if (Math.floorMod(("key" + i).hashCode(), 2) != Math.floorMod(blockedKey.hashCode(), 2)) otherKey = "key" + i;
+        }
+        worker.submit(blockedKey, event(0));
+        worker.submit(otherKey, event(1));
+        Assertions.assertTrue(worker.awaitKey(otherKey, 5000));
+        Assertions.assertTrue(worker.awaitKey("unknownKey", 0));
+        Assertions.assertFalse(worker.awaitKey(blockedKey, 100));
+        release.countDown();
+        Assertions.assertTrue(worker.awaitKey(blockedKey, 5000));
+        worker.stop(1000);
+    }
+
+    private static String eventId(DomainEvent evt) {
+        return evt.identified().value().toString();
+    }
+
+    /**
+     * Read the events of a stream appended after a position.
+     *
+     * @param stream   Ordered events.
+     * @param position Identifier of the last projected event, or null.
+     * @return The next events.
+     */
+    private static List<DomainEvent> eventsAfter(List<DomainEvent> stream, String position) {
+        if (stream == null) return Collections.emptyList();
+        for (int i = 0; position != null && i < stream.size(); i++) {
+            if (position.equals(eventId(stream.get(i)))) return new ArrayList<>(stream.subList(i + 1, stream.size()));
+        }
+        return new ArrayList<>(stream);
+    }
+
+    /**
+     * Checkpoint store retaining the positions in memory.
+     */
+    private static class InMemoryCheckpointStore implements ProjectionWorker.CheckpointStore {
+        private final Map<String, String> positions = Collections.synchronizedMap(new HashMap<>());
+
+        @Override
+        public Map<String, String> positions() {
+            synchronized (positions) {
+                return new HashMap<>(positions);
+            }
+        }
+
+        @Override
+        public void register(String key) {
+            positions.putIfAbsent(key, null);
+        }
+
+        @Override
+        public void advance(Map<String, String> advanced) {
+            positions.putAll(advanced);
+        }
+    }
+}
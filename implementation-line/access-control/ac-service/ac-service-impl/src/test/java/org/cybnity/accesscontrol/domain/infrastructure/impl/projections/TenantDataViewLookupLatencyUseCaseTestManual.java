@@ -0,0 +1,122 @@
+package org.cybnity.accesscontrol.domain.infrastructure.impl.projections;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Transaction;
+import org.cybnity.accesscontrol.CustomContextualizedTest;
+import org.cybnity.accesscontrol.domain.service.api.model.TenantDataView;
+import org.junit.jupiter.api.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.logging.Logger;
+
+/**
+ * Benchmark (manual execution) of the TenantDataView lookups executed by the projections (search by name and by identifier).
+ * Measure the average lookup latency at several graph sizes, and verify that it stays flat (supported by the composite indexes) while the quantity of tenants grows.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_METHOD)
+public class TenantDataViewLookupLatencyUseCaseTestManual extends CustomContextualizedTest {
+
+    private static final Logger logger = Logger.getLogger(TenantDataViewLookupLatencyUseCaseTestManual.class.getName());
+
+    /**
+     * Quantities of tenants stored into the graph at each measure step.
+     */
+    private static final int[] TENANTS_QUANTITY_STEPS = {10, 100, 1000, 10000};
+
+    /**
+     * Quantity of lookups executed per measure step.
+     */
+    private static final int LOOKUPS_PER_STEP = 200;
+
+    /**
+     * Maximum accepted ratio between the average latency measured on the biggest graph and the smallest graph.
+     */
+    private static final double MAX_LATENCY_GROWTH_RATIO = 5.0;
+
+    private AccessControlDomainGraphImpl graph;
+
+    /**
+     * Default constructor.
+     */
+    public TenantDataViewLookupLatencyUseCaseTestManual() {
+        super(false, true, false, false, false);
+    }
+
+    @BeforeEach
+    public void initGraph() throws Exception {
+        graph = new AccessControlDomainGraphImpl(context());
+    }
+
+    @AfterEach
+    public void cleanGraph() throws Exception {
+        if (graph != null) {
+            graph.drop();
+            graph.freeUpResources();
+        }
+        graph = null;
+    }
+
+    /**
+     * Populate the graph by steps and measure the lookup latency at each step.
+     *
+     * @throws Exception When problem during test execution.
+     */
+    @Test
+    public void givenGrowingTenantsQuantity_whenLookupByNameAndIdentifier_thenLatencyStaysFlat() throws Exception {
+        String nodeType = TenantDataView.class.getSimpleName();
+        Map<Integer, Double> averageLatencyPerStep = new LinkedHashMap<>();
+        Random random = new Random(7);
+        int stored = 0;
+        for (int targetQuantity : TENANTS_QUANTITY_STEPS) {
+            // --- POPULATE until the targeted quantity of tenants ---
+            try (GraphTraversalSource source = graph.open()) {
+                Transaction tx = source.tx();
+                GraphTraversalSource gtx = tx.begin();
+                while (stored < targetQuantity) {
+                    gtx.addV(nodeType).property(AccessControlDomainGraphImpl.VERTEX_NAME_PROPERTY, tenantName(stored))
+                            .property(TenantDataView.PropertyAttributeKey.IDENTIFIED_BY.name(), tenantId(stored)).iterate();
+                    stored++;
+                    if (stored % 500 == 0) {
+                        tx.commit();
+                        gtx = tx.begin();
+                    }
+                }
+                tx.commit();
+            }
+
+            // --- MEASURE lookups on random existing tenants ---
+            try (GraphTraversalSource source = graph.open()) {
+                GraphTraversalSource gtx = source.tx().begin();
+                // Warm-up
+                for (int i = 0; i < 20; i++) {
+                    gtx.V().has(T.label, nodeType).has(AccessControlDomainGraphImpl.VERTEX_NAME_PROPERTY, tenantName(random.nextInt(stored))).hasNext();
+                }
+                long startedAt = System.nanoTime();
+                for (int i = 0; i < LOOKUPS_PER_STEP; i++) {
+                    int tenant = random.nextInt(stored);
+                    Assertions.assertTrue(gtx.V().has(T.label, nodeType).has(AccessControlDomainGraphImpl.VERTEX_NAME_PROPERTY, tenantName(tenant)).hasNext());
+                    Assertions.assertTrue(gtx.V().has(T.label, nodeType).has(TenantDataView.PropertyAttributeKey.IDENTIFIED_BY.name(), tenantId(tenant)).hasNext());
+                }
+                double averageMicros = (System.nanoTime() - startedAt) / 1000.0 / (LOOKUPS_PER_STEP * 2);
+                gtx.tx().rollback();
+                averageLatencyPerStep.put(stored, averageMicros);
+                logger.info("Tenants: " + stored + ", average lookup latency: " + String.format("%.1f", averageMicros) + " µs");
+            }
+        }
+
+        double smallest = averageLatencyPerStep.get(TENANTS_QUANTITY_STEPS[0]);
+        double biggest = averageLatencyPerStep.get(TENANTS_QUANTITY_STEPS[TENANTS_QUANTITY_STEPS.length - 1]);
+        Assertions.assertTrue(biggest <= smallest * MAX_LATENCY_GROWTH_RATIO, "Lookup latency shall not grow with the quantity of tenants (measured: " + averageLatencyPerStep + ")!");
+    }
+
+    private static String tenantName(int index) {
+        return "tenant-" + index;
+    }
+
+    private static String tenantId(int index) {
+        return "tenant-uid-" + index;
+    }
+}
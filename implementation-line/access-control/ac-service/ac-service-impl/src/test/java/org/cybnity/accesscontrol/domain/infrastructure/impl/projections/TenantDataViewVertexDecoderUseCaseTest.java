@@ -0,0 +1,47 @@
+package org.cybnity.accesscontrol.domain.infrastructure.impl.projections;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.cybnity.accesscontrol.domain.service.api.model.TenantDataView;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Test of the data view decoding from the element map read on a TenantDataView vertex.
+ */
+public class TenantDataViewVertexDecoderUseCaseTest {
+
+    /**
+     * Test that a data view is built from an element map without optional properties.
+     */
+    @Test
+    public void givenElementWithoutOptionalProperties_whenDecoded_thenViewBuilt() {
+        Map<Object, Object> element = new HashMap<>();
+        element.put(T.id, 1L);
+        element.put(AccessControlDomainGraphImpl.VERTEX_NAME_PROPERTY, "CYBNITY");
+        element.put(TenantDataView.PropertyAttributeKey.IDENTIFIED_BY.name(), "tenant-1");
+        element.put(TenantDataView.PropertyAttributeKey.CREATED.name(), new Date());
+
+        TenantDataView view = TenantDataViewVertexDecoder.decode(element);
+        Assertions.assertEquals("tenant-1", view.valueOfProperty(TenantDataView.PropertyAttributeKey.IDENTIFIED_BY));
+        Assertions.assertEquals(1L, TenantDataViewVertexDecoder.vertexId(element));
+    }
+
+    /**
+     * Test that an element map without tenant identifier is rejected.
+     */
+    @Test
+    public void givenElementWithoutTenantIdentifier_whenDecoded_thenRejected() {
+        Map<Object, Object> element = new HashMap<>();
+        element.put(AccessControlDomainGraphImpl.VERTEX_NAME_PROPERTY, "CYBNITY");
+        element.put(TenantDataView.PropertyAttributeKey.CREATED.name(), new Date());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TenantDataViewVertexDecoder.decode(element));
+
+        element.put(TenantDataView.PropertyAttributeKey.IDENTIFIED_BY.name(), "");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TenantDataViewVertexDecoder.decode(element));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TenantDataViewVertexDecoder.decode(null));
+    }
+}
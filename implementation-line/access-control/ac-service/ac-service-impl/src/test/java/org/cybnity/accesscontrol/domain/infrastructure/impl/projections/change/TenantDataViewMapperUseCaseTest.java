@@ -0,0 +1,124 @@
+package org.cybnity.accesscontrol.domain.infrastructure.impl.projections.change;
+
+import org.cybnity.accesscontrol.CustomContextualizedTest;
+import org.cybnity.accesscontrol.domain.infrastructure.impl.CarriedTenantState;
+import org.cybnity.accesscontrol.domain.infrastructure.impl.TenantsStore;
+import org.cybnity.accesscontrol.domain.service.api.model.TenantDataView;
+import org.cybnity.framework.UnoperationalStateException;
+import org.cybnity.framework.domain.DomainEvent;
+import org.cybnity.framework.domain.ISubscribable;
+import org.cybnity.framework.domain.IdentifierStringBased;
+import org.cybnity.framework.domain.event.ConcreteDomainChangeEvent;
+import org.cybnity.framework.domain.model.DomainEntity;
+import org.cybnity.framework.domain.model.IDomainEventSubscriber;
+import org.cybnity.framework.domain.model.Tenant;
+import org.junit.jupiter.api.*;
+
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Test of the data view mapping regarding the tenant state carried next to the change events (event-carried state), and its fallback on the tenants store read.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_METHOD)
+public class TenantDataViewMapperUseCaseTest extends CustomContextualizedTest {
+
+    private TenantsStore tenantsStore;
+
+    /**
+     * Default constructor.
+     */
+    public TenantDataViewMapperUseCaseTest() {
+        super(true, false, false, false, /* With snapshots management capability activated */true);
+    }
+
+    @BeforeEach
+    public void initStore() throws UnoperationalStateException {
+        tenantsStore = getTenantPersistenceOrientedStore();
+    }
+
+    @AfterEach
+    public void cleanResources() {
+        if (tenantsStore != null) tenantsStore.freeUpResources();
+        tenantsStore = null;
+    }
+
+    /**
+     * Test that the tenant state is carried next to the change events during their notification, and is released after their append.
+     *
+     * @throws Exception When problem during test execution.
+     */
+    @Test
+    public void givenAppendedTenant_whenChangesNotified_thenStateCarriedNextToEvents() throws Exception {
+        final List<CarriedTenantState> notified = Collections.synchronizedList(new LinkedList<>());
+        ((ISubscribable) tenantsStore).subscribe(new IDomainEventSubscriber<DomainEvent>() {
+            @Override
+            public void handleEvent(DomainEvent event) {
+                CarriedTenantState state = tenantsStore.carriedState(event);
+                if (state != null) notified.add(state);
+            }
+
+            @Override
+            public Class<?> subscribeToEventType() {
+                return DomainEvent.class;
+            }
+        });
+        Tenant tenant = new Tenant(new DomainEntity(IdentifierStringBased.generate(null)), IdentifierStringBased.generate(null), Boolean.TRUE, "givenAppendedTenant_whenChangesNotified_thenStateCarriedNextToEvents");
+        List<DomainEvent> appended = new LinkedList<>(tenant.changeEvents());
+        tenantsStore.append(tenant);
+
+        Assertions.assertFalse(notified.isEmpty(), "Notified change events shall carry the tenant state!");
+        for (CarriedTenantState state : notified) {
+            Assertions.assertEquals("givenAppendedTenant_whenChangesNotified_thenStateCarriedNextToEvents", state.label());
+            Assertions.assertEquals(Boolean.TRUE, state.isActive());
+        }
+        for (DomainEvent evt : appended) {
+            // Out of its append, an event is not carried state
+            Assertions.assertNull(tenantsStore.carriedState(evt));
+        }
+    }
+
+    /**
+     * Test that a data view is built from the carried tenant state, without read of the store (tenant not stored).
+     */
+    @Test
+    public void givenCarriedState_whenConverted_thenViewBuiltWithoutStoreRead() {
+        Tenant tenant = new Tenant(new DomainEntity(IdentifierStringBased.generate(null)), IdentifierStringBased.generate(null), Boolean.TRUE, "givenCarriedState_whenConverted_thenViewBuiltWithoutStoreRead");
+        ConcreteDomainChangeEvent change = lastChange(tenant);
+
+        TenantDataView view = new TenantDataViewMapper(tenantsStore).convertTo(change, new CarriedTenantState(tenant));
+        Assertions.assertNotNull(view);
+        Assertions.assertEquals(tenant.identified().value().toString(), view.valueOfProperty(TenantDataView.PropertyAttributeKey.IDENTIFIED_BY));
+    }
+
+    /**
+     * Test that without carried tenant state, the tenant state is read from the store.
+     *
+     * @throws Exception When problem during test execution.
+     */
+    @Test
+    public void givenNoCarriedState_whenConverted_thenStateReadFromStore() throws Exception {
+        // Not stored tenant: the read of the store is performed and fails
+        Tenant unknown = new Tenant(new DomainEntity(IdentifierStringBased.generate(null)), IdentifierStringBased.generate(null), Boolean.TRUE, "givenNoCarriedState_unknown");
+        ConcreteDomainChangeEvent unknownChange = lastChange(unknown);
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> new TenantDataViewMapper(tenantsStore).convertTo(unknownChange, null));
+
+        // Stored tenant: the view is built from the read tenant
+        Tenant stored = new Tenant(new DomainEntity(IdentifierStringBased.generate(null)), IdentifierStringBased.generate(null), Boolean.TRUE, "givenNoCarriedState_stored");
+        ConcreteDomainChangeEvent storedChange = lastChange(stored);
+        tenantsStore.append(stored);
+        TenantDataView view = new TenantDataViewMapper(tenantsStore).convertTo(storedChange);
+        Assertions.assertNotNull(view);
+        Assertions.assertEquals(stored.identified().value().toString(), view.valueOfProperty(TenantDataView.PropertyAttributeKey.IDENTIFIED_BY));
+    }
+
+    private static ConcreteDomainChangeEvent lastChange(Tenant tenant) {
+        ConcreteDomainChangeEvent last = null;
+        for (DomainEvent evt : tenant.changeEvents()) {
+            if (evt instanceof ConcreteDomainChangeEvent) last = (ConcreteDomainChangeEvent) evt;
+        }
+        Assertions.assertNotNull(last, "Tenant change event shall exist!");
+        return last;
+    }
+}
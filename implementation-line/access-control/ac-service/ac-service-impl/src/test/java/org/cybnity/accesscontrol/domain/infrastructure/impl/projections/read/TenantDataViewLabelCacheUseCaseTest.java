@@ -0,0 +1,82 @@
+package org.cybnity.accesscontrol.domain.infrastructure.impl.projections.read;
+
+import org.cybnity.accesscontrol.domain.service.api.model.TenantDataView;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+/**
+ * Test of the cache of tenant data views by label (not retained misses, invalidation by label and tenant, bounded size).
+ */
+public class TenantDataViewLabelCacheUseCaseTest {
+
+    private static final String NODE_TYPE = TenantDataView.class.getSimpleName();
+
+    private static TenantDataView view(String label, String tenantId) {
+        return new TenantDataView(Boolean.TRUE, label, new Date(), tenantId, new Date(), "1");
+    }
+
+    /**
+     * Test that found data views are served from the cache until their invalidation by label or by tenant, and that a not found label is never served from the cache.
+     */
+    @Test
+    public void givenCachedResults_whenInvalidated_thenSearchedAgain() {
+        TenantDataViewLabelCache cache = new TenantDataViewLabelCache(10, 60000);
+        Assertions.assertNull(cache.get(NODE_TYPE, "unknown"));
+        cache.put(NODE_TYPE, "unknown", null, cache.generation());
+        TenantDataView view = view("cybnity", "tenant-1");
+        cache.put(NODE_TYPE, "cybnity", view, cache.generation());
+
+        // Only found data views are served
+        Assertions.assertNull(cache.get(NODE_TYPE, "unknown"));
+        Assertions.assertSame(view, cache.get(NODE_TYPE, "cybnity").view());
+        Assertions.assertEquals(1, cache.hits());
+        Assertions.assertEquals(1, cache.size());
+
+        // Renamed tenant is removed from its previous label
+        cache.invalidate(NODE_TYPE, "renamed", "tenant-1");
+        Assertions.assertNull(cache.get(NODE_TYPE, "cybnity"));
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertEquals(0.25d, cache.hitRatio(), 0.001d); // 1 served of 4 searches
+    }
+
+    /**
+     * Test that a tenant is cached under its last found label only.
+     */
+    @Test
+    public void givenRenamedTenant_whenFoundWithNewLabel_thenPreviousLabelRemoved() {
+        TenantDataViewLabelCache cache = new TenantDataViewLabelCache(10, 60000);
+        cache.put(NODE_TYPE, "before", view("before", "tenant-1"), cache.generation());
+        cache.put(NODE_TYPE, "other", view("other", "tenant-2"), cache.generation());
+        cache.put(NODE_TYPE, "after", view("after", "tenant-1"), cache.generation());
+        Assertions.assertNull(cache.get(NODE_TYPE, "before"));
+        Assertions.assertNotNull(cache.get(NODE_TYPE, "after"));
+        Assertions.assertEquals(2, cache.size());
+
+        cache.invalidate(NODE_TYPE, null, "tenant-2");
+        Assertions.assertNull(cache.get(NODE_TYPE, "other"));
+        Assertions.assertNotNull(cache.get(NODE_TYPE, "after"));
+    }
+
+    /**
+     * Test that a result searched before an invalidation is not retained, and that the cache size is bounded.
+     */
+    @Test
+    public void givenConcurrentChange_whenResultPut_thenIgnored() {
+        TenantDataViewLabelCache cache = new TenantDataViewLabelCache(2, 60000);
+        long generation = cache.generation();
+        cache.invalidate(NODE_TYPE, "cybnity", null);
+        cache.put(NODE_TYPE, "cybnity", view("cybnity", "tenant-0"), generation);
+        Assertions.assertEquals(0, cache.size());
+
+        for (int i = 0; i < 5; i++) {
+            cache.put(NODE_TYPE, "label" + i, view("label" + i, "tenant-" + i), cache.generation());
+        }
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(3, cache.evictions());
+        // Evicted tenants are not indexed anymore
+        cache.invalidate(NODE_TYPE, null, "tenant-0");
+        Assertions.assertEquals(2, cache.size());
+    }
+}
@@ -0,0 +1,92 @@
+package org.cybnity.accesscontrol.domain.infrastructure.impl.snapshot;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+/**
+ * Test of the thresholds applied by each snapshot policy, and of the policies creation from configuration values.
+ */
+public class SnapshotPolicyUseCaseTest {
+
+    /**
+     * Test that a snapshot is required once the quantity of appended events reaches the threshold, and that a snapshot resets the followed events.
+     */
+    @Test
+    public void givenEventsQuantityPolicy_whenThresholdReached_thenSnapshotRequired() {
+        ISnapshotPolicy policy = new EventsQuantitySnapshotPolicy(3, 10);
+        Assertions.assertFalse(policy.isSnapshotRequired("tenant-1"), "Unknown aggregate shall not require snapshot!");
+        policy.onAppended("tenant-1", 2);
+        Assertions.assertFalse(policy.isSnapshotRequired("tenant-1"));
+        Assertions.assertEquals(2, policy.eventsSinceLastSnapshot("tenant-1"));
+        policy.onAppended("tenant-1", 1);
+        Assertions.assertTrue(policy.isSnapshotRequired("tenant-1"));
+        policy.onAppended("tenant-2", 1);
+        Assertions.assertEquals(4, policy.eventsNotSnapshotted());
+
+        policy.onSnapshotted("tenant-1");
+        Assertions.assertFalse(policy.isSnapshotRequired("tenant-1"));
+        Assertions.assertEquals(0, policy.eventsSinceLastSnapshot("tenant-1"));
+        Assertions.assertEquals(1, policy.eventsNotSnapshotted());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new EventsQuantitySnapshotPolicy(0, 10));
+    }
+
+    /**
+     * Test that a snapshot is required when the oldest not snapshotted event reaches the maximum age, without new append after it (evaluation at rehydration).
+     *
+     * @throws Exception When unexpected problem.
+     */
+    @Test
+    public void givenAgeThresholdPolicy_whenAgeReachedWithoutNewAppend_thenSnapshotRequired() throws Exception {
+        ISnapshotPolicy policy = new AgeThresholdSnapshotPolicy(Duration.ofMillis(200), 10);
+        policy.onAppended("tenant-1", 1);
+        Assertions.assertFalse(policy.isSnapshotRequired("tenant-1"), "Recent event shall not require snapshot!");
+        Thread.sleep(100);
+        // Next append does not renew the age of the oldest not snapshotted event
+        policy.onAppended("tenant-1", 1);
+        Thread.sleep(150);
+        Assertions.assertTrue(policy.isSnapshotRequired("tenant-1"), "Aged event shall require snapshot!");
+
+        policy.onSnapshotted("tenant-1");
+        Assertions.assertFalse(policy.isSnapshotRequired("tenant-1"));
+        policy.onAppended("tenant-1", 1);
+        Assertions.assertFalse(policy.isSnapshotRequired("tenant-1"), "Age shall be counted from the first event after the snapshot!");
+    }
+
+    /**
+     * Test that the least recently changed aggregates are forgotten over the followed capacity.
+     */
+    @Test
+    public void givenFollowedCapacityReached_whenAggregateAppended_thenLeastRecentlyChangedForgotten() {
+        ISnapshotPolicy policy = new EventsQuantitySnapshotPolicy(1, 2);
+        policy.onAppended("tenant-1", 1);
+        policy.onAppended("tenant-2", 1);
+        policy.onAppended("tenant-3", 1);
+        Assertions.assertFalse(policy.isSnapshotRequired("tenant-1"));
+        Assertions.assertTrue(policy.isSnapshotRequired("tenant-2"));
+        Assertions.assertTrue(policy.isSnapshotRequired("tenant-3"));
+        Assertions.assertEquals(2, policy.eventsNotSnapshotted());
+    }
+
+    /**
+     * Test the creation of the policies from configuration values.
+     */
+    @Test
+    public void givenConfigurationValues_whenPolicyCreated_thenThresholdApplied() {
+        Assertions.assertTrue(SnapshotPolicyFactory.create(null, null, null) instanceof EventsQuantitySnapshotPolicy);
+        ISnapshotPolicy byQuantity = SnapshotPolicyFactory.create("events_quantity", "2", null);
+        byQuantity.onAppended("tenant-1", 1);
+        Assertions.assertFalse(byQuantity.isSnapshotRequired("tenant-1"));
+        byQuantity.onAppended("tenant-1", 1);
+        Assertions.assertTrue(byQuantity.isSnapshotRequired("tenant-1"));
+
+        ISnapshotPolicy byAge = SnapshotPolicyFactory.create("AGE_THRESHOLD", null, "0");
+        Assertions.assertTrue(byAge instanceof AgeThresholdSnapshotPolicy);
+        byAge.onAppended("tenant-1", 1);
+        Assertions.assertTrue(byAge.isSnapshotRequired("tenant-1"), "Zero age shall require snapshot after each append!");
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SnapshotPolicyFactory.create("UNKNOWN", null, null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SnapshotPolicyFactory.create(null, "not a number", null));
+    }
+}
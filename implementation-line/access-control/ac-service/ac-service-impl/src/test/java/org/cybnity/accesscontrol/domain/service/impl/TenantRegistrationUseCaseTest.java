@@ -5,9 +5,11 @@ import org.cybnity.accesscontrol.ciam.domain.infrastructure.impl.mock.TenantMock
 import org.cybnity.accesscontrol.domain.infrastructure.impl.TenantTransactionCollectionsRepository;
 import org.cybnity.accesscontrol.domain.infrastructure.impl.TenantsStore;
 import org.cybnity.accesscontrol.domain.infrastructure.impl.TenantsWriteModelImpl;
+import org.cybnity.accesscontrol.domain.service.api.TenantRegistrationServiceConfigurationVariable;
 import org.cybnity.application.accesscontrol.adapter.api.admin.ISSOAdminAdapter;
 import org.cybnity.application.accesscontrol.adapter.impl.keycloak.admin.SSOAdminAdapterKeycloakImpl;
 import org.cybnity.application.accesscontrol.translator.ui.api.ACDomainMessageMapperFactory;
+import org.cybnity.application.accesscontrol.translator.ui.api.FactEncoding;
 import org.cybnity.application.accesscontrol.translator.ui.api.UICapabilityChannel;
 import org.cybnity.application.accesscontrol.translator.ui.api.event.DomainEventType;
 import org.cybnity.application.accesscontrol.ui.api.event.AttributeName;
@@ -217,4 +219,58 @@ public class TenantRegistrationUseCaseTest extends CustomContextualizedTest {
         this.client.unsubscribe(outputObservers);
     }
 
+    /**
+     * Unit test about CASE: tenant changes notified with the compact encoding, and read by an observer using the Access Control domain mapper (e.g backend server's results observer).
+     */
+    @Test
+    public void givenCompactFactEncoding_whenTenantRegistrationRequested_thenCompactNotificationReadByDomainObserver() throws Exception {
+        // Registration service producing compact notifications
+        environmentVariables.set(TenantRegistrationServiceConfigurationVariable.TENANTS_CHANGES_FACT_ENCODING.getName(), FactEncoding.COMPACT.name());
+        TenantRegistration compactNotifyingService = new TenantRegistration(context(), TenantsWriteModelImpl.instance(tenantsStore), tenantsRepository, serviceName, featureTenantsChangesNotificationChannel, this.client, new SSOAdminAdapterKeycloakImpl(context()));
+        final String organizationName = "givenCompactFactEncoding_whenTenantRegistrationRequested_thenCompactNotificationReadByDomainObserver";
+        final CountDownLatch acceptancesCriteriaCheckResultsWaiter = new CountDownLatch(1 /* Qty of confirmed observer finalized treatments */);
+        Collection<ChannelObserver> outputObservers = new ArrayList<>();
+        outputObservers.add(new ChannelObserver() {
+            @Override
+            public Channel observed() {
+                return featureTenantsChangesNotificationChannel;
+            }
+
+            @Override
+            public String observationPattern() {
+                return null;
+            }
+
+            /**
+             * Observer of the compact notification decoded by the domain mapper (a JSON observer would not be able to read it).
+             * @param evt Notification event about new added tenant
+             */
+            @Override
+            public void notify(Object evt) {
+                if (IDescribed.class.isAssignableFrom(evt.getClass())) {
+                    IDescribed domainEvent = (IDescribed) evt;
+                    if (DomainEventType.TENANT_REGISTERED.name().equals(domainEvent.type().value())) {
+                        // Verify that the decoded fact is equals to the notified registration
+                        Collection<Attribute> spec = domainEvent.specification();
+                        Attribute nameAttr = EventSpecification.findSpecificationByName(TenantRegistrationAttributeName.TENANT_NAMING.name(), spec);
+                        Assertions.assertNotNull(nameAttr);
+                        if (organizationName.equals(nameAttr.value())) {
+                            Assertions.assertNotNull(EventSpecification.findSpecificationByName(AttributeName.TENANT_ID.name(), spec).value());
+                            acceptancesCriteriaCheckResultsWaiter.countDown();
+                        }
+                    }
+                }
+            }
+        });
+        // Observer reading the JSON and compact messages
+        this.client.subscribe(outputObservers, new ACDomainMessageMapperFactory().getMapper(String.class, IDescribed.class));
+
+        // Submit to registration service
+        compactNotifyingService.handle(TenantMockHelper.prepareRegisterTenantCommand(organizationName, Boolean.FALSE));
+
+        // Wait for give time to message to be processed
+        Assertions.assertTrue(acceptancesCriteriaCheckResultsWaiter.await(80, TimeUnit.SECONDS), "Timeout reached before compact notification read!");
+        this.client.unsubscribe(outputObservers);
+        environmentVariables.remove(TenantRegistrationServiceConfigurationVariable.TENANTS_CHANGES_FACT_ENCODING.getName());
+    }
 }
@@ -57,6 +57,7 @@ public class ExecutableIOGatewayChecker extends ExecutableComponentChecker {
     public Set<IReadableConfiguration> optionalEnvironmentVariables() {
         // Define the optional environment variables for gateway running
         HashSet<IReadableConfiguration> variables = new HashSet<>();
+        variables.addAll(EnumSet.allOf(IOGatewayConfigurationVariable.class));
         return variables;
     }
 
@@ -0,0 +1,54 @@
+package org.cybnity.application.accesscontrol.domain.system.gateway;
+
+import org.cybnity.framework.IReadableConfiguration;
+
+/**
+ * Enumeration defining a set of variables regarding the Access Control (AC) domain IO gateway (e.g dispatch of the facts to the processing units).
+ * <p>
+ * The configuration of each value regarding each environment variable enum, is
+ * managed into the Helm values.yaml file regarding the executable system which
+ * need to declare the environment variables as available for usage via this set
+ * of enum.
+ */
+public enum IOGatewayConfigurationVariable implements IReadableConfiguration {
+    /**
+     * Quantity of partitions treating in parallel the facts received by the pipeline, where the facts relative to a same tenant (or correlation identifier) are treated in order. When lower than 2 (default), the facts are treated sequentially by the stream consumer thread.
+     * Warning: in parallel mode, a fact is acknowledged into the stream when it is accepted by a partition, before its treatment. The facts in progress (up to AC_IO_GATEWAY_MAX_IN_FLIGHT_FACTS) are delivered at most once: they are lost by a crash of the process, without move to the Dead Letter Channel (only a failed treatment or a pipeline stop moves them).
+     */
+    AC_IO_GATEWAY_CONSUMERS_PARALLELISM("AC_IO_GATEWAY_CONSUMERS_PARALLELISM"),
+
+    /**
+     * Maximum quantity of received facts in progress over the partitions, before blocking of the stream consumer (only used in parallel mode). 32 by default (PartitionedFactsExecutor.DEFAULT_MAX_IN_FLIGHT), which is the maximum quantity of facts lost by a crash of the process.
+     */
+    AC_IO_GATEWAY_MAX_IN_FLIGHT_FACTS("AC_IO_GATEWAY_MAX_IN_FLIGHT_FACTS"),
+
+    /**
+     * Time-to-live in seconds of a processing unit presence announce, after which the processing unit instance is removed from the routing plan (e.g crashed instance). 30 seconds by default (the processing units renew their presence periodically). When lower than 1, the presences never expire.
+     */
+    AC_IO_GATEWAY_PU_PRESENCE_TTL_IN_SECONDS("AC_IO_GATEWAY_PU_PRESENCE_TTL_IN_SECONDS");
+
+    /**
+     * Name of this environment variable currently hosted by the system environment.
+     */
+    private final String name;
+
+    /**
+     * Default constructor of a configuration variable that is readable from the
+     * system environment variables set.
+     *
+     * @param aName Mandatory name of the environment variable that is readable from
+     *              the current system environment (e.g defined by the runtime
+     *              container or operating system).
+     * @throws IllegalArgumentException When mandatory parameter is not defined.
+     */
+    private IOGatewayConfigurationVariable(String aName) throws IllegalArgumentException {
+        if (aName == null || "".equalsIgnoreCase(aName))
+            throw new IllegalArgumentException("The name of this variable shall be defined!");
+        this.name = aName;
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+}
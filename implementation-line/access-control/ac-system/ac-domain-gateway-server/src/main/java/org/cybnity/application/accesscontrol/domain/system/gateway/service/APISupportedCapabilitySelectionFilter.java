@@ -1,5 +1,6 @@
 package org.cybnity.application.accesscontrol.domain.system.gateway.service;
 
+import org.cybnity.application.accesscontrol.translator.ui.api.UnprocessedFactRecorder;
 import org.cybnity.framework.application.vertx.common.routing.IEventProcessingManager;
 import org.cybnity.framework.application.vertx.common.routing.RouteRecipientList;
 import org.cybnity.framework.application.vertx.common.service.AbstractServiceActivator;
@@ -8,6 +9,7 @@ import org.cybnity.framework.domain.ConformityViolation;
 import org.cybnity.framework.domain.IDescribed;
 import org.cybnity.infrastructure.technical.message_bus.adapter.api.Stream;
 
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 
 /**
@@ -17,6 +19,8 @@ import java.util.logging.Level;
  * Specifying Producer — Specifies the event’s selection value before sending it.
  * Selection Value — One or more values specified in the event that allow to decide whether to select the event.
  * Selective Consumer — Only receives event that meet its selection criteria.
+ * <p>
+ * The admission of a supported fact is performed without allocation (lookup of the event type name into the current routing plan version); the rejection cause is only built for the rejected facts, which are moved to an Invalid Message Channel stream when defined.
  */
 public class APISupportedCapabilitySelectionFilter extends AbstractServiceActivator {
 
@@ -32,7 +36,15 @@ public class APISupportedCapabilitySelectionFilter extends AbstractServiceActiva
     private final IEventProcessingManager eventTypesProvider;
 
     /**
-     * Default constructor.
+     * Optional recorder of the rejected facts into the Invalid Message Channel. When null, the rejected facts are only logged.
+     */
+    private final UnprocessedFactRecorder unprocessedFacts;
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Default constructor, where the rejected facts are only logged.
      *
      * @param receivedFrom                  Mandatory API entrypoint of collecting events to filter.
      * @param supportableEventTypesProvider Mandatory provider of event types supportable by the API.
@@ -45,6 +57,26 @@ public class APISupportedCapabilitySelectionFilter extends AbstractServiceActiva
             throw new IllegalArgumentException("recipientsProvider parameter is required!");
         this.receivedFrom = receivedFrom;
         this.eventTypesProvider = supportableEventTypesProvider;
+        this.unprocessedFacts = null;
+    }
+
+    /**
+     * Constructor with move of the rejected facts to an Invalid Message Channel.
+     *
+     * @param receivedFrom                  Mandatory API entrypoint of collecting events to filter.
+     * @param supportableEventTypesProvider Mandatory provider of event types supportable by the API.
+     * @param unprocessedFacts              Mandatory recorder of the rejected facts (with their rejection cause) into the Invalid Message Channel.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    public APISupportedCapabilitySelectionFilter(Stream receivedFrom, IEventProcessingManager supportableEventTypesProvider, UnprocessedFactRecorder unprocessedFacts) throws IllegalArgumentException {
+        super();
+        if (receivedFrom == null) throw new IllegalArgumentException("ReceivedFrom parameter is required!");
+        if (supportableEventTypesProvider == null)
+            throw new IllegalArgumentException("recipientsProvider parameter is required!");
+        if (unprocessedFacts == null) throw new IllegalArgumentException("unprocessedFacts parameter is required!");
+        this.receivedFrom = receivedFrom;
+        this.eventTypesProvider = supportableEventTypesProvider;
+        this.unprocessedFacts = unprocessedFacts;
     }
 
     /**
@@ -71,30 +103,18 @@ public class APISupportedCapabilitySelectionFilter extends AbstractServiceActiva
         if (canHandle(fact)) {
             // Identify event type
             Attribute eventType = fact.type();
-            String factEventTypeName = (eventType != null && !eventType.value().isEmpty()) ? eventType.value() : null;
-            StringBuilder errorMsg = new StringBuilder().append(ConformityViolation.UNIDENTIFIED_EVENT_TYPE.name())
-                    .append(": invalid fact type (")
-                    .append(factEventTypeName).append(") received into the channel (")
-                    .append(receivedFrom.name()).append("), that can't be processed and have been ignored!");
-
-            if (factEventTypeName != null) {
-                // Check if command event is supported by the API and shall be processed
-                // From dynamic routing plan
-                RouteRecipientList destinationMap = eventTypesProvider.delegateDestinations();
-
-                if (destinationMap.supportedEventTypeNames().contains(factEventTypeName)) {
-                    // The command is supported by the api
-                    // So can continue the processing pipeline
-                    return true; // Confirm next step activation
-                } else {
-                    // Event shall be ignored because not supported by this API
-                    // Move it to Invalid Message Channel
-                    moveToInvalidMessageChannel(fact, errorMsg.toString());
-                }
-            } else {
-                // Invalid structure of received event
-                moveToInvalidMessageChannel(fact, errorMsg.toString());
+            String factEventTypeName = (eventType != null && eventType.value() != null && !eventType.value().isEmpty()) ? eventType.value() : null;
+            // Check if command event is supported by the API and shall be processed
+            // From dynamic routing plan (current immutable version when provided)
+            if (factEventTypeName != null && isSupported(factEventTypeName)) {
+                // The command is supported by the api
+                // So can continue the processing pipeline
+                admitted.increment();
+                return true; // Confirm next step activation
             }
+            // Event shall be ignored because not supported by this API, or invalid structure of received event
+            // Move it to Invalid Message Channel
+            moveToInvalidMessageChannel(fact, ConformityViolation.UNIDENTIFIED_EVENT_TYPE.name() + ": invalid fact type (" + factEventTypeName + ") received into the channel (" + receivedFrom.name() + "), that can't be processed and have been ignored!");
         } else {
             // Invalid fact event type received
             moveToInvalidMessageChannel(fact, ConformityViolation.UNIDENTIFIED_EVENT_TYPE.name() + ": invalid fact type received from channel (" + receivedFrom.name() + ")!");
@@ -102,6 +122,20 @@ public class APISupportedCapabilitySelectionFilter extends AbstractServiceActiva
         return false; // Interrupt next step activation
     }
 
+    /**
+     * Check if an event type is supported by the current routing plan.
+     *
+     * @param factEventTypeName Mandatory event type name.
+     * @return True when a processing unit route is defined.
+     */
+    private boolean isSupported(String factEventTypeName) {
+        if (eventTypesProvider instanceof IRoutingTableProvider) {
+            // Lock-free read of the current routing plan version
+            return ((IRoutingTableProvider) eventTypesProvider).routingTable().supports(factEventTypeName);
+        }
+        RouteRecipientList destinationMap = eventTypesProvider.delegateDestinations();
+        return destinationMap.supportedEventTypeNames().contains(factEventTypeName);
+    }
 
     @Override
     protected void moveToInvalidMessageChannel(IDescribed unprocessedEvent, String cause) {
@@ -113,12 +147,32 @@ public class APISupportedCapabilitySelectionFilter extends AbstractServiceActiva
         // - development error of command transmission to the right stream
         // - security attack attempt with bad command send test through any channel for test of entry by any capability api entry point
 
+        rejected.increment();
         // Log error for technical analysis by operator and remediation execution
         logger().log(Level.SEVERE, cause);
+
+        if (unprocessedFacts != null) {
+            // Retain the fact and its rejection cause for analysis and potential replay
+            unprocessedFacts.recordInvalidMessage(unprocessedEvent, cause);
+        }
+    }
+
+    /**
+     * @return Quantity of facts admitted by this filter.
+     */
+    public long admittedFacts() {
+        return admitted.sum();
+    }
+
+    /**
+     * @return Quantity of facts rejected by this filter.
+     */
+    public long rejectedFacts() {
+        return rejected.sum();
     }
 
     @Override
     protected void moveToDeadLetterChannel(IDescribed unprocessedEvent, String cause) {
-
+        // Not applicable to a filter (none treatment performed)
     }
 }
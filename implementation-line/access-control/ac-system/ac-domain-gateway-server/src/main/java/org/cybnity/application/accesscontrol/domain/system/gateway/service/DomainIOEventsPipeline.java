@@ -1,11 +1,15 @@
 package org.cybnity.application.accesscontrol.domain.system.gateway.service;
 
+import io.vertx.core.Promise;
+import org.cybnity.application.accesscontrol.domain.system.gateway.IOGatewayConfigurationVariable;
 import org.cybnity.application.accesscontrol.translator.ui.api.ACDomainMessageMapperFactory;
 import org.cybnity.application.accesscontrol.translator.ui.api.UICapabilityChannel;
+import org.cybnity.application.accesscontrol.translator.ui.api.UnprocessedFactRecorder;
+import org.cybnity.application.accesscontrol.ui.api.event.TenantRegistrationAttributeName;
+import org.cybnity.framework.Context;
 import org.cybnity.framework.IContext;
 import org.cybnity.framework.UnoperationalStateException;
 import org.cybnity.framework.application.vertx.common.event.AttributeName;
-import org.cybnity.framework.application.vertx.common.routing.ProcessingUnitAnnouncesObserver;
 import org.cybnity.framework.application.vertx.common.service.AbstractEndpointPipelineImpl;
 import org.cybnity.framework.application.vertx.common.service.FactBaseHandler;
 import org.cybnity.framework.application.vertx.common.service.security.AccessControlChecker;
@@ -19,7 +23,6 @@ import org.cybnity.framework.immutable.EntityReference;
 import org.cybnity.framework.immutable.Identifier;
 import org.cybnity.framework.immutable.ImmutabilityException;
 import org.cybnity.infrastructure.technical.message_bus.adapter.api.*;
-import org.cybnity.infrastructure.technical.message_bus.adapter.impl.redis.MessageMapperFactory;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -50,16 +53,48 @@ public class DomainIOEventsPipeline extends AbstractEndpointPipelineImpl {
      */
     private final Stream domainInputChannel = new Stream(pipelineInputChannel.shortName());
 
+    /**
+     * UIS Invalid Message Channel where the facts rejected by the pipeline are moved.
+     */
+    private final Stream domainInvalidMessagesChannel = new Stream(UICapabilityChannel.access_control_in_invalid.shortName());
+
+    /**
+     * UIS Dead Letter Channel where the facts that can't be delivered to a processing unit are moved.
+     */
+    private final Stream domainDeadLettersChannel = new Stream(UICapabilityChannel.access_control_in_dead_letter.shortName());
+
     /**
      * Listener of processing units' entry points that can be used by pipeline as delegates for event treatments.
      */
-    private ProcessingUnitAnnouncesObserver delegatedExecutionRecipientsAnnouncesStreamConsumer;
+    private ProcessingUnitRoutesObserver delegatedExecutionRecipientsAnnouncesStreamConsumer;
 
     /**
      * IO events pipeline singleton.
      */
     private FactBaseHandler pipelinedProcessSingleton;
 
+    /**
+     * Default maximum waiting time in milliseconds of the received facts treatment end, during the pipeline stop.
+     */
+    public static final long DEFAULT_STOP_TIMEOUT_IN_MILLIS = 5000;
+
+
+    /**
+     * Context providing the configuration of the pipeline steps (e.g IOGatewayConfigurationVariable).
+     */
+    private final IContext configuration;
+
+    /**
+     * Optional executor of the received facts treatments over parallel partitions (ordered per tenant or correlation identifier).
+     * When null, the facts are treated sequentially by the stream consumer thread.
+     */
+    private volatile PartitionedFactsExecutor factsExecutor;
+
+    /**
+     * Recorder of the facts that can't be treated, with their cause.
+     */
+    private UnprocessedFactRecorder unprocessedFacts;
+
     /**
      * Default constructor used by Vertx deployment process.
      *
@@ -67,6 +102,7 @@ public class DomainIOEventsPipeline extends AbstractEndpointPipelineImpl {
      */
     public DomainIOEventsPipeline() throws UnoperationalStateException {
         super();
+        this.configuration = new Context();
     }
 
     /**
@@ -77,6 +113,7 @@ public class DomainIOEventsPipeline extends AbstractEndpointPipelineImpl {
      */
     public DomainIOEventsPipeline(IContext ctx) throws UnoperationalStateException {
         super(ctx);
+        this.configuration = (ctx != null) ? ctx : new Context();
     }
 
     @Override
@@ -87,7 +124,8 @@ public class DomainIOEventsPipeline extends AbstractEndpointPipelineImpl {
     @Override
     protected void startChannelConsumers() {
         // Create entrypoint of delegates presence announces able to dynamically feed the processing unit recipients list
-        delegatedExecutionRecipientsAnnouncesStreamConsumer = new ProcessingUnitAnnouncesObserver(/* Where new routes declaration to manage shall be listened */new Channel(UICapabilityChannel.access_control_pu_presence_announcing.shortName()), featureServiceName(), uisClient,/* Where recipients list changes shall be notified */ new Channel(UICapabilityChannel.access_control_io_gateway_dynamic_routing_plan_evolution.shortName()));
+        delegatedExecutionRecipientsAnnouncesStreamConsumer = new ProcessingUnitRoutesObserver(/* Where new routes declaration to manage shall be listened */new Channel(UICapabilityChannel.access_control_pu_presence_announcing.shortName()), featureServiceName(), uisClient,/* Where recipients list changes shall be notified */ new Channel(UICapabilityChannel.access_control_io_gateway_dynamic_routing_plan_evolution.shortName()),
+                /* Removal of the processing unit instances without presence renewal */ 1000L * intValue(configuration.get(IOGatewayConfigurationVariable.AC_IO_GATEWAY_PU_PRESENCE_TTL_IN_SECONDS), DynamicRoutingTable.DEFAULT_PRESENCE_TTL_IN_SECONDS));
         addTopicConsumer(delegatedExecutionRecipientsAnnouncesStreamConsumer); // Delegate PU announces observer
 
         try {
@@ -99,6 +137,106 @@ public class DomainIOEventsPipeline extends AbstractEndpointPipelineImpl {
         }
     }
 
+    /**
+     * Treat a fact received from the observed stream.
+     * When a consumers parallelism is configured, the treatment is executed by the partition relative to the fact key (tenant, or correlation identifier) ensuring the facts order per key, while the stream consumer thread is blocked only when the maximum quantity of facts in progress is reached.
+     * As the framework acknowledges a fact when this method returns, a fact accepted by a partition is owned by this pipeline until its treatment end: a fact which treatment fails, is not accepted (e.g interrupted consumer, stopped pipeline), or is not started before the pipeline stop, is moved to the Dead Letter Channel (allowing its replay) instead of being treated out of its key order.
+     *
+     * @param event Received fact.
+     */
+    @Override
+    public void notify(Object event) {
+        PartitionedFactsExecutor executor = factsExecutor();
+        if (executor == null) {
+            super.notify(event);
+            return;
+        }
+        try {
+            executor.execute(partitionKey(event), new FactTreatment(event));
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            moveToDeadLetterChannel(event, "Interrupted fact reception before its treatment");
+        } catch (IllegalStateException ise) {
+            // Stopped executor
+            moveToDeadLetterChannel(event, "Stopped pipeline before fact treatment");
+        }
+    }
+
+    /**
+     * Treatment of a received fact by a partition.
+     */
+    private final class FactTreatment implements Runnable {
+        private final Object event;
+
+        private FactTreatment(Object event) {
+            this.event = event;
+        }
+
+        @Override
+        public void run() {
+            try {
+                DomainIOEventsPipeline.super.notify(event);
+            } catch (RuntimeException e) {
+                moveToDeadLetterChannel(event, "Fact treatment failure: " + e.getMessage());
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Move a received fact, which can't be treated, to the Dead Letter Channel.
+     *
+     * @param event Received fact.
+     * @param cause Cause of the move.
+     */
+    private void moveToDeadLetterChannel(Object event, String cause) {
+        if (event instanceof IDescribed) {
+            if (!unprocessedFacts().recordDeadLetter((IDescribed) event, cause))
+                logger.severe("Lost fact (" + ((IDescribed) event).type() + "): " + cause);
+        } else {
+            logger.severe("Unrecordable fact: " + cause);
+        }
+    }
+
+    /**
+     * Get the executor of the parallel treatments, according to the AC_IO_GATEWAY_CONSUMERS_PARALLELISM configuration.
+     *
+     * @return An executor, or null when sequential treatment is configured.
+     */
+    private PartitionedFactsExecutor factsExecutor() {
+        if (factsExecutor == null) {
+            int parallelism = intValue(configuration.get(IOGatewayConfigurationVariable.AC_IO_GATEWAY_CONSUMERS_PARALLELISM), 1);
+            if (parallelism <= 1) return null;
+            synchronized (this) {
+                if (factsExecutor == null) {
+                    factsExecutor = new PartitionedFactsExecutor(featureServiceName(), parallelism,
+                            intValue(configuration.get(IOGatewayConfigurationVariable.AC_IO_GATEWAY_MAX_IN_FLIGHT_FACTS), PartitionedFactsExecutor.DEFAULT_MAX_IN_FLIGHT));
+                }
+            }
+        }
+        return factsExecutor;
+    }
+
+    /**
+     * Get the key defining the facts which shall be treated in order.
+     *
+     * @param event Fact.
+     * @return Tenant identifier or naming, else correlation identifier. Null when none (unordered treatment).
+     */
+    static String partitionKey(Object event) {
+        if (!(event instanceof IDescribed)) return null;
+        IDescribed fact = (IDescribed) event;
+        Collection<Attribute> spec = fact.specification();
+        if (spec != null) {
+            Attribute key = EventSpecification.findSpecificationByName(org.cybnity.application.accesscontrol.ui.api.event.AttributeName.TENANT_ID.name(), spec);
+            if (key == null)
+                key = EventSpecification.findSpecificationByName(TenantRegistrationAttributeName.TENANT_NAMING.name(), spec);
+            if (key == null) key = EventSpecification.findSpecificationByName(Command.CORRELATION_ID, spec);
+            if (key != null && key.value() != null && !key.value().isEmpty()) return key.value();
+        }
+        return null;
+    }
+
     @Override
     public Stream observed() {
         return domainInputChannel;
@@ -123,15 +261,20 @@ public class DomainIOEventsPipeline extends AbstractEndpointPipelineImpl {
     /**
      * Assembly of the events pipeline steps as a singleton responsibility chain and return it.
      *
+     * Synchronized because the facts can be treated by parallel partitions.
+     *
      * @return A usable stateless pipelined process.
      */
     @Override
-    protected FactBaseHandler pipelinedProcess() {
+    protected synchronized FactBaseHandler pipelinedProcess() {
         if (pipelinedProcessSingleton == null) {
             // Build responsibility chain ensuring the command treatment according to the fact conformity
 
+            // Recorder of the unprocessed facts with their cause, allowing their analysis and replay
+            UnprocessedFactRecorder unprocessedFacts = unprocessedFacts();
+
             // FILTER : identify received command as supported by the capability domain
-            APISupportedCapabilitySelectionFilter eventTypeFilteringStep = new APISupportedCapabilitySelectionFilter(observed(), this.delegatedExecutionRecipientsAnnouncesStreamConsumer);
+            APISupportedCapabilitySelectionFilter eventTypeFilteringStep = new APISupportedCapabilitySelectionFilter(observed(), this.delegatedExecutionRecipientsAnnouncesStreamConsumer, unprocessedFacts);
 
             // SECURITY : select optional authenticator ensuring the domain IO security check (e.g based on JWT/SSO control) when required as API no public capability (e.g ACL based on received event type)
             AccessControlChecker securityFilteringStep = new AccessControlChecker(observed(), initSecuredAPICapabilities());
@@ -139,12 +282,78 @@ public class DomainIOEventsPipeline extends AbstractEndpointPipelineImpl {
 
             // PROCESSING : identify processor (e.g local capability processor, or remote proxy to dedicated UI capability and/or application processing unit) to activate as responsible to realize the treatment of the event (e.g command interpretation and business rules execution)
             EventProcessingDispatcher processingAssignmentStep = new EventProcessingDispatcher(observed(), this.delegatedExecutionRecipientsAnnouncesStreamConsumer, uisClient, getMessageMapperProvider());
+            processingAssignmentStep.setUnprocessedFactRecorder(unprocessedFacts);
             securityFilteringStep.setNext(processingAssignmentStep);
             pipelinedProcessSingleton = eventTypeFilteringStep;
         }
         return pipelinedProcessSingleton;
     }
 
+    /**
+     * Get the recorder of the unprocessed facts, allowing their analysis and replay.
+     *
+     * @return A recorder into the Invalid Message Channel and Dead Letter Channel of this pipeline.
+     */
+    private synchronized UnprocessedFactRecorder unprocessedFacts() {
+        if (unprocessedFacts == null) {
+            unprocessedFacts = new UnprocessedFactRecorder(uisClient, getMessageMapperProvider(), observed().name(), domainInvalidMessagesChannel, domainDeadLettersChannel);
+        }
+        return unprocessedFacts;
+    }
+
+    /**
+     * Stop the observation of the received facts, then end the treatment of the facts already received by this pipeline.
+     *
+     * @param stopPromise Promise completed when stopped.
+     * @throws Exception When problem during the stop.
+     */
+    @Override
+    public void stop(Promise<Void> stopPromise) throws Exception {
+        Promise<Void> consumersStopped = Promise.promise();
+        super.stop(consumersStopped);
+        consumersStopped.future().onComplete(ar -> {
+            endReceivedFactsTreatment(DEFAULT_STOP_TIMEOUT_IN_MILLIS);
+            if (ar.succeeded()) {
+                stopPromise.complete();
+            } else {
+                stopPromise.fail(ar.cause());
+            }
+        });
+    }
+
+    /**
+     * End the treatment of the received facts: the facts waiting for a partition are treated, or moved to the Dead Letter Channel when not treated before the timeout.
+     *
+     * @param timeout Maximum waiting time in milliseconds.
+     */
+    void endReceivedFactsTreatment(long timeout) {
+        PartitionedFactsExecutor executor = this.factsExecutor;
+        if (executor != null) {
+            // Treatments end
+            for (Runnable notStarted : executor.stop(timeout)) {
+                if (notStarted instanceof FactTreatment)
+                    moveToDeadLetterChannel(((FactTreatment) notStarted).event, "Stopped pipeline before fact treatment");
+            }
+        }
+    }
+
+    /**
+     * Read an integer configuration value.
+     *
+     * @param value        Optional value.
+     * @param defaultValue Value returned when undefined or invalid value.
+     * @return A value.
+     */
+    private static int intValue(String value, int defaultValue) {
+        if (value == null || value.isEmpty()) return defaultValue;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException nfe) {
+            logger.warning("Invalid gateway configuration value (" + value + "), default value used: " + defaultValue);
+            return defaultValue;
+        }
+    }
+
     /**
      * Define the static referential of command or domain event types that require security check.
      * This method defines the referential facts under security check (as equals to secured UI capabilities).
@@ -230,7 +439,7 @@ public class DomainIOEventsPipeline extends AbstractEndpointPipelineImpl {
         Channel domainIOGateway = proxyRoutingPlanChangesChannel();
 
         // Publish event to channel
-        uisClient.publish(requestEvent, domainIOGateway, new MessageMapperFactory().getMapper(IDescribed.class, String.class));
+        uisClient.publish(requestEvent, domainIOGateway, getMessageMapperProvider().getMapper(IDescribed.class, String.class));
     }
 
     /**
@@ -0,0 +1,285 @@
+package org.cybnity.application.accesscontrol.domain.system.gateway.service;
+
+import org.cybnity.framework.application.vertx.common.routing.RouteRecipientList;
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.Stream;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Copy-on-write holder of the routing plan.
+ * Each change of the dynamic recipients list (e.g processing unit presence announce) is published as a new immutable snapshot, swapped atomically.
+ * The readers only read the current snapshot reference (volatile read).
+ * Each instance of a processing unit is retained as a recipient of its routes, and is removed at its own end of presence, or at the first refresh after the expiration of its presence (e.g crashed instance, or instance replaced by a new deployment).
+ * The instances of a processing unit share its entrypoint stream, so one stream is routed per event type: the stream of the last announced instance when several processing units are present for an event type.
+ */
+public class DynamicRoutingTable implements IRoutingTableProvider {
+
+    /**
+     * Technical logging
+     */
+    private static final Logger logger = Logger.getLogger(DynamicRoutingTable.class.getName());
+
+    /**
+     * Default time-to-live (in seconds) of an announced presence, greater than the periodic renewal of the presence by the processing units.
+     */
+    public static final int DEFAULT_PRESENCE_TTL_IN_SECONDS = 30;
+
+    /**
+     * Maximum quantity of read attempts of a recipients list concurrently modified.
+     */
+    private static final int MAX_COPY_ATTEMPTS = 3;
+
+    private volatile RoutingTableSnapshot current = RoutingTableSnapshot.EMPTY;
+
+    /**
+     * Counter of the published versions.
+     */
+    private final AtomicLong versions = new AtomicLong();
+
+    private final long presenceTTLInMillis;
+
+    /**
+     * Key prefix of a recipient identified by its announcing processing unit instance.
+     */
+    private static final String ANNOUNCED_KEY_PREFIX = "instance:";
+
+    /**
+     * Key prefix of a recipient only known from the recipients list, identified by its stream name.
+     */
+    private static final String UNANNOUNCED_KEY_PREFIX = "route:";
+
+    /**
+     * Recipients per recipient key (announcing instance or unannounced stream), per event type name.
+     */
+    private final Map<String, Map<String, ProcessingUnitRecipient>> recipients = new HashMap<>();
+
+    /**
+     * Recipient path per event type name, read from the recipients list during the last refresh.
+     */
+    private Map<String, String> designated = Collections.emptyMap();
+
+    /**
+     * Default constructor of processing units which presence never expires.
+     */
+    public DynamicRoutingTable() {
+        this(0);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param presenceTTLInMillis Time-to-live of an announced presence, after which the processing unit instance is removed from the routing plan. When lower than 1, the presences never expire.
+     */
+    public DynamicRoutingTable(long presenceTTLInMillis) {
+        this.presenceTTLInMillis = presenceTTLInMillis;
+    }
+
+    @Override
+    public RoutingTableSnapshot routingTable() {
+        return current;
+    }
+
+    /**
+     * Get the quantity of routing plan versions published since the start.
+     *
+     * @return A quantity.
+     */
+    public long versions() {
+        return versions.get();
+    }
+
+    /**
+     * Publish a new version of the routing plan from a recipients list.
+     * The streams of the unchanged routes are reused from the previous version.
+     *
+     * @param source Recipients list to copy. When null, an empty routing plan is published.
+     * @return The published snapshot, or the current one when the recipients list could not be read.
+     */
+    public RoutingTableSnapshot refresh(RouteRecipientList source) {
+        return refresh(source, null);
+    }
+
+    /**
+     * Publish a new version of the routing plan from a recipients list updated by a presence announce.
+     * The recipients are identified per announcing processing unit instance (service name and instance identifier), so that several instances of a same processing unit (e.g consumers of a same stream) are retained.
+     * When the announce is relative to an available instance, the routes newly designated by the recipients list and the routes of the other instances of its processing unit are attributed to it.
+     * When the announce is relative to an unavailable instance, only the routes of this instance are removed.
+     * The instances which presence is expired are removed.
+     *
+     * @param source   Recipients list to copy. When null, an empty routing plan is published.
+     * @param announce Optional presence announce having updated the recipients list.
+     * @return The published snapshot, or the current one when the recipients list could not be read.
+     */
+    public synchronized RoutingTableSnapshot refresh(RouteRecipientList source, PresenceAnnounce announce) {
+        Map<String, String> paths = read(source);
+        if (paths == null) return current;
+        long now = System.currentTimeMillis();
+        Map<String, Stream> knownStreams = new HashMap<>();
+        for (Map<String, ProcessingUnitRecipient> group : recipients.values()) {
+            for (ProcessingUnitRecipient recipient : group.values()) knownStreams.put(recipient.stream().name(), recipient.stream());
+        }
+
+        if (announce != null) {
+            String key = ANNOUNCED_KEY_PREFIX + announce.identity();
+            if (announce.isAvailable()) {
+                // Routes of the processing unit (shared by all its instances) and routes designated by this announce
+                Map<String, Stream> announcedRoutes = new HashMap<>();
+                for (Map.Entry<String, Map<String, ProcessingUnitRecipient>> group : recipients.entrySet()) {
+                    for (ProcessingUnitRecipient recipient : group.getValue().values()) {
+                        if (announce.serviceName().equals(recipient.serviceName()))
+                            announcedRoutes.put(group.getKey(), recipient.stream());
+                    }
+                }
+                for (Map.Entry<String, String> route : paths.entrySet()) {
+                    if (!route.getValue().equals(designated.get(route.getKey())))
+                        announcedRoutes.put(route.getKey(), knownStreams.computeIfAbsent(route.getValue(), Stream::new));
+                }
+                // Renew the presence of the announcing instance
+                for (Map.Entry<String, Stream> route : announcedRoutes.entrySet()) {
+                    recipients.computeIfAbsent(route.getKey(), k -> new LinkedHashMap<>()).put(key, new ProcessingUnitRecipient(route.getValue(), announce.serviceName(), announce.instanceId(), now));
+                }
+            } else {
+                // End of presence of the instance, the other instances of its processing unit are retained
+                for (Map<String, ProcessingUnitRecipient> group : recipients.values()) {
+                    group.remove(key);
+                }
+            }
+        }
+
+        // Routes of the recipients list without identified announce, retained only while none processing unit is announced for their event type
+        Iterator<Map.Entry<String, Map<String, ProcessingUnitRecipient>>> it = recipients.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Map<String, ProcessingUnitRecipient>> group = it.next();
+            // Instances which presence is expired (e.g crashed without end of presence announce)
+            group.getValue().values().removeIf(recipient -> !recipient.isAlive(now, presenceTTLInMillis));
+            String path = paths.get(group.getKey());
+            boolean announced = hasAnnouncedRecipient(group.getValue());
+            group.getValue().values().removeIf(recipient -> recipient.serviceName() == null && (announced || !recipient.stream().name().equals(path)));
+            if (group.getValue().isEmpty()) it.remove();
+        }
+        for (Map.Entry<String, String> route : paths.entrySet()) {
+            Map<String, ProcessingUnitRecipient> group = recipients.computeIfAbsent(route.getKey(), k -> new LinkedHashMap<>());
+            if (!hasAnnouncedRecipient(group))
+                group.computeIfAbsent(UNANNOUNCED_KEY_PREFIX + route.getValue(), k -> new ProcessingUnitRecipient(knownStreams.computeIfAbsent(route.getValue(), Stream::new), null, null, now));
+        }
+        designated = paths;
+
+        Map<String, Stream> routes = new HashMap<>();
+        Map<String, List<ProcessingUnitRecipient>> present = new HashMap<>();
+        for (Map.Entry<String, Map<String, ProcessingUnitRecipient>> group : recipients.entrySet()) {
+            ProcessingUnitRecipient last = null;
+            for (ProcessingUnitRecipient recipient : group.getValue().values()) {
+                if (last == null || recipient.announcedAt() >= last.announcedAt()) last = recipient;
+            }
+            if (last == null) continue;
+            routes.put(group.getKey(), last.stream());
+            present.put(group.getKey(), new ArrayList<>(group.getValue().values()));
+        }
+        RoutingTableSnapshot snapshot = new RoutingTableSnapshot(routes, present, versions.incrementAndGet());
+        current = snapshot;
+        return snapshot;
+    }
+
+    private static boolean hasAnnouncedRecipient(Map<String, ProcessingUnitRecipient> group) {
+        for (ProcessingUnitRecipient recipient : group.values()) {
+            if (recipient.serviceName() != null) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Copy the routes of a recipients list.
+     *
+     * @param source Recipients list.
+     * @return Recipient path per event type name (empty when null source), or null when the recipients list could not be read.
+     */
+    private Map<String, String> read(RouteRecipientList source) {
+        Map<String, String> paths = new HashMap<>();
+        if (source == null) return paths;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                paths.clear();
+                for (String eventTypeName : source.supportedEventTypeNames()) {
+                    String path = source.recipient(eventTypeName);
+                    if (path != null) paths.put(eventTypeName, path);
+                }
+                return paths;
+            } catch (ConcurrentModificationException cme) {
+                if (attempt >= MAX_COPY_ATTEMPTS) {
+                    logger.log(Level.WARNING, "Recipients list concurrently modified, routing plan not refreshed (version " + current.version() + " retained)");
+                    return null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Presence announce of a processing unit instance.
+     */
+    public static final class PresenceAnnounce {
+        private final String serviceName;
+        private final String instanceId;
+        private final boolean available;
+
+        /**
+         * Constructor of an announce without identified instance (all the instances of the processing unit are considered as one).
+         *
+         * @param serviceName Mandatory name of the announcing processing unit.
+         * @param available   True when the processing unit is available, false when its presence is ended.
+         * @throws IllegalArgumentException When mandatory parameter is missing.
+         */
+        public PresenceAnnounce(String serviceName, boolean available) throws IllegalArgumentException {
+            this(serviceName, null, available);
+        }
+
+        /**
+         * Default constructor.
+         *
+         * @param serviceName Mandatory name of the announcing processing unit.
+         * @param instanceId  Optional identifier of the announcing instance of the processing unit.
+         * @param available   True when the instance is available, false when its presence is ended.
+         * @throws IllegalArgumentException When mandatory parameter is missing.
+         */
+        public PresenceAnnounce(String serviceName, String instanceId, boolean available) throws IllegalArgumentException {
+            if (serviceName == null || serviceName.isEmpty())
+                throw new IllegalArgumentException("serviceName parameter is required!");
+            this.serviceName = serviceName;
+            this.instanceId = (instanceId != null && !instanceId.isEmpty()) ? instanceId : null;
+            this.available = available;
+        }
+
+        public String serviceName() {
+            return serviceName;
+        }
+
+        public String instanceId() {
+            return instanceId;
+        }
+
+        /**
+         * @return Identity of the announcing instance.
+         */
+        public String identity() {
+            return identityOf(serviceName, instanceId);
+        }
+
+        public boolean isAvailable() {
+            return available;
+        }
+
+        /**
+         * Get the identity of a processing unit instance.
+         *
+         * @param serviceName Optional name of the processing unit.
+         * @param instanceId  Optional identifier of the instance.
+         * @return The service name completed by the instance identifier when defined, or null when none service name.
+         */
+        static String identityOf(String serviceName, String instanceId) {
+            if (serviceName == null) return null;
+            return (instanceId != null) ? serviceName + "#" + instanceId : serviceName;
+        }
+    }
+}
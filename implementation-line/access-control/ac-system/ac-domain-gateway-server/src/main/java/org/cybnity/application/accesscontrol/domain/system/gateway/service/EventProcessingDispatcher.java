@@ -1,5 +1,6 @@
 package org.cybnity.application.accesscontrol.domain.system.gateway.service;
 
+import org.cybnity.application.accesscontrol.translator.ui.api.UnprocessedFactRecorder;
 import org.cybnity.framework.application.vertx.common.routing.ProcessingUnitAnnouncesObserver;
 import org.cybnity.framework.application.vertx.common.service.FactBaseHandler;
 import org.cybnity.framework.domain.ConformityViolation;
@@ -31,6 +32,11 @@ public class EventProcessingDispatcher extends FactBaseHandler {
      */
     private final IMessageMapperProvider mapperFactory;
 
+    /**
+     * Long-lived delegate of the facts processing, reused for all the facts.
+     */
+    private final ProcessingUnitDelegation processingDelegation;
+
     /**
      * Default constructor.
      *
@@ -51,13 +57,23 @@ public class EventProcessingDispatcher extends FactBaseHandler {
         this.dynamicRecipientsListManager = dynamicRecipientsListManager;
         this.uisClient = uisClient;
         this.mapperFactory = mapperFactory;
+        this.processingDelegation = new RemoteProcessingUnitExecutor(dynamicRecipientsListManager, uisClient, mapperFactory);
+    }
+
+    /**
+     * Define the recorder of the facts that can't be delivered to a processing unit (Dead Letter Channel).
+     *
+     * @param unprocessedFacts Optional recorder. When null, the undelivered facts are only logged.
+     */
+    public void setUnprocessedFactRecorder(UnprocessedFactRecorder unprocessedFacts) {
+        if (processingDelegation instanceof RemoteProcessingUnitExecutor)
+            ((RemoteProcessingUnitExecutor) processingDelegation).setUnprocessedFactRecorder(unprocessedFacts);
     }
 
     @Override
     public boolean process(IDescribed fact) {
         if (canHandle(fact)) {
             // Event type able to be processed by a type of PU
-            ProcessingUnitDelegation processingDelegation = new RemoteProcessingUnitExecutor(dynamicRecipientsListManager, uisClient, mapperFactory);
             // Execute the delegation process supporting the event treatment
             processingDelegation.process(fact);
             return true;
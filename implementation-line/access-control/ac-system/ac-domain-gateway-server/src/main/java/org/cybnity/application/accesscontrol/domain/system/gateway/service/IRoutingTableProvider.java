@@ -0,0 +1,14 @@
+package org.cybnity.application.accesscontrol.domain.system.gateway.service;
+
+/**
+ * Provider of the current routing plan version, usable without lock by the pipeline steps (e.g filter, dispatcher).
+ */
+public interface IRoutingTableProvider {
+
+    /**
+     * Get the current version of the routing plan.
+     *
+     * @return An immutable snapshot.
+     */
+    public RoutingTableSnapshot routingTable();
+}
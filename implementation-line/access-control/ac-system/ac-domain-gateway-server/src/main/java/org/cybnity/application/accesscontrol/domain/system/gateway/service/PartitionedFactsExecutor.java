@@ -0,0 +1,168 @@
+package org.cybnity.application.accesscontrol.domain.system.gateway.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Executor of the facts treatments over several partitions, each one executed by a dedicated thread.
+ * The treatments relative to a same key (e.g tenant, correlation identifier) are executed according to their submission order by the same partition, while the independent keys progress in parallel.
+ * The quantity of facts in progress (waiting or executed) is bounded: when reached, the submitter is blocked until a treatment end (backpressure on the stream consumer).
+ * At stop, the treatments which have not been started before the timeout are not executed and are returned to the caller (e.g for their move to a Dead Letter Channel).
+ */
+public class PartitionedFactsExecutor {
+
+    /**
+     * Default maximum quantity of facts in progress.
+     * Kept low because the facts in progress are already acknowledged by the stream consumer, and are lost by a crash of the process.
+     */
+    public static final int DEFAULT_MAX_IN_FLIGHT = 32;
+
+    /**
+     * Technical logging
+     */
+    private static final Logger logger = Logger.getLogger(PartitionedFactsExecutor.class.getName());
+
+    private final List<BlockingQueue<Runnable>> partitions;
+    private final List<Thread> workers;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final AtomicInteger roundRobin = new AtomicInteger();
+    private volatile boolean running = true;
+
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    /**
+     * Default constructor starting the partitions threads.
+     *
+     * @param name        Mandatory name prefix of the partitions threads.
+     * @param partitions  Quantity of partitions. When lower than 1, the available processors quantity is applied.
+     * @param maxInFlight Maximum quantity of facts in progress. When lower than 1, DEFAULT_MAX_IN_FLIGHT is applied.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    public PartitionedFactsExecutor(String name, int partitions, int maxInFlight) throws IllegalArgumentException {
+        if (name == null || name.isEmpty()) throw new IllegalArgumentException("name parameter is required!");
+        int count = (partitions > 0) ? partitions : Runtime.getRuntime().availableProcessors();
+        this.maxInFlight = (maxInFlight > 0) ? maxInFlight : DEFAULT_MAX_IN_FLIGHT;
+        this.inFlight = new Semaphore(this.maxInFlight);
+        this.partitions = new ArrayList<>(count);
+        this.workers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>();
+            this.partitions.add(queue);
+            Thread worker = new Thread(() -> run(queue), name + "-partition-" + i);
+            worker.setDaemon(true);
+            this.workers.add(worker);
+            worker.start();
+        }
+    }
+
+    /**
+     * Submit a fact treatment.
+     *
+     * @param key       Optional ordering key. When null, the treatment is assigned to any partition (without ordering guarantee).
+     * @param treatment Mandatory treatment.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     * @throws IllegalStateException    When this executor is stopped (including during the wait of capacity), and the treatment is not accepted.
+     * @throws InterruptedException     When interrupted during the wait of capacity, and the treatment is not accepted.
+     */
+    public void execute(String key, Runnable treatment) throws IllegalArgumentException, IllegalStateException, InterruptedException {
+        if (treatment == null) throw new IllegalArgumentException("treatment parameter is required!");
+        int index = (key != null) ? Math.floorMod(key.hashCode(), partitions.size()) : Math.floorMod(roundRobin.getAndIncrement(), partitions.size());
+        // Wait for capacity
+        while (!inFlight.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+            if (!running) throw new IllegalStateException("Stopped executor!");
+        }
+        if (!running) {
+            inFlight.release();
+            throw new IllegalStateException("Stopped executor!");
+        }
+        BlockingQueue<Runnable> partition = partitions.get(index);
+        partition.add(treatment);
+        if (!running && partition.remove(treatment)) {
+            // Not accepted treatment, that could not be executed or returned by the stop
+            inFlight.release();
+            throw new IllegalStateException("Stopped executor!");
+        }
+    }
+
+    private void run(BlockingQueue<Runnable> queue) {
+        while (running || !queue.isEmpty()) {
+            try {
+                Runnable treatment = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (treatment == null) continue;
+                try {
+                    treatment.run();
+                    executed.increment();
+                } catch (Exception e) {
+                    failed.increment();
+                    logger.log(Level.SEVERE, "Fact treatment failure!", e);
+                } finally {
+                    inFlight.release();
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Stop the facts collect and finish the submitted treatments.
+     *
+     * @param timeout Maximum waiting time in milliseconds of the submitted treatments end.
+     * @return The submitted treatments which have not been started before the timeout, and which will not be executed (in submission order per partition).
+     */
+    public List<Runnable> stop(long timeout) {
+        running = false;
+        long deadline = System.currentTimeMillis() + Math.max(timeout, 1);
+        try {
+            for (Thread worker : workers) {
+                worker.join(Math.max(deadline - System.currentTimeMillis(), 1));
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+        List<Runnable> notExecuted = new ArrayList<>();
+        for (BlockingQueue<Runnable> partition : partitions) {
+            int count = partition.drainTo(notExecuted);
+            if (count > 0) inFlight.release(count);
+        }
+        return notExecuted;
+    }
+
+    /**
+     * @return Quantity of partitions.
+     */
+    public int partitions() {
+        return partitions.size();
+    }
+
+    /**
+     * @return Quantity of facts waiting or in treatment.
+     */
+    public int inFlight() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    public long executedFacts() {
+        return executed.sum();
+    }
+
+    public long failedFacts() {
+        return failed.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "partitions=" + partitions() + ", inFlight=" + inFlight() + ", executed=" + executedFacts() + ", failed=" + failedFacts();
+    }
+}
@@ -0,0 +1,83 @@
+package org.cybnity.application.accesscontrol.domain.system.gateway.service;
+
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.Stream;
+
+/**
+ * Processing unit instance able to treat an event type, with the date of its last presence announce.
+ * An instance is immutable, and is replaced on each announce of its processing unit instance.
+ */
+public final class ProcessingUnitRecipient {
+
+    private final Stream stream;
+
+    /**
+     * Name of the announcing processing unit. Null when the recipient is only known from the recipients list (without identified announce).
+     */
+    private final String serviceName;
+
+    /**
+     * Identifier of the announcing instance of the processing unit. Null when the processing unit does not identify its instances.
+     */
+    private final String instanceId;
+
+    private final long announcedAt;
+
+    /**
+     * Default constructor.
+     *
+     * @param stream      Mandatory entrypoint of the processing unit.
+     * @param serviceName Optional name of the announcing processing unit.
+     * @param instanceId  Optional identifier of the announcing instance of the processing unit.
+     * @param announcedAt Time of the announce (in milliseconds).
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    public ProcessingUnitRecipient(Stream stream, String serviceName, String instanceId, long announcedAt) throws IllegalArgumentException {
+        if (stream == null) throw new IllegalArgumentException("stream parameter is required!");
+        this.stream = stream;
+        this.serviceName = serviceName;
+        this.instanceId = instanceId;
+        this.announcedAt = announcedAt;
+    }
+
+    public Stream stream() {
+        return stream;
+    }
+
+    public String serviceName() {
+        return serviceName;
+    }
+
+    public String instanceId() {
+        return instanceId;
+    }
+
+    /**
+     * Get the identity of the announcing processing unit instance.
+     *
+     * @return The service name completed by the instance identifier when known, or null when the recipient is only known from the recipients list.
+     */
+    public String identity() {
+        return DynamicRoutingTable.PresenceAnnounce.identityOf(serviceName, instanceId);
+    }
+
+    public long announcedAt() {
+        return announcedAt;
+    }
+
+    /**
+     * Is the presence of this recipient not expired?
+     * A recipient without identified announce never expires.
+     *
+     * @param now                 Current time in milliseconds.
+     * @param presenceTTLInMillis Presence time-to-live. When lower than 1, the presence never expires.
+     * @return True when alive.
+     */
+    boolean isAlive(long now, long presenceTTLInMillis) {
+        return serviceName == null || presenceTTLInMillis <= 0 || (now - announcedAt) <= presenceTTLInMillis;
+    }
+
+    @Override
+    public String toString() {
+        return stream.name() + "{serviceName=" + serviceName + ", instanceId=" + instanceId + ", announcedAt=" + announcedAt + "}";
+    }
+}
@@ -0,0 +1,95 @@
+package org.cybnity.application.accesscontrol.domain.system.gateway.service;
+
+import org.cybnity.application.accesscontrol.translator.ui.api.event.ProcessingUnitLoadAttributeName;
+import org.cybnity.framework.application.vertx.common.routing.ProcessingUnitAnnouncesObserver;
+import org.cybnity.framework.domain.Attribute;
+import org.cybnity.framework.domain.IPresenceObservability;
+import org.cybnity.framework.domain.event.EventSpecification;
+import org.cybnity.framework.domain.event.ProcessingUnitPresenceAnnounced;
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.Channel;
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.UISAdapter;
+
+import java.util.Collection;
+
+/**
+ * Listener of the processing units' presence announces, which publishes an immutable version of the routing plan after each announce treatment.
+ * The announces can include the optional identifier of the announcing processing unit instance (ProcessingUnitLoadAttributeName), so that each instance is retained until its own end of presence.
+ */
+public class ProcessingUnitRoutesObserver extends ProcessingUnitAnnouncesObserver implements IRoutingTableProvider {
+
+    /**
+     * Copy-on-write routing plan fed from the recipients list of this observer.
+     */
+    private final DynamicRoutingTable routingTable;
+
+    /**
+     * Default constructor, with processing units which presence never expires.
+     *
+     * @param observed                  Mandatory channel where the presence announces are listened.
+     * @param serviceName               Mandatory name of the service owning the routing plan.
+     * @param uisClient                 Mandatory operational client connected to UIS.
+     * @param routingPlanChangesChannel Mandatory channel where the recipients list changes are notified.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    public ProcessingUnitRoutesObserver(Channel observed, String serviceName, UISAdapter uisClient, Channel routingPlanChangesChannel) throws IllegalArgumentException {
+        this(observed, serviceName, uisClient, routingPlanChangesChannel, 0);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param observed                  Mandatory channel where the presence announces are listened.
+     * @param serviceName               Mandatory name of the service owning the routing plan.
+     * @param uisClient                 Mandatory operational client connected to UIS.
+     * @param routingPlanChangesChannel Mandatory channel where the recipients list changes are notified.
+     * @param presenceTTLInMillis       Time-to-live of an announced presence, after which the processing unit instance is removed from the routing plan. When lower than 1, the presences never expire.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    public ProcessingUnitRoutesObserver(Channel observed, String serviceName, UISAdapter uisClient, Channel routingPlanChangesChannel, long presenceTTLInMillis) throws IllegalArgumentException {
+        super(observed, serviceName, uisClient, routingPlanChangesChannel);
+        this.routingTable = new DynamicRoutingTable(presenceTTLInMillis);
+        this.routingTable.refresh(delegateDestinations());
+    }
+
+    @Override
+    public void notify(Object event) {
+        try {
+            // Update of the recipients list
+            super.notify(event);
+        } finally {
+            // Publish the routing plan version including the announced changes
+            routingTable.refresh(delegateDestinations(), announceOf(event));
+        }
+    }
+
+    /**
+     * Read the presence of an announcing processing unit instance.
+     *
+     * @param event Received event.
+     * @return An announce, or null when the event is not a processing unit presence announce.
+     */
+    static DynamicRoutingTable.PresenceAnnounce announceOf(Object event) {
+        if (!(event instanceof ProcessingUnitPresenceAnnounced)) return null;
+        Collection<Attribute> spec = ((ProcessingUnitPresenceAnnounced) event).specification();
+        Attribute serviceName = EventSpecification.findSpecificationByName(ProcessingUnitPresenceAnnounced.SpecificationAttribute.SERVICE_NAME.name(), spec);
+        if (serviceName == null || serviceName.value() == null || serviceName.value().isEmpty()) return null;
+        Attribute status = EventSpecification.findSpecificationByName(ProcessingUnitPresenceAnnounced.SpecificationAttribute.PRESENCE_STATUS.name(), spec);
+        boolean available = status == null || IPresenceObservability.PresenceState.AVAILABLE.name().equals(status.value());
+        Attribute instance = EventSpecification.findSpecificationByName(ProcessingUnitLoadAttributeName.PROCESSING_UNIT_INSTANCE.name(), spec);
+        return new DynamicRoutingTable.PresenceAnnounce(serviceName.value(), (instance != null) ? instance.value() : null, available);
+    }
+
+    @Override
+    public RoutingTableSnapshot routingTable() {
+        return routingTable.routingTable();
+    }
+
+    /**
+     * Get the quantity of routing plan versions published since the start.
+     *
+     * @return A quantity.
+     */
+    public long routingTableVersions() {
+        return routingTable.versions();
+    }
+}
@@ -1,6 +1,7 @@
 package org.cybnity.application.accesscontrol.domain.system.gateway.service;
 
 import io.lettuce.core.StreamMessage;
+import org.cybnity.application.accesscontrol.translator.ui.api.UnprocessedFactRecorder;
 import org.cybnity.framework.UnoperationalStateException;
 import org.cybnity.framework.application.vertx.common.routing.IEventProcessingManager;
 import org.cybnity.framework.application.vertx.common.routing.RouteRecipientList;
@@ -9,15 +10,20 @@ import org.cybnity.framework.domain.ConformityViolation;
 import org.cybnity.framework.domain.IDescribed;
 import org.cybnity.infrastructure.technical.message_bus.adapter.api.IMessageMapperProvider;
 import org.cybnity.infrastructure.technical.message_bus.adapter.api.MappingException;
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.MessageMapper;
 import org.cybnity.infrastructure.technical.message_bus.adapter.api.Stream;
 import org.cybnity.infrastructure.technical.message_bus.adapter.api.UISAdapter;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Processor ensuring a transfer of event to process (as a Proxy delegate) the treatment relative to an event.
  * For example, can be responsible to forward an event to a remote UI capability over a middleware stream.
+ * An instance is long-lived and reused for all the facts: the destination streams are cached per recipient path, and the mappers are cached per fact type and thread (a mapper is stateful).
  */
 public class RemoteProcessingUnitExecutor implements ProcessingUnitDelegation {
 
@@ -35,6 +41,21 @@ public class RemoteProcessingUnitExecutor implements ProcessingUnitDelegation {
      */
     private final IMessageMapperProvider mapperFactory;
 
+    /**
+     * Destination streams per recipient path, when the recipients provider does not publish a routing table.
+     */
+    private final Map<String, Stream> streams = new ConcurrentHashMap<>();
+
+    /**
+     * Mappers per fact type, owned by each processing thread.
+     */
+    private final ThreadLocal<Map<Class<?>, MessageMapper>> mappers = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * Optional recorder of the facts that can't be delivered to a processing unit, into the Dead Letter Channel.
+     */
+    private volatile UnprocessedFactRecorder unprocessedFacts;
+
     /**
      * Default constructor.
      *
@@ -62,23 +83,24 @@ public class RemoteProcessingUnitExecutor implements ProcessingUnitDelegation {
             String eventTypeName = factEvent.type().value();
             // Identify existing path (e.g UIS stream recipient dynamically updated according to the started remote IService providers) to the remote service component as able to treat the event
             // based on DynamicRecipientList pattern implementation according to the fact event type name
-            RouteRecipientList destinationMap = recipientsProvider.delegateDestinations();
-            String PUEntrypointChannel = destinationMap.recipient(eventTypeName);
-            if (PUEntrypointChannel != null) {
+            Stream domainEndpoint = destinationOf(eventTypeName);
+            if (domainEndpoint != null) {
                 try {
-                    Stream domainEndpoint = new Stream(/* Detected capability domain path based on entrypoint supported fact event type */ destinationMap.recipient(eventTypeName));
-
-                    String messageId = uisClient.append(factEvent, domainEndpoint /* Specific stream to feed */, /* Get a mapper supporting the event type and message */ mapperFactory.getMapper(factEvent.getClass(), StreamMessage.class));
+                    String messageId = uisClient.append(factEvent, domainEndpoint /* Specific stream to feed */, /* Get a mapper supporting the event type and message */ mapperOf(factEvent));
                     logger.log(Level.FINE, eventTypeName + " fact event (messageId: " + messageId + ") appended to '" + domainEndpoint.name() + "' capability domain entrypoint");
                     // --- process delegated to capability domain and eventual response managed by the UIS consumers ---
                 } catch (MappingException jme) {
                     logger.log(Level.SEVERE, ConformityViolation.UNPROCESSABLE_EVENT_TYPE.name() + ": invalid fact type (" + eventTypeName + ") mapped for processing delegation attempt!");
+                    moveToDeadLetterChannel(factEvent, ConformityViolation.UNPROCESSABLE_EVENT_TYPE.name() + ": " + jme.getMessage());
                 } catch (UnoperationalStateException e) {
                     logger.log(Level.SEVERE, e.getMessage());
+                    moveToDeadLetterChannel(factEvent, e.getMessage());
                 }
             } else {
                 // None processing unit is defined as able to perform the event treatment (e.g non started and announced into the dynamic routing map)
-                logger.log(Level.SEVERE, ConformityViolation.UNPROCESSABLE_EVENT_TYPE.name() + ": none processing unit destination is currently dynamically identified as able to treat the fact event (" + eventTypeName + ")!");
+                String cause = ConformityViolation.UNPROCESSABLE_EVENT_TYPE.name() + ": none processing unit destination is currently dynamically identified as able to treat the fact event (" + eventTypeName + ")!";
+                logger.log(Level.SEVERE, cause);
+                moveToDeadLetterChannel(factEvent, cause);
             }
         } else {
             // Impossible to identify the processing unit from undefined/unknown event type
@@ -87,4 +109,44 @@ public class RemoteProcessingUnitExecutor implements ProcessingUnitDelegation {
         }
     }
 
+    /**
+     * Define the recorder of the facts that can't be delivered to a processing unit.
+     *
+     * @param unprocessedFacts Optional recorder. When null, the undelivered facts are only logged.
+     */
+    public void setUnprocessedFactRecorder(UnprocessedFactRecorder unprocessedFacts) {
+        this.unprocessedFacts = unprocessedFacts;
+    }
+
+    private void moveToDeadLetterChannel(IDescribed fact, String cause) {
+        UnprocessedFactRecorder recorder = this.unprocessedFacts;
+        if (recorder != null) recorder.recordDeadLetter(fact, cause);
+    }
+
+    /**
+     * Identify the stream of the processing unit able to treat an event type.
+     *
+     * @param eventTypeName Mandatory event type name.
+     * @return Detected capability domain path based on entrypoint supported fact event type, or null when none.
+     */
+    private Stream destinationOf(String eventTypeName) {
+        if (recipientsProvider instanceof IRoutingTableProvider) {
+            // Lock-free read of the current routing plan version
+            return ((IRoutingTableProvider) recipientsProvider).routingTable().stream(eventTypeName);
+        }
+        RouteRecipientList destinationMap = recipientsProvider.delegateDestinations();
+        String PUEntrypointChannel = destinationMap.recipient(eventTypeName);
+        return (PUEntrypointChannel != null) ? streams.computeIfAbsent(PUEntrypointChannel, Stream::new) : null;
+    }
+
+    /**
+     * Get a mapper of the fact type owned by the current thread.
+     *
+     * @param fact Mandatory fact.
+     * @return A mapper to stream message.
+     */
+    private MessageMapper mapperOf(IDescribed fact) {
+        return mappers.get().computeIfAbsent(fact.getClass(), type -> mapperFactory.getMapper(type, StreamMessage.class));
+    }
+
 }
@@ -0,0 +1,101 @@
+package org.cybnity.application.accesscontrol.domain.system.gateway.service;
+
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.Stream;
+
+import java.util.*;
+
+/**
+ * Immutable version of the dynamic routing plan, defining the processing unit stream able to treat each supported event type.
+ * A snapshot is never modified after its publication, so it can be read by any thread without lock and without allocation.
+ * The instances of a processing unit consume the same stream (the balancing between them is ensured by their consumer group), so only one stream is routed per event type.
+ */
+public final class RoutingTableSnapshot {
+
+    /**
+     * Routing plan without any route.
+     */
+    public static final RoutingTableSnapshot EMPTY = new RoutingTableSnapshot(Collections.emptyMap(), Collections.emptyMap(), 0);
+
+    /**
+     * Destination stream per event type name.
+     */
+    private final Map<String, Stream> routes;
+
+    /**
+     * Present processing unit instances per event type name.
+     */
+    private final Map<String, List<ProcessingUnitRecipient>> recipients;
+
+    /**
+     * Version of the routing plan.
+     */
+    private final long version;
+
+    /**
+     * Default constructor.
+     *
+     * @param routes     Mandatory destination streams per event type name (copied).
+     * @param recipients Mandatory processing unit instances per event type name (copied).
+     * @param version    Version of this routing plan.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    RoutingTableSnapshot(Map<String, Stream> routes, Map<String, List<ProcessingUnitRecipient>> recipients, long version) throws IllegalArgumentException {
+        if (routes == null) throw new IllegalArgumentException("routes parameter is required!");
+        if (recipients == null) throw new IllegalArgumentException("recipients parameter is required!");
+        this.routes = Collections.unmodifiableMap(new HashMap<>(routes));
+        Map<String, List<ProcessingUnitRecipient>> copy = new HashMap<>();
+        for (Map.Entry<String, List<ProcessingUnitRecipient>> entry : recipients.entrySet()) {
+            if (entry.getValue() != null && !entry.getValue().isEmpty())
+                copy.put(entry.getKey(), Collections.unmodifiableList(new ArrayList<>(entry.getValue())));
+        }
+        this.recipients = Collections.unmodifiableMap(copy);
+        this.version = version;
+    }
+
+    /**
+     * Is an event type supported by a processing unit?
+     *
+     * @param eventTypeName Event type name.
+     * @return True when a route is defined.
+     */
+    public boolean supports(String eventTypeName) {
+        return eventTypeName != null && routes.containsKey(eventTypeName);
+    }
+
+    /**
+     * Get the stream of the processing unit able to treat an event type.
+     *
+     * @param eventTypeName Event type name.
+     * @return A stream, or null when none route is defined.
+     */
+    public Stream stream(String eventTypeName) {
+        return (eventTypeName != null) ? routes.get(eventTypeName) : null;
+    }
+
+    /**
+     * Get the present processing unit instances able to treat an event type.
+     *
+     * @param eventTypeName Event type name.
+     * @return An unmodifiable list, empty when none route is defined.
+     */
+    public List<ProcessingUnitRecipient> recipients(String eventTypeName) {
+        List<ProcessingUnitRecipient> found = (eventTypeName != null) ? recipients.get(eventTypeName) : null;
+        return (found != null) ? found : Collections.emptyList();
+    }
+
+    /**
+     * @return Quantity of routes.
+     */
+    public int size() {
+        return routes.size();
+    }
+
+    /**
+     * Get the version of this routing plan, incremented for each published snapshot.
+     *
+     * @return A version number.
+     */
+    public long version() {
+        return version;
+    }
+}
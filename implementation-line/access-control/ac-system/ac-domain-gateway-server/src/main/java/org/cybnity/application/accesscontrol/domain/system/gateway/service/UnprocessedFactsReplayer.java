@@ -0,0 +1,403 @@
+package org.cybnity.application.accesscontrol.domain.system.gateway.service;
+
+import io.lettuce.core.StreamMessage;
+import org.cybnity.application.accesscontrol.translator.ui.api.UICapabilityChannel;
+import org.cybnity.application.accesscontrol.translator.ui.api.UnprocessedFactRecorder;
+import org.cybnity.application.accesscontrol.translator.ui.api.event.UnprocessedFactAttributeName;
+import org.cybnity.framework.UnoperationalStateException;
+import org.cybnity.framework.domain.Attribute;
+import org.cybnity.framework.domain.Command;
+import org.cybnity.framework.domain.IDescribed;
+import org.cybnity.framework.domain.event.CommandFactory;
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Replay tool of the facts recorded into an Invalid Message Channel or a Dead Letter Channel (records of UnprocessedFactRecorder).
+ * The records are read from the unprocessed facts stream during a replay session (see start and stop), or are provided by the caller, then selected, and the original facts are re-appended to their origin channel at a controlled rate.
+ * A replay session reads the stream with its own consumer group, so the acknowledgement of a record by a session never hides it from a later session: a record which is not selected stays into the stream, and can be replayed by a session with another selection.
+ * A record read from the stream is acknowledged when its fact has been re-appended, or when it has been moved back to the stream for a later replay (failed replay), or to the parking stream after the maximum quantity of replay attempts.
+ * The replay is idempotent: a record already replayed (identified by its RECORD_ID) is not replayed again (e.g record read again after a consumer restart, or copy of a record).
+ */
+public class UnprocessedFactsReplayer {
+
+    /**
+     * Technical logging
+     */
+    private static final Logger logger = Logger.getLogger(UnprocessedFactsReplayer.class.getName());
+
+    /**
+     * Default maximum quantity of replay attempts of a record read from the unprocessed facts stream, before its move to the parking stream.
+     */
+    public static final int DEFAULT_MAX_REPLAY_ATTEMPTS = 3;
+
+    /**
+     * Maximum quantity of replayed records identifiers retained for the detection of the duplicated records.
+     */
+    static final int MAX_REMEMBERED_RECORDS = 100000;
+
+    private final UISAdapter uisClient;
+
+    private final IMessageMapperProvider mapperFactory;
+
+    /**
+     * Deserializer of the original facts, used under the lock of this replayer.
+     */
+    private final MessageMapper deserializer;
+
+    /**
+     * Minimum interval between two replayed facts. When 0, the replay is not paced.
+     */
+    private final long intervalInNanos;
+
+    private long nextReplayAt = System.nanoTime();
+
+    /**
+     * Identifiers of the replayed records, in replay order. Guarded by the lock of this replayer.
+     */
+    private final Map<String, Boolean> replayedRecords = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_REMEMBERED_RECORDS;
+        }
+    };
+
+    /**
+     * Consumer of the unprocessed facts stream during a replay session. Null when none session is started.
+     */
+    private Collection<StreamObserver> sessionConsumers;
+
+    private Report sessionReport;
+
+    /**
+     * Default constructor.
+     *
+     * @param uisClient      Mandatory operational client connected to UIS.
+     * @param mapperFactory  Mandatory mapper factory supporting the deserialization of the records and the serialization of the replayed facts.
+     * @param factsPerSecond Maximum quantity of replayed facts per second. When lower or equals to 0, the replay is not paced.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    public UnprocessedFactsReplayer(UISAdapter uisClient, IMessageMapperProvider mapperFactory, double factsPerSecond) throws IllegalArgumentException {
+        if (uisClient == null) throw new IllegalArgumentException("uisClient parameter is required!");
+        if (mapperFactory == null) throw new IllegalArgumentException("mapperFactory parameter is required!");
+        this.uisClient = uisClient;
+        this.mapperFactory = mapperFactory;
+        this.deserializer = mapperFactory.getMapper(String.class, IDescribed.class);
+        this.intervalInNanos = (factsPerSecond > 0) ? (long) (TimeUnit.SECONDS.toNanos(1) / factsPerSecond) : 0;
+    }
+
+    /**
+     * Replay the original facts of records.
+     *
+     * @param records   Records of unprocessed facts.
+     * @param selection Optional selection of the records to replay. When null, all the records are replayed.
+     * @param target    Optional stream where the facts are re-appended. When null, each fact is re-appended to its origin channel (or to the domain IO gateway entrypoint when unknown).
+     * @return Report of the replay.
+     * @throws InterruptedException When the replay has been interrupted during its pacing.
+     */
+    public Report replay(Iterable<? extends IDescribed> records, Predicate<IDescribed> selection, Stream target) throws InterruptedException {
+        Report report = new Report();
+        if (records == null) return report;
+        for (IDescribed record : records) {
+            replay(record, selection, target, report);
+        }
+        logger.info("Unprocessed facts replay ended (" + report + ")");
+        return report;
+    }
+
+    /**
+     * Start a replay session of the records read from an unprocessed facts stream (e.g Dead Letter Channel), until the session stop.
+     *
+     * @param unprocessedFacts Mandatory stream of the records to replay.
+     * @param selection        Optional selection of the records to replay. When null, all the records are replayed. A record which is not selected is not replayed and stays into the stream (only acknowledged by the consumer group of this session).
+     * @param target           Optional stream where the facts are re-appended. When null, each fact is re-appended to its origin channel (or to the domain IO gateway entrypoint when unknown).
+     * @param parking          Mandatory stream where are moved the records which replay has failed DEFAULT_MAX_REPLAY_ATTEMPTS times (e.g Invalid Message Channel), for analysis by an operator.
+     * @throws IllegalArgumentException    When mandatory parameter is missing.
+     * @throws IllegalStateException       When a session is already started.
+     * @throws UnoperationalStateException When impossible observation of the unprocessed facts stream.
+     */
+    public synchronized void start(Stream unprocessedFacts, Predicate<IDescribed> selection, Stream target, Stream parking) throws IllegalArgumentException, IllegalStateException, UnoperationalStateException {
+        if (unprocessedFacts == null) throw new IllegalArgumentException("unprocessedFacts parameter is required!");
+        if (parking == null) throw new IllegalArgumentException("parking parameter is required!");
+        if (sessionConsumers != null) throw new IllegalStateException("Replay session already started!");
+        final Report report = new Report();
+        // Consumer group of this session only, which does not move the reading position of the other sessions
+        final String sessionGroup = NamingConventionHelper.buildComponentName(NamingConventionHelper.NamingConventionApplicability.PIPELINE, "ac", "io", null, "replay_" + UUID.randomUUID());
+        Collection<StreamObserver> consumers = new ArrayList<>();
+        consumers.add(new StreamObserver() {
+            @Override
+            public Stream observed() {
+                return unprocessedFacts;
+            }
+
+            @Override
+            public String observationPattern() {
+                return StreamObserver.DEFAULT_OBSERVATION_PATTERN;
+            }
+
+            @Override
+            public String consumerGroupName() {
+                return sessionGroup;
+            }
+
+            /**
+             * Replay a record, which is acknowledged by the stream consumer when this method returns.
+             * @param event Record of unprocessed fact.
+             */
+            @Override
+            public void notify(Object event) {
+                if (event instanceof IDescribed) onRecord((IDescribed) event, selection, target, unprocessedFacts, parking, report);
+            }
+        });
+        uisClient.register(consumers, mapperFactory.getMapper(StreamMessage.class, IDescribed.class));
+        sessionConsumers = consumers;
+        sessionReport = report;
+        logger.info("Unprocessed facts replay started from '" + unprocessedFacts.name() + "' stream (consumer group: " + sessionGroup + ")");
+    }
+
+    /**
+     * Stop the current replay session.
+     *
+     * @return Report of the session, or null when none session was started.
+     */
+    public synchronized Report stop() {
+        if (sessionConsumers == null) return null;
+        uisClient.unregister(sessionConsumers);
+        Report report = sessionReport;
+        sessionConsumers = null;
+        sessionReport = null;
+        logger.info("Unprocessed facts replay stopped (" + report + ")");
+        return report;
+    }
+
+    /**
+     * Replay a record read from the unprocessed facts stream, or move it back when its replay has failed.
+     *
+     * @param record           Record of unprocessed fact.
+     * @param selection        Optional selection.
+     * @param target           Optional stream where the fact is re-appended.
+     * @param unprocessedFacts Stream of the record.
+     * @param parking          Stream of the records which can't be replayed.
+     * @param report           Report of the session.
+     */
+    private void onRecord(IDescribed record, Predicate<IDescribed> selection, Stream target, Stream unprocessedFacts, Stream parking, Report report) {
+        boolean replayed;
+        try {
+            replayed = replay(record, selection, target, report);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            replayed = false;
+        }
+        if (!replayed) {
+            // Retained for a later replay (the read record is acknowledged)
+            int attempts = intValue(UnprocessedFactRecorder.attribute(record, UnprocessedFactAttributeName.REPLAY_ATTEMPTS)) + 1;
+            boolean parked = attempts >= DEFAULT_MAX_REPLAY_ATTEMPTS;
+            Stream to = parked ? parking : unprocessedFacts;
+            try {
+                Command retained = withReplayAttempts(record, attempts);
+                uisClient.append(retained, to, mapperFactory.getMapper(retained.getClass(), StreamMessage.class));
+                synchronized (this) {
+                    if (parked) {
+                        report.parked++;
+                    } else {
+                        report.retried++;
+                    }
+                }
+            } catch (MappingException | UnoperationalStateException e) {
+                logger.log(Level.SEVERE, "Impossible retention of unprocessed fact record (" + UnprocessedFactRecorder.attribute(record, UnprocessedFactAttributeName.RECORD_ID) + ") into '" + to.name() + "' stream: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Replay the original fact of a record when it is selected and has not already been replayed.
+     *
+     * @param record    Record of unprocessed fact.
+     * @param selection Optional selection.
+     * @param target    Optional stream where the fact is re-appended.
+     * @param report    Report updated with the replay result.
+     * @return False when the replay has failed.
+     * @throws InterruptedException When the replay has been interrupted during its pacing.
+     */
+    private synchronized boolean replay(IDescribed record, Predicate<IDescribed> selection, Stream target, Report report) throws InterruptedException {
+        if (record == null || (selection != null && !selection.test(record))) {
+            report.skipped++;
+            return true;
+        }
+        report.selected++;
+        String recordId = UnprocessedFactRecorder.attribute(record, UnprocessedFactAttributeName.RECORD_ID);
+        if (recordId != null && replayedRecords.containsKey(recordId)) {
+            // Already replayed
+            report.duplicates++;
+            return true;
+        }
+        try {
+            IDescribed fact = UnprocessedFactRecorder.originalFact(record, deserializer);
+            if (fact == null) {
+                report.skipped++;
+                return true;
+            }
+            if (intervalInNanos > 0) {
+                long waiting = nextReplayAt - System.nanoTime();
+                if (waiting > 0) LockSupport.parkNanos(waiting);
+                if (Thread.interrupted()) throw new InterruptedException("Replay interrupted after " + report.replayed + " replayed facts");
+                nextReplayAt = Math.max(nextReplayAt, System.nanoTime() - intervalInNanos) + intervalInNanos;
+            }
+            Stream destination = (target != null) ? target : destinationOf(record);
+            uisClient.append(fact, destination, mapperFactory.getMapper(fact.getClass(), StreamMessage.class));
+            if (recordId != null) replayedRecords.put(recordId, Boolean.TRUE);
+            report.replayed++;
+            return true;
+        } catch (MappingException | UnoperationalStateException e) {
+            report.failed++;
+            logger.log(Level.SEVERE, "Impossible replay of unprocessed fact: " + e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Copy a record with a quantity of replay attempts.
+     *
+     * @param record   Record of unprocessed fact.
+     * @param attempts Quantity of failed replays.
+     * @return A record with the same identifier and correlation identifier.
+     */
+    private static Command withReplayAttempts(IDescribed record, int attempts) {
+        Collection<Attribute> definition = new ArrayList<>();
+        for (Attribute attribute : record.specification()) {
+            if (!UnprocessedFactAttributeName.REPLAY_ATTEMPTS.name().equals(attribute.name()) && !Command.CORRELATION_ID.equals(attribute.name()))
+                definition.add(attribute);
+        }
+        definition.add(new Attribute(UnprocessedFactAttributeName.REPLAY_ATTEMPTS.name(), Integer.toString(attempts)));
+        Command copy = CommandFactory.create(record.type().value(), null, definition, null, null);
+        copy.generateCorrelationId((record instanceof Command && ((Command) record).correlationId() != null) ? ((Command) record).correlationId().value() : null);
+        return copy;
+    }
+
+    private static int intValue(String value) {
+        try {
+            return (value != null) ? Integer.parseInt(value) : 0;
+        } catch (NumberFormatException nfe) {
+            return 0;
+        }
+    }
+
+    /**
+     * Get the origin channel of a record.
+     *
+     * @param record Record of unprocessed fact.
+     * @return A stream.
+     */
+    private static Stream destinationOf(IDescribed record) {
+        String origin = UnprocessedFactRecorder.attribute(record, UnprocessedFactAttributeName.ORIGIN_CHANNEL);
+        return new Stream((origin != null && !origin.isEmpty()) ? origin : UICapabilityChannel.access_control_in.shortName());
+    }
+
+    /**
+     * Selection of the records relative to original facts of event types.
+     *
+     * @param eventTypeNames Names of the event types to replay.
+     * @return A selection.
+     */
+    public static Predicate<IDescribed> ofOriginalEventTypes(String... eventTypeNames) {
+        Set<String> names = new HashSet<>(Arrays.asList((eventTypeNames != null) ? eventTypeNames : new String[0]));
+        return record -> names.contains(UnprocessedFactRecorder.attribute(record, UnprocessedFactAttributeName.ORIGINAL_EVENT_TYPE));
+    }
+
+    /**
+     * Selection of the records recorded since a date.
+     *
+     * @param timeInMillis Minimum record date (epoch milliseconds).
+     * @return A selection.
+     */
+    public static Predicate<IDescribed> recordedAfter(long timeInMillis) {
+        return record -> {
+            String recordedAt = UnprocessedFactRecorder.attribute(record, UnprocessedFactAttributeName.RECORDED_AT);
+            try {
+                return recordedAt != null && Long.parseLong(recordedAt) >= timeInMillis;
+            } catch (NumberFormatException nfe) {
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Result of a replay.
+     */
+    public static final class Report {
+        private long selected;
+        private long replayed;
+        private long skipped;
+        private long duplicates;
+        private long failed;
+        private long retried;
+        private long parked;
+
+        /**
+         * @return Quantity of selected records.
+         */
+        public long selected() {
+            return selected;
+        }
+
+        /**
+         * @return Quantity of facts re-appended.
+         */
+        public long replayed() {
+            return replayed;
+        }
+
+        /**
+         * @return Quantity of records not selected or without original fact.
+         */
+        public long skipped() {
+            return skipped;
+        }
+
+        /**
+         * @return Quantity of selected records already replayed (not replayed again).
+         */
+        public long duplicates() {
+            return duplicates;
+        }
+
+        /**
+         * @return Quantity of facts which replay has failed.
+         */
+        public long failed() {
+            return failed;
+        }
+
+        /**
+         * @return Quantity of records moved back to the unprocessed facts stream after a failed replay.
+         */
+        public long retried() {
+            return retried;
+        }
+
+        /**
+         * @return Quantity of records moved to the parking stream after the maximum quantity of replay attempts.
+         */
+        public long parked() {
+            return parked;
+        }
+
+        @Override
+        public String toString() {
+            return "selected=" + selected + ", replayed=" + replayed + ", skipped=" + skipped + ", duplicates=" + duplicates + ", failed=" + failed + ", retried=" + retried + ", parked=" + parked;
+        }
+    }
+}
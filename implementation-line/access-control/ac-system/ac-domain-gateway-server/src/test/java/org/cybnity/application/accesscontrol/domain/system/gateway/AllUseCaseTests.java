@@ -1,6 +1,9 @@
 package org.cybnity.application.accesscontrol.domain.system.gateway;
 
 import org.cybnity.application.accesscontrol.domain.system.gateway.service.APISupportedCapabilitySelectionFilterUseCaseTest;
+import org.cybnity.application.accesscontrol.domain.system.gateway.service.DynamicRoutingTableUseCaseTest;
+import org.cybnity.application.accesscontrol.domain.system.gateway.service.PartitionedFactsExecutorUseCaseTest;
+import org.cybnity.application.accesscontrol.domain.system.gateway.service.UnprocessedFactsReplayerUseCaseTest;
 import org.junit.platform.suite.api.SelectClasses;
 import org.junit.platform.suite.api.Suite;
 
@@ -11,6 +14,6 @@ import org.junit.platform.suite.api.Suite;
  * @author olivier
  */
 @Suite
-@SelectClasses({ExecutableIOGatewayCheckerUseCaseTest.class, APISupportedCapabilitySelectionFilterUseCaseTest.class, DynamicRecipientsSyncUseCaseTestManual.class})
+@SelectClasses({ExecutableIOGatewayCheckerUseCaseTest.class, APISupportedCapabilitySelectionFilterUseCaseTest.class, DynamicRoutingTableUseCaseTest.class, PartitionedFactsExecutorUseCaseTest.class, UnprocessedFactsReplayerUseCaseTest.class, DynamicRecipientsSyncUseCaseTestManual.class})
 public class AllUseCaseTests {
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+package org.cybnity.application.accesscontrol.domain.system.gateway.service;
+
+import org.cybnity.application.accesscontrol.translator.ui.api.UICapabilityChannel;
+import org.cybnity.application.accesscontrol.ui.api.event.CommandName;
+import org.cybnity.application.accesscontrol.ui.api.event.TenantRegistrationAttributeName;
+import org.cybnity.framework.application.vertx.common.routing.IEventProcessingManager;
+import org.cybnity.framework.application.vertx.common.routing.RouteRecipientList;
+import org.cybnity.framework.domain.Attribute;
+import org.cybnity.framework.domain.Command;
+import org.cybnity.framework.domain.event.CommandFactory;
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Benchmark (manual execution) of the admission filter of the domain IO gateway.
+ * Measure the average time and the allocated memory per fact, on the admission path (supported event type) and the rejection path (unknown event type).
+ */
+public class APISupportedCapabilitySelectionFilterBenchmarkUseCaseTestManual {
+
+    private static final Logger logger = Logger.getLogger(APISupportedCapabilitySelectionFilterBenchmarkUseCaseTestManual.class.getName());
+
+    private static final int WARMUP_ITERATIONS = 200000;
+
+    private static final int MEASURED_ITERATIONS = 2000000;
+
+    /**
+     * Provider of a routing plan supporting the tenant registration command.
+     */
+    private static final class RoutesProvider implements IEventProcessingManager, IRoutingTableProvider {
+        private final RouteRecipientList list = new RouteRecipientList();
+        private final DynamicRoutingTable table = new DynamicRoutingTable();
+
+        private RoutesProvider() {
+            list.addRoute(CommandName.REGISTER_TENANT.name(), UICapabilityChannel.access_control_tenant_registration.shortName());
+            table.refresh(list);
+        }
+
+        @Override
+        public RouteRecipientList delegateDestinations() {
+            return list;
+        }
+
+        @Override
+        public RoutingTableSnapshot routingTable() {
+            return table.routingTable();
+        }
+    }
+
+    private static Command command(String type) {
+        Collection<Attribute> definition = new ArrayList<>();
+        definition.add(new Attribute(TenantRegistrationAttributeName.TENANT_NAMING.name(), "CYBNITY"));
+        Command requestEvent = CommandFactory.create(type, null, definition, null, null);
+        requestEvent.generateCorrelationId(null);
+        return requestEvent;
+    }
+
+    /**
+     * Get the memory allocated by the current thread.
+     *
+     * @return A quantity of bytes, or -1 when not supported by the JVM.
+     */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /**
+     * Measure the filter on a fact.
+     *
+     * @param label    Measured path.
+     * @param filter   Filter.
+     * @param fact     Fact to filter.
+     * @param admitted Expected filter result.
+     * @return Average allocated bytes per fact (negative when not measurable).
+     */
+    private static double measure(String label, APISupportedCapabilitySelectionFilter filter, Command fact, boolean admitted) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            if (filter.process(fact) != admitted) Assertions.fail("Unexpected filter result");
+        }
+        long allocatedAtStart = allocatedBytes();
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            if (filter.process(fact) != admitted) Assertions.fail("Unexpected filter result");
+        }
+        double nanosPerFact = (double) (System.nanoTime() - startedAt) / MEASURED_ITERATIONS;
+        double bytesPerFact = (allocatedAtStart >= 0) ? (double) (allocatedBytes() - allocatedAtStart) / MEASURED_ITERATIONS : -1;
+        logger.info(label + ": " + String.format("%.1f", nanosPerFact) + " ns/fact, " + String.format("%.1f", bytesPerFact) + " bytes/fact");
+        return bytesPerFact;
+    }
+
+    /**
+     * Measure the admission and rejection paths, and verify that the admission of a supported fact does not allocate the rejection cause.
+     */
+    @Test
+    public void givenSupportedAndUnknownFacts_whenFiltered_thenAdmissionWithoutAllocation() {
+        APISupportedCapabilitySelectionFilter filter = new APISupportedCapabilitySelectionFilter(new Stream(UICapabilityChannel.access_control_in.shortName()), new RoutesProvider());
+        Logger root = Logger.getLogger("");
+        Level rootLevel = root.getLevel();
+        double admissionAllocation, rejectionAllocation;
+        try {
+            admissionAllocation = measure("Admitted path", filter, command(CommandName.REGISTER_TENANT.name()), true);
+            // Rejection logs are not measured
+            root.setLevel(Level.OFF);
+            rejectionAllocation = measure("Rejected path", filter, command("UNKNOWN_EVENT_TYPE"), false);
+        } finally {
+            root.setLevel(rootLevel);
+        }
+        Assertions.assertEquals((long) WARMUP_ITERATIONS + MEASURED_ITERATIONS, filter.admittedFacts());
+        Assertions.assertEquals((long) WARMUP_ITERATIONS + MEASURED_ITERATIONS, filter.rejectedFacts());
+        if (admissionAllocation >= 0)
+            Assertions.assertTrue(admissionAllocation < rejectionAllocation, "Admission of a supported fact shall not allocate the rejection cause (measured: " + admissionAllocation + " bytes/fact)!");
+    }
+}
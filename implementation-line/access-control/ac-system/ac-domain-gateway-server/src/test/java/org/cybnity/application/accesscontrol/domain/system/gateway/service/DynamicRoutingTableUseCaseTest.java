@@ -0,0 +1,182 @@
+package org.cybnity.application.accesscontrol.domain.system.gateway.service;
+
+import org.cybnity.application.accesscontrol.translator.ui.api.UICapabilityChannel;
+import org.cybnity.application.accesscontrol.ui.api.event.CommandName;
+import org.cybnity.framework.application.vertx.common.routing.RouteRecipientList;
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stress test of the copy-on-write routing plan, mixing processing units churn (routing plan changes) with high rate of routes reads.
+ * Test of the routes of several processing units announced for a same event type, and of the retention of each instance of a processing unit sharing a same entrypoint until its end or expiration of presence.
+ */
+public class DynamicRoutingTableUseCaseTest {
+
+    private static final int EVENT_TYPES = 10;
+
+    /**
+     * Prepare a recipients list where all the event types are routed to the stream of a processing unit generation.
+     *
+     * @param generation Processing unit generation.
+     * @return A recipients list.
+     */
+    private static RouteRecipientList routesOf(long generation) {
+        RouteRecipientList list = new RouteRecipientList();
+        for (int i = 0; i < EVENT_TYPES; i++) {
+            list.addRoute("EVENT_" + i, "pu-" + generation);
+        }
+        return list;
+    }
+
+    /**
+     * Test that the readers always see a complete and consistent routing plan version (never a partially updated one), and that the versions are only growing.
+     *
+     * @throws Exception When unexpected problem.
+     */
+    @Test
+    public void givenProcessingUnitsChurn_whenRoutesReadConcurrently_thenConsistentSnapshots() throws Exception {
+        final DynamicRoutingTable table = new DynamicRoutingTable();
+        table.refresh(routesOf(0));
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final AtomicReference<String> violation = new AtomicReference<>();
+        final LongAdder reads = new LongAdder();
+        int readersCount = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
+        final CountDownLatch end = new CountDownLatch(readersCount + 1);
+        List<Thread> threads = new ArrayList<>();
+
+        // Processing units announcing their presence (routing plan changes)
+        threads.add(new Thread(() -> {
+            long generation = 1;
+            while (running.get()) {
+                table.refresh(routesOf(generation++));
+            }
+            end.countDown();
+        }));
+        // Dispatchers reading the routes of the received facts
+        for (int r = 0; r < readersCount; r++) {
+            threads.add(new Thread(() -> {
+                long lastVersion = 0;
+                while (running.get()) {
+                    RoutingTableSnapshot snapshot = table.routingTable();
+                    if (snapshot.version() < lastVersion) violation.compareAndSet(null, "Version decreased");
+                    lastVersion = snapshot.version();
+                    Stream first = snapshot.stream("EVENT_0");
+                    for (int i = 0; i < EVENT_TYPES; i++) {
+                        Stream route = snapshot.stream("EVENT_" + i);
+                        if (route == null || !snapshot.supports("EVENT_" + i) || !route.name().equals(first.name()))
+                            violation.compareAndSet(null, "Inconsistent routing plan version " + snapshot.version());
+                    }
+                    reads.increment();
+                }
+                end.countDown();
+            }));
+        }
+        threads.forEach(Thread::start);
+        Thread.sleep(1000);
+        running.set(false);
+        Assertions.assertTrue(end.await(10, TimeUnit.SECONDS));
+
+        Assertions.assertNull(violation.get(), violation.get());
+        Assertions.assertTrue(reads.sum() > 0);
+        Assertions.assertTrue(table.versions() > 1);
+        Assertions.assertEquals(table.versions(), table.routingTable().version());
+        Assertions.assertFalse(table.routingTable().supports("UNKNOWN_EVENT_TYPE"));
+    }
+
+    /**
+     * Test that the stream of the last announced processing unit is routed when several processing units are present for a same event type, and that the route of the other one is restored at the end of presence of the last one.
+     */
+    @Test
+    public void givenSeveralAnnouncedProcessingUnits_whenLastOneEndsItsPresence_thenOtherStreamRouted() throws Exception {
+        DynamicRoutingTable table = new DynamicRoutingTable();
+        RouteRecipientList list = new RouteRecipientList();
+        list.addRoute("EVENT_0", "pu-a");
+        table.refresh(list, new DynamicRoutingTable.PresenceAnnounce("pu-a-service", true));
+        Thread.sleep(5);
+        list.addRoute("EVENT_0", "pu-b");
+        RoutingTableSnapshot snapshot = table.refresh(list, new DynamicRoutingTable.PresenceAnnounce("pu-b-service", true));
+
+        Assertions.assertEquals(2, snapshot.recipients("EVENT_0").size(), "Both processing units shall be retained!");
+        Assertions.assertEquals("pu-b", snapshot.stream("EVENT_0").name());
+
+        // End of presence of the last announced processing unit
+        snapshot = table.refresh(list, new DynamicRoutingTable.PresenceAnnounce("pu-b-service", false));
+        Assertions.assertEquals(1, snapshot.recipients("EVENT_0").size());
+        Assertions.assertEquals("pu-a", snapshot.stream("EVENT_0").name());
+    }
+
+    /**
+     * Test that all the instances of the tenant registration processing unit (consumers of the same entrypoint stream) are retained, and that the end of presence of one instance does not remove the route of the others.
+     */
+    @Test
+    public void givenSeveralInstancesOfProcessingUnit_whenOneInstanceEndsItsPresence_thenOtherInstancesRetained() {
+        String serviceName = "ac_tenant_registration_processing_unit";
+        String entrypoint = UICapabilityChannel.access_control_tenant_registration.shortName();
+        String eventType = CommandName.REGISTER_TENANT.name();
+        DynamicRoutingTable table = new DynamicRoutingTable();
+        RouteRecipientList list = new RouteRecipientList();
+        list.addRoute(eventType, entrypoint);
+        table.refresh(list, new DynamicRoutingTable.PresenceAnnounce(serviceName, "instance-1", true));
+        RoutingTableSnapshot snapshot = table.refresh(list, new DynamicRoutingTable.PresenceAnnounce(serviceName, "instance-2", true));
+        Assertions.assertEquals(2, snapshot.recipients(eventType).size(), "Each instance shall be retained!");
+
+        // Presence renewal of an instance (heartbeat) does not add recipient
+        snapshot = table.refresh(list, new DynamicRoutingTable.PresenceAnnounce(serviceName, "instance-1", true));
+        Assertions.assertEquals(2, snapshot.recipients(eventType).size());
+
+        // End of presence of an instance
+        snapshot = table.refresh(list, new DynamicRoutingTable.PresenceAnnounce(serviceName, "instance-1", false));
+        Assertions.assertEquals(1, snapshot.recipients(eventType).size(), "Other instance shall be retained!");
+        Assertions.assertEquals("instance-2", snapshot.recipients(eventType).get(0).instanceId());
+        Assertions.assertEquals(entrypoint, snapshot.stream(eventType).name());
+
+        // End of presence of the last instance, the route of the recipients list is retained without announce
+        snapshot = table.refresh(list, new DynamicRoutingTable.PresenceAnnounce(serviceName, "instance-2", false));
+        Assertions.assertEquals(1, snapshot.recipients(eventType).size());
+        Assertions.assertNull(snapshot.recipients(eventType).get(0).serviceName());
+        Assertions.assertEquals(entrypoint, snapshot.stream(eventType).name());
+    }
+
+    /**
+     * Test that the instances which do not renew their presence (e.g crashed instances, or instances replaced by new deployments) are removed from the routing plan by the next refresh, while the instances renewing their presence are retained.
+     *
+     * @throws Exception When unexpected problem.
+     */
+    @Test
+    public void givenPresenceHeartbeats_whenInstancesStopRenewal_thenExpiredInstancesRemoved() throws Exception {
+        String serviceName = "ac_tenant_registration_processing_unit";
+        String entrypoint = UICapabilityChannel.access_control_tenant_registration.shortName();
+        String eventType = CommandName.REGISTER_TENANT.name();
+        DynamicRoutingTable table = new DynamicRoutingTable(200);
+        RouteRecipientList list = new RouteRecipientList();
+        list.addRoute(eventType, entrypoint);
+        // Successive deployments of the processing unit, without end of presence announce
+        for (int i = 1; i <= 10; i++) {
+            table.refresh(list, new DynamicRoutingTable.PresenceAnnounce(serviceName, "instance-" + i, true));
+        }
+        Assertions.assertEquals(10, table.routingTable().recipients(eventType).size());
+
+        // Only the last instance renews its presence
+        Thread.sleep(300);
+        RoutingTableSnapshot snapshot = table.refresh(list, new DynamicRoutingTable.PresenceAnnounce(serviceName, "instance-10", true));
+        Assertions.assertEquals(1, snapshot.recipients(eventType).size(), "Expired instances shall have been removed!");
+        Assertions.assertEquals("instance-10", snapshot.recipients(eventType).get(0).instanceId());
+        Assertions.assertEquals(entrypoint, snapshot.stream(eventType).name());
+
+        // All the instances expired, the route of the recipients list is retained without announce
+        Thread.sleep(300);
+        snapshot = table.refresh(list);
+        Assertions.assertEquals(1, snapshot.recipients(eventType).size());
+        Assertions.assertNull(snapshot.recipients(eventType).get(0).serviceName());
+        Assertions.assertEquals(entrypoint, snapshot.stream(eventType).name());
+    }
+}
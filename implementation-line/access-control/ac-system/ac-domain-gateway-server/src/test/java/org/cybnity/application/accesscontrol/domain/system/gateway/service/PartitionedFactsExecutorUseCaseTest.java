@@ -0,0 +1,130 @@
+package org.cybnity.application.accesscontrol.domain.system.gateway.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test of the partitioned execution of the facts treatments (order per key, bounded in-flight facts).
+ */
+public class PartitionedFactsExecutorUseCaseTest {
+
+    /**
+     * Test that the treatments relative to a same key are executed in their submission order, while executed in parallel over the partitions.
+     *
+     * @throws Exception When unexpected problem.
+     */
+    @Test
+    public void givenKeyedFacts_whenExecutedInParallel_thenOrderPreservedPerKey() throws Exception {
+        PartitionedFactsExecutor executor = new PartitionedFactsExecutor("test", 4, 50);
+        int keys = 20, factsPerKey = 200;
+        final Map<String, List<Integer>> treated = new ConcurrentHashMap<>();
+        final CountDownLatch end = new CountDownLatch(keys * factsPerKey);
+        try {
+            for (int i = 0; i < factsPerKey; i++) {
+                for (int k = 0; k < keys; k++) {
+                    final String key = "tenant-" + k;
+                    final int order = i;
+                    executor.execute(key, () -> {
+                        // Only one partition thread treats a key
+                        treated.computeIfAbsent(key, x -> new ArrayList<>()).add(order);
+                        end.countDown();
+                    });
+                }
+            }
+            Assertions.assertTrue(end.await(10, TimeUnit.SECONDS), "All facts shall have been treated!");
+            Assertions.assertEquals(keys, treated.size());
+            for (List<Integer> orders : treated.values()) {
+                Assertions.assertEquals(factsPerKey, orders.size());
+                for (int i = 0; i < factsPerKey; i++) {
+                    Assertions.assertEquals(i, orders.get(i), "Order of facts relative to a key shall be preserved!");
+                }
+            }
+            Assertions.assertEquals(keys * factsPerKey, executor.executedFacts());
+        } finally {
+            executor.stop(1000);
+        }
+    }
+
+    /**
+     * Test that the submitter is blocked when the maximum quantity of facts in progress is reached, and that a treatment failure does not stop its partition.
+     *
+     * @throws Exception When unexpected problem.
+     */
+    @Test
+    public void givenMaxInFlightReached_whenFactSubmitted_thenSubmitterBlocked() throws Exception {
+        PartitionedFactsExecutor executor = new PartitionedFactsExecutor("test", 1, 2);
+        final CountDownLatch release = new CountDownLatch(1);
+        Runnable blocked = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        try {
+            executor.execute("a", blocked);
+            executor.execute("a", () -> {
+                throw new IllegalStateException("Simulated treatment failure");
+            });
+            Assertions.assertEquals(2, executor.inFlight());
+            final CountDownLatch submitted = new CountDownLatch(1);
+            Thread submitter = new Thread(() -> {
+                try {
+                    executor.execute("a", () -> {
+                    });
+                    submitted.countDown();
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            submitter.start();
+            Assertions.assertFalse(submitted.await(200, TimeUnit.MILLISECONDS), "Submitter shall be blocked by the in-flight limit!");
+            release.countDown();
+            Assertions.assertTrue(submitted.await(5, TimeUnit.SECONDS));
+            submitter.join(5000);
+        } finally {
+            executor.stop(1000);
+        }
+        Assertions.assertEquals(2, executor.executedFacts());
+        Assertions.assertEquals(1, executor.failedFacts());
+        Assertions.assertEquals(0, executor.inFlight());
+    }
+
+    /**
+     * Test that the treatments not started before the stop timeout are returned without execution, and that a stopped executor rejects the new treatments.
+     *
+     * @throws Exception When unexpected problem.
+     */
+    @Test
+    public void givenStoppedExecutor_whenTreatmentsNotStarted_thenReturnedAndNewOnesRejected() throws Exception {
+        PartitionedFactsExecutor executor = new PartitionedFactsExecutor("test", 1, 10);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        executor.execute("a", () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Runnable waiting = () -> {
+        };
+        executor.execute("a", waiting);
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        List<Runnable> notExecuted = executor.stop(200);
+        Assertions.assertEquals(1, notExecuted.size(), "Not started treatment shall be returned!");
+        Assertions.assertSame(waiting, notExecuted.get(0));
+        Assertions.assertThrows(IllegalStateException.class, () -> executor.execute("b", () -> {
+        }));
+        release.countDown();
+    }
+}
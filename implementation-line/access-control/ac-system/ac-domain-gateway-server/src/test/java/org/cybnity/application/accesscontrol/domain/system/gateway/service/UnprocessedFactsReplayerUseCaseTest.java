@@ -0,0 +1,215 @@
+package org.cybnity.application.accesscontrol.domain.system.gateway.service;
+
+import io.lettuce.core.StreamMessage;
+import org.cybnity.application.accesscontrol.domain.system.gateway.CustomContextualizedTest;
+import org.cybnity.application.accesscontrol.translator.ui.api.ACDomainMessageMapperFactory;
+import org.cybnity.application.accesscontrol.translator.ui.api.UICapabilityChannel;
+import org.cybnity.application.accesscontrol.translator.ui.api.UnprocessedFactRecorder;
+import org.cybnity.application.accesscontrol.translator.ui.api.event.UnprocessedFactEventType;
+import org.cybnity.framework.domain.Attribute;
+import org.cybnity.framework.domain.Command;
+import org.cybnity.framework.domain.IDescribed;
+import org.cybnity.framework.domain.event.CommandFactory;
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.Stream;
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.StreamObserver;
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.UISAdapter;
+import org.cybnity.infrastructure.technical.message_bus.adapter.impl.redis.UISAdapterRedisImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test of the replay of the facts read from a Dead Letter Channel stream, which are re-appended once whatever the quantity of copies of their records.
+ */
+public class UnprocessedFactsReplayerUseCaseTest extends CustomContextualizedTest {
+
+    private UISAdapter uisClient;
+
+    private ACDomainMessageMapperFactory mapperFactory;
+
+    private final Stream deadLetters = new Stream("ac_replay_test_dead_letters");
+
+    private final Stream parking = new Stream("ac_replay_test_invalid_messages");
+
+    private final Stream target = new Stream("ac_replay_test_entrypoint");
+
+    /**
+     * Default constructor.
+     */
+    public UnprocessedFactsReplayerUseCaseTest() {
+        super(true, false, false, false, false);
+    }
+
+    @BeforeEach
+    public void initClient() {
+        uisClient = new UISAdapterRedisImpl(context());
+        mapperFactory = new ACDomainMessageMapperFactory();
+    }
+
+    @AfterEach
+    public void cleanClient() {
+        uisClient = null;
+        mapperFactory = null;
+    }
+
+    private static Command fact(String naming) {
+        Collection<Attribute> definition = new ArrayList<>();
+        definition.add(new Attribute("TENANT_NAMING", naming));
+        Command fact = CommandFactory.create("REGISTER_TENANT", null, definition, null, null);
+        fact.generateCorrelationId(null);
+        return fact;
+    }
+
+    /**
+     * Test that the records read from the dead letters stream are replayed once (duplicated record ignored), and that a replay of the same records is without effect.
+     *
+     * @throws Exception When unexpected problem.
+     */
+    @Test
+    public void givenDeadLettersStream_whenReplayedTwice_thenEachFactReappendedOnce() throws Exception {
+        // Facts received by the replay target
+        final Map<String, Integer> received = new ConcurrentHashMap<>();
+        final CountDownLatch replayed = new CountDownLatch(3);
+        Collection<StreamObserver> targetConsumers = new ArrayList<>();
+        targetConsumers.add(new StreamObserver() {
+            @Override
+            public Stream observed() {
+                return target;
+            }
+
+            @Override
+            public String observationPattern() {
+                return StreamObserver.DEFAULT_OBSERVATION_PATTERN;
+            }
+
+            @Override
+            public String consumerGroupName() {
+                return "ac_replay_test_consumers";
+            }
+
+            @Override
+            public void notify(Object event) {
+                if (event instanceof Command) {
+                    received.merge(((Command) event).correlationId().value(), 1, Integer::sum);
+                    replayed.countDown();
+                }
+            }
+        });
+        uisClient.register(targetConsumers, mapperFactory.getMapper(StreamMessage.class, IDescribed.class));
+
+        // Dead letters including a copy of a record
+        List<Command> records = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            records.add(UnprocessedFactRecorder.record(UnprocessedFactEventType.DEAD_LETTER_RECORDED, fact("CYBNITY-" + i), "Sample cause", UICapabilityChannel.access_control_in.shortName(), mapperFactory.getMapper(IDescribed.class, String.class)));
+        }
+        for (Command record : records) {
+            uisClient.append(record, deadLetters, mapperFactory.getMapper(record.getClass(), StreamMessage.class));
+        }
+        uisClient.append(records.get(0), deadLetters, mapperFactory.getMapper(Command.class, StreamMessage.class));
+
+        // Replay session reading the dead letters stream
+        UnprocessedFactsReplayer replayer = new UnprocessedFactsReplayer(uisClient, mapperFactory, 100);
+        replayer.start(deadLetters, null, target, parking);
+        Assertions.assertThrows(IllegalStateException.class, () -> replayer.start(deadLetters, null, target, parking), "Shall be only one session!");
+        Assertions.assertTrue(replayed.await(20, TimeUnit.SECONDS), "Timeout reached before facts replay!");
+        // Wait the treatment of the duplicated record
+        Thread.sleep(1000);
+        UnprocessedFactsReplayer.Report report = replayer.stop();
+        Assertions.assertNotNull(report);
+        Assertions.assertEquals(3, report.replayed());
+        Assertions.assertEquals(1, report.duplicates(), "Copy of record shall not be replayed!");
+        Assertions.assertEquals(0, report.failed());
+        Assertions.assertEquals(3, received.size());
+        for (Integer receptions : received.values()) {
+            Assertions.assertEquals(1, receptions, "Shall be replayed once!");
+        }
+        Assertions.assertNull(replayer.stop(), "Session already stopped!");
+
+        // Second replay of the same records without effect
+        report = replayer.replay(records, null, target);
+        Assertions.assertEquals(0, report.replayed());
+        Assertions.assertEquals(3, report.duplicates());
+        Thread.sleep(500);
+        Assertions.assertEquals(3, received.size());
+        uisClient.unregister(targetConsumers);
+    }
+
+    /**
+     * Test that the records not selected by a replay session stay into the dead letters stream, and are replayed by a later session selecting them.
+     *
+     * @throws Exception When unexpected problem.
+     */
+    @Test
+    public void givenNotSelectedRecords_whenLaterSessionSelectsThem_thenReplayed() throws Exception {
+        final Stream unprocessed = new Stream("ac_replay_test_selective_dead_letters");
+        final Stream selectiveTarget = new Stream("ac_replay_test_selective_entrypoint");
+        final Map<String, Integer> received = new ConcurrentHashMap<>();
+        final Command oldFact = fact("CYBNITY-OLD");
+        final CountDownLatch firstSession = new CountDownLatch(1);
+        final CountDownLatch oldFactReplayed = new CountDownLatch(1);
+        Collection<StreamObserver> targetConsumers = new ArrayList<>();
+        targetConsumers.add(new StreamObserver() {
+            @Override
+            public Stream observed() {
+                return selectiveTarget;
+            }
+
+            @Override
+            public String observationPattern() {
+                return StreamObserver.DEFAULT_OBSERVATION_PATTERN;
+            }
+
+            @Override
+            public String consumerGroupName() {
+                return "ac_replay_test_selective_consumers";
+            }
+
+            @Override
+            public void notify(Object event) {
+                if (event instanceof Command) {
+                    received.merge(((Command) event).correlationId().value(), 1, Integer::sum);
+                    firstSession.countDown();
+                    if (oldFact.correlationId().value().equals(((Command) event).correlationId().value()))
+                        oldFactReplayed.countDown();
+                }
+            }
+        });
+        uisClient.register(targetConsumers, mapperFactory.getMapper(StreamMessage.class, IDescribed.class));
+
+        // Dead letters of which only the first one is recorded after the selection date
+        Command notSelected = UnprocessedFactRecorder.record(UnprocessedFactEventType.DEAD_LETTER_RECORDED, oldFact, "Sample cause", UICapabilityChannel.access_control_in.shortName(), mapperFactory.getMapper(IDescribed.class, String.class));
+        Thread.sleep(10);
+        long selectedAfter = System.currentTimeMillis();
+        Command selected = UnprocessedFactRecorder.record(UnprocessedFactEventType.DEAD_LETTER_RECORDED, fact("CYBNITY-NEW"), "Sample cause", UICapabilityChannel.access_control_in.shortName(), mapperFactory.getMapper(IDescribed.class, String.class));
+        uisClient.append(notSelected, unprocessed, mapperFactory.getMapper(Command.class, StreamMessage.class));
+        uisClient.append(selected, unprocessed, mapperFactory.getMapper(Command.class, StreamMessage.class));
+
+        // First session only replaying the recent records
+        UnprocessedFactsReplayer replayer = new UnprocessedFactsReplayer(uisClient, mapperFactory, 100);
+        replayer.start(unprocessed, UnprocessedFactsReplayer.recordedAfter(selectedAfter), selectiveTarget, parking);
+        Assertions.assertTrue(firstSession.await(20, TimeUnit.SECONDS), "Timeout reached before facts replay!");
+        Thread.sleep(1000);
+        UnprocessedFactsReplayer.Report report = replayer.stop();
+        Assertions.assertEquals(1, report.replayed());
+        Assertions.assertEquals(1, report.skipped(), "Old record shall not have been selected!");
+        Assertions.assertEquals(1, received.size());
+
+        // Later session of another replayer selecting all the records, including the record not selected before
+        UnprocessedFactsReplayer laterReplayer = new UnprocessedFactsReplayer(uisClient, mapperFactory, 100);
+        laterReplayer.start(unprocessed, null, selectiveTarget, parking);
+        Assertions.assertTrue(oldFactReplayed.await(20, TimeUnit.SECONDS), "Not selected record shall have been kept into the stream for a later replay!");
+        report = laterReplayer.stop();
+        Assertions.assertNotNull(report);
+        Assertions.assertEquals(2, received.size());
+        uisClient.unregister(targetConsumers);
+    }
+}
@@ -0,0 +1,44 @@
+package org.cybnity.feature.accesscontrol.domain.system;
+
+import org.cybnity.framework.IReadableConfiguration;
+
+/**
+ * Enumeration defining a set of optional variables regarding the Access Control (AC) domain processing units (e.g presence announced to the domain IO gateway).
+ * <p>
+ * The configuration of each value regarding each environment variable enum, is
+ * managed into the Helm values.yaml file regarding the executable system which
+ * need to declare the environment variables as available for usage via this set
+ * of enum.
+ */
+public enum ProcessModuleConfigurationVariable implements IReadableConfiguration {
+
+    /**
+     * Period in seconds of the presence renewal announced by each processing unit instance to the domain IO gateway. 10 seconds by default, lower than the presence time-to-live of the gateway. When lower than 1, the presence is only announced at start and stop of the processing unit.
+     */
+    AC_PU_PRESENCE_HEARTBEAT_IN_SECONDS("AC_PU_PRESENCE_HEARTBEAT_IN_SECONDS");
+
+    /**
+     * Name of this environment variable currently hosted by the system environment.
+     */
+    private final String name;
+
+    /**
+     * Default constructor of a configuration variable that is readable from the
+     * system environment variables set.
+     *
+     * @param aName Mandatory name of the environment variable that is readable from
+     *              the current system environment (e.g defined by the runtime
+     *              container or operating system).
+     * @throws IllegalArgumentException When mandatory parameter is not defined.
+     */
+    private ProcessModuleConfigurationVariable(String aName) throws IllegalArgumentException {
+        if (aName == null || "".equalsIgnoreCase(aName))
+            throw new IllegalArgumentException("The name of this variable shall be defined!");
+        this.name = aName;
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+}
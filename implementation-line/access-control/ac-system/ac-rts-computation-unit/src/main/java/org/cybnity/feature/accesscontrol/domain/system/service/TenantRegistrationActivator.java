@@ -7,7 +7,10 @@ import org.cybnity.accesscontrol.domain.model.ITenantsWriteModel;
 import org.cybnity.accesscontrol.domain.service.api.ITenantRegistrationService;
 import org.cybnity.accesscontrol.domain.service.impl.TenantRegistration;
 import org.cybnity.application.accesscontrol.adapter.api.admin.ISSOAdminAdapter;
+import org.cybnity.application.accesscontrol.translator.ui.api.ACDomainMessageMapperFactory;
 import org.cybnity.application.accesscontrol.translator.ui.api.AccessControlDomainModel;
+import org.cybnity.application.accesscontrol.translator.ui.api.UICapabilityChannel;
+import org.cybnity.application.accesscontrol.translator.ui.api.UnprocessedFactRecorder;
 import org.cybnity.framework.IContext;
 import org.cybnity.framework.UnoperationalStateException;
 import org.cybnity.framework.application.vertx.common.service.AbstractServiceActivator;
@@ -16,6 +19,7 @@ import org.cybnity.framework.domain.IDescribed;
 import org.cybnity.infastructure.technical.persistence.store.impl.redis.PersistentObjectNamingConvention;
 import org.cybnity.infastructure.technical.persistence.store.impl.redis.SnapshotRepositoryRedisImpl;
 import org.cybnity.infrastructure.technical.message_bus.adapter.api.Channel;
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.Stream;
 import org.cybnity.infrastructure.technical.message_bus.adapter.api.UISAdapter;
 
 /**
@@ -30,6 +34,11 @@ public class TenantRegistrationActivator extends AbstractServiceActivator {
      */
     private final ITenantRegistrationService processor;
 
+    /**
+     * Recorder of the unprocessed facts into the Invalid Message Channel and Dead Letter Channel of the feature. Null when none UIS connector.
+     */
+    private final UnprocessedFactRecorder unprocessedFacts;
+
     /**
      * Default constructor.
      *
@@ -44,6 +53,8 @@ public class TenantRegistrationActivator extends AbstractServiceActivator {
     public TenantRegistrationActivator(UISAdapter uisConnector, IContext context, String serviceName, Channel featureTenantsChangesNotificationChannel, ISSOAdminAdapter ssoConnector) throws IllegalArgumentException, UnoperationalStateException {
         this.client = uisConnector;
         if (context == null) throw new IllegalArgumentException("Context parameter is required!");
+        this.unprocessedFacts = (uisConnector != null) ? new UnprocessedFactRecorder(uisConnector, new ACDomainMessageMapperFactory(), UICapabilityChannel.access_control_tenant_registration.shortName(),
+                new Stream(UICapabilityChannel.access_control_tenant_registration_invalid.shortName()), new Stream(UICapabilityChannel.access_control_tenant_registration_dead_letter.shortName())) : null;
 
         // --- Initialization of the tenant read-model and write-model reusable by the Tenant registration service ---
         // Event store managing the tenant streams persistence layer
@@ -87,12 +98,12 @@ public class TenantRegistrationActivator extends AbstractServiceActivator {
     @Override
     protected void moveToInvalidMessageChannel(IDescribed unprocessedEvent, String cause) {
         if (unprocessedEvent != null) {
-            // Temporary put into log system
             String msg = unprocessedEvent.type().value();
             if (cause != null) msg += ": " + cause;
             logger().warning(msg);
-            if (client != null) {
-                // TODO replace temp log by feeding of invalid message channel
+            if (unprocessedFacts != null) {
+                // Retain the fact and its cause for analysis
+                unprocessedFacts.recordInvalidMessage(unprocessedEvent, cause);
             }
         }
     }
@@ -100,12 +111,12 @@ public class TenantRegistrationActivator extends AbstractServiceActivator {
     @Override
     protected void moveToDeadLetterChannel(IDescribed unprocessedEvent, String cause) {
         if (unprocessedEvent != null) {
-            // Temporary put into log system
             String msg = unprocessedEvent.type().value();
             if (cause != null) msg += ": " + cause;
             logger().warning(msg);
-            if (client != null) {
-                // TODO replace temp log by feeding of dead letter channel
+            if (unprocessedFacts != null) {
+                // Retain the fact and its cause for later replay (e.g after an outage)
+                unprocessedFacts.recordDeadLetter(unprocessedEvent, cause);
             }
         }
     }
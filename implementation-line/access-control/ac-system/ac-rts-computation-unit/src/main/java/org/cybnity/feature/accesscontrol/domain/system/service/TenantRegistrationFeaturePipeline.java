@@ -1,20 +1,27 @@
 package org.cybnity.feature.accesscontrol.domain.system.service;
 
+import io.vertx.core.Promise;
 import org.cybnity.application.accesscontrol.adapter.api.admin.ISSOAdminAdapter;
 import org.cybnity.application.accesscontrol.adapter.impl.keycloak.admin.SSOAdminAdapterKeycloakImpl;
 import org.cybnity.application.accesscontrol.translator.ui.api.ACDomainMessageMapperFactory;
 import org.cybnity.application.accesscontrol.translator.ui.api.UICapabilityChannel;
+import org.cybnity.application.accesscontrol.translator.ui.api.event.ProcessingUnitLoadAttributeName;
 import org.cybnity.application.accesscontrol.ui.api.event.CommandName;
 import org.cybnity.application.accesscontrol.ui.api.experience.ExecutionResource;
+import org.cybnity.feature.accesscontrol.domain.system.ProcessModuleConfigurationVariable;
 import org.cybnity.framework.IContext;
 import org.cybnity.framework.UnoperationalStateException;
 import org.cybnity.framework.application.vertx.common.service.AbstractEndpointPipelineImpl;
 import org.cybnity.framework.application.vertx.common.service.FactBaseHandler;
 import org.cybnity.framework.application.vertx.common.service.filter.InterestEventFilter;
 import org.cybnity.framework.application.vertx.common.service.security.AccessControlChecker;
+import org.cybnity.framework.domain.Attribute;
 import org.cybnity.framework.domain.IDescribed;
 import org.cybnity.framework.domain.event.IEventType;
+import org.cybnity.framework.domain.event.ProcessingUnitPresenceAnnounced;
+import org.cybnity.framework.immutable.EntityReference;
 import org.cybnity.infrastructure.technical.message_bus.adapter.api.*;
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.event.ProcessingUnitPresenceAnnouncedEventFactory;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -59,6 +66,16 @@ public class TenantRegistrationFeaturePipeline extends AbstractEndpointPipelineI
      */
     private ISSOAdminAdapter ssoClient;
 
+    /**
+     * Default period in seconds of the presence renewal announced to the domain IO gateway.
+     */
+    public static final int DEFAULT_PRESENCE_HEARTBEAT_IN_SECONDS = 10;
+
+    /**
+     * Identifier of the periodic presence renewal timer, or -1 when not started.
+     */
+    private long presenceHeartbeatTimerId = -1;
+
     /**
      * Default constructor used by Vertx deployment process.
      *
@@ -102,6 +119,70 @@ public class TenantRegistrationFeaturePipeline extends AbstractEndpointPipelineI
         return NamingConventionHelper.buildComponentName(/* component type */NamingConventionHelper.NamingConventionApplicability.PIPELINE, /* domainName */ "ac", /* componentMainFunction */"tenant_registration",/* resourceType */ ExecutionResource.PROCESSING_UNIT.label(), /* segregationLabel */ null);
     }
 
+    /**
+     * Start the observation of the entrypoint, and the periodic renewal of this instance presence allowing the domain IO gateway to detect its end without announce (e.g crashed instance).
+     */
+    @Override
+    protected void startChannelConsumers() {
+        super.startChannelConsumers();
+        int period = intValue(context().get(ProcessModuleConfigurationVariable.AC_PU_PRESENCE_HEARTBEAT_IN_SECONDS), DEFAULT_PRESENCE_HEARTBEAT_IN_SECONDS);
+        if (period > 0 && presenceHeartbeatTimerId < 0) {
+            presenceHeartbeatTimerId = vertx.setPeriodic(1000L * period, id -> vertx.executeBlocking(() -> {
+                announcePresence(PresenceState.AVAILABLE, null);
+                return null;
+            }, false).onFailure(e -> logger().log(Level.WARNING, featureModuleLogicalName() + " presence renewal failure: " + e.getMessage(), e)));
+        }
+    }
+
+    /**
+     * Stop the periodic renewal of this instance presence before the end of presence announced by the pipeline stop.
+     *
+     * @param stopPromise Promise completed when stopped.
+     * @throws Exception When problem during the stop.
+     */
+    @Override
+    public void stop(Promise<Void> stopPromise) throws Exception {
+        if (presenceHeartbeatTimerId >= 0) {
+            vertx.cancelTimer(presenceHeartbeatTimerId);
+            presenceHeartbeatTimerId = -1;
+        }
+        super.stop(stopPromise);
+    }
+
+    /**
+     * Publish the presence of this instance to the domain IO gateway, identified by the deployment identifier of this pipeline (see ProcessingUnitLoadAttributeName).
+     * So each instance of this processing unit (consumer of the same entrypoint) is retained by the gateway until its own end of presence, or until the expiration of its last announce.
+     *
+     * @param presenceState Optional presence current status to announce. When null, PresenceState.AVAILABLE is announced.
+     * @param priorEventRef Optional origin event that was prior to new event to generate and to publish.
+     * @throws Exception When problem during the announce preparation or publication.
+     */
+    @Override
+    public void announcePresence(PresenceState presenceState, EntityReference priorEventRef) throws Exception {
+        if (presenceState == null) presenceState = PresenceState.AVAILABLE;
+        ProcessingUnitPresenceAnnounced announce = new ProcessingUnitPresenceAnnouncedEventFactory().create(supportedEventTypesToRoutingPath(), featureServiceName(), priorEventRef, presenceState);
+        announce.appendSpecification(new Attribute(ProcessingUnitLoadAttributeName.PROCESSING_UNIT_INSTANCE.name(), deploymentID()));
+        uisClient.publish(announce, proxyAnnouncingChannel(), getMessageMapperProvider().getMapper(IDescribed.class, String.class));
+        logger().fine(featureModuleLogicalName() + " presence announced (" + presenceState.name() + ") by worker (workerDeploymentId: " + this.deploymentID() + ")");
+    }
+
+    /**
+     * Read an integer configuration value.
+     *
+     * @param value        Optional value.
+     * @param defaultValue Value returned when undefined or invalid value.
+     * @return A value.
+     */
+    private static int intValue(String value, int defaultValue) {
+        if (value == null || value.isEmpty()) return defaultValue;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException nfe) {
+            logger.warning("Invalid processing unit configuration value (" + value + "), default value used: " + defaultValue);
+            return defaultValue;
+        }
+    }
+
     @Override
     protected FactBaseHandler pipelinedProcess() {
         if (pipelinedProcessSingleton == null) {
@@ -1,20 +1,64 @@
 package org.cybnity.application.accesscontrol.translator.ui.api;
 
+import io.lettuce.core.StreamMessage;
+import org.cybnity.framework.domain.IDescribed;
 import org.cybnity.infrastructure.technical.message_bus.adapter.api.MessageMapper;
 import org.cybnity.infrastructure.technical.message_bus.adapter.impl.redis.MessageMapperFactory;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Utility class allowing to transform an object manageable by the Access Control domain according to a type of data structure supported by the domain's UI layer.
  * For example, translate a specific or generic CommandEvent object into a String (message body).
+ * The facts are produced with the encoding of the factory (JSON by default), and the consumed messages are read according to their encoding header (JSON or COMPACT), so the JSON messages of any producer stay readable.
  */
 public class ACDomainMessageMapperFactory extends MessageMapperFactory {
 
+    /**
+     * Maximum quantity of idle mappers retained per encoding and types pair. A mapper released when this quantity is reached is dropped.
+     */
+    static final int MAX_IDLE_MAPPERS = 256;
+
+    /**
+     * Idle mappers per (encoding, origin type, targeted type), shared by all the threads (e.g virtual threads executing the blocking operations).
+     * A mapper retains the result of its last transformation, so it is leased by one thread at a time before to be given back to the idle mappers.
+     */
+    private static final Map<List<Object>, BlockingQueue<MessageMapper>> idleMappers = new ConcurrentHashMap<>();
+
+    /**
+     * Encoding of the produced facts.
+     */
+    private final FactEncoding encoding;
+
     public ACDomainMessageMapperFactory() {
+        this(FactEncoding.JSON);
+    }
+
+    /**
+     * Constructor of a factory producing facts with an encoding.
+     *
+     * @param encoding Encoding of the facts transformed into channel or stream messages. When null, JSON is applied. COMPACT shall only be used when all the consumers of the channels and streams are using ACDomainMessageMapperFactory.
+     */
+    public ACDomainMessageMapperFactory(FactEncoding encoding) {
         super();
+        this.encoding = (encoding != null) ? encoding : FactEncoding.JSON;
+    }
+
+    /**
+     * @return The encoding of the produced facts.
+     */
+    public FactEncoding encoding() {
+        return encoding;
     }
 
     /**
      * Get an object mapper allowing transformation of a domain specific type of class, or common type supported by the Users Interactions Space.
+     * A new mapper is returned at each call, which can be retained for a long-lived usage by any thread (e.g subscription to a channel).
      *
      * @param transformable   Origin object type to map.
      * @param transformableAs Targeted type to generate.
@@ -23,10 +67,77 @@ public class ACDomainMessageMapperFactory extends MessageMapperFactory {
     public MessageMapper getMapper(Class<?> transformable, Class<?> transformableAs) {
         if (transformable != null && transformableAs != null) {
             // Select the origin type to be transformed that is only specific to the AC domain
+            if (IDescribed.class.isAssignableFrom(transformable) && (transformableAs == String.class || transformableAs == StreamMessage.class)) {
+                // Fact produced as message
+                if (encoding == FactEncoding.COMPACT) {
+                    MessageMapper serializer = super.getMapper(transformable, String.class);
+                    if (serializer == null) serializer = super.getMapper(IDescribed.class, String.class);
+                    if (serializer != null) return new CompactFactMapper(serializer, transformableAs == StreamMessage.class);
+                }
+            } else if ((transformable == String.class || transformable == StreamMessage.class) && IDescribed.class.isAssignableFrom(transformableAs)) {
+                // Fact consumed from a JSON or compact message
+                MessageMapper jsonMessageMapper = super.getMapper(transformable, transformableAs);
+                MessageMapper deserializer = (transformable == String.class) ? jsonMessageMapper : super.getMapper(String.class, transformableAs);
+                if (jsonMessageMapper != null && deserializer != null) return new EncodingAwareFactMapper(deserializer, jsonMessageMapper);
+                return jsonMessageMapper;
+            }
 
             // Else try to find existing common mapper supported by the UIS space
             return super.getMapper(transformable, transformableAs);
         }
         return null; // None supported types
     }
+
+    /**
+     * Lease an object mapper, reused from the idle mappers of the encoding and types pair when existing (e.g for each published or appended message), or created.
+     * The mapper shall only be used by the calling thread until the close of its lease, and shall not be retained after.
+     *
+     * @param transformable   Origin object type to map.
+     * @param transformableAs Targeted type to generate.
+     * @return A lease to close at the end of the transformation, or null when none supported mapping capability between the origin and targeted type.
+     */
+    public MapperLease leaseMapper(Class<?> transformable, Class<?> transformableAs) {
+        if (transformable == null || transformableAs == null) return null;
+        BlockingQueue<MessageMapper> idle = idleMappers.computeIfAbsent(Arrays.asList(encoding, transformable, transformableAs), types -> new ArrayBlockingQueue<>(MAX_IDLE_MAPPERS));
+        MessageMapper mapper = idle.poll();
+        if (mapper == null) {
+            mapper = getMapper(transformable, transformableAs);
+            // Unsupported types pair
+            if (mapper == null) return null;
+        }
+        return new MapperLease(mapper, idle);
+    }
+
+    /**
+     * Mapper leased for a transformation.
+     */
+    public static final class MapperLease implements AutoCloseable {
+        private final MessageMapper mapper;
+        private final BlockingQueue<MessageMapper> idle;
+        private boolean released;
+
+        private MapperLease(MessageMapper mapper, BlockingQueue<MessageMapper> idle) {
+            this.mapper = mapper;
+            this.idle = idle;
+        }
+
+        /**
+         * @return The leased mapper.
+         */
+        public MessageMapper mapper() {
+            return mapper;
+        }
+
+        /**
+         * Give back the mapper to the idle mappers.
+         */
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                // Dropped when the idle mappers are full
+                idle.offer(mapper);
+            }
+        }
+    }
 }
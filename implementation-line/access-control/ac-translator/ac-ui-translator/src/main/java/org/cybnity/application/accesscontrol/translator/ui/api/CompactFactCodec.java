@@ -0,0 +1,317 @@
+package org.cybnity.application.accesscontrol.translator.ui.api;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Codec between the JSON text of a fact and its compact binary encoding, which retains the JSON structure (so the decoded JSON is read by the JSON deserializers of facts).
+ * The field names and string values are written once per message, and replaced by a reference when repeated, or when defined by the shared dictionary (e.g attribute names of the Access Control domain).
+ * The integers are written as variable-length numbers.
+ * The dictionary is append-only: a new name is added at its end with a new VERSION, and a message of another version is refused.
+ */
+public final class CompactFactCodec {
+
+    /**
+     * Version of the encoding and of its dictionary.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Names shared by the producers and consumers, referenced by their index.
+     */
+    static final List<String> DICTIONARY = Collections.unmodifiableList(Arrays.asList(
+            // Attribute names
+            "TENANT_NAMING", "TENANT_ID", "TENANT_LABEL", "ACTIVITY_STATE",
+            // Command and event types
+            "REGISTER_TENANT", "UPGRADE_TENANT", "REGISTER_ACCOUNT", "ACTIVATE_REGISTERED_ACCOUNT",
+            "TENANT_REGISTRATION_SUBMITTED", "TENANT_REGISTERED", "TENANT_CHANGED", "TENANT_REMOVED", "TENANT_REGISTRATION_REJECTED",
+            // Common values
+            "true", "false", "name", "value", "type", "id"));
+
+    /**
+     * Maximum quantity of names referenced per message (beyond which the new names are always written).
+     */
+    static final int MAX_REFERENCES = 4096;
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private static final byte START_OBJECT = 1;
+    private static final byte END_OBJECT = 2;
+    private static final byte START_ARRAY = 3;
+    private static final byte END_ARRAY = 4;
+    private static final byte FIELD_NAME = 5;
+    private static final byte STRING = 6;
+    private static final byte INTEGER = 7;
+    private static final byte NUMBER_TEXT = 8;
+    private static final byte TRUE = 9;
+    private static final byte FALSE = 10;
+    private static final byte NULL = 11;
+
+    private static final Map<String, Integer> DICTIONARY_INDEXES = new HashMap<>();
+
+    static {
+        for (int i = 0; i < DICTIONARY.size(); i++) DICTIONARY_INDEXES.put(DICTIONARY.get(i), i);
+    }
+
+    private CompactFactCodec() {
+    }
+
+    /**
+     * Encode a JSON text.
+     *
+     * @param json Mandatory JSON text.
+     * @return The compact encoding.
+     * @throws IOException              When invalid JSON text.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    public static byte[] encode(String json) throws IOException, IllegalArgumentException {
+        if (json == null) throw new IllegalArgumentException("json parameter is required!");
+        Output out = new Output(json.length() / 2);
+        out.write(VERSION);
+        Map<String, Integer> references = new HashMap<>(DICTIONARY_INDEXES);
+        try (JsonParser parser = JSON.createParser(json)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                switch (token) {
+                    case START_OBJECT:
+                        out.write(START_OBJECT);
+                        break;
+                    case END_OBJECT:
+                        out.write(END_OBJECT);
+                        break;
+                    case START_ARRAY:
+                        out.write(START_ARRAY);
+                        break;
+                    case END_ARRAY:
+                        out.write(END_ARRAY);
+                        break;
+                    case FIELD_NAME:
+                        out.write(FIELD_NAME);
+                        out.writeString(parser.getCurrentName(), references);
+                        break;
+                    case VALUE_STRING:
+                        out.write(STRING);
+                        out.writeString(parser.getText(), references);
+                        break;
+                    case VALUE_NUMBER_INT:
+                        if (parser.getNumberType() == JsonParser.NumberType.INT || parser.getNumberType() == JsonParser.NumberType.LONG) {
+                            out.write(INTEGER);
+                            long value = parser.getLongValue();
+                            out.writeVarLong((value << 1) ^ (value >> 63));
+                        } else {
+                            out.write(NUMBER_TEXT);
+                            out.writeLiteral(parser.getText());
+                        }
+                        break;
+                    case VALUE_NUMBER_FLOAT:
+                        // Exact text retained
+                        out.write(NUMBER_TEXT);
+                        out.writeLiteral(parser.getText());
+                        break;
+                    case VALUE_TRUE:
+                        out.write(TRUE);
+                        break;
+                    case VALUE_FALSE:
+                        out.write(FALSE);
+                        break;
+                    case VALUE_NULL:
+                        out.write(NULL);
+                        break;
+                    default:
+                        throw new IOException("Unsupported JSON token (" + token + ")!");
+                }
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decode a compact encoding as JSON text.
+     *
+     * @param compact Mandatory compact encoding.
+     * @return The JSON text (without indentation).
+     * @throws IOException              When invalid encoding, or encoding of another version.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    public static String decode(byte[] compact) throws IOException, IllegalArgumentException {
+        if (compact == null) throw new IllegalArgumentException("compact parameter is required!");
+        Input in = new Input(compact);
+        int version = in.read();
+        if (version != VERSION) throw new IOException("Unsupported compact encoding version (" + version + ")!");
+        List<String> references = new ArrayList<>(DICTIONARY);
+        StringWriter json = new StringWriter(compact.length * 2);
+        try (JsonGenerator generator = JSON.createGenerator(json)) {
+            while (in.available()) {
+                byte tag = (byte) in.read();
+                switch (tag) {
+                    case START_OBJECT:
+                        generator.writeStartObject();
+                        break;
+                    case END_OBJECT:
+                        generator.writeEndObject();
+                        break;
+                    case START_ARRAY:
+                        generator.writeStartArray();
+                        break;
+                    case END_ARRAY:
+                        generator.writeEndArray();
+                        break;
+                    case FIELD_NAME:
+                        generator.writeFieldName(in.readString(references));
+                        break;
+                    case STRING:
+                        generator.writeString(in.readString(references));
+                        break;
+                    case INTEGER:
+                        long zigzag = in.readVarLong();
+                        generator.writeNumber((zigzag >>> 1) ^ -(zigzag & 1));
+                        break;
+                    case NUMBER_TEXT:
+                        generator.writeNumber(in.readLiteral());
+                        break;
+                    case TRUE:
+                        generator.writeBoolean(true);
+                        break;
+                    case FALSE:
+                        generator.writeBoolean(false);
+                        break;
+                    case NULL:
+                        generator.writeNull();
+                        break;
+                    default:
+                        throw new IOException("Invalid compact encoding (unknown tag " + tag + ")!");
+                }
+            }
+        }
+        return json.toString();
+    }
+
+    /**
+     * Encode a JSON text as a text value (e.g stream field value) in Base64.
+     *
+     * @param json Mandatory JSON text.
+     * @return A Base64 text.
+     * @throws IOException When invalid JSON text.
+     */
+    public static String encodeAsText(String json) throws IOException {
+        return Base64.getEncoder().encodeToString(encode(json));
+    }
+
+    /**
+     * Decode a Base64 text value as JSON text.
+     *
+     * @param text Mandatory Base64 text.
+     * @return The JSON text.
+     * @throws IOException When invalid encoding.
+     */
+    public static String decodeText(String text) throws IOException {
+        if (text == null) throw new IllegalArgumentException("text parameter is required!");
+        try {
+            return decode(Base64.getDecoder().decode(text));
+        } catch (IllegalArgumentException iae) {
+            throw new IOException("Invalid Base64 text!", iae);
+        }
+    }
+
+    /**
+     * Buffer of the encoding.
+     */
+    private static final class Output extends ByteArrayOutputStream {
+
+        private Output(int size) {
+            super(Math.max(size, 64));
+        }
+
+        private void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        private void writeLiteral(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+
+        /**
+         * Write a reference (index + 1) to a known string, or 0 followed by the literal string which becomes referenceable.
+         */
+        private void writeString(String value, Map<String, Integer> references) {
+            Integer index = references.get(value);
+            if (index != null) {
+                writeVarLong(index + 1L);
+                return;
+            }
+            writeVarLong(0);
+            writeLiteral(value);
+            if (references.size() < DICTIONARY.size() + MAX_REFERENCES) references.put(value, references.size());
+        }
+    }
+
+    /**
+     * Reader of the encoding.
+     */
+    private static final class Input {
+        private final byte[] bytes;
+        private int position;
+
+        private Input(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        private boolean available() {
+            return position < bytes.length;
+        }
+
+        private int read() throws IOException {
+            if (position >= bytes.length) throw new IOException("Truncated compact encoding!");
+            return bytes[position++] & 0xFF;
+        }
+
+        private long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = read();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new IOException("Invalid variable-length number!");
+        }
+
+        private String readLiteral() throws IOException {
+            long length = readVarLong();
+            if (length < 0 || length > bytes.length - position) throw new IOException("Truncated compact encoding!");
+            String value = new String(bytes, position, (int) length, StandardCharsets.UTF_8);
+            position += (int) length;
+            return value;
+        }
+
+        private String readString(List<String> references) throws IOException {
+            long reference = readVarLong();
+            if (reference == 0) {
+                String value = readLiteral();
+                if (references.size() < DICTIONARY.size() + MAX_REFERENCES) references.add(value);
+                return value;
+            }
+            if (reference > references.size()) throw new IOException("Invalid compact encoding (unknown reference)!");
+            return references.get((int) (reference - 1));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.cybnity.application.accesscontrol.translator.ui.api;
+
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.MessageMapper;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Mapper of a fact into its compact encoding, as channel message (String prefixed by the encoding identifier) or as stream message (fields map including the encoding header).
+ * The fact is serialized by the JSON mapper supported by the Users Interactions Space before its encoding.
+ */
+class CompactFactMapper implements MessageMapper {
+
+    private final MessageMapper serializer;
+
+    private final boolean asStreamMessage;
+
+    private Object result;
+
+    /**
+     * Default constructor.
+     *
+     * @param serializer      Mandatory mapper of a fact into JSON text.
+     * @param asStreamMessage True when the result is a stream message, else a channel message.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    CompactFactMapper(MessageMapper serializer, boolean asStreamMessage) throws IllegalArgumentException {
+        if (serializer == null) throw new IllegalArgumentException("serializer parameter is required!");
+        this.serializer = serializer;
+        this.asStreamMessage = asStreamMessage;
+    }
+
+    @Override
+    public void transform(Object fact) {
+        result = null;
+        try {
+            serializer.transform(fact);
+            String compact = CompactFactCodec.encodeAsText((String) serializer.getResult());
+            if (asStreamMessage) {
+                Map<String, String> message = new HashMap<>(4);
+                message.put(FactEncoding.STREAM_HEADER, FactEncoding.COMPACT_ENCODING_ID);
+                message.put(FactEncoding.STREAM_FACT_FIELD, compact);
+                result = message;
+            } else {
+                result = FactEncoding.CHANNEL_MESSAGE_PREFIX + compact;
+            }
+        } catch (RuntimeException re) {
+            throw re;
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Fact not encodable as compact message!", e);
+        }
+    }
+
+    @Override
+    public Object getResult() {
+        return result;
+    }
+}
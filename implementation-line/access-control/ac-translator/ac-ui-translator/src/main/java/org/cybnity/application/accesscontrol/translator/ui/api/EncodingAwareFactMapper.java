@@ -0,0 +1,75 @@
+package org.cybnity.application.accesscontrol.translator.ui.api;
+
+import io.lettuce.core.StreamMessage;
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.MessageMapper;
+
+import java.util.Map;
+
+/**
+ * Mapper of a channel or stream message into a fact, according to the encoding identified by the message header.
+ * A compact message is decoded as JSON text read by the deserializer; a message without compact header is a JSON message, given as is to the mapper supported by the Users Interactions Space.
+ */
+class EncodingAwareFactMapper implements MessageMapper {
+
+    private final MessageMapper deserializer;
+
+    private final MessageMapper jsonMessageMapper;
+
+    private Object result;
+
+    /**
+     * Default constructor.
+     *
+     * @param deserializer      Mandatory mapper of JSON text into fact.
+     * @param jsonMessageMapper Mandatory mapper of a JSON message (channel or stream message) into fact.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    EncodingAwareFactMapper(MessageMapper deserializer, MessageMapper jsonMessageMapper) throws IllegalArgumentException {
+        if (deserializer == null) throw new IllegalArgumentException("deserializer parameter is required!");
+        if (jsonMessageMapper == null) throw new IllegalArgumentException("jsonMessageMapper parameter is required!");
+        this.deserializer = deserializer;
+        this.jsonMessageMapper = jsonMessageMapper;
+    }
+
+    @Override
+    public void transform(Object message) {
+        result = null;
+        try {
+            String compact = compactFact(message);
+            MessageMapper mapper = (compact != null) ? deserializer : jsonMessageMapper;
+            mapper.transform((compact != null) ? CompactFactCodec.decodeText(compact) : message);
+            result = mapper.getResult();
+        } catch (RuntimeException re) {
+            throw re;
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Message not decodable as fact!", e);
+        }
+    }
+
+    /**
+     * Get the compact fact of a message.
+     *
+     * @param message Channel message (String), or stream message (StreamMessage or its fields map).
+     * @return The compact fact (Base64), or null when the message is not compact.
+     */
+    static String compactFact(Object message) {
+        if (message instanceof String) {
+            String text = (String) message;
+            return text.startsWith(FactEncoding.CHANNEL_MESSAGE_PREFIX) ? text.substring(FactEncoding.CHANNEL_MESSAGE_PREFIX.length()) : null;
+        }
+        Object fields = (message instanceof StreamMessage) ? ((StreamMessage<?, ?>) message).getBody() : message;
+        if (fields instanceof Map) {
+            Map<?, ?> body = (Map<?, ?>) fields;
+            if (FactEncoding.COMPACT_ENCODING_ID.equals(body.get(FactEncoding.STREAM_HEADER))) {
+                Object fact = body.get(FactEncoding.STREAM_FACT_FIELD);
+                return (fact != null) ? fact.toString() : null;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Object getResult() {
+        return result;
+    }
+}
@@ -0,0 +1,53 @@
+package org.cybnity.application.accesscontrol.translator.ui.api;
+
+/**
+ * Encoding of the facts published or appended by a producer over the Users Interactions Space.
+ * The consumers using ACDomainMessageMapperFactory read both encodings, identified by the header of each message; so a producer shall only use COMPACT when all the consumers of its channel or stream are using ACDomainMessageMapperFactory.
+ */
+public enum FactEncoding {
+
+    /**
+     * JSON text (default), readable by any consumer.
+     */
+    JSON,
+
+    /**
+     * Compact binary encoding of the JSON structure (see CompactFactCodec), with the repeated names replaced by dictionary references.
+     */
+    COMPACT;
+
+    /**
+     * Name of the stream message field identifying the encoding of the fact. A stream message without this field is a JSON message.
+     */
+    public static final String STREAM_HEADER = "encoding";
+
+    /**
+     * Name of the stream message field including the compact fact (Base64).
+     */
+    public static final String STREAM_FACT_FIELD = "fact";
+
+    /**
+     * Identifier of the compact encoding (and of its dictionary version), used as stream header value and as channel message prefix.
+     */
+    public static final String COMPACT_ENCODING_ID = "ac-compact/" + CompactFactCodec.VERSION;
+
+    /**
+     * Prefix of a compact channel message (followed by the Base64 compact fact). A JSON message can't start with this prefix.
+     */
+    public static final String CHANNEL_MESSAGE_PREFIX = COMPACT_ENCODING_ID + ":";
+
+    /**
+     * Get an encoding from its name.
+     *
+     * @param name Name of encoding.
+     * @return The named encoding, or JSON when name is undefined or unknown.
+     */
+    public static FactEncoding of(String name) {
+        if (name != null && !name.isEmpty()) {
+            for (FactEncoding encoding : values()) {
+                if (encoding.name().equalsIgnoreCase(name.trim())) return encoding;
+            }
+        }
+        return JSON;
+    }
+}
@@ -16,11 +16,31 @@ public enum UICapabilityChannel implements ICapabilityChannel {
      */
     access_control_in(new AccessControlDomainModel().domainName() + NamingConventions.STREAM_NAME_SEPARATOR + "in"),
 
+    /**
+     * Invalid Message Channel regarding the facts received by the Access Control domain IO entrypoint, that can't be processed (e.g unidentified or not supported event type).
+     */
+    access_control_in_invalid(new AccessControlDomainModel().domainName() + NamingConventions.STREAM_NAME_SEPARATOR + "in_invalid"),
+
+    /**
+     * Dead Letter Channel regarding the facts received by the Access Control domain IO entrypoint, that can't be delivered to a processing unit.
+     */
+    access_control_in_dead_letter(new AccessControlDomainModel().domainName() + NamingConventions.STREAM_NAME_SEPARATOR + "in_dead_letter"),
+
     /**
      * Boundary regarding the feature (input channel) managing a tenant registration.
      */
     access_control_tenant_registration(new AccessControlDomainModel().domainName() + NamingConventions.STREAM_NAME_SEPARATOR + "tenant_registration"),
 
+    /**
+     * Invalid Message Channel regarding the facts received by the tenant registration feature, that are not supported.
+     */
+    access_control_tenant_registration_invalid(new AccessControlDomainModel().domainName() + NamingConventions.STREAM_NAME_SEPARATOR + "tenant_registration_invalid"),
+
+    /**
+     * Dead Letter Channel regarding the facts received by the tenant registration feature, which treatment has failed.
+     */
+    access_control_tenant_registration_dead_letter(new AccessControlDomainModel().domainName() + NamingConventions.STREAM_NAME_SEPARATOR + "tenant_registration_dead_letter"),
+
     /**
      * Boundary regarding the changes performed on Tenant aggregates.
      * Pub/Sub channel allowing listening by multiple consumers that are interesting by tenants evolution (e.g created, modified, removed).
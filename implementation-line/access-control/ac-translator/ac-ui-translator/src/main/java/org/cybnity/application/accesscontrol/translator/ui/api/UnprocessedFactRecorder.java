@@ -0,0 +1,209 @@
+package org.cybnity.application.accesscontrol.translator.ui.api;
+
+import io.lettuce.core.StreamMessage;
+import org.cybnity.application.accesscontrol.translator.ui.api.event.UnprocessedFactAttributeName;
+import org.cybnity.application.accesscontrol.translator.ui.api.event.UnprocessedFactEventType;
+import org.cybnity.framework.UnoperationalStateException;
+import org.cybnity.framework.domain.Attribute;
+import org.cybnity.framework.domain.Command;
+import org.cybnity.framework.domain.IDescribed;
+import org.cybnity.framework.domain.event.CommandFactory;
+import org.cybnity.framework.domain.event.EventSpecification;
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.IMessageMapperProvider;
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.MappingException;
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.MessageMapper;
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.Stream;
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.UISAdapter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Recorder of the facts that can't be processed by a pipeline, into its Invalid Message Channel and Dead Letter Channel streams.
+ * Each fact is retained into a record (UnprocessedFactEventType) including the serialized fact and the cause metadata (UnprocessedFactAttributeName), allowing its analysis and its later replay.
+ */
+public class UnprocessedFactRecorder {
+
+    /**
+     * Technical logging
+     */
+    private static final Logger logger = Logger.getLogger(UnprocessedFactRecorder.class.getName());
+
+    private final UISAdapter uisClient;
+
+    private final IMessageMapperProvider mapperFactory;
+
+    /**
+     * Name of the channel where the facts are received by the pipeline.
+     */
+    private final String origin;
+
+    private final Stream invalidMessages;
+
+    private final Stream deadLetters;
+
+    /**
+     * Mappers of the records to stream message per record type, owned by each thread (a mapper is stateful).
+     */
+    private final ThreadLocal<Map<Class<?>, MessageMapper>> mappers = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * Serializers of the unprocessed facts, owned by each thread.
+     */
+    private final ThreadLocal<MessageMapper> serializers = ThreadLocal.withInitial(() -> this.mapperFactory.getMapper(IDescribed.class, String.class));
+
+    private final LongAdder invalidMessagesRecorded = new LongAdder();
+    private final LongAdder deadLettersRecorded = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * Default constructor.
+     *
+     * @param uisClient       Mandatory operational client connected to UIS.
+     * @param mapperFactory   Mandatory mapper factory supporting the serialization of the facts and records.
+     * @param origin          Mandatory name of the channel where the facts are received by the pipeline.
+     * @param invalidMessages Optional Invalid Message Channel. When null, the invalid facts are only logged.
+     * @param deadLetters     Optional Dead Letter Channel. When null, the failed facts are only logged.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    public UnprocessedFactRecorder(UISAdapter uisClient, IMessageMapperProvider mapperFactory, String origin, Stream invalidMessages, Stream deadLetters) throws IllegalArgumentException {
+        if (uisClient == null) throw new IllegalArgumentException("uisClient parameter is required!");
+        if (mapperFactory == null) throw new IllegalArgumentException("mapperFactory parameter is required!");
+        if (origin == null || origin.isEmpty()) throw new IllegalArgumentException("origin parameter is required!");
+        this.uisClient = uisClient;
+        this.mapperFactory = mapperFactory;
+        this.origin = origin;
+        this.invalidMessages = invalidMessages;
+        this.deadLetters = deadLetters;
+    }
+
+    /**
+     * Move a fact to the Invalid Message Channel.
+     *
+     * @param fact  Fact rejected as invalid.
+     * @param cause Optional cause of the rejection.
+     * @return True when recorded.
+     */
+    public boolean recordInvalidMessage(IDescribed fact, String cause) {
+        boolean recorded = record(UnprocessedFactEventType.INVALID_MESSAGE_RECORDED, invalidMessages, fact, cause);
+        if (recorded) invalidMessagesRecorded.increment();
+        return recorded;
+    }
+
+    /**
+     * Move a fact to the Dead Letter Channel.
+     *
+     * @param fact  Fact which treatment has failed.
+     * @param cause Optional cause of the failure.
+     * @return True when recorded.
+     */
+    public boolean recordDeadLetter(IDescribed fact, String cause) {
+        boolean recorded = record(UnprocessedFactEventType.DEAD_LETTER_RECORDED, deadLetters, fact, cause);
+        if (recorded) deadLettersRecorded.increment();
+        return recorded;
+    }
+
+    private boolean record(UnprocessedFactEventType type, Stream to, IDescribed fact, String cause) {
+        if (fact == null || to == null) return false;
+        try {
+            Command record = record(type, fact, cause, origin, serializers.get());
+            uisClient.append(record, to, mappers.get().computeIfAbsent(record.getClass(), recordType -> mapperFactory.getMapper(recordType, StreamMessage.class)));
+            return true;
+        } catch (MappingException | UnoperationalStateException e) {
+            failures.increment();
+            logger.log(Level.SEVERE, "Impossible record of unprocessed fact into '" + to.name() + "' stream: " + e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Build the record of an unprocessed fact.
+     *
+     * @param type       Mandatory type of record.
+     * @param fact       Mandatory unprocessed fact.
+     * @param cause      Optional cause.
+     * @param origin     Optional name of the channel where the fact was received.
+     * @param serializer Mandatory mapper of the fact to String.
+     * @return A record, correlated with the fact when it is a correlated command.
+     * @throws UnoperationalStateException When impossible serialization of the fact.
+     */
+    public static Command record(UnprocessedFactEventType type, IDescribed fact, String cause, String origin, MessageMapper serializer) throws UnoperationalStateException {
+        if (type == null) throw new IllegalArgumentException("type parameter is required!");
+        if (fact == null) throw new IllegalArgumentException("fact parameter is required!");
+        if (serializer == null) throw new IllegalArgumentException("serializer parameter is required!");
+        String serializedFact;
+        try {
+            serializer.transform(fact);
+            serializedFact = (String) serializer.getResult();
+        } catch (Exception e) {
+            throw new UnoperationalStateException(e);
+        }
+        Collection<Attribute> definition = new ArrayList<>();
+        definition.add(new Attribute(UnprocessedFactAttributeName.ORIGINAL_FACT.name(), serializedFact));
+        if (fact.type() != null && fact.type().value() != null)
+            definition.add(new Attribute(UnprocessedFactAttributeName.ORIGINAL_EVENT_TYPE.name(), fact.type().value()));
+        if (cause != null) definition.add(new Attribute(UnprocessedFactAttributeName.CAUSE.name(), cause));
+        if (origin != null) definition.add(new Attribute(UnprocessedFactAttributeName.ORIGIN_CHANNEL.name(), origin));
+        definition.add(new Attribute(UnprocessedFactAttributeName.RECORDED_AT.name(), Long.toString(System.currentTimeMillis())));
+        definition.add(new Attribute(UnprocessedFactAttributeName.RECORD_ID.name(), UUID.randomUUID().toString()));
+        Command record = CommandFactory.create(type.name(), null, definition, null, null);
+        // Retain the transaction of the unprocessed fact
+        String correlationId = (fact instanceof Command && ((Command) fact).correlationId() != null) ? ((Command) fact).correlationId().value() : null;
+        record.generateCorrelationId(correlationId);
+        return record;
+    }
+
+    /**
+     * Read an attribute of a record.
+     *
+     * @param record Record of unprocessed fact.
+     * @param name   Mandatory attribute name.
+     * @return A value, or null when undefined.
+     */
+    public static String attribute(IDescribed record, UnprocessedFactAttributeName name) {
+        if (record == null || name == null) return null;
+        Attribute attribute = EventSpecification.findSpecificationByName(name.name(), record.specification());
+        return (attribute != null) ? attribute.value() : null;
+    }
+
+    /**
+     * Read the unprocessed fact retained by a record.
+     *
+     * @param record       Record of unprocessed fact.
+     * @param deserializer Mandatory mapper of String to fact.
+     * @return A fact, or null when none is retained by the record.
+     * @throws UnoperationalStateException When impossible deserialization of the fact.
+     */
+    public static IDescribed originalFact(IDescribed record, MessageMapper deserializer) throws UnoperationalStateException {
+        if (deserializer == null) throw new IllegalArgumentException("deserializer parameter is required!");
+        String serializedFact = attribute(record, UnprocessedFactAttributeName.ORIGINAL_FACT);
+        if (serializedFact == null) return null;
+        try {
+            deserializer.transform(serializedFact);
+            return (IDescribed) deserializer.getResult();
+        } catch (Exception e) {
+            throw new UnoperationalStateException(e);
+        }
+    }
+
+    public long invalidMessagesRecorded() {
+        return invalidMessagesRecorded.sum();
+    }
+
+    public long deadLettersRecorded() {
+        return deadLettersRecorded.sum();
+    }
+
+    /**
+     * @return Quantity of facts that could not be recorded.
+     */
+    public long failures() {
+        return failures.sum();
+    }
+}
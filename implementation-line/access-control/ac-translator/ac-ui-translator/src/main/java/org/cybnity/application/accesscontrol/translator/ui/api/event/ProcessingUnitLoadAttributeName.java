@@ -0,0 +1,13 @@
+package org.cybnity.application.accesscontrol.translator.ui.api.event;
+
+/**
+ * Type of optional attribute added by a processing unit into its presence announce, regarding the identity of its announcing instance.
+ * Referential allowing to a gateway to retain each instance of a processing unit until its own end of presence.
+ */
+public enum ProcessingUnitLoadAttributeName {
+
+    /**
+     * Identifier of the announcing instance of the processing unit (e.g deployment identifier), allowing to retain each instance of a same processing unit until its own end of presence.
+     */
+    PROCESSING_UNIT_INSTANCE;
+}
@@ -0,0 +1,43 @@
+package org.cybnity.application.accesscontrol.translator.ui.api.event;
+
+/**
+ * Type of attribute supported by the records of unprocessed facts (UnprocessedFactEventType).
+ * Referential that can be used to identify a type of specification attribute with a value.
+ */
+public enum UnprocessedFactAttributeName {
+
+    /**
+     * Serialized version (JSON) of the unprocessed fact.
+     */
+    ORIGINAL_FACT,
+
+    /**
+     * Type name of the unprocessed fact, allowing a selection without deserialization of the fact.
+     */
+    ORIGINAL_EVENT_TYPE,
+
+    /**
+     * Description of the cause of the fact rejection or treatment failure.
+     */
+    CAUSE,
+
+    /**
+     * Name of the channel where the fact was received by the pipeline.
+     */
+    ORIGIN_CHANNEL,
+
+    /**
+     * Time of the record (in milliseconds since epoch).
+     */
+    RECORDED_AT,
+
+    /**
+     * Unique identifier of the record, retained by its copies (e.g record moved back to the Dead Letter Channel after a failed replay), allowing a replay without duplicated fact.
+     */
+    RECORD_ID,
+
+    /**
+     * Quantity of failed replays of the unprocessed fact.
+     */
+    REPLAY_ATTEMPTS;
+}
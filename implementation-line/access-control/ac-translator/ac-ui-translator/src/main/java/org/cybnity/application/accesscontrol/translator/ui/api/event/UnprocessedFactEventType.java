@@ -0,0 +1,19 @@
+package org.cybnity.application.accesscontrol.translator.ui.api.event;
+
+import org.cybnity.framework.domain.event.IEventType;
+
+/**
+ * Type of record regarding a fact that can't be processed by a pipeline, and which is retained into a dedicated channel (e.g for analysis or replay).
+ */
+public enum UnprocessedFactEventType implements IEventType {
+
+    /**
+     * Record of a fact rejected as invalid (e.g unidentified or not supported type), moved to an Invalid Message Channel.
+     */
+    INVALID_MESSAGE_RECORDED,
+
+    /**
+     * Record of a valid fact which treatment has failed (e.g unavailable processing unit, treatment error), moved to a Dead Letter Channel.
+     */
+    DEAD_LETTER_RECORDED;
+}
@@ -0,0 +1,64 @@
+package org.cybnity.application.accesscontrol.translator.ui.api;
+
+import io.lettuce.core.StreamMessage;
+import org.cybnity.framework.domain.Attribute;
+import org.cybnity.framework.domain.Command;
+import org.cybnity.framework.domain.event.CommandFactory;
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.MessageMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Test of the mappers leased for a transformation and reused after their release.
+ */
+public class ACDomainMessageMapperFactoryUseCaseTest {
+
+    static Command command() {
+        Collection<Attribute> definition = new ArrayList<>();
+        definition.add(new Attribute("TENANT_NAMING", "CYBNITY"));
+        Command fact = CommandFactory.create("REGISTER_TENANT", null, definition, null, null);
+        fact.generateCorrelationId(null);
+        return fact;
+    }
+
+    /**
+     * Test that a released mapper is reused by the next lease of the same encoding and types pair, whatever the thread, and is never leased twice at the same time.
+     */
+    @Test
+    public void givenTypesPair_whenMapperLeased_thenReusedAfterReleaseOnly() throws Exception {
+        ACDomainMessageMapperFactory mapperFactory = new ACDomainMessageMapperFactory();
+        MessageMapper mapper;
+        try (ACDomainMessageMapperFactory.MapperLease lease = mapperFactory.leaseMapper(Command.class, StreamMessage.class)) {
+            Assertions.assertNotNull(lease);
+            mapper = lease.mapper();
+            Assertions.assertNotNull(mapper);
+            try (ACDomainMessageMapperFactory.MapperLease concurrent = mapperFactory.leaseMapper(Command.class, StreamMessage.class)) {
+                Assertions.assertNotSame(mapper, concurrent.mapper(), "Shall not be shared during its lease!");
+            }
+            // Leased mapper transformation
+            mapper.transform(command());
+            Assertions.assertNotNull(mapper.getResult());
+        }
+        // Released mappers reused by another thread or factory instance
+        Set<MessageMapper> released = new HashSet<>();
+        for (int i = 0; i < ACDomainMessageMapperFactory.MAX_IDLE_MAPPERS && !released.contains(mapper); i++) {
+            released.add(CompletableFuture.supplyAsync(() -> {
+                try (ACDomainMessageMapperFactory.MapperLease lease = new ACDomainMessageMapperFactory().leaseMapper(Command.class, StreamMessage.class)) {
+                    return lease.mapper();
+                }
+            }).get());
+        }
+        Assertions.assertTrue(released.contains(mapper), "Shall be reused after its release whatever the thread!");
+        try (ACDomainMessageMapperFactory.MapperLease other = mapperFactory.leaseMapper(Command.class, String.class)) {
+            Assertions.assertNotSame(mapper, other.mapper(), "Shall be specific to the types pair!");
+        }
+        Assertions.assertNotSame(mapper, mapperFactory.getMapper(Command.class, StreamMessage.class), "Shall be a new mapper for long-lived usage!");
+        Assertions.assertNull(mapperFactory.leaseMapper(null, StreamMessage.class));
+    }
+}
@@ -10,6 +10,6 @@ import org.junit.platform.suite.api.Suite;
  * @author olivier
  */
 @Suite
-@SelectClasses({JSONToPUPresenceAnnouncedTransformUseCaseTest.class})
+@SelectClasses({JSONToPUPresenceAnnouncedTransformUseCaseTest.class, UnprocessedFactRecorderUseCaseTest.class, ACDomainMessageMapperFactoryUseCaseTest.class, CompactFactEncodingUseCaseTest.class})
 public class AllUseCaseTests {
 }
\ No newline at end of file
@@ -0,0 +1,88 @@
+package org.cybnity.application.accesscontrol.translator.ui.api;
+
+import io.lettuce.core.StreamMessage;
+import org.cybnity.framework.domain.Command;
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.MessageMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Test of the compact encoding of facts, and of its negotiation with the JSON consumers and producers.
+ */
+public class CompactFactEncodingUseCaseTest {
+
+    /**
+     * Test that a JSON text is decoded identical to its compact encoding, which is smaller.
+     */
+    @Test
+    public void givenJSONText_whenCompactEncoded_thenIdenticalDecodedText() throws Exception {
+        String json = "{\"type\":{\"value\":\"REGISTER_TENANT\"},\"attributes\":[{\"name\":\"TENANT_NAMING\",\"value\":\"CYBNITY\"},{\"name\":\"TENANT_NAMING\",\"value\":\"Société\"}],\"count\":-12345678901,\"ratio\":1.25e3,\"big\":123456789012345678901234567890,\"active\":true,\"parent\":null}";
+        byte[] compact = CompactFactCodec.encode(json);
+        Assertions.assertTrue(compact.length < json.getBytes(StandardCharsets.UTF_8).length, "Shall be smaller than JSON!");
+        Assertions.assertEquals(json, CompactFactCodec.decode(compact));
+        Assertions.assertEquals(json, CompactFactCodec.decodeText(CompactFactCodec.encodeAsText(json)));
+
+        // Invalid encodings
+        Assertions.assertThrows(IOException.class, () -> CompactFactCodec.decode(new byte[]{(byte) (CompactFactCodec.VERSION + 1)}));
+        Assertions.assertThrows(IOException.class, () -> CompactFactCodec.decode(new byte[]{(byte) CompactFactCodec.VERSION, 6, 0, 9}));
+        Assertions.assertThrows(IOException.class, () -> CompactFactCodec.decodeText("not base64!"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CompactFactCodec.encode(null));
+    }
+
+    /**
+     * Test that a fact produced with the compact encoding (channel and stream messages) is read by a consumer, which reads also the JSON messages.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void givenCompactProducer_whenMessagesConsumed_thenFactsReadWithJSONMessages() throws Exception {
+        Command fact = ACDomainMessageMapperFactoryUseCaseTest.command();
+        ACDomainMessageMapperFactory producer = new ACDomainMessageMapperFactory(FactEncoding.COMPACT);
+        ACDomainMessageMapperFactory consumer = new ACDomainMessageMapperFactory();
+        Assertions.assertEquals(FactEncoding.JSON, consumer.encoding());
+
+        // Stream message including the encoding header
+        MessageMapper streamMapper = producer.getMapper(Command.class, StreamMessage.class);
+        streamMapper.transform(fact);
+        Map<String, String> streamVersion = (Map<String, String>) streamMapper.getResult();
+        Assertions.assertEquals(FactEncoding.COMPACT_ENCODING_ID, streamVersion.get(FactEncoding.STREAM_HEADER));
+        MessageMapper fromStream = consumer.getMapper(StreamMessage.class, Command.class);
+        fromStream.transform(streamVersion);
+        assertSameFact(fact, (Command) fromStream.getResult());
+
+        // Channel message prefixed by the encoding identifier
+        String channelVersion;
+        try (ACDomainMessageMapperFactory.MapperLease channelMapper = producer.leaseMapper(Command.class, String.class);
+             ACDomainMessageMapperFactory.MapperLease jsonMapper = consumer.leaseMapper(Command.class, String.class)) {
+            Assertions.assertNotSame(channelMapper.mapper(), jsonMapper.mapper(), "Shall be specific to the encoding!");
+            channelMapper.mapper().transform(fact);
+            channelVersion = (String) channelMapper.mapper().getResult();
+        }
+        Assertions.assertTrue(channelVersion.startsWith(FactEncoding.CHANNEL_MESSAGE_PREFIX));
+        MessageMapper fromChannel = consumer.getMapper(String.class, Command.class);
+        fromChannel.transform(channelVersion);
+        assertSameFact(fact, (Command) fromChannel.getResult());
+
+        // JSON messages of a default producer
+        MessageMapper jsonChannelMapper = consumer.getMapper(Command.class, String.class);
+        jsonChannelMapper.transform(fact);
+        String jsonVersion = (String) jsonChannelMapper.getResult();
+        Assertions.assertFalse(jsonVersion.startsWith(FactEncoding.CHANNEL_MESSAGE_PREFIX));
+        Assertions.assertTrue(channelVersion.length() < jsonVersion.length(), "Shall be smaller than JSON message!");
+        fromChannel.transform(jsonVersion);
+        assertSameFact(fact, (Command) fromChannel.getResult());
+        MessageMapper jsonStreamMapper = consumer.getMapper(Command.class, StreamMessage.class);
+        jsonStreamMapper.transform(fact);
+        fromStream.transform(jsonStreamMapper.getResult());
+        assertSameFact(fact, (Command) fromStream.getResult());
+    }
+
+    private static void assertSameFact(Command expected, Command read) {
+        Assertions.assertNotNull(read);
+        Assertions.assertEquals(expected.type().value(), read.type().value());
+        Assertions.assertEquals(expected.correlationId().value(), read.correlationId().value());
+    }
+}
@@ -0,0 +1,66 @@
+package org.cybnity.application.accesscontrol.translator.ui.api;
+
+import io.lettuce.core.StreamMessage;
+import org.cybnity.framework.domain.Command;
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.MessageMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.logging.Logger;
+
+/**
+ * Benchmark (manual execution) of the time and allocation per mapped message, between a new mapper per message (previous usage) and a leased mapper reused after its release.
+ */
+public class MessageMappingBenchmarkUseCaseTestManual {
+
+    private static final Logger logger = Logger.getLogger(MessageMappingBenchmarkUseCaseTestManual.class.getName());
+
+    private static final int WARMUP_MESSAGES = 50000;
+
+    private static final int MESSAGES = 200000;
+
+    /**
+     * Mapping of one message.
+     */
+    private interface Mapping {
+        Object map(Command fact) throws Exception;
+    }
+
+    /**
+     * Measure each mapping path with the same fact.
+     */
+    @Test
+    public void givenMappingPaths_whenMessagesMapped_thenTimeAndAllocationReported() throws Exception {
+        Command fact = ACDomainMessageMapperFactoryUseCaseTest.command();
+        ACDomainMessageMapperFactory mapperFactory = new ACDomainMessageMapperFactory();
+        measure("New mapper per message", fact, f -> {
+            MessageMapper mapper = new ACDomainMessageMapperFactory().getMapper(f.getClass(), StreamMessage.class);
+            mapper.transform(f);
+            return mapper.getResult();
+        });
+        measure("Leased mapper", fact, f -> {
+            try (ACDomainMessageMapperFactory.MapperLease lease = mapperFactory.leaseMapper(f.getClass(), StreamMessage.class)) {
+                lease.mapper().transform(f);
+                return lease.mapper().getResult();
+            }
+        });
+    }
+
+    private static void measure(String path, Command fact, Mapping mapping) throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Assertions.assertTrue(threads instanceof com.sun.management.ThreadMXBean, "Allocation measure shall be supported by the JVM!");
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        long threadId = Thread.currentThread().getId();
+        Object result = null;
+        for (int i = 0; i < WARMUP_MESSAGES; i++) result = mapping.map(fact);
+        long allocatedBefore = allocations.getThreadAllocatedBytes(threadId);
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < MESSAGES; i++) result = mapping.map(fact);
+        long duration = System.nanoTime() - startedAt;
+        long allocated = allocations.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        Assertions.assertNotNull(result);
+        logger.info(path + ": " + String.format("%.0f", (double) duration / MESSAGES) + " ns/message, " + (allocated / MESSAGES) + " bytes allocated/message");
+    }
+}
@@ -0,0 +1,50 @@
+package org.cybnity.application.accesscontrol.translator.ui.api;
+
+import org.cybnity.application.accesscontrol.translator.ui.api.event.UnprocessedFactAttributeName;
+import org.cybnity.application.accesscontrol.translator.ui.api.event.UnprocessedFactEventType;
+import org.cybnity.framework.domain.Attribute;
+import org.cybnity.framework.domain.Command;
+import org.cybnity.framework.domain.IDescribed;
+import org.cybnity.framework.domain.event.CommandFactory;
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.MessageMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Test validating the record of an unprocessed fact, and the retrieval of the original fact from the record.
+ */
+public class UnprocessedFactRecorderUseCaseTest {
+
+    /**
+     * Test that a record retains the cause metadata and the original fact, which can be retrieved for replay.
+     */
+    @Test
+    public void givenUnprocessedFact_whenRecorded_thenOriginalFactAndCauseRetrievable() throws Exception {
+        Collection<Attribute> definition = new ArrayList<>();
+        definition.add(new Attribute("TENANT_NAMING", "CYBNITY"));
+        Command fact = CommandFactory.create("REGISTER_TENANT", null, definition, null, null);
+        fact.generateCorrelationId(null);
+
+        ACDomainMessageMapperFactory mapperFactory = new ACDomainMessageMapperFactory();
+        Command record = UnprocessedFactRecorder.record(UnprocessedFactEventType.DEAD_LETTER_RECORDED, fact, "Sample cause", UICapabilityChannel.access_control_in.shortName(), mapperFactory.getMapper(IDescribed.class, String.class));
+
+        // Check the record metadata
+        Assertions.assertEquals(UnprocessedFactEventType.DEAD_LETTER_RECORDED.name(), record.type().value());
+        Assertions.assertEquals("Sample cause", UnprocessedFactRecorder.attribute(record, UnprocessedFactAttributeName.CAUSE));
+        Assertions.assertEquals(UICapabilityChannel.access_control_in.shortName(), UnprocessedFactRecorder.attribute(record, UnprocessedFactAttributeName.ORIGIN_CHANNEL));
+        Assertions.assertEquals("REGISTER_TENANT", UnprocessedFactRecorder.attribute(record, UnprocessedFactAttributeName.ORIGINAL_EVENT_TYPE));
+        Assertions.assertNotNull(UnprocessedFactRecorder.attribute(record, UnprocessedFactAttributeName.RECORDED_AT));
+        Assertions.assertNotNull(UnprocessedFactRecorder.attribute(record, UnprocessedFactAttributeName.RECORD_ID));
+        Assertions.assertEquals(fact.correlationId().value(), record.correlationId().value(), "Shall be correlated with the unprocessed fact!");
+
+        // Check the original fact retrieval
+        MessageMapper deserializer = mapperFactory.getMapper(String.class, IDescribed.class);
+        IDescribed original = UnprocessedFactRecorder.originalFact(record, deserializer);
+        Assertions.assertNotNull(original, "Shall be retained by the record!");
+        Assertions.assertEquals(fact.type().value(), original.type().value());
+        Assertions.assertEquals(fact.correlationId().value(), ((Command) original).correlationId().value());
+    }
+}
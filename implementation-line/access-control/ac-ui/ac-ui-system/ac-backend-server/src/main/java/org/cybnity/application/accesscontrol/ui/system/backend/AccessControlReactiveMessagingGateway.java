@@ -2,20 +2,33 @@ package org.cybnity.application.accesscontrol.ui.system.backend;
 
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.net.JksOptions;
+import io.vertx.core.net.PfxOptions;
 import io.vertx.ext.web.Router;
 import org.cybnity.application.accesscontrol.ui.system.backend.routing.CapabilityRouter;
+import org.cybnity.application.accesscontrol.ui.system.backend.routing.StaticContentsServingMode;
+import org.cybnity.application.accesscontrol.ui.system.backend.service.ClientsPool;
 import org.cybnity.application.accesscontrol.ui.system.backend.service.DomainPublicAPIMessagesContentBasedRouter;
+import org.cybnity.application.accesscontrol.ui.system.backend.service.RoutingExecutionModel;
 import org.cybnity.framework.Context;
 import org.cybnity.framework.IContext;
 import org.cybnity.framework.UnoperationalStateException;
 import org.cybnity.framework.domain.IHealthControl;
 import org.cybnity.infrastructure.technical.message_bus.adapter.api.NamingConventionHelper;
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.UISAdapter;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.logging.Logger;
 
@@ -40,11 +53,21 @@ public class AccessControlReactiveMessagingGateway extends AbstractVerticle impl
      */
     private final IContext context = new Context();
 
+    /**
+     * UIS clients owned by this gateway, and shared with its workers during their deployment.
+     */
+    private ClientsPool<UISAdapter> uisClients;
+
     /**
      * Name of the pool including all the executed workers of this domain.
      */
     private static final String DOMAIN_POOL_NAME = NamingConventionHelper.buildComponentName(/* component type */NamingConventionHelper.NamingConventionApplicability.GATEWAY, /* domainName */ "ac", /* componentMainFunction */"messaging",/* resourceType */ null, /* segregationLabel */ "workers");
 
+    /**
+     * Default compression level of the HTTP responses in PRODUCTION serving mode.
+     */
+    private static final int DEFAULT_HTTP_COMPRESSION_LEVEL = 6;
+
     /**
      * Technical logging
      */
@@ -71,6 +94,25 @@ public class AccessControlReactiveMessagingGateway extends AbstractVerticle impl
     public void start(Promise<Void> startPromise) throws Exception {
         // Check the minimum required data allowing operating
         checkHealthyState();
+        // Listening port of the HTTP server
+        int port;
+        try {
+            port = httpServerPort();
+        } catch (IllegalArgumentException iae) {
+            logger.info("AC Messaging Gateway server start failure: " + iae.getMessage());
+            startPromise.fail(iae);
+            return;
+        }
+        try {
+            // Warm the UIS clients shared by the workers before the acceptance of traffic
+            uisClients = ClientsPool.uisClients(context);
+            ClientsPool.shareUISClients(vertx, uisClients);
+            logger.info("AC Messaging Gateway UIS clients ready (" + uisClients + ")");
+        } catch (UnoperationalStateException use) {
+            logger.info("AC Messaging Gateway UIS clients start failure: " + use.getMessage());
+            startPromise.fail(use);
+            return;
+        }
         // Define the public api to start
         Map<String, DeploymentOptions> deployed = publicAPIWorkers();
         // Define the secure api to start
@@ -97,31 +139,121 @@ public class AccessControlReactiveMessagingGateway extends AbstractVerticle impl
         Router router = CapabilityRouter.httpRouter(vertx, context);
 
         // Create the HTTP server supporting supervision
-        getVertx().createHttpServer()
+        getVertx().createHttpServer(httpServerOptions())
                 // Handle every request using the router
                 .requestHandler(router)
                 // Start HTTP listening according to the application settings
-                .listen(Integer
-                        .parseInt(context.get(AppConfigurationVariable.REACTIVE_BACKEND_ENDPOINT_HTTP_SERVER_PORT)))
+                .listen(port)
                 // Print the port
                 .onSuccess(server -> {
                     logger.info("AC Messaging Gateway server started (port: " + server.actualPort() + ")");
                     startPromise.complete();
                 }).onFailure(error -> {
                     logger.info("AC Messaging Gateway server start failure: " + error.toString());
+                    // Stop not called on a failed start
+                    stop(Promise.promise());
                     startPromise.fail(error);
                 });
     }
 
     /**
-     * Resource freedom (e.g undeployment of all verticles).
+     * Prepare the options of the HTTP server according to the existing AppConfigurationVariable.REACTIVE_BACKEND_HTTP_COMPRESSION_LEVEL, REACTIVE_BACKEND_HTTP2_ENABLED and REACTIVE_BACKEND_TLS_KEYSTORE_PATH environment variables.
+     * When a keystore is defined, the server is secured with TLS and HTTP/2 is negotiated with ALPN; else HTTP/2 is supported in clear text (h2c).
+     *
+     * @return A option set.
+     */
+    private HttpServerOptions httpServerOptions() {
+        HttpServerOptions options = new HttpServerOptions();
+        // Compression of the responses which are not already compressed (e.g pre-compressed static contents)
+        int compressionLevel = intValue(AppConfigurationVariable.REACTIVE_BACKEND_HTTP_COMPRESSION_LEVEL, (StaticContentsServingMode.of(context.get(AppConfigurationVariable.REACTIVE_BACKEND_STATIC_CONTENTS_SERVING_MODE)) == StaticContentsServingMode.PRODUCTION) ? DEFAULT_HTTP_COMPRESSION_LEVEL : 0);
+        if (compressionLevel > 0) {
+            options.setCompressionSupported(true);
+            options.setCompressionLevel(Math.min(compressionLevel, 9));
+        }
+        boolean http2 = Boolean.parseBoolean(context.get(AppConfigurationVariable.REACTIVE_BACKEND_HTTP2_ENABLED));
+        String keystore = context.get(AppConfigurationVariable.REACTIVE_BACKEND_TLS_KEYSTORE_PATH);
+        if (keystore != null && !"".equalsIgnoreCase(keystore)) {
+            String password = context.get(AppConfigurationVariable.REACTIVE_BACKEND_TLS_KEYSTORE_PASSWORD);
+            String lowerCasePath = keystore.toLowerCase(Locale.ROOT);
+            options.setSsl(true);
+            if (lowerCasePath.endsWith(".p12") || lowerCasePath.endsWith(".pfx")) {
+                options.setKeyCertOptions(new PfxOptions().setPath(keystore).setPassword(password));
+            } else {
+                options.setKeyCertOptions(new JksOptions().setPath(keystore).setPassword(password));
+            }
+            if (http2) {
+                // Protocol negotiated during the TLS handshake
+                options.setUseAlpn(true);
+                options.setAlpnVersions(Arrays.asList(HttpVersion.HTTP_2, HttpVersion.HTTP_1_1));
+            }
+        } else {
+            options.setHttp2ClearTextEnabled(http2);
+        }
+        logger.info("AC Messaging Gateway server options (compression level: " + ((compressionLevel > 0) ? Math.min(compressionLevel, 9) : "none") + ", TLS: " + options.isSsl() + ", HTTP/2: " + http2 + ")");
+        return options;
+    }
+
+    /**
+     * Get the listening port of the HTTP server according to the AppConfigurationVariable.REACTIVE_BACKEND_ENDPOINT_HTTP_SERVER_PORT environment variable.
+     *
+     * @return A port number.
+     * @throws IllegalArgumentException When the environment variable is not a valid port number.
+     */
+    private int httpServerPort() throws IllegalArgumentException {
+        String port = context.get(AppConfigurationVariable.REACTIVE_BACKEND_ENDPOINT_HTTP_SERVER_PORT);
+        try {
+            int value = Integer.parseInt((port != null) ? port.trim() : "");
+            if (value >= 0 && value <= 65535) return value;
+        } catch (NumberFormatException nfe) {
+            // Invalid number reported below
+        }
+        throw new IllegalArgumentException("Invalid value of " + AppConfigurationVariable.REACTIVE_BACKEND_ENDPOINT_HTTP_SERVER_PORT.getName() + " environment variable (" + port + ")!");
+    }
+
+    /**
+     * Read an optional numeric configuration variable.
+     * When the defined value is not a number or is negative, a warning is logged and the default value is returned.
+     *
+     * @param variable     Variable to read.
+     * @param defaultValue Value returned when the variable is undefined or invalid.
+     * @return The defined value, or the default value.
+     */
+    private int intValue(AppConfigurationVariable variable, int defaultValue) {
+        String value = context.get(variable);
+        if (value == null || value.trim().isEmpty()) return defaultValue;
+        try {
+            int defined = Integer.parseInt(value.trim());
+            if (defined >= 0) return defined;
+        } catch (NumberFormatException nfe) {
+            // Invalid value reported below
+        }
+        logger.warning("Invalid value of " + variable.getName() + " environment variable (" + value + "), default value used");
+        return defaultValue;
+    }
+
+    /**
+     * Resource freedom (e.g undeployment of all verticles, then close of the UIS clients used by them).
+     *
+     * @param stopPromise Promise completed when the workers are undeployed and the UIS clients closed.
      */
     @Override
-    public void stop() {
+    public void stop(Promise<Void> stopPromise) {
         // Undeploy each worker
+        List<Future<?>> undeployed = new ArrayList<>();
         for (String deploymentId : deploymentIDs) {
-            vertx.undeploy(deploymentId);
+            undeployed.add(vertx.undeploy(deploymentId));
         }
+        deploymentIDs.clear();
+        Future.join(undeployed).onComplete(res -> {
+            // Close the UIS clients which are not used anymore by the workers
+            if (uisClients != null) {
+                ClientsPool.withdrawUISClients(vertx, uisClients);
+                uisClients.close();
+                uisClients = null;
+            }
+            if (res.failed()) logger.info("AC worker instances undeployment failure: " + res.cause().getMessage());
+            stopPromise.complete();
+        });
     }
 
     @Override
@@ -134,31 +266,31 @@ public class AccessControlReactiveMessagingGateway extends AbstractVerticle impl
 
     /**
      * Define instances quantity for this worker type according to existing AppConfigurationVariable.DOMAIN_WORKER_INSTANCES environment variable, and add configuration to the deployment options set.
-     * When environment variable is not defined, none configuration about instances quantity is configured.
+     * When environment variable is not defined or invalid, none configuration about instances quantity is configured.
      *
      * @param options Mandatory options to enhance. This method make nothing if null parameter.
      */
     private void configureWorkerInstances(DeploymentOptions options) {
         if (options != null) {
             // Define instances quantity per worker type
-            String workerInstances = context.get(AppConfigurationVariable.DOMAIN_WORKER_INSTANCES);
-            if (!"".equalsIgnoreCase(workerInstances))
-                options.setInstances(Integer.parseInt(workerInstances));
+            int workerInstances = intValue(AppConfigurationVariable.DOMAIN_WORKER_INSTANCES, 0);
+            if (workerInstances > 0)
+                options.setInstances(workerInstances);
         }
     }
 
     /**
-     * Define instances quantity for this worker type according to existing AppConfigurationVariable.DOMAIN_WORKER_THREAD_POOL_SIZE environment variable, and add configuration to the deployment options set.
-     * When environment variable is not defined, none configuration about instances quantity is configured.
+     * Define the size of the worker threads pool (executing the worker verticles, or the blocking operations offloaded by the event-loop verticles) according to existing AppConfigurationVariable.DOMAIN_WORKER_THREAD_POOL_SIZE environment variable, and add configuration to the deployment options set.
+     * When environment variable is not defined or invalid, none configuration about pool size is configured.
      *
      * @param options Mandatory options to enhance. This method make nothing if null parameter.
      */
     private void configureWorkerThreadsPoolSize(DeploymentOptions options) {
         if (options != null) {
             // Define worker threads pool size
-            String workerInstances = context.get(AppConfigurationVariable.DOMAIN_WORKER_THREAD_POOL_SIZE);
-            if (!"".equalsIgnoreCase(workerInstances))
-                options.setInstances(Integer.parseInt(workerInstances));
+            int workerPoolSize = intValue(AppConfigurationVariable.DOMAIN_WORKER_THREAD_POOL_SIZE, 0);
+            if (workerPoolSize > 0)
+                options.setWorkerPoolSize(workerPoolSize);
         }
     }
 
@@ -191,10 +323,13 @@ public class AccessControlReactiveMessagingGateway extends AbstractVerticle impl
      * @return A option set.
      */
     private DeploymentOptions baseDeploymentOptions() {
+        RoutingExecutionModel model = RoutingExecutionModel.of(context.get(AppConfigurationVariable.DOMAIN_ROUTING_EXECUTION_MODEL));
         // A worker is just like a standard Verticle, but it’s executed using a thread from the Vert.x worker thread pool, rather than using an event loop.
         // Workers are designed for calling blocking code, as they won’t block any event loops
-        DeploymentOptions options = new DeploymentOptions().setWorker(true);
+        // By default, the routers (non-blocking JSON work) are executed by event loops and only offload their blocking operations to the named worker pool
+        DeploymentOptions options = new DeploymentOptions().setWorker(model == RoutingExecutionModel.WORKER);
         options.setWorkerPoolName(DOMAIN_POOL_NAME);
+        options.setConfig(new JsonObject().put(RoutingExecutionModel.CONFIG_KEY, model.name()));
         return options;
     }
 
@@ -34,14 +34,110 @@ public enum AppConfigurationVariable implements IReadableConfiguration {
     AUTHORIZED_WHITE_LIST_ORIGIN_SERVER_URLS("AUTHORIZED_WHITE_LIST_ORIGIN_SERVER_URLS"),
 
     /**
-     * Quantity of thread available as assignable to worker instances to perform a task.
+     * Quantity of thread available as assignable to worker instances to perform a task (e.g blocking operations offloaded by the event-loop workers).
      */
     DOMAIN_WORKER_THREAD_POOL_SIZE("DOMAIN_WORKER_THREAD_POOL_SIZE"),
 
     /**
      * Quantity of instances deployed in pool regarding each worker type.
      */
-    DOMAIN_WORKER_INSTANCES("DOMAIN_WORKER_INSTANCES");
+    DOMAIN_WORKER_INSTANCES("DOMAIN_WORKER_INSTANCES"),
+
+    /**
+     * Maximum quantity of commands waiting their result per worker instance, beyond which the new commands are refused.
+     * Optional (50000 by default).
+     */
+    DOMAIN_PENDING_REPLIES_CAPACITY("DOMAIN_PENDING_REPLIES_CAPACITY"),
+
+    /**
+     * Maximum duration (in seconds) of waiting for a command result before failure notified to the caller.
+     * Optional (30 seconds by default).
+     */
+    DOMAIN_REPLY_TIMEOUT_IN_SECONDS("DOMAIN_REPLY_TIMEOUT_IN_SECONDS"),
+
+    /**
+     * Quantity of UIS clients (each one with its connection) shared by all the worker instances of the backend.
+     * Optional (2 by default).
+     */
+    DOMAIN_UIS_CLIENTS_POOL_SIZE("DOMAIN_UIS_CLIENTS_POOL_SIZE"),
+
+    /**
+     * Maximum quantity of concurrent operations pipelined per UIS client, beyond which the workers wait a client release.
+     * Optional (64 by default).
+     */
+    DOMAIN_UIS_CLIENT_MAX_PIPELINED_OPERATIONS("DOMAIN_UIS_CLIENT_MAX_PIPELINED_OPERATIONS"),
+
+    /**
+     * Execution model of the domain workers (EVENT_LOOP or WORKER).
+     * Optional (EVENT_LOOP by default).
+     */
+    DOMAIN_ROUTING_EXECUTION_MODEL("DOMAIN_ROUTING_EXECUTION_MODEL"),
+
+    /**
+     * Serving mode of the static contents (DEVELOPMENT or PRODUCTION with cached, ETag, Cache-Control and pre-compressed contents).
+     * Optional (DEVELOPMENT by default).
+     */
+    REACTIVE_BACKEND_STATIC_CONTENTS_SERVING_MODE("REACTIVE_BACKEND_STATIC_CONTENTS_SERVING_MODE"),
+
+    /**
+     * Duration (in seconds) of the static contents caching by the clients in PRODUCTION serving mode.
+     * Optional (86400 seconds by default).
+     */
+    REACTIVE_BACKEND_STATIC_CONTENTS_MAX_AGE_IN_SECONDS("REACTIVE_BACKEND_STATIC_CONTENTS_MAX_AGE_IN_SECONDS"),
+
+    /**
+     * Compression level (1 to 9) of the HTTP responses not already compressed, or 0 to disable the compression.
+     * Optional (6 by default in PRODUCTION serving mode, disabled in DEVELOPMENT serving mode).
+     */
+    REACTIVE_BACKEND_HTTP_COMPRESSION_LEVEL("REACTIVE_BACKEND_HTTP_COMPRESSION_LEVEL"),
+
+    /**
+     * Support of HTTP/2 by the backend server (true or false), negotiated with ALPN over TLS when a keystore is defined, else in clear text (h2c).
+     * Optional (false by default).
+     */
+    REACTIVE_BACKEND_HTTP2_ENABLED("REACTIVE_BACKEND_HTTP2_ENABLED"),
+
+    /**
+     * Path of the keystore (JKS, or PKCS#12 when named with .p12 or .pfx extension) including the TLS certificate of the backend server.
+     * Optional (TLS not supported by default).
+     */
+    REACTIVE_BACKEND_TLS_KEYSTORE_PATH("REACTIVE_BACKEND_TLS_KEYSTORE_PATH"),
+
+    /**
+     * Password of the keystore including the TLS certificate of the backend server.
+     * Optional (none by default).
+     */
+    REACTIVE_BACKEND_TLS_KEYSTORE_PASSWORD("REACTIVE_BACKEND_TLS_KEYSTORE_PASSWORD"),
+
+    /**
+     * Maximum quantity of sockets opened on the event bus bridge, beyond which the new sockets are refused.
+     * Optional (10000 by default).
+     */
+    REACTIVE_BRIDGE_MAX_SOCKETS("REACTIVE_BRIDGE_MAX_SOCKETS"),
+
+    /**
+     * Maximum rate of messages sent by a socket of the event bus bridge.
+     * Optional (20 per second by default).
+     */
+    REACTIVE_BRIDGE_SOCKET_MESSAGES_PER_SECOND("REACTIVE_BRIDGE_SOCKET_MESSAGES_PER_SECOND"),
+
+    /**
+     * Maximum rate of messages sent by the sockets of a tenant (or by the anonymous sockets) of the event bus bridge.
+     * Optional (500 per second by default).
+     */
+    REACTIVE_BRIDGE_TENANT_MESSAGES_PER_SECOND("REACTIVE_BRIDGE_TENANT_MESSAGES_PER_SECOND"),
+
+    /**
+     * Maximum quantity of messages waiting their delivery to a slow socket of the event bus bridge.
+     * Optional (256 by default).
+     */
+    REACTIVE_BRIDGE_SOCKET_OUTBOUND_QUEUE_CAPACITY("REACTIVE_BRIDGE_SOCKET_OUTBOUND_QUEUE_CAPACITY"),
+
+    /**
+     * Policy applied to a socket which outbound queue is full (DROP of the new messages, or CLOSE of the socket).
+     * Optional (DROP by default).
+     */
+    REACTIVE_BRIDGE_SLOW_SOCKET_POLICY("REACTIVE_BRIDGE_SLOW_SOCKET_POLICY");
 
     /**
      * Name of this environment variable currently hosted by the system environment.
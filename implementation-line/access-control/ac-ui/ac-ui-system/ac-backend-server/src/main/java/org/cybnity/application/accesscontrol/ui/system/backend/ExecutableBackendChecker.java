@@ -57,6 +57,22 @@ public class ExecutableBackendChecker extends ExecutableComponentChecker {
         // Define the optional environment variables for backend running
         HashSet<IReadableConfiguration> variables = new HashSet<>();
         variables.add(AppConfigurationVariable.AUTHORIZED_WHITE_LIST_ORIGIN_SERVER_URLS);
+        variables.add(AppConfigurationVariable.DOMAIN_PENDING_REPLIES_CAPACITY);
+        variables.add(AppConfigurationVariable.DOMAIN_REPLY_TIMEOUT_IN_SECONDS);
+        variables.add(AppConfigurationVariable.DOMAIN_UIS_CLIENTS_POOL_SIZE);
+        variables.add(AppConfigurationVariable.DOMAIN_UIS_CLIENT_MAX_PIPELINED_OPERATIONS);
+        variables.add(AppConfigurationVariable.DOMAIN_ROUTING_EXECUTION_MODEL);
+        variables.add(AppConfigurationVariable.REACTIVE_BACKEND_STATIC_CONTENTS_SERVING_MODE);
+        variables.add(AppConfigurationVariable.REACTIVE_BACKEND_STATIC_CONTENTS_MAX_AGE_IN_SECONDS);
+        variables.add(AppConfigurationVariable.REACTIVE_BACKEND_HTTP_COMPRESSION_LEVEL);
+        variables.add(AppConfigurationVariable.REACTIVE_BACKEND_HTTP2_ENABLED);
+        variables.add(AppConfigurationVariable.REACTIVE_BACKEND_TLS_KEYSTORE_PATH);
+        variables.add(AppConfigurationVariable.REACTIVE_BACKEND_TLS_KEYSTORE_PASSWORD);
+        variables.add(AppConfigurationVariable.REACTIVE_BRIDGE_MAX_SOCKETS);
+        variables.add(AppConfigurationVariable.REACTIVE_BRIDGE_SOCKET_MESSAGES_PER_SECOND);
+        variables.add(AppConfigurationVariable.REACTIVE_BRIDGE_TENANT_MESSAGES_PER_SECOND);
+        variables.add(AppConfigurationVariable.REACTIVE_BRIDGE_SOCKET_OUTBOUND_QUEUE_CAPACITY);
+        variables.add(AppConfigurationVariable.REACTIVE_BRIDGE_SLOW_SOCKET_POLICY);
         return variables;
     }
 
@@ -0,0 +1,447 @@
+package org.cybnity.application.accesscontrol.ui.system.backend.routing;
+
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.bridge.BridgeEventType;
+import io.vertx.ext.web.handler.sockjs.BridgeEvent;
+import io.vertx.ext.web.handler.sockjs.SockJSSocket;
+import org.cybnity.application.accesscontrol.ui.system.backend.AppConfigurationVariable;
+import org.cybnity.framework.IContext;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+/**
+ * Handler of the SockJS event bus bridge events protecting the backend memory against the slow or noisy clients, placed before the handler of the admitted events (e.g access control of the authenticated user and delegation to the users interactions space).
+ * <ul>
+ *     <li>The quantity of open sockets is limited, beyond which the new sockets are refused.</li>
+ *     <li>The messages sent by a socket (PUBLISH, SEND, REGISTER) are limited by a token bucket of the socket, and by a token bucket of its tenant (shared by the anonymous sockets, e.g during sign-up spikes). A message consumes a token of each bucket only when both buckets accept it; the messages exceeding the rates are refused.</li>
+ *     <li>The tenant of a socket is read from its authenticated user (e.g JWT claim of the web session user), and never from the frames sent by the client. The buckets of the idle tenants are evicted.</li>
+ *     <li>The messages delivered to a socket (RECEIVE) are queued while its write queue is full, in a bounded queue beyond which the messages are dropped, or the socket is closed, according to the slow socket policy.</li>
+ * </ul>
+ * The events of a socket are handled by the context of the socket.
+ */
+public class BackpressureBridgeHandler implements Handler<BridgeEvent> {
+
+    /**
+     * Technical logging
+     */
+    private static final Logger logger = Logger.getLogger(BackpressureBridgeHandler.class.getName());
+
+    /**
+     * Name of the authenticated user claim (principal, or access token attributes) identifying the tenant of a socket.
+     */
+    public static final String TENANT_CLAIM = "tenant";
+
+    /**
+     * Minimum period in milliseconds between two evictions of the idle tenant buckets.
+     */
+    static final long TENANTS_EVICTION_PERIOD_IN_MILLIS = 10000;
+
+    /**
+     * Key of the tenant bucket shared by the messages without tenant.
+     */
+    static final String ANONYMOUS_TENANT = "";
+
+    /**
+     * Maximum quantity of tenant buckets, beyond which the messages of the new tenants share the anonymous bucket.
+     */
+    static final int MAX_TRACKED_TENANTS = 10000;
+
+    /**
+     * Policy applied to a socket which outbound queue is full.
+     */
+    public enum SlowSocketPolicy {
+        /**
+         * The new messages to deliver are dropped.
+         */
+        DROP,
+        /**
+         * The socket is closed.
+         */
+        CLOSE
+    }
+
+    private final Limits limits;
+
+    private final Handler<BridgeEvent> next;
+
+    private final Map<SockJSSocket, SocketState> sockets = new ConcurrentHashMap<>();
+
+    private final Map<String, TokenBucket> tenants = new ConcurrentHashMap<>();
+
+    /**
+     * Source of time in nanoseconds of the buckets.
+     */
+    private final LongSupplier clock;
+
+    /**
+     * Time of the last eviction of the idle tenant buckets.
+     */
+    private final AtomicLong tenantsEvictedAt;
+
+    private final AtomicLong queuedMessages = new AtomicLong();
+    private final LongAccumulator peakQueuedMessages = new LongAccumulator(Long::max, 0);
+    private final LongAdder refusedSockets = new LongAdder();
+    private final LongAdder rateLimitedMessages = new LongAdder();
+    private final LongAdder droppedMessages = new LongAdder();
+    private final LongAdder closedSlowSockets = new LongAdder();
+
+    /**
+     * Default constructor.
+     *
+     * @param limits Mandatory limits.
+     * @param next   Mandatory handler of the admitted events (e.g access control of the authenticated user), which completes them.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    public BackpressureBridgeHandler(Limits limits, Handler<BridgeEvent> next) throws IllegalArgumentException {
+        this(limits, next, System::nanoTime);
+    }
+
+    /**
+     * Constructor with a specific clock.
+     *
+     * @param limits Mandatory limits.
+     * @param next   Mandatory handler of the admitted events (e.g access control of the authenticated user), which completes them.
+     * @param clock  Mandatory source of time in nanoseconds.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    BackpressureBridgeHandler(Limits limits, Handler<BridgeEvent> next, LongSupplier clock) throws IllegalArgumentException {
+        if (limits == null) throw new IllegalArgumentException("limits parameter is required!");
+        if (next == null) throw new IllegalArgumentException("next parameter is required!");
+        if (clock == null) throw new IllegalArgumentException("clock parameter is required!");
+        this.limits = limits;
+        this.next = next;
+        this.clock = clock;
+        this.tenantsEvictedAt = new AtomicLong(clock.getAsLong());
+        this.tenants.put(ANONYMOUS_TENANT, limits.tenantBucket(clock));
+    }
+
+    @Override
+    public void handle(BridgeEvent event) {
+        if (event == null) return;
+        SockJSSocket socket = event.socket();
+        BridgeEventType type = event.type();
+        if (type == BridgeEventType.SOCKET_CREATED) {
+            if (sockets.size() >= limits.maxSockets) {
+                refusedSockets.increment();
+                logger.fine("Socket refused (maximum quantity of open sockets reached)");
+                event.complete(false);
+                return;
+            }
+            if (socket != null) sockets.put(socket, new SocketState(socket));
+        } else if (type == BridgeEventType.SOCKET_CLOSED) {
+            SocketState state = (socket != null) ? sockets.remove(socket) : null;
+            if (state != null) state.release();
+        } else if (type == BridgeEventType.PUBLISH || type == BridgeEventType.SEND || type == BridgeEventType.REGISTER) {
+            SocketState state = (socket != null) ? sockets.get(socket) : null;
+            if (state == null || !tryAcquire(state.bucket, state.tenant)) {
+                rateLimitedMessages.increment();
+                event.complete(false);
+                return;
+            }
+        } else if (type == BridgeEventType.RECEIVE) {
+            SocketState state = (socket != null) ? sockets.get(socket) : null;
+            if (state != null) {
+                state.receive(event);
+                return;
+            }
+        }
+        admit(event);
+    }
+
+    /**
+     * Delegate an admitted event to the next handler, which decides its authorization.
+     *
+     * @param event Admitted event.
+     */
+    private void admit(BridgeEvent event) {
+        next.handle(event);
+    }
+
+    /**
+     * Take a token of a socket bucket and of its tenant bucket, only when both are available (a message refused by the tenant bucket does not consume the socket rate).
+     *
+     * @param socketBucket Mandatory bucket of the socket.
+     * @param tenant       Mandatory tenant of the socket.
+     * @return True when the message is accepted by both buckets.
+     */
+    boolean tryAcquire(TokenBucket socketBucket, String tenant) {
+        if (!socketBucket.tryAcquire()) return false;
+        if (tenantBucket(tenant).tryAcquire()) return true;
+        socketBucket.release();
+        return false;
+    }
+
+    /**
+     * Get the bucket of a tenant, after eviction of the idle tenant buckets when the eviction period is elapsed.
+     *
+     * @param tenant Mandatory tenant identifier (ANONYMOUS_TENANT for the sockets without authenticated tenant).
+     * @return The bucket of the tenant, or the anonymous bucket when the maximum quantity of tracked tenants is reached.
+     */
+    TokenBucket tenantBucket(String tenant) {
+        long now = clock.getAsLong();
+        long evictedAt = tenantsEvictedAt.get();
+        if (now - evictedAt >= TENANTS_EVICTION_PERIOD_IN_MILLIS * 1_000_000L && tenantsEvictedAt.compareAndSet(evictedAt, now))
+            evictIdleTenants();
+        TokenBucket bucket = tenants.get(tenant);
+        if (bucket == null) {
+            // Bounded quantity of tenants
+            bucket = (tenants.size() < MAX_TRACKED_TENANTS) ? tenants.computeIfAbsent(tenant, t -> limits.tenantBucket(clock)) : tenants.get(ANONYMOUS_TENANT);
+        }
+        return bucket;
+    }
+
+    /**
+     * Remove the buckets of the tenants without message since the refill of their bucket (a full bucket is equivalent to a new one).
+     *
+     * @return Quantity of evicted buckets.
+     */
+    int evictIdleTenants() {
+        int before = tenants.size();
+        tenants.entrySet().removeIf(entry -> !ANONYMOUS_TENANT.equals(entry.getKey()) && entry.getValue().isFull());
+        return Math.max(before - tenants.size(), 0);
+    }
+
+    /**
+     * @return Quantity of tenant buckets currently tracked (including the anonymous bucket).
+     */
+    public int trackedTenants() {
+        return tenants.size();
+    }
+
+    /**
+     * Identify the tenant of a socket from its authenticated user.
+     *
+     * @param socket Mandatory socket.
+     * @return The TENANT_CLAIM value of the user principal or access token, or ANONYMOUS_TENANT when the socket user is not authenticated or not attached to a tenant.
+     */
+    static String tenantOf(SockJSSocket socket) {
+        User user = socket.webUser();
+        if (user == null) return ANONYMOUS_TENANT;
+        String tenant = claim(user.principal());
+        if (tenant == null && user.attributes() != null)
+            tenant = claim(user.attributes().getJsonObject("accessToken", null));
+        return (tenant != null && !tenant.isEmpty()) ? tenant : ANONYMOUS_TENANT;
+    }
+
+    private static String claim(JsonObject claims) {
+        Object value = (claims != null) ? claims.getValue(TENANT_CLAIM) : null;
+        return (value != null) ? value.toString() : null;
+    }
+
+    /**
+     * @return Quantity of open sockets.
+     */
+    public int openSockets() {
+        return sockets.size();
+    }
+
+    /**
+     * @return Quantity of messages waiting their delivery in the outbound queues of the sockets.
+     */
+    public long queuedMessages() {
+        return queuedMessages.get();
+    }
+
+    /**
+     * Get the occupancy of the outbound queues.
+     *
+     * @return Ratio (between 0 and 1) of the queued messages on the capacity of the open sockets queues, or 0 when none open socket.
+     */
+    public double queuesOccupancy() {
+        int open = openSockets();
+        return (open > 0) ? (double) queuedMessages() / ((long) open * limits.outboundQueueCapacity) : 0;
+    }
+
+    public long peakQueuedMessages() {
+        return peakQueuedMessages.get();
+    }
+
+    public long refusedSockets() {
+        return refusedSockets.sum();
+    }
+
+    public long rateLimitedMessages() {
+        return rateLimitedMessages.sum();
+    }
+
+    /**
+     * @return Quantity of messages dropped because of a full outbound queue.
+     */
+    public long droppedMessages() {
+        return droppedMessages.sum();
+    }
+
+    public long closedSlowSockets() {
+        return closedSlowSockets.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "openSockets=" + openSockets() + ", trackedTenants=" + trackedTenants() + ", queuedMessages=" + queuedMessages() + ", peakQueuedMessages=" + peakQueuedMessages() + ", refusedSockets=" + refusedSockets() + ", rateLimitedMessages=" + rateLimitedMessages() + ", droppedMessages=" + droppedMessages() + ", closedSlowSockets=" + closedSlowSockets();
+    }
+
+    /**
+     * State of an open socket, accessed by the context of the socket.
+     */
+    private final class SocketState {
+        private final SockJSSocket socket;
+        private final TokenBucket bucket;
+        /**
+         * Authenticated tenant of the socket user, identified at the socket creation.
+         */
+        private final String tenant;
+        private final ArrayDeque<BridgeEvent> outbound = new ArrayDeque<>();
+        private boolean closed;
+
+        private SocketState(SockJSSocket socket) {
+            this.socket = socket;
+            this.bucket = limits.socketBucket(clock);
+            this.tenant = tenantOf(socket);
+        }
+
+        /**
+         * Deliver a message to the socket, or queue it while the socket write queue is full.
+         *
+         * @param event Message to deliver.
+         */
+        private void receive(BridgeEvent event) {
+            if (closed) {
+                event.complete(false);
+                return;
+            }
+            if (outbound.isEmpty() && !socket.writeQueueFull()) {
+                admit(event);
+                return;
+            }
+            if (outbound.size() >= limits.outboundQueueCapacity) {
+                droppedMessages.increment();
+                event.complete(false);
+                if (limits.slowSocketPolicy == SlowSocketPolicy.CLOSE) {
+                    closedSlowSockets.increment();
+                    logger.fine("Slow socket closed (full outbound queue)");
+                    release();
+                    socket.close();
+                }
+                return;
+            }
+            outbound.add(event);
+            peakQueuedMessages.accumulate(queuedMessages.incrementAndGet());
+            // Resume the delivery when the socket write queue is drained
+            socket.drainHandler(v -> drain());
+        }
+
+        private void drain() {
+            while (!outbound.isEmpty() && !socket.writeQueueFull()) {
+                queuedMessages.decrementAndGet();
+                admit(outbound.poll());
+            }
+            if (!outbound.isEmpty()) socket.drainHandler(v -> drain());
+        }
+
+        /**
+         * Refuse the queued messages of a closed socket.
+         */
+        private void release() {
+            closed = true;
+            BridgeEvent queued;
+            while ((queued = outbound.poll()) != null) {
+                queuedMessages.decrementAndGet();
+                queued.complete(false);
+            }
+        }
+    }
+
+    /**
+     * Limits applied by the handler.
+     */
+    public static final class Limits {
+
+        public static final int DEFAULT_MAX_SOCKETS = 10000;
+
+        public static final int DEFAULT_SOCKET_MESSAGES_PER_SECOND = 20;
+
+        public static final int DEFAULT_TENANT_MESSAGES_PER_SECOND = 500;
+
+        public static final int DEFAULT_OUTBOUND_QUEUE_CAPACITY = 256;
+
+        private final int maxSockets;
+        private final int socketMessagesPerSecond;
+        private final int tenantMessagesPerSecond;
+        private final int outboundQueueCapacity;
+        private final SlowSocketPolicy slowSocketPolicy;
+
+        /**
+         * Default constructor.
+         *
+         * @param maxSockets              Maximum quantity of open sockets. When lower than 1, DEFAULT_MAX_SOCKETS is applied.
+         * @param socketMessagesPerSecond Rate of messages per socket (with bursts up to twice the rate). When lower than 1, DEFAULT_SOCKET_MESSAGES_PER_SECOND is applied.
+         * @param tenantMessagesPerSecond Rate of messages per tenant (with bursts up to twice the rate). When lower than 1, DEFAULT_TENANT_MESSAGES_PER_SECOND is applied.
+         * @param outboundQueueCapacity   Maximum quantity of messages queued per socket. When lower than 1, DEFAULT_OUTBOUND_QUEUE_CAPACITY is applied.
+         * @param slowSocketPolicy        Policy applied to a socket which outbound queue is full. When null, DROP is applied.
+         */
+        public Limits(int maxSockets, int socketMessagesPerSecond, int tenantMessagesPerSecond, int outboundQueueCapacity, SlowSocketPolicy slowSocketPolicy) {
+            this.maxSockets = (maxSockets > 0) ? maxSockets : DEFAULT_MAX_SOCKETS;
+            this.socketMessagesPerSecond = (socketMessagesPerSecond > 0) ? socketMessagesPerSecond : DEFAULT_SOCKET_MESSAGES_PER_SECOND;
+            this.tenantMessagesPerSecond = (tenantMessagesPerSecond > 0) ? tenantMessagesPerSecond : DEFAULT_TENANT_MESSAGES_PER_SECOND;
+            this.outboundQueueCapacity = (outboundQueueCapacity > 0) ? outboundQueueCapacity : DEFAULT_OUTBOUND_QUEUE_CAPACITY;
+            this.slowSocketPolicy = (slowSocketPolicy != null) ? slowSocketPolicy : SlowSocketPolicy.DROP;
+        }
+
+        /**
+         * Read the limits from the AppConfigurationVariable.REACTIVE_BRIDGE_* environment variables of a context.
+         *
+         * @param configuration Mandatory context.
+         * @return Limits, with default values for the undefined variables.
+         * @throws IllegalArgumentException When mandatory parameter is missing.
+         */
+        public static Limits of(IContext configuration) throws IllegalArgumentException {
+            if (configuration == null) throw new IllegalArgumentException("configuration parameter is required!");
+            String policy = configuration.get(AppConfigurationVariable.REACTIVE_BRIDGE_SLOW_SOCKET_POLICY);
+            return new Limits(intValue(configuration, AppConfigurationVariable.REACTIVE_BRIDGE_MAX_SOCKETS),
+                    intValue(configuration, AppConfigurationVariable.REACTIVE_BRIDGE_SOCKET_MESSAGES_PER_SECOND),
+                    intValue(configuration, AppConfigurationVariable.REACTIVE_BRIDGE_TENANT_MESSAGES_PER_SECOND),
+                    intValue(configuration, AppConfigurationVariable.REACTIVE_BRIDGE_SOCKET_OUTBOUND_QUEUE_CAPACITY),
+                    (policy != null && SlowSocketPolicy.CLOSE.name().equalsIgnoreCase(policy.trim())) ? SlowSocketPolicy.CLOSE : SlowSocketPolicy.DROP);
+        }
+
+        private static int intValue(IContext configuration, AppConfigurationVariable variable) {
+            String value = configuration.get(variable);
+            if (value == null || value.isEmpty()) return 0;
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException nfe) {
+                logger.warning("Invalid value of " + variable.getName() + " environment variable (" + value + "), default value used");
+                return 0;
+            }
+        }
+
+        private TokenBucket socketBucket(LongSupplier clock) {
+            return new TokenBucket(2L * socketMessagesPerSecond, socketMessagesPerSecond, clock);
+        }
+
+        private TokenBucket tenantBucket(LongSupplier clock) {
+            return new TokenBucket(2L * tenantMessagesPerSecond, tenantMessagesPerSecond, clock);
+        }
+
+        public int maxSockets() {
+            return maxSockets;
+        }
+
+        public int outboundQueueCapacity() {
+            return outboundQueueCapacity;
+        }
+
+        public SlowSocketPolicy slowSocketPolicy() {
+            return slowSocketPolicy;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package org.cybnity.application.accesscontrol.ui.system.backend.routing;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.file.FileSystem;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.http.MimeMapping;
+import io.vertx.ext.web.RoutingContext;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Handler of the read-only static contents, placed before a StaticHandler of the same web root.
+ * When a pre-compressed variant of the requested file (e.g app.js.br or app.js.gz, generated during the UI build) is accepted by the client, it is sent as is with its Content-Encoding (not re-compressed by the server).
+ * Else the request is delegated to the next handler with the ETag of the original file.
+ * The properties of the files (and of the missing variants of the existing files) are cached in memory with a bounded size (least recently used are evicted), and the requests including a matching If-None-Match header are answered without content (304).
+ * The requested paths which are not existing files are never cached.
+ */
+public class PrecompressedStaticHandler implements Handler<RoutingContext> {
+
+    /**
+     * Default duration (in seconds) of the contents caching by the clients.
+     */
+    public static final long DEFAULT_MAX_AGE_IN_SECONDS = 86400L;
+
+    /**
+     * Maximum quantity of file properties cached in memory, beyond which the least recently used are evicted.
+     */
+    static final int MAX_CACHED_FILES = 4096;
+
+    /**
+     * Supported encodings (by order of preference) and the extensions of their pre-compressed variants.
+     */
+    private static final String[][] ENCODINGS = {{"br", ".br"}, {"gzip", ".gz"}};
+
+    private static final FileProperties MISSING = new FileProperties(null, -1, -1);
+
+    private final FileSystem fileSystem;
+
+    private final String webRoot;
+
+    private final String cacheControl;
+
+    private final Map<String, FileProperties> files = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, FileProperties> eldest) {
+            return size() > MAX_CACHED_FILES;
+        }
+    });
+
+    /**
+     * Default constructor.
+     *
+     * @param fileSystem      Mandatory file system (resolving the web root from the working directory or from the classpath).
+     * @param webRoot         Mandatory web root of the static contents.
+     * @param maxAgeInSeconds Duration of the contents caching by the clients. When lower than 0, DEFAULT_MAX_AGE_IN_SECONDS is applied.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    public PrecompressedStaticHandler(FileSystem fileSystem, String webRoot, long maxAgeInSeconds) throws IllegalArgumentException {
+        if (fileSystem == null) throw new IllegalArgumentException("fileSystem parameter is required!");
+        if (webRoot == null || webRoot.isEmpty()) throw new IllegalArgumentException("webRoot parameter is required!");
+        this.fileSystem = fileSystem;
+        this.webRoot = webRoot.endsWith("/") ? webRoot.substring(0, webRoot.length() - 1) : webRoot;
+        this.cacheControl = "public, max-age=" + ((maxAgeInSeconds >= 0) ? maxAgeInSeconds : DEFAULT_MAX_AGE_IN_SECONDS);
+    }
+
+    @Override
+    public void handle(RoutingContext ctx) {
+        HttpMethod method = ctx.request().method();
+        String relativePath = relativePath(ctx);
+        if ((method != HttpMethod.GET && method != HttpMethod.HEAD) || !isServable(relativePath)) {
+            ctx.next();
+            return;
+        }
+        String path = webRoot + "/" + relativePath;
+        properties(path, false).onSuccess(original -> {
+            if (original == MISSING) {
+                // Unknown content managed by the next handler
+                ctx.next();
+                return;
+            }
+            Set<String> accepted = acceptedEncodings(ctx.request().getHeader(HttpHeaders.ACCEPT_ENCODING));
+            variant(path, accepted, 0).onSuccess(variant -> {
+                if (variant == null) {
+                    // Original content delivered by the next handler
+                    ctx.response().putHeader(HttpHeaders.CACHE_CONTROL, cacheControl).putHeader(HttpHeaders.ETAG, original.etag);
+                    if (!notModified(ctx, original.etag)) ctx.next();
+                } else {
+                    send(ctx, path, variant);
+                }
+            });
+        });
+    }
+
+    /**
+     * Find the preferred pre-compressed variant of a file accepted by the client.
+     *
+     * @param path     Path of the original file.
+     * @param accepted Encodings accepted by the client.
+     * @param index    Index of the first encoding to check.
+     * @return The existing variant, or null when none.
+     */
+    private Future<Variant> variant(String path, Set<String> accepted, int index) {
+        if (index >= ENCODINGS.length) return Future.succeededFuture(null);
+        String[] encoding = ENCODINGS[index];
+        if (!accepted.contains(encoding[0])) return variant(path, accepted, index + 1);
+        // Missing variant of an existing file is cached
+        return properties(path + encoding[1], true).compose(props -> (props != MISSING) ? Future.succeededFuture(new Variant(encoding[0], props)) : variant(path, accepted, index + 1));
+    }
+
+    /**
+     * Send a pre-compressed variant.
+     *
+     * @param ctx     Context of the request.
+     * @param path    Path of the original file.
+     * @param variant Pre-compressed variant of the file.
+     */
+    private void send(RoutingContext ctx, String path, Variant variant) {
+        FileProperties file = variant.file;
+        HttpServerResponse response = ctx.response();
+        response.putHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .putHeader(HttpHeaders.CACHE_CONTROL, cacheControl)
+                .putHeader(HttpHeaders.ETAG, file.etag)
+                .putHeader(HttpHeaders.LAST_MODIFIED, file.lastModified);
+        if (notModified(ctx, file.etag)) return;
+        // Set the encoding before the content, so the server don't compress it again
+        response.putHeader(HttpHeaders.CONTENT_ENCODING, variant.encoding)
+                .putHeader(HttpHeaders.CONTENT_TYPE, contentType(path));
+        if (ctx.request().method() == HttpMethod.HEAD) {
+            response.putHeader(HttpHeaders.CONTENT_LENGTH, Long.toString(file.size)).end();
+        } else {
+            response.sendFile(file.path).onFailure(ctx::fail);
+        }
+    }
+
+    /**
+     * Answer a conditional request (If-None-Match header) when the content is unchanged.
+     *
+     * @param ctx  Context of the request.
+     * @param etag Current ETag of the content.
+     * @return True when the response has been ended without content.
+     */
+    private static boolean notModified(RoutingContext ctx, String etag) {
+        String ifNoneMatch = ctx.request().getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            // Weak comparison
+            if ("*".equals(tag) || weak(tag).equals(weak(etag))) {
+                ctx.response().setStatusCode(304).end();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String weak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    /**
+     * Get the properties of a file from the cache, or from the file system.
+     *
+     * @param path         Path of the file.
+     * @param cacheMissing True when a missing file shall be cached.
+     * @return The properties, or MISSING when the file is not a regular file.
+     */
+    private Future<FileProperties> properties(String path, boolean cacheMissing) {
+        FileProperties cached = files.get(path);
+        if (cached != null) return Future.succeededFuture(cached);
+        return fileSystem.props(path)
+                .map(props -> props.isRegularFile() ? new FileProperties(path, props.size(), props.lastModifiedTime()) : MISSING)
+                .otherwise(MISSING)
+                .onSuccess(props -> {
+                    if (props != MISSING || cacheMissing) files.put(path, props);
+                });
+    }
+
+    /**
+     * Get the quantity of file properties cached in memory.
+     *
+     * @return A quantity.
+     */
+    int cachedFiles() {
+        return files.size();
+    }
+
+    /**
+     * Get the requested path relative to the route path (e.g js/app.js for /static/js/app.js requested on /static/* route).
+     *
+     * @param ctx Context of the request.
+     * @return A path, or null when not found.
+     */
+    private static String relativePath(RoutingContext ctx) {
+        String relativePath = ctx.pathParam("*");
+        if (relativePath == null && ctx.currentRoute() != null && ctx.currentRoute().getPath() != null) {
+            String routePath = ctx.currentRoute().getPath();
+            String path = ctx.normalizedPath();
+            if (path.startsWith(routePath)) relativePath = path.substring(routePath.length());
+        }
+        return (relativePath != null && relativePath.startsWith("/")) ? relativePath.substring(1) : relativePath;
+    }
+
+    /**
+     * Check that a requested path is not a hidden file, or outside the web root.
+     *
+     * @param relativePath Path relative to the web root.
+     * @return True when servable.
+     */
+    private static boolean isServable(String relativePath) {
+        if (relativePath == null || relativePath.isEmpty() || relativePath.indexOf('\\') >= 0) return false;
+        for (String segment : relativePath.split("/")) {
+            if (segment.startsWith(".")) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Get the encodings accepted by a client.
+     *
+     * @param acceptEncoding Value of the Accept-Encoding header.
+     * @return The encodings not refused (q=0) in lower case, or empty set.
+     */
+    static Set<String> acceptedEncodings(String acceptEncoding) {
+        Set<String> accepted = new HashSet<>();
+        if (acceptEncoding != null) {
+            for (String item : acceptEncoding.split(",")) {
+                String[] parts = item.split(";");
+                String name = parts[0].trim().toLowerCase(Locale.ROOT);
+                boolean refused = false;
+                for (int i = 1; i < parts.length; i++) {
+                    String parameter = parts[i].trim();
+                    if (parameter.startsWith("q=")) {
+                        try {
+                            refused = Double.parseDouble(parameter.substring(2)) <= 0;
+                        } catch (NumberFormatException nfe) {
+                            refused = true;
+                        }
+                    }
+                }
+                if (!name.isEmpty() && !refused) accepted.add(name);
+            }
+        }
+        return accepted;
+    }
+
+    private static String contentType(String path) {
+        String type = MimeMapping.getMimeTypeForFilename(path);
+        if (type == null) return "application/octet-stream";
+        return type.startsWith("text") ? type + ";charset=UTF-8" : type;
+    }
+
+    /**
+     * Cached properties of a file.
+     */
+    private static final class FileProperties {
+        private final String path;
+        private final long size;
+        private final String lastModified;
+        private final String etag;
+
+        private FileProperties(String path, long size, long lastModifiedTime) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = (lastModifiedTime >= 0) ? DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(lastModifiedTime).atZone(ZoneOffset.UTC)) : null;
+            this.etag = "W/\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModifiedTime) + "\"";
+        }
+    }
+
+    /**
+     * Pre-compressed variant of a file.
+     */
+    private static final class Variant {
+        private final String encoding;
+        private final FileProperties file;
+
+        private Variant(String encoding, FileProperties file) {
+            this.encoding = encoding;
+            this.file = file;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.cybnity.application.accesscontrol.ui.system.backend.routing;
+
+/**
+ * Serving mode of the static contents (e.g UI assets) exposed by the backend.
+ */
+public enum StaticContentsServingMode {
+
+    /**
+     * Contents re-read and re-sent at each request (e.g modified during a development session), without caching headers.
+     */
+    DEVELOPMENT,
+
+    /**
+     * Read-only contents, which file properties are cached in memory, delivered with ETag and Cache-Control headers, and with their pre-compressed variant (brotli or gzip) when existing and accepted by the client.
+     */
+    PRODUCTION;
+
+    /**
+     * Get a serving mode from its name.
+     *
+     * @param name Name of mode.
+     * @return The named mode, or DEVELOPMENT when name is undefined or unknown.
+     */
+    public static StaticContentsServingMode of(String name) {
+        if (name != null && !name.isEmpty()) {
+            for (StaticContentsServingMode mode : values()) {
+                if (mode.name().equalsIgnoreCase(name.trim())) return mode;
+            }
+        }
+        return DEVELOPMENT;
+    }
+}
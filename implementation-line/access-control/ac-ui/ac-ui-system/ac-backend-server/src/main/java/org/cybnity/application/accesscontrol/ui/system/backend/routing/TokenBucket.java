@@ -0,0 +1,89 @@
+package org.cybnity.application.accesscontrol.ui.system.backend.routing;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Thread-safe token bucket limiting the rate of operations (e.g messages received from a socket or from a tenant), with bursts up to its capacity.
+ */
+public class TokenBucket {
+
+    private final double capacity;
+
+    private final double tokensPerNano;
+
+    private final LongSupplier clock;
+
+    private double tokens;
+
+    private long refilledAt;
+
+    /**
+     * Default constructor of a full bucket.
+     *
+     * @param capacity        Maximum quantity of tokens (burst).
+     * @param tokensPerSecond Quantity of tokens added per second.
+     * @throws IllegalArgumentException When capacity or tokensPerSecond is not positive.
+     */
+    public TokenBucket(long capacity, double tokensPerSecond) throws IllegalArgumentException {
+        this(capacity, tokensPerSecond, System::nanoTime);
+    }
+
+    /**
+     * Constructor of a full bucket with a specific clock.
+     *
+     * @param capacity        Maximum quantity of tokens (burst).
+     * @param tokensPerSecond Quantity of tokens added per second.
+     * @param clock           Mandatory source of time in nanoseconds.
+     * @throws IllegalArgumentException When capacity or tokensPerSecond is not positive, or when clock is missing.
+     */
+    TokenBucket(long capacity, double tokensPerSecond, LongSupplier clock) throws IllegalArgumentException {
+        if (capacity < 1) throw new IllegalArgumentException("capacity parameter shall be positive!");
+        if (tokensPerSecond <= 0) throw new IllegalArgumentException("tokensPerSecond parameter shall be positive!");
+        if (clock == null) throw new IllegalArgumentException("clock parameter is required!");
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / 1e9;
+        this.clock = clock;
+        this.tokens = capacity;
+        this.refilledAt = clock.getAsLong();
+    }
+
+    /**
+     * Take a token when available.
+     *
+     * @return True when a token has been taken, false when the rate is exceeded.
+     */
+    public synchronized boolean tryAcquire() {
+        long now = clock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Give back a token taken by a refused operation (e.g refused by another bucket), without exceeding the capacity.
+     */
+    public synchronized void release() {
+        tokens = Math.min(capacity, tokens + 1);
+    }
+
+    /**
+     * Is the bucket full (e.g not used since the time required to refill it)?
+     * A full bucket is equivalent to a new bucket.
+     *
+     * @return True when the quantity of available tokens is equals to the capacity.
+     */
+    public synchronized boolean isFull() {
+        return tokens + (clock.getAsLong() - refilledAt) * tokensPerNano >= capacity;
+    }
+
+    /**
+     * @return Quantity of available tokens at the last acquisition.
+     */
+    public synchronized double tokens() {
+        return tokens;
+    }
+}
@@ -4,6 +4,7 @@ import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.ext.web.AllowForwardHeaders;
+import io.vertx.ext.web.Route;
 import io.vertx.ext.web.handler.BodyHandler;
 import io.vertx.ext.web.handler.CorsHandler;
 import io.vertx.ext.web.handler.StaticHandler;
@@ -22,6 +23,11 @@ import java.util.Set;
  */
 public class UICapabilitiesHTTPRouterImpl extends RouterImpl {
 
+    /**
+     * Directory of the static contents, resolved from the working directory or from the classpath.
+     */
+    private static final String STATIC_CONTENTS_WEB_ROOT = "static";
+
     private final IContext context;
 
     /**
@@ -49,14 +55,26 @@ public class UICapabilitiesHTTPRouterImpl extends RouterImpl {
 
         // Add the UI static contents route supported by the HTTP layer about url path
         // and static contents directory eventually provided by this domain UI layer
-        StaticHandler staticWebContentsHandler = StaticHandler.create("static");
+        StaticHandler staticWebContentsHandler = StaticHandler.create(STATIC_CONTENTS_WEB_ROOT);
         // Configure the static files delivery
-        staticWebContentsHandler.setCachingEnabled(false);
         staticWebContentsHandler.setDefaultContentEncoding("UTF-8");
         staticWebContentsHandler.setIncludeHidden(false);
         staticWebContentsHandler.setDirectoryListing(false);
+        Route staticContents = route("/static/*");
+        if (StaticContentsServingMode.of(context.get(AppConfigurationVariable.REACTIVE_BACKEND_STATIC_CONTENTS_SERVING_MODE)) == StaticContentsServingMode.PRODUCTION) {
+            // Read-only contents cached by the server (file properties) and by the clients (Cache-Control, Last-Modified and ETag)
+            long maxAgeInSeconds = staticContentsMaxAgeInSeconds();
+            staticWebContentsHandler.setCachingEnabled(true);
+            staticWebContentsHandler.setFilesReadOnly(true);
+            staticWebContentsHandler.setMaxAgeSeconds(maxAgeInSeconds);
+            staticWebContentsHandler.setSendVaryHeader(true);
+            // Deliver the pre-compressed variants before the original contents
+            staticContents.handler(new PrecompressedStaticHandler(vertx.fileSystem(), STATIC_CONTENTS_WEB_ROOT, maxAgeInSeconds));
+        } else {
+            staticWebContentsHandler.setCachingEnabled(false);
+        }
         // Handle static resources
-        route("/static/*").handler(staticWebContentsHandler).failureHandler(failure -> {
+        staticContents.handler(staticWebContentsHandler).failureHandler(failure -> {
             sendError(404, failure.response());
         });
 
@@ -105,6 +123,18 @@ public class UICapabilitiesHTTPRouterImpl extends RouterImpl {
         this.post().handler(BodyHandler.create());
     }
 
+    /**
+     * Get the duration of the static contents caching by the clients according to the AppConfigurationVariable.REACTIVE_BACKEND_STATIC_CONTENTS_MAX_AGE_IN_SECONDS environment variable.
+     *
+     * @return A duration in seconds, or PrecompressedStaticHandler.DEFAULT_MAX_AGE_IN_SECONDS when environment variable is not defined.
+     */
+    private long staticContentsMaxAgeInSeconds() {
+        String maxAge = context.get(AppConfigurationVariable.REACTIVE_BACKEND_STATIC_CONTENTS_MAX_AGE_IN_SECONDS);
+        if (maxAge != null && !"".equalsIgnoreCase(maxAge))
+            return Long.parseLong(maxAge.trim());
+        return PrecompressedStaticHandler.DEFAULT_MAX_AGE_IN_SECONDS;
+    }
+
     /**
      * Get the list of headers allowed regarding the requests treated by this backend server.
      *
@@ -0,0 +1,63 @@
+package org.cybnity.application.accesscontrol.ui.system.backend.service;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Executor of the blocking operations (e.g UIS append) of a router, according to its execution model.
+ * The operation result is always handled by the router context (event-loop or worker thread), so the router state is never accessed concurrently.
+ */
+public class BlockingOperationsExecutor {
+
+    private final RoutingExecutionModel model;
+
+    /**
+     * Default constructor.
+     *
+     * @param model Execution model. When null, EVENT_LOOP is applied.
+     */
+    public BlockingOperationsExecutor(RoutingExecutionModel model) {
+        this.model = (model != null) ? model : RoutingExecutionModel.EVENT_LOOP;
+    }
+
+    /**
+     * Execute a blocking operation.
+     *
+     * @param context       Mandatory context of the router, where the result is handled.
+     * @param operation     Mandatory blocking operation.
+     * @param resultHandler Mandatory handler of the operation result.
+     * @param <T>           Type of result.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    public <T> void execute(Context context, Callable<T> operation, Handler<AsyncResult<T>> resultHandler) throws IllegalArgumentException {
+        if (context == null) throw new IllegalArgumentException("context parameter is required!");
+        if (operation == null) throw new IllegalArgumentException("operation parameter is required!");
+        if (resultHandler == null) throw new IllegalArgumentException("resultHandler parameter is required!");
+        if (model == RoutingExecutionModel.WORKER) {
+            // Already executed by a worker thread
+            resultHandler.handle(call(operation));
+        } else {
+            // Unordered execution by the worker pool of the router, with result handled by the router context
+            context.executeBlocking(operation, false).onComplete(resultHandler);
+        }
+    }
+
+    private static <T> AsyncResult<T> call(Callable<T> operation) {
+        try {
+            return Future.succeededFuture(operation.call());
+        } catch (Exception e) {
+            return Future.failedFuture(e);
+        }
+    }
+
+    /**
+     * @return The applied execution model.
+     */
+    public RoutingExecutionModel model() {
+        return model;
+    }
+}
@@ -0,0 +1,369 @@
+package org.cybnity.application.accesscontrol.ui.system.backend.service;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+import org.cybnity.application.accesscontrol.ui.system.backend.AppConfigurationVariable;
+import org.cybnity.framework.IContext;
+import org.cybnity.framework.UnoperationalStateException;
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.UISAdapter;
+import org.cybnity.infrastructure.technical.message_bus.adapter.impl.redis.UISAdapterRedisImpl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Pool of thread-safe clients (e.g UIS clients, each one owning its connection) shared by the worker instances deployed by a same verticle.
+ * The pool is owned by the verticle which creates it (e.g the gateway sharing it with its workers via the local map of its Vert.x instance), and which closes it at its stop.
+ * Each client accepts a maximum quantity of concurrent operations (pipelined over its connection); an operation is executed with the least loaded client, leased for the operation duration.
+ * When all the clients are saturated, the lease waits the release of a client until a timeout.
+ *
+ * @param <C> Type of client.
+ */
+public class ClientsPool<C> implements Shareable {
+
+    /**
+     * Technical logging
+     */
+    private static final Logger logger = Logger.getLogger(ClientsPool.class.getName());
+
+    /**
+     * Default quantity of UIS clients.
+     */
+    public static final int DEFAULT_UIS_CLIENTS = 2;
+
+    /**
+     * Default maximum quantity of concurrent operations per client.
+     */
+    public static final int DEFAULT_MAX_PIPELINED_OPERATIONS = 64;
+
+    /**
+     * Default maximum waiting duration of a client when the pool is saturated.
+     */
+    public static final long DEFAULT_LEASE_TIMEOUT_IN_MILLIS = 5000L;
+
+    /**
+     * Name of the local map where a verticle shares its UIS clients pool with the workers of its Vert.x instance.
+     */
+    private static final String SHARED_POOLS_MAP_NAME = ClientsPool.class.getName();
+
+    /**
+     * Key of the UIS clients pool into the shared local map.
+     */
+    private static final String UIS_CLIENTS_KEY = "uisClients";
+
+    private final List<C> clients;
+
+    /**
+     * Operations in progress per client.
+     */
+    private final AtomicInteger[] inFlight;
+
+    private final Semaphore permits;
+
+    private final int maxPipelinedOperations;
+
+    private final long leaseTimeoutInMillis;
+
+    /**
+     * Release of the resources of a client at the pool close, or null when none release is required.
+     */
+    private final Consumer<C> clientRelease;
+
+    private volatile boolean closed;
+
+    private final LongAdder leases = new LongAdder();
+    private final LongAdder saturations = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAccumulator peakInFlight = new LongAccumulator(Long::max, 0);
+
+    /**
+     * Default constructor.
+     *
+     * @param clients                Mandatory thread-safe clients (copied).
+     * @param maxPipelinedOperations Maximum quantity of concurrent operations per client. When lower than 1, DEFAULT_MAX_PIPELINED_OPERATIONS is applied.
+     * @param leaseTimeoutInMillis   Maximum waiting duration of a client when the pool is saturated. When lower than 0, DEFAULT_LEASE_TIMEOUT_IN_MILLIS is applied.
+     * @throws IllegalArgumentException When mandatory parameter is missing or empty.
+     */
+    public ClientsPool(List<C> clients, int maxPipelinedOperations, long leaseTimeoutInMillis) throws IllegalArgumentException {
+        this(clients, maxPipelinedOperations, leaseTimeoutInMillis, null);
+    }
+
+    /**
+     * Constructor of a pool releasing the resources of its clients at its close.
+     *
+     * @param clients                Mandatory thread-safe clients (copied).
+     * @param maxPipelinedOperations Maximum quantity of concurrent operations per client. When lower than 1, DEFAULT_MAX_PIPELINED_OPERATIONS is applied.
+     * @param leaseTimeoutInMillis   Maximum waiting duration of a client when the pool is saturated. When lower than 0, DEFAULT_LEASE_TIMEOUT_IN_MILLIS is applied.
+     * @param clientRelease          Optional release of the resources of a client (e.g connection), executed at the pool close.
+     * @throws IllegalArgumentException When mandatory parameter is missing or empty.
+     */
+    public ClientsPool(List<C> clients, int maxPipelinedOperations, long leaseTimeoutInMillis, Consumer<C> clientRelease) throws IllegalArgumentException {
+        if (clients == null || clients.isEmpty()) throw new IllegalArgumentException("clients parameter is required!");
+        if (clients.contains(null)) throw new IllegalArgumentException("clients parameter shall not include null client!");
+        this.clients = Collections.unmodifiableList(new ArrayList<>(clients));
+        this.maxPipelinedOperations = (maxPipelinedOperations > 0) ? maxPipelinedOperations : DEFAULT_MAX_PIPELINED_OPERATIONS;
+        this.leaseTimeoutInMillis = (leaseTimeoutInMillis >= 0) ? leaseTimeoutInMillis : DEFAULT_LEASE_TIMEOUT_IN_MILLIS;
+        this.inFlight = new AtomicInteger[this.clients.size()];
+        for (int i = 0; i < inFlight.length; i++) inFlight[i] = new AtomicInteger();
+        this.permits = new Semaphore(this.clients.size() * this.maxPipelinedOperations);
+        this.clientRelease = clientRelease;
+    }
+
+    /**
+     * Create a pool of UIS clients with the configuration of the context (DOMAIN_UIS_CLIENTS_POOL_SIZE and DOMAIN_UIS_CLIENT_MAX_PIPELINED_OPERATIONS environment variables).
+     * The caller owns the created pool, and shall close it when not used anymore.
+     *
+     * @param configuration Mandatory context.
+     * @return A pool.
+     * @throws UnoperationalStateException When a client can't be created (e.g missing environment variable defined to join the Users Interactions Space).
+     * @throws IllegalArgumentException    When mandatory parameter is missing.
+     */
+    public static ClientsPool<UISAdapter> uisClients(IContext configuration) throws UnoperationalStateException, IllegalArgumentException {
+        if (configuration == null) throw new IllegalArgumentException("configuration parameter is required!");
+        int size = intValue(configuration, AppConfigurationVariable.DOMAIN_UIS_CLIENTS_POOL_SIZE);
+        List<UISAdapter> clients = new ArrayList<>();
+        try {
+            for (int i = 0; i < ((size > 0) ? size : DEFAULT_UIS_CLIENTS); i++) {
+                clients.add(new UISAdapterRedisImpl(configuration));
+            }
+        } catch (IllegalArgumentException iae) {
+            // Problem of context read: release the clients already created
+            for (UISAdapter client : clients) {
+                client.freeUpResources();
+            }
+            throw new UnoperationalStateException(iae);
+        }
+        return new ClientsPool<>(clients, intValue(configuration, AppConfigurationVariable.DOMAIN_UIS_CLIENT_MAX_PIPELINED_OPERATIONS), DEFAULT_LEASE_TIMEOUT_IN_MILLIS, UISAdapter::freeUpResources);
+    }
+
+    /**
+     * Share a UIS clients pool with the workers deployed on a Vert.x instance.
+     * The pool stays owned by the caller, which shall withdraw it (see withdrawUISClients) before to close it.
+     *
+     * @param vertx Mandatory Vert.x instance.
+     * @param pool  Mandatory pool.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    public static void shareUISClients(Vertx vertx, ClientsPool<UISAdapter> pool) throws IllegalArgumentException {
+        if (vertx == null) throw new IllegalArgumentException("vertx parameter is required!");
+        if (pool == null) throw new IllegalArgumentException("pool parameter is required!");
+        vertx.sharedData().<String, ClientsPool<UISAdapter>>getLocalMap(SHARED_POOLS_MAP_NAME).put(UIS_CLIENTS_KEY, pool);
+    }
+
+    /**
+     * Get the UIS clients pool shared on a Vert.x instance.
+     *
+     * @param vertx Mandatory Vert.x instance.
+     * @return The shared pool, or null when none pool is shared.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    public static ClientsPool<UISAdapter> sharedUISClients(Vertx vertx) throws IllegalArgumentException {
+        if (vertx == null) throw new IllegalArgumentException("vertx parameter is required!");
+        return vertx.sharedData().<String, ClientsPool<UISAdapter>>getLocalMap(SHARED_POOLS_MAP_NAME).get(UIS_CLIENTS_KEY);
+    }
+
+    /**
+     * Withdraw a UIS clients pool shared on a Vert.x instance.
+     *
+     * @param vertx Mandatory Vert.x instance.
+     * @param pool  Mandatory pool to withdraw. Nothing is withdrawn when another pool is shared.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    public static void withdrawUISClients(Vertx vertx, ClientsPool<UISAdapter> pool) throws IllegalArgumentException {
+        if (vertx == null) throw new IllegalArgumentException("vertx parameter is required!");
+        if (pool == null) throw new IllegalArgumentException("pool parameter is required!");
+        LocalMap<String, ClientsPool<UISAdapter>> pools = vertx.sharedData().getLocalMap(SHARED_POOLS_MAP_NAME);
+        pools.removeIfPresent(UIS_CLIENTS_KEY, pool);
+    }
+
+    /**
+     * Read an optional numeric configuration variable.
+     *
+     * @param configuration Context of configuration.
+     * @param variable      Variable to read.
+     * @return The defined value, or 0 when undefined or invalid.
+     */
+    static int intValue(IContext configuration, AppConfigurationVariable variable) {
+        String value = configuration.get(variable);
+        if (value == null || value.isEmpty()) return 0;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException nfe) {
+            logger.warning("Invalid value of " + variable.getName() + " environment variable (" + value + "), default value used");
+            return 0;
+        }
+    }
+
+    /**
+     * Lease the least loaded client for an operation.
+     *
+     * @return A lease to close at the end of the operation.
+     * @throws UnoperationalStateException When none client has been released before the lease timeout (saturated pool), when interrupted, or when the pool is closed.
+     */
+    public Lease<C> lease() throws UnoperationalStateException {
+        if (closed) throw new UnoperationalStateException("Closed clients pool!");
+        if (!permits.tryAcquire()) {
+            saturations.increment();
+            try {
+                if (!permits.tryAcquire(leaseTimeoutInMillis, TimeUnit.MILLISECONDS)) {
+                    timeouts.increment();
+                    throw new UnoperationalStateException("Saturated clients pool (" + this + ")!");
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new UnoperationalStateException(ie);
+            }
+        }
+        int selected = 0;
+        for (int i = 1; i < inFlight.length; i++) {
+            if (inFlight[i].get() < inFlight[selected].get()) selected = i;
+        }
+        inFlight[selected].incrementAndGet();
+        leases.increment();
+        peakInFlight.accumulate(inFlight());
+        return new Lease<>(this, selected);
+    }
+
+    /**
+     * Get a client for the long-lived usages (e.g subscriptions to channels), which are not counted as operations.
+     *
+     * @return The first client.
+     */
+    public C subscriptionClient() {
+        return clients.get(0);
+    }
+
+    /**
+     * Close the pool: none new lease is accepted, and the resources of each client are released.
+     * This method make nothing when the pool is already closed.
+     */
+    public void close() {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+        }
+        if (clientRelease != null) {
+            for (C client : clients) {
+                try {
+                    clientRelease.accept(client);
+                } catch (Exception e) {
+                    logger.log(Level.WARNING, "Client release failure", e);
+                }
+            }
+        }
+        logger.fine("Clients pool closed (" + this + ")");
+    }
+
+    /**
+     * @return True when the pool is closed.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private void release(int index) {
+        inFlight[index].decrementAndGet();
+        permits.release();
+    }
+
+    /**
+     * @return Quantity of clients.
+     */
+    public int size() {
+        return clients.size();
+    }
+
+    public int maxPipelinedOperations() {
+        return maxPipelinedOperations;
+    }
+
+    /**
+     * @return Quantity of operations in progress.
+     */
+    public int inFlight() {
+        return clients.size() * maxPipelinedOperations - permits.availablePermits();
+    }
+
+    /**
+     * Get the saturation level of the pool.
+     *
+     * @return Ratio (between 0 and 1) of operations in progress on the maximum quantity of concurrent operations.
+     */
+    public double saturation() {
+        return (double) inFlight() / (clients.size() * maxPipelinedOperations);
+    }
+
+    public long leases() {
+        return leases.sum();
+    }
+
+    /**
+     * @return Quantity of leases which have waited a client release.
+     */
+    public long saturations() {
+        return saturations.sum();
+    }
+
+    /**
+     * @return Quantity of leases refused after timeout.
+     */
+    public long timeouts() {
+        return timeouts.sum();
+    }
+
+    /**
+     * @return Maximum quantity of concurrent operations observed.
+     */
+    public long peakInFlight() {
+        return peakInFlight.get();
+    }
+
+    @Override
+    public String toString() {
+        return "clients=" + size() + ", maxPipelinedOperations=" + maxPipelinedOperations + ", inFlight=" + inFlight() + ", peakInFlight=" + peakInFlight() + ", leases=" + leases() + ", saturations=" + saturations() + ", timeouts=" + timeouts();
+    }
+
+    /**
+     * Client leased for an operation.
+     *
+     * @param <C> Type of client.
+     */
+    public static final class Lease<C> implements AutoCloseable {
+        private final ClientsPool<C> pool;
+        private final int index;
+        private boolean released;
+
+        private Lease(ClientsPool<C> pool, int index) {
+            this.pool = pool;
+            this.index = index;
+        }
+
+        /**
+         * @return The leased client.
+         */
+        public C client() {
+            return pool.clients.get(index);
+        }
+
+        /**
+         * Release the client to the pool.
+         */
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                pool.release(index);
+            }
+        }
+    }
+}
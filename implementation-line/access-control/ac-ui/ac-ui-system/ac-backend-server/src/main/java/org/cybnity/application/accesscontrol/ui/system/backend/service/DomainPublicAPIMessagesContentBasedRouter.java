@@ -1,28 +1,26 @@
 package org.cybnity.application.accesscontrol.ui.system.backend.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.lettuce.core.StreamMessage;
 import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.eventbus.Message;
 import io.vertx.core.eventbus.MessageConsumer;
 import io.vertx.core.json.JsonObject;
-import org.cybnity.application.accesscontrol.translator.ui.api.event.DomainEventType;
-import org.cybnity.application.accesscontrol.ui.api.event.TenantRegistrationAttributeName;
+import org.cybnity.application.accesscontrol.translator.ui.api.ACDomainMessageMapperFactory;
+import org.cybnity.application.accesscontrol.translator.ui.api.UICapabilityChannel;
 import org.cybnity.application.accesscontrol.ui.system.backend.AbstractChannelMessageRouter;
+import org.cybnity.application.accesscontrol.ui.system.backend.AppConfigurationVariable;
 import org.cybnity.application.accesscontrol.ui.system.backend.routing.CollaborationChannel;
 import org.cybnity.application.accesscontrol.ui.system.backend.routing.GatewayRoutingPlan;
 import org.cybnity.framework.Context;
+import org.cybnity.framework.IContext;
 import org.cybnity.framework.UnoperationalStateException;
 import org.cybnity.framework.domain.*;
-import org.cybnity.framework.domain.event.DomainEventFactory;
 import org.cybnity.framework.domain.infrastructure.MessageHeader;
-import org.cybnity.framework.domain.model.DomainEntity;
-import org.cybnity.infrastructure.technical.message_bus.adapter.api.MessageMapper;
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.Channel;
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.ChannelObserver;
 import org.cybnity.infrastructure.technical.message_bus.adapter.api.Stream;
 import org.cybnity.infrastructure.technical.message_bus.adapter.api.UISAdapter;
-import org.cybnity.infrastructure.technical.message_bus.adapter.impl.redis.MessageMapperFactory;
-import org.cybnity.infrastructure.technical.message_bus.adapter.impl.redis.UISAdapterRedisImpl;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -34,20 +32,32 @@ import java.util.logging.Logger;
 /**
  * Public API service managing the messages supported by a domain.
  * This public exposed service does not apply security control rules and is integrated with Users Interactions Space to deliver the response to the caller of the Event bus.
- * This component life cycle is based on Vert.x loop executed by this thread context.
+ * This component life cycle is based on Vert.x loop executed by this thread context: the parsing and routing are executed by this context, and only the blocking operations (e.g UIS append) are offloaded according to the RoutingExecutionModel of the deployment.
  * This component ensure control of any message structure before to be delegated to the UI capability domain.
  * <p>
  * This implements the Content-Based Router pattern where the recipient channel is identified from the message
  * content to forward. It's an implementation of architectural pattern named "Content-Based Router".
  * <p>
  * Including the use of a RecipientList helper, this implementation inspect incoming message, determine a list of desired recipients (one or several), and forward the message to all channels associated with the recipients list.
+ * <p>
+ * The caller is answered asynchronously with the result event notified by the capability domain, correlated with the command over its correlation identifier (bounded registry of pending replies, failed with REPLY_TIMEOUT_FAILURE_CODE when none result is received before the configured timeout).
  */
 public class DomainPublicAPIMessagesContentBasedRouter extends AbstractChannelMessageRouter {
 
     /**
-     * Client managing interactions with Users Interactions Space.
+     * Clients managing interactions with Users Interactions Space, shared by the workers deployed by the gateway (or owned by this worker when deployed without gateway), defined at the start.
      */
-    private final UISAdapter uisClient;
+    private ClientsPool<UISAdapter> uisClients;
+
+    /**
+     * Is the UIS clients pool owned (created and closed) by this worker.
+     */
+    private boolean uisClientsOwned;
+
+    /**
+     * Current context of adapter runtime.
+     */
+    private final IContext configuration = new Context();
 
     /**
      * Technical logging
@@ -69,30 +79,87 @@ public class DomainPublicAPIMessagesContentBasedRouter extends AbstractChannelMe
      */
     private final Collection<MessageConsumer<Object>> entryPointChannelConsumers = new ArrayList<>();
 
+    /**
+     * Codec of the event bus messages, shared by all the workers (immutable and thread-safe).
+     */
+    private static final JSONMessageCodec codec = new JSONMessageCodec();
+
+    /**
+     * Factory of the mappers owned by each thread executing the appends.
+     */
+    private static final ACDomainMessageMapperFactory mapperFactory = new ACDomainMessageMapperFactory();
+
+    /**
+     * Failure code of a reply which result has not been received before its time-to-live.
+     */
+    public static final int REPLY_TIMEOUT_FAILURE_CODE = 504;
+
+    /**
+     * Failure code of a command refused because the maximum quantity of pending replies is reached.
+     */
+    public static final int OVERLOADED_FAILURE_CODE = 503;
+
+    /**
+     * Failure code of a command which delegation to the capability domains has failed.
+     */
+    public static final int DELEGATION_FAILURE_CODE = 500;
+
+    /**
+     * Maximum interval between two evictions of the expired replies.
+     */
+    private static final long MAX_EVICTION_PERIOD_IN_MILLIS = 1000L;
+
+    /**
+     * Replies waiting the result of the commands delegated to the capability domains, per correlation identifier.
+     */
+    private final PendingReplies<IDescribed> pendingReplies;
+
+    /**
+     * UIS channels where the results of the delegated commands are notified.
+     */
+    private final Collection<ChannelObserver> resultsObservers = new ArrayList<>();
+
+    /**
+     * Timer evicting the expired replies.
+     */
+    private long evictionTimerId = -1;
+
+    /**
+     * Executor of the blocking operations (UIS appends), defined at the start according to the deployment configuration (RoutingExecutionModel).
+     */
+    private BlockingOperationsExecutor blockingOperations;
+
     /**
      * Default constructor.
      *
-     * @throws UnoperationalStateException When problem of context configuration (e.g missing environment variable defined to join the Users Interactions Space).
      */
-    public DomainPublicAPIMessagesContentBasedRouter() throws UnoperationalStateException {
+    public DomainPublicAPIMessagesContentBasedRouter() {
         super();
-        try {
-            // Prepare client configured for interactions with the UIS
-            // according to the defined environment variables (autonomous connection from worker to UIS)
-            // defined on the runtime server executing this worker
-            uisClient = new UISAdapterRedisImpl(new Context() /* Current context of adapter runtime*/);
-        } catch (IllegalArgumentException iae) {
-            // Problem of context read
-            throw new UnoperationalStateException(iae);
-        }
+        pendingReplies = new PendingReplies<>(ClientsPool.intValue(configuration, AppConfigurationVariable.DOMAIN_PENDING_REPLIES_CAPACITY),
+                1000L * ClientsPool.intValue(configuration, AppConfigurationVariable.DOMAIN_REPLY_TIMEOUT_IN_SECONDS));
     }
 
     /**
      * Start event bus channel as provided api service entrypoint.
      * This method start also the observed User Interactions Space channels allowing to deliver answers of delegated works to the capabilities layer.
+     *
+     * @throws IllegalStateException When problem of context configuration (e.g missing environment variable defined to join the Users Interactions Space).
      */
     @Override
-    protected void startChannelConsumers() {
+    protected void startChannelConsumers() throws IllegalStateException {
+        // Get the clients configured for interactions with the UIS (connections shared by the workers of the gateway, and warmed by its start)
+        uisClients = ClientsPool.sharedUISClients(vertx);
+        if (uisClients == null) {
+            // Worker deployed without gateway: clients configured according to the environment variables defined on the runtime server executing this worker
+            try {
+                uisClients = ClientsPool.uisClients(configuration);
+                uisClientsOwned = true;
+            } catch (UnoperationalStateException use) {
+                throw new IllegalStateException(use);
+            }
+        }
+        // Only the blocking operations are offloaded from the event-loop (or executed by this worker thread)
+        blockingOperations = new BlockingOperationsExecutor(RoutingExecutionModel.of(config().getString(RoutingExecutionModel.CONFIG_KEY)));
         // Create UIS observed allowing async response treatment to forward at the service callers
         startUISConsumers();
 
@@ -116,6 +183,10 @@ public class DomainPublicAPIMessagesContentBasedRouter extends AbstractChannelMe
 
         // Stop the UIS observers
         stopUISConsumers();
+        if (uisClientsOwned) {
+            uisClients.close();
+            uisClientsOwned = false;
+        }
         logger.fine("Event bus channels consumers un-registered with success by worker (workerDeploymentId: " + this.deploymentID() + ")");
     }
 
@@ -123,31 +194,37 @@ public class DomainPublicAPIMessagesContentBasedRouter extends AbstractChannelMe
      * Stop the handlers that monitored the User Interactions Space.
      */
     private void stopUISConsumers() {
-        // TODO créer desabonnement aux topics redis
-
-        logger.fine("UIS consumers stopped with success");
+        if (evictionTimerId >= 0) {
+            vertx.cancelTimer(evictionTimerId);
+            evictionTimerId = -1;
+        }
+        if (!resultsObservers.isEmpty()) {
+            uisClients.subscriptionClient().unsubscribe(resultsObservers);
+            resultsObservers.clear();
+        }
+        // Release the callers waiting a result which can't be received anymore
+        pendingReplies.evictExpired(Long.MAX_VALUE);
+        logger.fine("UIS consumers stopped with success (" + pendingReplies + ")");
     }
 
     /**
      * Start the handlers that monitor the User Interactions Space and forward observed events to the event bus.
      */
     private void startUISConsumers() {
-        // TODO créer consumers du redis permettant de collecter (sur la base du pattern de nommage des envois réalisés par la méthode onMessage() ) les résultats de traitements délégués auprès du redis
-
-        // Identify the
-
-
-        // Transform domain event to JSON supported by the UI layer
-
-        // Publish the event JSON version to event bus according to the routing case
-        // For example:
-        // - output channel dedicated to a replyAddress
-        // - output channel dedicated to a correlation id
-        // - output channel specific to the domain
-        // - public output channel
-
+        // Observe once the domain output channels where the results of the delegated commands are notified
+        resultsObservers.add(new DomainResultsObserver(new Channel(UICapabilityChannel.access_control_tenants_changes.shortName()), pendingReplies));
+        try {
+            uisClients.subscriptionClient().subscribe(resultsObservers, mapperFactory.getMapper(String.class, IDescribed.class));
+        } catch (UnoperationalStateException e) {
+            logger.severe(e.getMessage());
+        }
+        // Periodic release of the callers which result is not received before the reply time-to-live
+        evictionTimerId = vertx.setPeriodic(Math.max(1L, Math.min(MAX_EVICTION_PERIOD_IN_MILLIS, pendingReplies.ttlInMillis() / 10)), id -> {
+            int expired = pendingReplies.evictExpired(System.currentTimeMillis());
+            if (expired > 0)
+                logger.warning(expired + " command replies expired without received result (" + pendingReplies + ")");
+        });
         logger.fine("UIS consumers started with success");
-
     }
 
     /**
@@ -159,12 +236,11 @@ public class DomainPublicAPIMessagesContentBasedRouter extends AbstractChannelMe
     private <T> void onMessage(Message<T> message) {
         if (message != null) {
             // Identify fact event to append on space topic
-            JsonObject messageBody = (JsonObject) message.body();
-            if (messageBody != null && !messageBody.isEmpty()) {
+            Object messageBody = message.body();
+            if (messageBody != null && !(messageBody instanceof JsonObject && ((JsonObject) messageBody).isEmpty())) {
                 try {
-                    // Identify received command
-                    ObjectMapper mapper = new ObjectMapperBuilder().dateFormat().enableIndentation().preserveOrder(true).build();
-                    Command factEvent = mapper.readValue(messageBody.encode(), Command.class);
+                    // Identify received command (decoded from the message structure without intermediate re-encoding)
+                    Command factEvent = codec.decodeCommand(messageBody);
 
                     // Identify eventual existing reply address to forward as event's additional header
                     String replyAddress = message.replyAddress();
@@ -182,6 +258,10 @@ public class DomainPublicAPIMessagesContentBasedRouter extends AbstractChannelMe
                         if (correlationId != null && !correlationId.isEmpty()) {
                             // Set correlation id on the fact event
                             factEvent.assignCorrelationId(correlationId);
+                        } else {
+                            // Transaction identifier allowing the correlation of the command result
+                            factEvent.generateCorrelationId(null);
+                            correlationId = factEvent.correlationId().value();
                         }
                     }
 
@@ -196,21 +276,28 @@ public class DomainPublicAPIMessagesContentBasedRouter extends AbstractChannelMe
                         String routeRecipientPath = destinationMap.recipient(factEventTypeName);
                         if (routeRecipientPath != null) {
                             Stream domainEndpoint = new Stream(/* Detected capability domain path based on entrypoint supported fact event type */ routeRecipientPath);
-                            MessageMapper msgMapper = new MessageMapperFactory().getMapper(factEvent.getClass(), StreamMessage.class);
-                            String messageId = uisClient.append(factEvent, domainEndpoint /* Specific stream to feed */, msgMapper);
-                            logger.log(Level.FINE, factEventTypeName + " command (messageId: " + messageId + ") appended to '" + domainEndpoint.name() + "' capability domain entrypoint");
-                            // --- process delegated to capability domain and eventual response managed by the UIS consumers ---
-
-
-                            // TODO replace mocked response (and vertx.redis usage if none required) for execution since observer of UIS layer over REDIS adapter library
-                            // Positionner en mocked feature unit (vertx indépendant) répondant dans le topic replyAddress car existant
-                            // puis écouté par un observer de topic du domaine ac pour forward vers event bus
-
-                            DeliveryOptions options = getDeliveryOptions(message.headers().entries());
-                            // Temp mocked response to replace by result build from consumer when received response from redis
-                            JsonObject registeredOrganizationEvent = mockedResponse(options.getHeaders().get("Correlation-ID"), messageId);
-
-                            message.reply(registeredOrganizationEvent, options);
+                            // Wait the command result before its delegation (the result can be notified before the end of append)
+                            // Only when the caller waits a reply (none pending reply retained for a sent and forgotten command)
+                            final String transactionId = correlationId;
+                            final boolean replyWaited = replyAddress != null && !replyAddress.isEmpty();
+                            if (replyWaited && !waitResult(message, transactionId)) return;
+                            // Blocking append offloaded from the router thread
+                            blockingOperations.execute(context, () -> {
+                                try (ClientsPool.Lease<UISAdapter> uisClient = uisClients.lease();
+                                     ACDomainMessageMapperFactory.MapperLease msgMapper = mapperFactory.leaseMapper(factEvent.getClass(), StreamMessage.class)) {
+                                    return uisClient.client().append(factEvent, domainEndpoint /* Specific stream to feed */, msgMapper.mapper());
+                                }
+                            }, appended -> {
+                                if (appended.succeeded()) {
+                                    logger.log(Level.FINE, factEventTypeName + " command (messageId: " + appended.result() + ") appended to '" + domainEndpoint.name() + "' capability domain entrypoint");
+                                    // --- process delegated to capability domain and response forwarded to the caller by the UIS results observer ---
+                                } else {
+                                    // None result will be received
+                                    if (replyWaited) pendingReplies.cancel(transactionId);
+                                    message.fail(DELEGATION_FAILURE_CODE, "Impossible delegation of " + factEventTypeName + " command (correlationId: " + transactionId + ") to capability domain: " + appended.cause().getMessage());
+                                    logger.log(Level.SEVERE, "Impossible delegation of " + factEventTypeName + " command to '" + domainEndpoint.name() + "' capability domain entrypoint!", appended.cause());
+                                }
+                            });
                         } else {
                             // The type of event is not supported by any channel and declared route
                             // So event type can be considered as un treatable by the domain
@@ -262,50 +349,36 @@ public class DomainPublicAPIMessagesContentBasedRouter extends AbstractChannelMe
     }
 
     /**
-     * Prepare a mocked answer to the service caller.
-     * TODO TEMPORARY MOCK CODE BEFORE REAL RESPONSE BUILD AND RECEIVED FROM UIS
+     * Register the reply waiting the result of a command, which will be answered to the caller when the result event is notified by the capability domain, or failed when none result is received before the reply time-to-live.
      *
-     * @param originCorrelationId  transaction identifier.
-     * @param transmittedMessageId message identifier that have been sent to UIS.
-     * @return A response event shareable with the caller.
+     * @param message       Received command message.
+     * @param correlationId Mandatory correlation identifier of the command.
+     * @return True when the result is waited. False when the caller has been answered with a failure because the maximum quantity of pending replies is reached.
      */
-    private JsonObject mockedResponse(String originCorrelationId, String transmittedMessageId) {
-        try {
-            ObjectMapper mapper = new ObjectMapperBuilder().dateFormat().enableIndentation().preserveOrder(true).build();
-
-            // Prepare json object (OrganizationRegistered domain event including state) as
-            // simulated UIS answer with success registration
-            Collection<Attribute> changeEventDefinition = new ArrayList<>();
-            Attribute correlationIdAtt = new Attribute(Command.CORRELATION_ID, originCorrelationId);
-            // Set organization name created
-            Attribute tenantNameToRegister = new Attribute(TenantRegistrationAttributeName.TENANT_NAMING.name(), "CYBNITY");
-            changeEventDefinition.add(tenantNameToRegister);
-            // Set correlation id
-            changeEventDefinition.add(correlationIdAtt);// allowing finalized transaction check
-            // Prepare OrganizationRegistered domain event coming from the UI capabilities layer and forwarded by the UI API
-            // including a status equals to "actioned" (e.g waiting for user registration finalized with success)
-            // and tenant description
-            Collection<Attribute> tenantDefinition = new ArrayList<>();
-            tenantDefinition.add(new Attribute(TenantRegistrationAttributeName.TENANT_NAMING.name(), "CYBNITY"));
-            // Set correlation id
-            tenantDefinition.add(correlationIdAtt); // allowing finalized transaction check
-
-            DomainEvent createdTenantEvent = DomainEventFactory.create(org.cybnity.framework.domain.event.DomainEventType.TENANT_CREATED.name(),
-                    new DomainEntity(IdentifierStringBased.generate(null)),
-                    tenantDefinition, /* prior as command event entity reference */ null
-                    , null);
-
-            DomainEvent changeEvent = DomainEventFactory.create(DomainEventType.TENANT_REGISTERED.name(),
-                    /* Identifier of the event to prepare */ null, changeEventDefinition,
-                    /* Prior command cause of change*/ createdTenantEvent.getIdentifiedBy().reference(),
-                    /* None pre-identified organization because new creation */ null);
-
-            // Transform event into vertx supported JsonObject type allowing binding
-            return new JsonObject(mapper.writeValueAsString(changeEvent));
-        } catch (Exception e) {
-            logger.log(Level.FINE, e.toString());
+    private <T> boolean waitResult(Message<T> message, String correlationId) {
+        final DeliveryOptions options = getDeliveryOptions(message.headers().entries());
+        if (options.getHeaders() == null || options.getHeaders().get("Correlation-ID") == null)
+            options.addHeader("Correlation-ID", correlationId);
+        final io.vertx.core.Context replyContext = context;
+        boolean registered = pendingReplies.register(correlationId,
+                // Result received from the UIS consumer thread, and answered from this worker context
+                result -> replyContext.runOnContext(v -> message.reply(codec.encodeAsJsonObject(result), options)),
+                // Timeout detected by this worker context
+                () -> message.fail(REPLY_TIMEOUT_FAILURE_CODE, "None result received for command (correlationId: " + correlationId + ") before " + pendingReplies.ttlInMillis() + " ms timeout!"));
+        if (!registered) {
+            logger.log(Level.WARNING, "Command refused (correlationId: " + correlationId + "), pending replies capacity reached or transaction already in progress (" + pendingReplies + ")");
+            message.fail(OVERLOADED_FAILURE_CODE, "Command refused (correlationId: " + correlationId + "): too many transactions in progress or transaction already in progress!");
         }
-        return null;
+        return registered;
+    }
+
+    /**
+     * Get the replies waiting a command result.
+     *
+     * @return A registry.
+     */
+    public PendingReplies<IDescribed> pendingReplies() {
+        return pendingReplies;
     }
 
     /**
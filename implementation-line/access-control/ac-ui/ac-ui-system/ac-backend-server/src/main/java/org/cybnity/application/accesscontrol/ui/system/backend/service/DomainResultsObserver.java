@@ -0,0 +1,87 @@
+package org.cybnity.application.accesscontrol.ui.system.backend.service;
+
+import org.cybnity.framework.domain.Attribute;
+import org.cybnity.framework.domain.Command;
+import org.cybnity.framework.domain.DomainEvent;
+import org.cybnity.framework.domain.IDescribed;
+import org.cybnity.framework.domain.event.EventSpecification;
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.Channel;
+import org.cybnity.infrastructure.technical.message_bus.adapter.api.ChannelObserver;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Observer of a domain output channel (e.g tenants changes notified by the capability domains), which completes the reply waited by the caller of the command that is origin of each result event.
+ * The result is correlated with the pending reply over the correlation identifier of the origin command.
+ */
+public class DomainResultsObserver implements ChannelObserver {
+
+    /**
+     * Technical logging
+     */
+    private static final Logger logger = Logger.getLogger(DomainResultsObserver.class.getName());
+
+    private final Channel observed;
+
+    private final PendingReplies<IDescribed> replies;
+
+    /**
+     * Default constructor.
+     *
+     * @param observed Mandatory channel where the result events are notified.
+     * @param replies  Mandatory replies waiting results.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    public DomainResultsObserver(Channel observed, PendingReplies<IDescribed> replies) throws IllegalArgumentException {
+        if (observed == null) throw new IllegalArgumentException("observed parameter is required!");
+        if (replies == null) throw new IllegalArgumentException("replies parameter is required!");
+        this.observed = observed;
+        this.replies = replies;
+    }
+
+    @Override
+    public Channel observed() {
+        return observed;
+    }
+
+    @Override
+    public String observationPattern() {
+        return null;
+    }
+
+    @Override
+    public void notify(Object event) {
+        if (!(event instanceof IDescribed)) return;
+        IDescribed result = (IDescribed) event;
+        String correlationId = correlationIdOf(result);
+        if (correlationId == null) {
+            logger.log(Level.FINE, "Result event without correlation identifier ignored (type: " + ((result.type() != null) ? result.type().value() : null) + ")");
+            return;
+        }
+        if (!replies.complete(correlationId, result)) {
+            // Expired transaction, or transaction of another backend instance
+            logger.log(Level.FINE, "None pending reply for result event (correlationId: " + correlationId + ")");
+        }
+    }
+
+    /**
+     * Read the correlation identifier of a result event.
+     *
+     * @param result Result event.
+     * @return An identifier, or null when undefined.
+     */
+    static String correlationIdOf(IDescribed result) {
+        Attribute correlationId = null;
+        if (result instanceof DomainEvent) {
+            correlationId = ((DomainEvent) result).correlationId();
+        } else if (result instanceof Command) {
+            correlationId = ((Command) result).correlationId();
+        }
+        if (correlationId == null) {
+            // Correlation identifier only defined as specification attribute
+            correlationId = EventSpecification.findSpecificationByName(Command.CORRELATION_ID, result.specification());
+        }
+        return (correlationId != null && correlationId.value() != null && !correlationId.value().isEmpty()) ? correlationId.value() : null;
+    }
+}
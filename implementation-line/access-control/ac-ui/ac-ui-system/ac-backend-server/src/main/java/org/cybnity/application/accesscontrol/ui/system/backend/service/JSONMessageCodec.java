@@ -0,0 +1,143 @@
+package org.cybnity.application.accesscontrol.ui.system.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.cybnity.framework.domain.Command;
+import org.cybnity.framework.domain.ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Codec of the JSON messages exchanged over the event bus, between their Vert.x representation (JsonObject, Buffer, String) and the domain facts (e.g Command).
+ * The mapper, reader and writer are built once and are immutable after their configuration, so they are shared by all the workers and threads without synchronization.
+ * A JsonObject is decoded from its structure without intermediate encoding as String.
+ */
+public final class JSONMessageCodec {
+
+    /**
+     * Mapper configured as the domain facts serialization format.
+     */
+    private final ObjectMapper mapper = new ObjectMapperBuilder().dateFormat().enableIndentation().preserveOrder(true).build();
+
+    /**
+     * Pre-built reader of command.
+     */
+    private final ObjectReader commandReader = mapper.readerFor(Command.class);
+
+    /**
+     * Pre-built writer of any fact.
+     */
+    private final ObjectWriter writer = mapper.writer();
+
+    /**
+     * Decode a command from a message body.
+     *
+     * @param body Message body (JsonObject, Buffer, String or byte array).
+     * @return A command, or null when body is null.
+     * @throws JsonProcessingException When the body structure is not a valid command.
+     */
+    public Command decodeCommand(Object body) throws JsonProcessingException {
+        if (body == null) return null;
+        try {
+            if (body instanceof JsonObject) {
+                // Read the JsonObject structure directly, without re-encoding
+                return mapper.convertValue(plain(body), Command.class);
+            } else if (body instanceof Buffer) {
+                return commandReader.readValue(((Buffer) body).getBytes());
+            } else if (body instanceof byte[]) {
+                return commandReader.readValue((byte[]) body);
+            } else if (body instanceof String) {
+                return commandReader.readValue((String) body);
+            }
+        } catch (JsonProcessingException jpe) {
+            throw jpe;
+        } catch (IOException | IllegalArgumentException e) {
+            // Invalid structure (e.g unknown type identifier)
+            throw new JsonMappingFailure(e);
+        }
+        throw new JsonMappingFailure(new IllegalArgumentException("Unsupported message body type (" + body.getClass().getName() + ")!"));
+    }
+
+    /**
+     * Encode a fact as JsonObject, without intermediate encoding as String.
+     *
+     * @param fact Fact to encode.
+     * @return A JsonObject, or null when fact is null.
+     * @throws IllegalArgumentException When the fact can't be encoded.
+     */
+    @SuppressWarnings("unchecked")
+    public JsonObject encodeAsJsonObject(Object fact) throws IllegalArgumentException {
+        if (fact == null) return null;
+        return new JsonObject(mapper.convertValue(fact, LinkedHashMap.class));
+    }
+
+    /**
+     * Encode a fact as JSON string.
+     *
+     * @param fact Fact to encode.
+     * @return A JSON string.
+     * @throws JsonProcessingException When the fact can't be encoded.
+     */
+    public String encodeAsString(Object fact) throws JsonProcessingException {
+        return writer.writeValueAsString(fact);
+    }
+
+    /**
+     * Get the plain Java structure of a value, where the nested JsonObject and JsonArray are replaced by their Map and List contents.
+     * The containers without nested Vert.x container are returned without copy.
+     *
+     * @param value Origin value.
+     * @return A plain value.
+     */
+    private static Object plain(Object value) {
+        if (value instanceof JsonObject) value = ((JsonObject) value).getMap();
+        else if (value instanceof JsonArray) value = ((JsonArray) value).getList();
+        if (!includesVertxContainer(value)) return value;
+        // Copy only when a nested Vert.x container is found
+        if (value instanceof Map) {
+            Map<Object, Object> copy = new LinkedHashMap<>(((Map<?, ?>) value).size());
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                copy.put(entry.getKey(), plain(entry.getValue()));
+            }
+            return copy;
+        }
+        List<Object> copy = new ArrayList<>(((List<?>) value).size());
+        for (Object item : (List<?>) value) {
+            copy.add(plain(item));
+        }
+        return copy;
+    }
+
+    /**
+     * Is a JsonObject or JsonArray included into a Map or List structure?
+     *
+     * @param value Value to inspect.
+     * @return True when a Vert.x container is found at any depth.
+     */
+    private static boolean includesVertxContainer(Object value) {
+        Iterable<?> items = (value instanceof Map) ? ((Map<?, ?>) value).values() : (value instanceof List) ? (List<?>) value : null;
+        if (items == null) return false;
+        for (Object item : items) {
+            if (item instanceof JsonObject || item instanceof JsonArray || includesVertxContainer(item)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Failure of mapping between a message body and a fact.
+     */
+    private static final class JsonMappingFailure extends JsonProcessingException {
+        private JsonMappingFailure(Throwable cause) {
+            super(cause);
+        }
+    }
+}
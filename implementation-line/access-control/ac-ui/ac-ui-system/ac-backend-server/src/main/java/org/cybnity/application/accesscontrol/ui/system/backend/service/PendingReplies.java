@@ -0,0 +1,227 @@
+package org.cybnity.application.accesscontrol.ui.system.backend.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded registry of the replies waited per correlation identifier, between the delegation of a command to the capability domains and the reception of its result event.
+ * A reply is completed by the first result received with its correlation identifier, or is expired when its time-to-live is reached.
+ * All the replies have the same time-to-live, so the registry is ordered by deadline (registration order) and the expired replies are evicted from its head, without scan of the waiting replies.
+ * A completed or cancelled reply is removed from the registry with its deadline, so none retained deadline survives its reply.
+ *
+ * @param <T> Type of result.
+ */
+public class PendingReplies<T> {
+
+    /**
+     * Technical logging
+     */
+    private static final Logger logger = Logger.getLogger(PendingReplies.class.getName());
+
+    /**
+     * Default maximum quantity of pending replies.
+     */
+    public static final int DEFAULT_CAPACITY = 50000;
+
+    /**
+     * Default time-to-live of a pending reply.
+     */
+    public static final long DEFAULT_TTL_IN_MILLIS = 30000L;
+
+    /**
+     * Pending replies per correlation identifier, ordered by deadline. Guarded by itself.
+     */
+    private final Map<String, Pending<T>> pending = new LinkedHashMap<>();
+
+    private final int capacity;
+
+    private final long ttlInMillis;
+
+    private final LongAdder registered = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder unmatched = new LongAdder();
+
+    /**
+     * Default constructor.
+     *
+     * @param capacity    Maximum quantity of pending replies. When lower than 1, DEFAULT_CAPACITY is applied.
+     * @param ttlInMillis Time-to-live of a pending reply. When lower than 1, DEFAULT_TTL_IN_MILLIS is applied.
+     */
+    public PendingReplies(int capacity, long ttlInMillis) {
+        this.capacity = (capacity > 0) ? capacity : DEFAULT_CAPACITY;
+        this.ttlInMillis = (ttlInMillis > 0) ? ttlInMillis : DEFAULT_TTL_IN_MILLIS;
+    }
+
+    /**
+     * Register a reply waiting a result.
+     *
+     * @param correlationId Mandatory correlation identifier of the result.
+     * @param onResult      Mandatory action executed with the result.
+     * @param onTimeout     Mandatory action executed when none result has been received before the time-to-live.
+     * @return False when the registry is full, or when a reply is already pending with the same correlation identifier.
+     * @throws IllegalArgumentException When mandatory parameter is missing.
+     */
+    public boolean register(String correlationId, Consumer<T> onResult, Runnable onTimeout) throws IllegalArgumentException {
+        if (correlationId == null || correlationId.isEmpty())
+            throw new IllegalArgumentException("correlationId parameter is required!");
+        if (onResult == null) throw new IllegalArgumentException("onResult parameter is required!");
+        if (onTimeout == null) throw new IllegalArgumentException("onTimeout parameter is required!");
+        synchronized (pending) {
+            // Refused when full or duplicated transaction
+            if (pending.size() >= capacity || pending.containsKey(correlationId)) {
+                rejected.increment();
+                return false;
+            }
+            pending.put(correlationId, new Pending<>(correlationId, System.currentTimeMillis() + ttlInMillis, onResult, onTimeout));
+        }
+        registered.increment();
+        return true;
+    }
+
+    /**
+     * Complete the reply waiting a result.
+     *
+     * @param correlationId Correlation identifier of the result.
+     * @param result        Result.
+     * @return True when a pending reply has been completed, false when none reply is waiting this result (e.g expired, or owned by another backend instance).
+     */
+    public boolean complete(String correlationId, T result) {
+        Pending<T> reply = remove(correlationId);
+        if (reply == null) {
+            unmatched.increment();
+            return false;
+        }
+        completed.increment();
+        try {
+            reply.onResult.accept(result);
+        } catch (RuntimeException e) {
+            logger.log(Level.SEVERE, "Reply of transaction (correlationId: " + correlationId + ") failed!", e);
+        }
+        return true;
+    }
+
+    /**
+     * Remove a pending reply without execution of its actions (e.g when the command delegation has failed).
+     *
+     * @param correlationId Correlation identifier.
+     * @return True when a pending reply has been removed.
+     */
+    public boolean cancel(String correlationId) {
+        return remove(correlationId) != null;
+    }
+
+    /**
+     * Remove a pending reply and its deadline.
+     *
+     * @param correlationId Correlation identifier.
+     * @return The removed reply, or null when none reply is pending with this correlation identifier.
+     */
+    private Pending<T> remove(String correlationId) {
+        if (correlationId == null) return null;
+        synchronized (pending) {
+            return pending.remove(correlationId);
+        }
+    }
+
+    /**
+     * Expire the pending replies which time-to-live is reached.
+     *
+     * @param nowInMillis Current time.
+     * @return Quantity of expired replies.
+     */
+    public int evictExpired(long nowInMillis) {
+        List<Pending<T>> evicted = new ArrayList<>();
+        synchronized (pending) {
+            Iterator<Pending<T>> it = pending.values().iterator();
+            Pending<T> head;
+            while (it.hasNext() && (head = it.next()).deadline <= nowInMillis) {
+                it.remove();
+                evicted.add(head);
+            }
+        }
+        // Notified out of the registry lock
+        for (Pending<T> reply : evicted) {
+            expired.increment();
+            try {
+                reply.onTimeout.run();
+            } catch (RuntimeException e) {
+                logger.log(Level.SEVERE, "Timeout notification of transaction (correlationId: " + reply.correlationId + ") failed!", e);
+            }
+        }
+        return evicted.size();
+    }
+
+    /**
+     * @return Quantity of currently pending replies.
+     */
+    public int pending() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long ttlInMillis() {
+        return ttlInMillis;
+    }
+
+    public long registered() {
+        return registered.sum();
+    }
+
+    public long completed() {
+        return completed.sum();
+    }
+
+    public long expired() {
+        return expired.sum();
+    }
+
+    /**
+     * @return Quantity of replies refused because the registry was full or the correlation identifier was already pending.
+     */
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return Quantity of results received without pending reply.
+     */
+    public long unmatched() {
+        return unmatched.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "pending=" + pending() + "/" + capacity + ", registered=" + registered() + ", completed=" + completed() + ", expired=" + expired() + ", rejected=" + rejected() + ", unmatched=" + unmatched();
+    }
+
+    /**
+     * Reply waiting a result.
+     */
+    private static final class Pending<T> {
+        private final String correlationId;
+        private final long deadline;
+        private final Consumer<T> onResult;
+        private final Runnable onTimeout;
+
+        private Pending(String correlationId, long deadline, Consumer<T> onResult, Runnable onTimeout) {
+            this.correlationId = correlationId;
+            this.deadline = deadline;
+            this.onResult = onResult;
+            this.onTimeout = onTimeout;
+        }
+    }
+}
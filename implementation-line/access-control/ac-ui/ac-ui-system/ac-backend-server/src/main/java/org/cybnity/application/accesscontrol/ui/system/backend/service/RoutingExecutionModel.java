@@ -0,0 +1,37 @@
+package org.cybnity.application.accesscontrol.ui.system.backend.service;
+
+/**
+ * Execution model of the routers deployed by the backend.
+ */
+public enum RoutingExecutionModel {
+
+    /**
+     * Parsing and routing executed by event-loop verticles, and the blocking operations (e.g UIS append) offloaded to the worker pool of the verticles.
+     */
+    EVENT_LOOP,
+
+    /**
+     * Parsing, routing and blocking operations executed by worker verticles.
+     */
+    WORKER;
+
+    /**
+     * Name of the verticle configuration attribute defining the execution model.
+     */
+    public static final String CONFIG_KEY = "routingExecutionModel";
+
+    /**
+     * Get an execution model from its name.
+     *
+     * @param name Name of model.
+     * @return The named model, or EVENT_LOOP when name is undefined or unknown.
+     */
+    public static RoutingExecutionModel of(String name) {
+        if (name != null && !name.isEmpty()) {
+            for (RoutingExecutionModel model : values()) {
+                if (model.name().equalsIgnoreCase(name.trim())) return model;
+            }
+        }
+        return EVENT_LOOP;
+    }
+}
@@ -1,5 +1,11 @@
 package org.cybnity.application.accesscontrol.ui.system.backend;
 
+import org.cybnity.application.accesscontrol.ui.system.backend.routing.BackpressureBridgeHandlerUseCaseTest;
+import org.cybnity.application.accesscontrol.ui.system.backend.routing.PrecompressedStaticHandlerUseCaseTest;
+import org.cybnity.application.accesscontrol.ui.system.backend.routing.TokenBucketUseCaseTest;
+import org.cybnity.application.accesscontrol.ui.system.backend.service.ClientsPoolUseCaseTest;
+import org.cybnity.application.accesscontrol.ui.system.backend.service.JSONMessageCodecUseCaseTest;
+import org.cybnity.application.accesscontrol.ui.system.backend.service.PendingRepliesUseCaseTest;
 import org.junit.platform.suite.api.SelectClasses;
 import org.junit.platform.suite.api.Suite;
 
@@ -10,6 +16,6 @@ import org.junit.platform.suite.api.Suite;
  * @author olivier
  */
 @Suite
-@SelectClasses({ExecutableBackendCheckerUseCaseTest.class, PublicTenantRegistrationUseCaseTest.class})
+@SelectClasses({ExecutableBackendCheckerUseCaseTest.class, PublicTenantRegistrationUseCaseTest.class, JSONMessageCodecUseCaseTest.class, PendingRepliesUseCaseTest.class, ClientsPoolUseCaseTest.class, PrecompressedStaticHandlerUseCaseTest.class, TokenBucketUseCaseTest.class, BackpressureBridgeHandlerUseCaseTest.class})
 public class AllUseCaseTests {
 }
\ No newline at end of file
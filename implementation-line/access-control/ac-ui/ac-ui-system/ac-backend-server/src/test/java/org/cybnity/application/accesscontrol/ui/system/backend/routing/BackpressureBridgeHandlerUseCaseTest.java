@@ -0,0 +1,58 @@
+package org.cybnity.application.accesscontrol.ui.system.backend.routing;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test of the rate limitation applied by the event bus bridge to the messages of the sockets and of their tenants.
+ */
+public class BackpressureBridgeHandlerUseCaseTest {
+
+    /**
+     * Test that a message refused by the tenant bucket does not consume the rate of its socket.
+     */
+    @Test
+    public void givenExhaustedTenant_whenMessageRefused_thenSocketRateNotConsumed() {
+        AtomicLong now = new AtomicLong();
+        BackpressureBridgeHandler handler = new BackpressureBridgeHandler(new BackpressureBridgeHandler.Limits(10, 1, 1, 10, null), event -> event.complete(false), now::get);
+        TokenBucket noisySocket = new TokenBucket(2, 1, now::get);
+        TokenBucket otherSocket = new TokenBucket(2, 1, now::get);
+
+        // Burst of the tenant consumed by a socket
+        Assertions.assertTrue(handler.tryAcquire(noisySocket, "tenant-a"));
+        Assertions.assertTrue(handler.tryAcquire(noisySocket, "tenant-a"));
+        // Other socket of the same tenant refused, without consumption of its own rate
+        Assertions.assertFalse(handler.tryAcquire(otherSocket, "tenant-a"), "Exceeded tenant rate shall be refused!");
+        Assertions.assertEquals(2, (int) otherSocket.tokens(), "Refused message shall not consume the socket rate!");
+        Assertions.assertTrue(handler.tryAcquire(otherSocket, BackpressureBridgeHandler.ANONYMOUS_TENANT));
+        Assertions.assertTrue(handler.tryAcquire(otherSocket, BackpressureBridgeHandler.ANONYMOUS_TENANT));
+    }
+
+    /**
+     * Test that the buckets of the idle tenants are evicted, and that the buckets of the active tenants and the anonymous bucket are retained.
+     */
+    @Test
+    public void givenIdleTenants_whenEvictionPeriodElapsed_thenIdleBucketsEvicted() {
+        AtomicLong now = new AtomicLong();
+        BackpressureBridgeHandler handler = new BackpressureBridgeHandler(new BackpressureBridgeHandler.Limits(10, 100, 1, 10, null), event -> event.complete(false), now::get);
+        TokenBucket socket = new TokenBucket(200, 100, now::get);
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertTrue(handler.tryAcquire(socket, "tenant-" + i));
+        }
+        Assertions.assertEquals(6, handler.trackedTenants());
+
+        // Only tenant-0 remains active until the eviction period
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(BackpressureBridgeHandler.TENANTS_EVICTION_PERIOD_IN_MILLIS));
+        Assertions.assertTrue(handler.tryAcquire(socket, "tenant-0"));
+        Assertions.assertTrue(handler.tryAcquire(socket, "tenant-0"));
+        Assertions.assertEquals(2, handler.trackedTenants(), "Idle tenant buckets shall be evicted!");
+        Assertions.assertEquals(0, handler.evictIdleTenants(), "Active tenant bucket shall be retained!");
+
+        // Evicted tenant is tracked again with a full bucket
+        Assertions.assertTrue(handler.tryAcquire(socket, "tenant-1"));
+        Assertions.assertEquals(3, handler.trackedTenants());
+    }
+}
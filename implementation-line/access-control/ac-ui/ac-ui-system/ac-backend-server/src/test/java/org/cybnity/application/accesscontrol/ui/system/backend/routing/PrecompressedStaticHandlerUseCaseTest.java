@@ -0,0 +1,164 @@
+package org.cybnity.application.accesscontrol.ui.system.backend.routing;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.RequestOptions;
+import io.vertx.ext.web.Router;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test of the delivery of the pre-compressed variants of static contents, and of the conditional requests based on ETag.
+ */
+public class PrecompressedStaticHandlerUseCaseTest {
+
+    private static final String ORIGINAL = "original";
+
+    @TempDir
+    Path webRoot;
+
+    private Vertx vertx;
+    private HttpServer server;
+    private HttpClient client;
+    private PrecompressedStaticHandler handler;
+
+    @BeforeEach
+    public void start() throws Exception {
+        Files.write(webRoot.resolve("app.js"), "console.log('app');".getBytes(StandardCharsets.UTF_8));
+        Files.write(webRoot.resolve("app.js.br"), "brotli".getBytes(StandardCharsets.UTF_8));
+        Files.write(webRoot.resolve("app.js.gz"), "gzip".getBytes(StandardCharsets.UTF_8));
+        Files.write(webRoot.resolve("style.css"), "body {}".getBytes(StandardCharsets.UTF_8));
+        vertx = Vertx.vertx();
+        Router router = Router.router(vertx);
+        // The next handler simulates the delivery of the original contents
+        handler = new PrecompressedStaticHandler(vertx.fileSystem(), webRoot.toString(), 60);
+        router.route("/static/*").handler(handler)
+                .handler(ctx -> ctx.response().end(ORIGINAL));
+        server = vertx.createHttpServer().requestHandler(router).listen(0).toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        client = vertx.createHttpClient();
+    }
+
+    @AfterEach
+    public void stop() throws Exception {
+        vertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+
+    private HttpClientResponse get(String path, String acceptEncoding, String ifNoneMatch, StringBuilder body) throws Exception {
+        RequestOptions options = new RequestOptions().setMethod(HttpMethod.GET).setHost("localhost").setPort(server.actualPort()).setURI(path);
+        if (acceptEncoding != null) options.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        if (ifNoneMatch != null) options.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        HttpClientResponse response = client.request(options).compose(request -> request.send()).toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        Buffer content = response.body().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        body.append(content.toString(StandardCharsets.UTF_8));
+        return response;
+    }
+
+    /**
+     * Test that the preferred variant accepted by the client is delivered, else the original content.
+     */
+    @Test
+    public void givenPrecompressedVariants_whenRequested_thenPreferredAcceptedVariantDelivered() throws Exception {
+        StringBuilder body = new StringBuilder();
+        HttpClientResponse response = get("/static/app.js", "gzip, deflate, br", null, body);
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertEquals("br", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        Assertions.assertEquals("brotli", body.toString());
+        Assertions.assertTrue(response.getHeader(HttpHeaders.CONTENT_TYPE).contains("javascript"));
+        Assertions.assertEquals("public, max-age=60", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        Assertions.assertNotNull(response.getHeader(HttpHeaders.ETAG));
+        Assertions.assertNotNull(response.getHeader(HttpHeaders.VARY));
+
+        // Refused encoding
+        body.setLength(0);
+        response = get("/static/app.js", "br;q=0, gzip", null, body);
+        Assertions.assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        Assertions.assertEquals("gzip", body.toString());
+
+        // Without pre-compressed variant, or without accepted encoding
+        body.setLength(0);
+        response = get("/static/style.css", "br, gzip", null, body);
+        Assertions.assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        Assertions.assertEquals(ORIGINAL, body.toString());
+        Assertions.assertNotNull(response.getHeader(HttpHeaders.ETAG));
+        body.setLength(0);
+        response = get("/static/app.js", null, null, body);
+        Assertions.assertEquals(ORIGINAL, body.toString());
+
+        // Unknown and hidden contents delegated to the next handler
+        body.setLength(0);
+        get("/static/unknown.js", "br", null, body);
+        Assertions.assertEquals(ORIGINAL, body.toString());
+        body.setLength(0);
+        response = get("/static/.hidden", "br", null, body);
+        Assertions.assertNull(response.getHeader(HttpHeaders.ETAG));
+    }
+
+    /**
+     * Test that an unchanged content is not re-sent to a client presenting its ETag.
+     */
+    @Test
+    public void givenKnownETag_whenConditionalRequest_thenNotModified() throws Exception {
+        StringBuilder body = new StringBuilder();
+        String variantTag = get("/static/app.js", "br", null, body).getHeader(HttpHeaders.ETAG);
+        body.setLength(0);
+        HttpClientResponse response = get("/static/app.js", "br", variantTag, body);
+        Assertions.assertEquals(304, response.statusCode());
+        Assertions.assertEquals(0, body.length());
+
+        // The ETag of a variant does not match the original content
+        response = get("/static/app.js", null, variantTag, body);
+        Assertions.assertEquals(200, response.statusCode());
+        String originalTag = response.getHeader(HttpHeaders.ETAG);
+        Assertions.assertNotEquals(variantTag, originalTag);
+        body.setLength(0);
+        response = get("/static/app.js", "identity", originalTag, body);
+        Assertions.assertEquals(304, response.statusCode());
+        Assertions.assertEquals(0, body.length());
+    }
+
+    /**
+     * Test that the requested paths which are not existing files are never cached, so that a content added later is delivered.
+     */
+    @Test
+    public void givenUnknownPaths_whenRequested_thenNotCached() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            get("/static/unknown-" + i + ".js", "br", null, body);
+        }
+        Assertions.assertEquals(0, handler.cachedFiles(), "Unknown paths shall not be cached!");
+
+        // Variant added after a request of its missing path
+        get("/static/later.js", "br", null, body);
+        Files.write(webRoot.resolve("later.js"), "later".getBytes(StandardCharsets.UTF_8));
+        Files.write(webRoot.resolve("later.js.br"), "later brotli".getBytes(StandardCharsets.UTF_8));
+        body.setLength(0);
+        HttpClientResponse response = get("/static/later.js", "br", null, body);
+        Assertions.assertEquals("br", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        Assertions.assertEquals("later brotli", body.toString());
+        Assertions.assertEquals(2, handler.cachedFiles());
+    }
+
+    /**
+     * Test the read of the encodings accepted by a client.
+     */
+    @Test
+    public void givenAcceptEncodingHeader_whenRead_thenRefusedEncodingsIgnored() {
+        Assertions.assertTrue(PrecompressedStaticHandler.acceptedEncodings(null).isEmpty());
+        Assertions.assertTrue(PrecompressedStaticHandler.acceptedEncodings("GZIP;q=0.8, br").contains("gzip"));
+        Assertions.assertFalse(PrecompressedStaticHandler.acceptedEncodings("gzip;q=0, br").contains("gzip"));
+        Assertions.assertFalse(PrecompressedStaticHandler.acceptedEncodings("gzip;q=x").contains("gzip"));
+    }
+}
@@ -0,0 +1,150 @@
+package org.cybnity.application.accesscontrol.ui.system.backend.routing;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.http.RequestOptions;
+import org.cybnity.application.accesscontrol.ui.system.backend.AppConfigurationVariable;
+import org.cybnity.framework.Context;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import uk.org.webcompere.systemstubs.environment.EnvironmentVariables;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Load test (manual execution) of the static contents serving modes, measuring the received bytes, the requests per second and the p99 latency of an UI asset requested by first visits (without ETag) and by revisits (with the ETag of the first visit).
+ * The asset is generated into the static directory of the working directory (resolved before the classpath), with its gzip variant.
+ */
+public class StaticContentsServingLoadUseCaseTestManual {
+
+    private static final Logger logger = Logger.getLogger(StaticContentsServingLoadUseCaseTestManual.class.getName());
+
+    private static final String ASSET_DIRECTORY = "static/loadtest";
+
+    private static final String ASSET_URI = "/static/loadtest/app.js";
+
+    private static final int REQUESTS = 20000;
+
+    private static final int CONCURRENT_REQUESTS = 64;
+
+    /**
+     * Measure each serving mode under the same load.
+     */
+    @Test
+    public void givenServingModes_whenLoaded_thenBandwidthAndLatencyReported() throws Exception {
+        Path directory = Paths.get(ASSET_DIRECTORY);
+        boolean created = !Files.exists(directory.getParent());
+        Files.createDirectories(directory);
+        try {
+            generateAsset(directory);
+            for (StaticContentsServingMode mode : StaticContentsServingMode.values()) {
+                new EnvironmentVariables(AppConfigurationVariable.REACTIVE_BACKEND_STATIC_CONTENTS_SERVING_MODE.getName(), mode.name()).execute(() -> measure(mode));
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(created ? directory.getParent() : directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    /**
+     * Generate a JavaScript asset (about 256 KB) and its gzip variant.
+     */
+    private static void generateAsset(Path directory) throws Exception {
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; script.length() < 256 * 1024; i++) {
+            script.append("export function component").append(i).append("(props) { return { id: ").append(i).append(", label: props.label + '").append(i).append("' }; }\n");
+        }
+        byte[] content = script.toString().getBytes(StandardCharsets.UTF_8);
+        Files.write(directory.resolve("app.js"), content);
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(directory.resolve("app.js.gz")))) {
+            out.write(content);
+        }
+    }
+
+    private void measure(StaticContentsServingMode mode) throws Exception {
+        Vertx vertx = Vertx.vertx();
+        try {
+            HttpServerOptions options = new HttpServerOptions();
+            if (mode == StaticContentsServingMode.PRODUCTION) options.setCompressionSupported(true).setCompressionLevel(6);
+            HttpServer server = vertx.createHttpServer(options).requestHandler(new UICapabilitiesHTTPRouterImpl(vertx, new Context()))
+                    .listen(0).toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+            HttpClient client = vertx.createHttpClient(new HttpClientOptions().setDefaultPort(server.actualPort()).setMaxPoolSize(CONCURRENT_REQUESTS));
+            // Warm-up and read of the ETag known by the revisits
+            String etag = run(client, null, REQUESTS / 10, new long[REQUESTS / 10], new AtomicLong());
+            for (String ifNoneMatch : Arrays.asList(null, etag)) {
+                long[] latencies = new long[REQUESTS];
+                AtomicLong bytes = new AtomicLong();
+                long startedAt = System.nanoTime();
+                run(client, ifNoneMatch, REQUESTS, latencies, bytes);
+                double seconds = (System.nanoTime() - startedAt) / 1e9;
+                Arrays.sort(latencies);
+                logger.info(mode.name() + ((ifNoneMatch == null) ? " first visits: " : " revisits: ") + (bytes.get() / REQUESTS) + " bytes/response, " + String.format("%.0f", REQUESTS / seconds) + " requests/s, p50 " + String.format("%.2f", latencies[REQUESTS / 2] / 1e6) + " ms, p99 " + String.format("%.2f", latencies[(int) (REQUESTS * 0.99)] / 1e6) + " ms");
+            }
+        } finally {
+            vertx.close().toCompletionStage().toCompletableFuture().get(30, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Send requests with a bounded quantity of concurrent requests.
+     *
+     * @param client      Client.
+     * @param ifNoneMatch ETag presented by the client, or null.
+     * @param requests    Quantity of requests.
+     * @param latencies   Latency of each request (nanoseconds).
+     * @param bytes       Quantity of received bytes (content).
+     * @return The last received ETag, or null.
+     */
+    private static String run(HttpClient client, String ifNoneMatch, int requests, long[] latencies, AtomicLong bytes) throws InterruptedException {
+        CountDownLatch answered = new CountDownLatch(requests);
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        String[] etag = new String[1];
+        RequestOptions options = new RequestOptions().setMethod(HttpMethod.GET).setHost("localhost").setURI(ASSET_URI)
+                .addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, br");
+        if (ifNoneMatch != null) options.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        for (int i = 0; i < Math.min(CONCURRENT_REQUESTS, requests); i++) {
+            send(client, options, requests, latencies, bytes, next, failed, etag, answered);
+        }
+        Assertions.assertTrue(answered.await(300, TimeUnit.SECONDS), "Timeout reached before all requests answered!");
+        Assertions.assertEquals(0, failed.get(), "All the requests shall be answered!");
+        return etag[0];
+    }
+
+    private static void send(HttpClient client, RequestOptions options, int requests, long[] latencies, AtomicLong bytes, AtomicInteger next, AtomicInteger failed, String[] etag, CountDownLatch answered) {
+        int index = next.getAndIncrement();
+        if (index >= requests) return;
+        long sentAt = System.nanoTime();
+        client.request(options).compose(request -> request.send()).compose(response -> {
+            etag[0] = response.getHeader(HttpHeaders.ETAG);
+            if (response.statusCode() != 200 && response.statusCode() != 304) failed.incrementAndGet();
+            return response.body();
+        }).onComplete(body -> {
+            latencies[index] = System.nanoTime() - sentAt;
+            if (body.succeeded()) bytes.addAndGet(body.result().length());
+            else failed.incrementAndGet();
+            answered.countDown();
+            // Keep the quantity of concurrent requests
+            send(client, options, requests, latencies, bytes, next, failed, etag, answered);
+        });
+    }
+}
@@ -0,0 +1,46 @@
+package org.cybnity.application.accesscontrol.ui.system.backend.routing;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test of the rate limitation applied to the messages of the bridge sockets and tenants.
+ */
+public class TokenBucketUseCaseTest {
+
+    /**
+     * Test that a burst is accepted up to the bucket capacity, then that the tokens are refilled according to the rate without exceeding the capacity.
+     */
+    @Test
+    public void givenRateLimit_whenBurstAndWait_thenRefilledUpToCapacity() {
+        AtomicLong now = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(4, 2, now::get);
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertTrue(bucket.tryAcquire(), "Burst shall be accepted up to the capacity!");
+        }
+        Assertions.assertFalse(bucket.tryAcquire(), "Exceeded rate shall be refused!");
+
+        // Refill of 1 token (and part of a token) after 600ms
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(600));
+        Assertions.assertTrue(bucket.tryAcquire());
+        Assertions.assertFalse(bucket.tryAcquire());
+
+        // Refill limited to the capacity
+        now.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        int accepted = 0;
+        while (bucket.tryAcquire()) accepted++;
+        Assertions.assertEquals(4, accepted);
+    }
+
+    /**
+     * Test that a bucket without positive capacity or rate is refused.
+     */
+    @Test
+    public void givenInvalidLimit_whenCreated_thenRefused() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0));
+    }
+}
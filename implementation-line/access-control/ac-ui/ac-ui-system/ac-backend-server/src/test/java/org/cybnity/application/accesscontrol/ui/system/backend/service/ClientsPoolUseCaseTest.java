@@ -0,0 +1,68 @@
+package org.cybnity.application.accesscontrol.ui.system.backend.service;
+
+import org.cybnity.framework.UnoperationalStateException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test of the leases of clients shared by the workers, of the pool saturation metrics, and of the pool close.
+ */
+public class ClientsPoolUseCaseTest {
+
+    /**
+     * Test that the operations are balanced on the least loaded client, and that a saturated pool refuses a lease after timeout.
+     */
+    @Test
+    public void givenSharedClients_whenLeased_thenLeastLoadedClientSelectedUntilSaturation() throws Exception {
+        ClientsPool<String> pool = new ClientsPool<>(Arrays.asList("client-1", "client-2"), 2, 10L);
+        ClientsPool.Lease<String> first = pool.lease();
+        ClientsPool.Lease<String> second = pool.lease();
+        Assertions.assertNotEquals(first.client(), second.client(), "Shall be balanced on the least loaded client!");
+        ClientsPool.Lease<String> third = pool.lease();
+        ClientsPool.Lease<String> fourth = pool.lease();
+        Assertions.assertEquals(4, pool.inFlight());
+        Assertions.assertEquals(1.0, pool.saturation());
+
+        // Saturated pool
+        Assertions.assertThrows(UnoperationalStateException.class, pool::lease);
+        Assertions.assertEquals(1, pool.saturations());
+        Assertions.assertEquals(1, pool.timeouts());
+
+        // Release (only once per lease)
+        first.close();
+        first.close();
+        Assertions.assertEquals(3, pool.inFlight());
+        try (ClientsPool.Lease<String> fifth = pool.lease()) {
+            Assertions.assertEquals(first.client(), fifth.client(), "Shall reuse the released client!");
+        }
+        second.close();
+        third.close();
+        fourth.close();
+        Assertions.assertEquals(0, pool.inFlight());
+        Assertions.assertEquals(5, pool.leases());
+        Assertions.assertEquals(4, pool.peakInFlight());
+    }
+
+    /**
+     * Test that the close of a pool releases each client once, and that a closed pool refuses the leases.
+     */
+    @Test
+    public void givenClosedPool_whenLeased_thenRefusedAndClientsReleasedOnce() throws Exception {
+        List<String> released = new ArrayList<>();
+        ClientsPool<String> pool = new ClientsPool<>(Arrays.asList("client-1", "client-2"), 2, 10L, released::add);
+        try (ClientsPool.Lease<String> lease = pool.lease()) {
+            Assertions.assertNotNull(lease.client());
+        }
+        Assertions.assertFalse(pool.isClosed());
+        pool.close();
+        pool.close();
+        Assertions.assertTrue(pool.isClosed());
+        Assertions.assertEquals(Arrays.asList("client-1", "client-2"), released, "Each client shall be released once!");
+        Assertions.assertThrows(UnoperationalStateException.class, pool::lease);
+        Assertions.assertEquals(1, pool.leases());
+    }
+}
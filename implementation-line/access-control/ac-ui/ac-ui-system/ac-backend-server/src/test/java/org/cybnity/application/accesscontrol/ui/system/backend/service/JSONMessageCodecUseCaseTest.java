@@ -0,0 +1,66 @@
+package org.cybnity.application.accesscontrol.ui.system.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import org.cybnity.application.accesscontrol.ui.api.event.CommandName;
+import org.cybnity.application.accesscontrol.ui.api.event.TenantRegistrationAttributeName;
+import org.cybnity.framework.domain.Attribute;
+import org.cybnity.framework.domain.Command;
+import org.cybnity.framework.domain.event.CommandFactory;
+import org.cybnity.framework.domain.event.EventSpecification;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Test of the decoding of the commands received over the event bus, from the several supported message body types.
+ */
+public class JSONMessageCodecUseCaseTest {
+
+    private final JSONMessageCodec codec = new JSONMessageCodec();
+
+    private static Command command() {
+        Collection<Attribute> definition = new ArrayList<>();
+        definition.add(new Attribute(TenantRegistrationAttributeName.TENANT_NAMING.name(), "CYBNITY"));
+        Command requestEvent = CommandFactory.create(CommandName.REGISTER_TENANT.name(), null, definition, null, null);
+        requestEvent.generateCorrelationId(null);
+        return requestEvent;
+    }
+
+    private static void assertSameCommand(Command expected, Command decoded) {
+        Assertions.assertNotNull(decoded);
+        Assertions.assertEquals(expected.type().value(), decoded.type().value());
+        Assertions.assertEquals(expected.correlationId().value(), decoded.correlationId().value());
+        Attribute naming = EventSpecification.findSpecificationByName(TenantRegistrationAttributeName.TENANT_NAMING.name(), decoded.specification());
+        Assertions.assertNotNull(naming);
+        Assertions.assertEquals("CYBNITY", naming.value());
+    }
+
+    /**
+     * Test that a command is decoded with the same content from a JsonObject (parsed or copied like over the event bus), a Buffer and a String.
+     */
+    @Test
+    public void givenCommandMessageBodies_whenDecoded_thenSameCommandReturned() throws Exception {
+        Command requestEvent = command();
+        String json = codec.encodeAsString(requestEvent);
+
+        assertSameCommand(requestEvent, codec.decodeCommand(new JsonObject(json)));
+        assertSameCommand(requestEvent, codec.decodeCommand(new JsonObject(json).copy()));
+        assertSameCommand(requestEvent, codec.decodeCommand(codec.encodeAsJsonObject(requestEvent)));
+        assertSameCommand(requestEvent, codec.decodeCommand(Buffer.buffer(json)));
+        assertSameCommand(requestEvent, codec.decodeCommand(json));
+    }
+
+    /**
+     * Test that an invalid message structure is rejected as a JSON processing problem.
+     */
+    @Test
+    public void givenInvalidMessageBody_whenDecoded_thenProcessingExceptionThrown() {
+        Assertions.assertThrows(JsonProcessingException.class, () -> codec.decodeCommand(new JsonObject().put("@class", "UnknownType")));
+        Assertions.assertThrows(JsonProcessingException.class, () -> codec.decodeCommand(Integer.valueOf(1)));
+        Assertions.assertNull(codec.decodeCommand(null));
+    }
+}
@@ -0,0 +1,94 @@
+package org.cybnity.application.accesscontrol.ui.system.backend.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test of the correlation between the commands waiting a result and the received result events.
+ */
+public class PendingRepliesUseCaseTest {
+
+    /**
+     * Test that a result completes only the reply with the same correlation identifier, and only once.
+     */
+    @Test
+    public void givenPendingReplies_whenResultReceived_thenCorrelatedReplyCompleted() {
+        PendingReplies<String> replies = new PendingReplies<>(10, 60000L);
+        List<String> results = new ArrayList<>();
+        AtomicInteger timeouts = new AtomicInteger();
+        Assertions.assertTrue(replies.register("T1", results::add, timeouts::incrementAndGet));
+        Assertions.assertTrue(replies.register("T2", results::add, timeouts::incrementAndGet));
+        // Duplicated transaction
+        Assertions.assertFalse(replies.register("T1", results::add, timeouts::incrementAndGet));
+
+        Assertions.assertTrue(replies.complete("T2", "result of T2"));
+        Assertions.assertFalse(replies.complete("T2", "duplicated result of T2"), "Shall be completed only once!");
+        Assertions.assertFalse(replies.complete("UNKNOWN", "result of another instance"));
+
+        Assertions.assertEquals(1, results.size());
+        Assertions.assertEquals("result of T2", results.get(0));
+        Assertions.assertEquals(1, replies.pending());
+        Assertions.assertEquals(1, replies.completed());
+        Assertions.assertEquals(1, replies.rejected());
+        Assertions.assertEquals(2, replies.unmatched());
+        Assertions.assertEquals(0, timeouts.get());
+    }
+
+    /**
+     * Test that the replies without result are expired after their time-to-live, and that the registry is bounded.
+     */
+    @Test
+    public void givenRepliesWithoutResult_whenTimeToLiveReached_thenTimeoutNotifiedAndCapacityReleased() {
+        PendingReplies<String> replies = new PendingReplies<>(2, 1000L);
+        AtomicInteger timeouts = new AtomicInteger();
+        List<String> results = new ArrayList<>();
+        Assertions.assertTrue(replies.register("T1", results::add, timeouts::incrementAndGet));
+        Assertions.assertTrue(replies.register("T2", results::add, timeouts::incrementAndGet));
+        // Capacity reached
+        Assertions.assertFalse(replies.register("T3", results::add, timeouts::incrementAndGet));
+        Assertions.assertTrue(replies.complete("T1", "result of T1"));
+
+        // None expired before the time-to-live
+        Assertions.assertEquals(0, replies.evictExpired(System.currentTimeMillis()));
+        // Only the reply without result is expired
+        Assertions.assertEquals(1, replies.evictExpired(System.currentTimeMillis() + 1000L));
+        Assertions.assertEquals(1, timeouts.get());
+        Assertions.assertFalse(replies.complete("T2", "late result of T2"), "Shall not complete an expired reply!");
+        Assertions.assertEquals(0, replies.pending());
+        Assertions.assertEquals(1, replies.expired());
+
+        // Capacity released
+        Assertions.assertTrue(replies.register("T3", results::add, timeouts::incrementAndGet));
+        Assertions.assertTrue(replies.cancel("T3"));
+        Assertions.assertEquals(0, replies.pending());
+        Assertions.assertEquals(0, replies.evictExpired(Long.MAX_VALUE), "A cancelled reply shall not be notified!");
+        Assertions.assertEquals(1, timeouts.get());
+    }
+
+    /**
+     * Test that the completed and cancelled replies are released with their deadline, so none deadline is retained between the evictions whatever the quantity of answered commands.
+     */
+    @Test
+    public void givenAnsweredReplies_whenRegisteredOverCapacity_thenNoneDeadlineRetained() {
+        PendingReplies<String> replies = new PendingReplies<>(2, 60000L);
+        AtomicInteger timeouts = new AtomicInteger();
+        List<String> results = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            Assertions.assertTrue(replies.register("T" + i, results::add, timeouts::incrementAndGet), "Answered replies shall release their place!");
+            if (i % 2 == 0) {
+                Assertions.assertTrue(replies.complete("T" + i, "result of T" + i));
+            } else {
+                Assertions.assertTrue(replies.cancel("T" + i));
+            }
+        }
+        Assertions.assertEquals(0, replies.pending());
+        Assertions.assertEquals(5000, results.size());
+        Assertions.assertEquals(0, replies.evictExpired(Long.MAX_VALUE), "None deadline shall be retained after the answer!");
+        Assertions.assertEquals(0, timeouts.get());
+        Assertions.assertEquals(0, replies.rejected());
+    }
+}
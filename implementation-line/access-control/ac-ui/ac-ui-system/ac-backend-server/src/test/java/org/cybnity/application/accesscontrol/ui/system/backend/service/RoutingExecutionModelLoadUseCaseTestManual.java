@@ -0,0 +1,141 @@
+package org.cybnity.application.accesscontrol.ui.system.backend.service;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.json.JsonObject;
+import org.cybnity.application.accesscontrol.ui.api.event.CommandName;
+import org.cybnity.application.accesscontrol.ui.api.event.TenantRegistrationAttributeName;
+import org.cybnity.framework.domain.Attribute;
+import org.cybnity.framework.domain.Command;
+import org.cybnity.framework.domain.event.CommandFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Load test (manual execution) of the routers execution models, measuring the requests per second and the p99 latency of command messages which are parsed, routed, and delegated with a simulated blocking append (without UIS).
+ */
+public class RoutingExecutionModelLoadUseCaseTestManual {
+
+    private static final Logger logger = Logger.getLogger(RoutingExecutionModelLoadUseCaseTestManual.class.getName());
+
+    private static final String ADDRESS = "ac.in.load";
+
+    private static final int REQUESTS = 50000;
+
+    private static final int CONCURRENT_REQUESTS = 512;
+
+    private static final int ROUTER_INSTANCES = 4;
+
+    private static final int WORKER_POOL_SIZE = 32;
+
+    /**
+     * Duration of the simulated UIS append.
+     */
+    private static final long APPEND_DURATION_IN_MILLIS = 1;
+
+    /**
+     * Router parsing the commands, and offloading a simulated blocking append according to its execution model.
+     */
+    public static class LoadRouter extends AbstractVerticle {
+        private final JSONMessageCodec codec = new JSONMessageCodec();
+        private BlockingOperationsExecutor blockingOperations;
+
+        @Override
+        public void start() {
+            blockingOperations = new BlockingOperationsExecutor(RoutingExecutionModel.of(config().getString(RoutingExecutionModel.CONFIG_KEY)));
+            vertx.eventBus().consumer(ADDRESS, message -> {
+                try {
+                    Command command = codec.decodeCommand(message.body());
+                    blockingOperations.execute(context, () -> {
+                        Thread.sleep(APPEND_DURATION_IN_MILLIS);
+                        return command.type().value();
+                    }, appended -> {
+                        if (appended.succeeded()) message.reply(appended.result());
+                        else message.fail(500, appended.cause().getMessage());
+                    });
+                } catch (Exception e) {
+                    message.fail(400, e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Measure each execution model under the same load.
+     */
+    @Test
+    public void givenExecutionModels_whenLoaded_thenThroughputAndLatencyReported() throws Exception {
+        Collection<Attribute> definition = new ArrayList<>();
+        definition.add(new Attribute(TenantRegistrationAttributeName.TENANT_NAMING.name(), "CYBNITY"));
+        Command command = CommandFactory.create(CommandName.REGISTER_TENANT.name(), null, definition, null, null);
+        command.generateCorrelationId(null);
+        JsonObject message = new JSONMessageCodec().encodeAsJsonObject(command);
+
+        for (RoutingExecutionModel model : RoutingExecutionModel.values()) {
+            Vertx vertx = Vertx.vertx();
+            try {
+                DeploymentOptions options = new DeploymentOptions().setInstances(ROUTER_INSTANCES)
+                        .setWorker(model == RoutingExecutionModel.WORKER)
+                        .setWorkerPoolName("ac-load-workers").setWorkerPoolSize(WORKER_POOL_SIZE)
+                        .setConfig(new JsonObject().put(RoutingExecutionModel.CONFIG_KEY, model.name()));
+                vertx.deployVerticle(LoadRouter.class.getName(), options).toCompletionStage().toCompletableFuture().get(30, TimeUnit.SECONDS);
+                // Warm-up
+                run(vertx.eventBus(), message, REQUESTS / 10);
+                long[] latencies = new long[REQUESTS];
+                long startedAt = System.nanoTime();
+                Assertions.assertEquals(REQUESTS, run(vertx.eventBus(), message, latencies), model.name() + ": all the requests shall be answered!");
+                double seconds = (System.nanoTime() - startedAt) / 1e9;
+                Arrays.sort(latencies);
+                logger.info(model.name() + ": " + String.format("%.0f", REQUESTS / seconds) + " requests/s, p50 " + String.format("%.2f", latencies[REQUESTS / 2] / 1e6) + " ms, p99 " + String.format("%.2f", latencies[(int) (REQUESTS * 0.99)] / 1e6) + " ms");
+            } finally {
+                vertx.close().toCompletionStage().toCompletableFuture().get(30, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private static int run(EventBus eventBus, JsonObject message, int requests) throws InterruptedException {
+        return run(eventBus, message, new long[requests]);
+    }
+
+    /**
+     * Send requests with a bounded quantity of concurrent requests.
+     *
+     * @param eventBus  Event bus.
+     * @param message   Request.
+     * @param latencies Latency of each request (nanoseconds), sized with the quantity of requests.
+     * @return Quantity of successful replies.
+     */
+    private static int run(EventBus eventBus, JsonObject message, long[] latencies) throws InterruptedException {
+        CountDownLatch answered = new CountDownLatch(latencies.length);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger next = new AtomicInteger();
+        for (int i = 0; i < Math.min(CONCURRENT_REQUESTS, latencies.length); i++) {
+            send(eventBus, message, latencies, next, succeeded, answered);
+        }
+        Assertions.assertTrue(answered.await(300, TimeUnit.SECONDS), "Timeout reached before all requests answered!");
+        return succeeded.get();
+    }
+
+    private static void send(EventBus eventBus, JsonObject message, long[] latencies, AtomicInteger next, AtomicInteger succeeded, CountDownLatch answered) {
+        int index = next.getAndIncrement();
+        if (index >= latencies.length) return;
+        long sentAt = System.nanoTime();
+        eventBus.request(ADDRESS, message).onComplete(reply -> {
+            latencies[index] = System.nanoTime() - sentAt;
+            if (reply.succeeded()) succeeded.incrementAndGet();
+            answered.countDown();
+            // Keep the quantity of concurrent requests
+            send(eventBus, message, latencies, next, succeeded, answered);
+        });
+    }
+}